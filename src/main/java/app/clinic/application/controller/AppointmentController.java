@@ -2,6 +2,7 @@ package app.clinic.application.controller;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +14,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.clinic.application.dto.appointment.CreateAppointmentDTO;
 import app.clinic.application.dto.appointment.AppointmentDTO;
+import app.clinic.application.dto.appointment.FreeSlotDTO;
+import app.clinic.application.dto.appointment.FreeSlotSearchDTO;
 import app.clinic.application.dto.appointment.UpdateAppointmentDTO;
 import app.clinic.application.service.AppointmentApplicationService;
 import jakarta.validation.Valid;
@@ -30,9 +36,12 @@ import jakarta.validation.Valid;
 public class AppointmentController {
 
     private final AppointmentApplicationService appointmentApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public AppointmentController(AppointmentApplicationService appointmentApplicationService) {
+    public AppointmentController(AppointmentApplicationService appointmentApplicationService,
+                                 ObjectMapper objectMapper) {
         this.appointmentApplicationService = appointmentApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -134,6 +143,17 @@ public class AppointmentController {
         return ResponseEntity.ok(available);
     }
 
+    /**
+     * Finds all free slots of several doctors within a date window in a single request.
+     * The search is validated before the response starts; slots are then written as a JSON
+     * array while they are computed.
+     */
+    @PostMapping("/free-slots")
+    public ResponseEntity<StreamingResponseBody> findFreeSlots(@Valid @RequestBody FreeSlotSearchDTO searchDTO) {
+        Stream<FreeSlotDTO> freeSlots = appointmentApplicationService.findFreeSlots(searchDTO);
+        return JsonArrayResponses.of(objectMapper, freeSlots);
+    }
+
     /**
      * Gets appointment statistics for a patient.
      */
@@ -1,19 +1,34 @@
 package app.clinic.application.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.application.dto.common.CursorPageDTO;
+import app.clinic.application.dto.billing.BatchBillingRequestDTO;
+import app.clinic.application.dto.billing.BatchBillingSummaryDTO;
 import app.clinic.application.dto.billing.BillingCalculationResultDTO;
 import app.clinic.application.dto.billing.BillingDTO;
 import app.clinic.application.dto.billing.InvoiceDTO;
+import app.clinic.application.service.BatchBillingApplicationService;
 import app.clinic.application.service.BillingApplicationService;
+import jakarta.validation.Valid;
 
 /**
  * REST Controller for billing management operations.
@@ -24,10 +39,18 @@ import app.clinic.application.service.BillingApplicationService;
 @RequestMapping("/api/billing")
 public class BillingController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BillingApplicationService billingApplicationService;
+    private final BatchBillingApplicationService batchBillingApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public BillingController(BillingApplicationService billingApplicationService) {
+    public BillingController(BillingApplicationService billingApplicationService,
+                             BatchBillingApplicationService batchBillingApplicationService,
+                             ObjectMapper objectMapper) {
         this.billingApplicationService = billingApplicationService;
+        this.batchBillingApplicationService = batchBillingApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -48,6 +71,44 @@ public class BillingController {
         return new ResponseEntity<>(invoice, HttpStatus.CREATED);
     }
 
+    /**
+     * Generates invoices for many patients in one billing run.
+     * The response is newline-delimited JSON: one progress line per chunk as it completes,
+     * followed by the run summary as the last line.
+     */
+    @PostMapping("/invoices/batch")
+    public ResponseEntity<StreamingResponseBody> generateInvoices(@Valid @RequestBody BatchBillingRequestDTO request) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                BatchBillingSummaryDTO summary = batchBillingApplicationService.generateInvoices(
+                    request.getPatientCedulas(), progress -> writeLine(outputStream, progress));
+                writeLine(outputStream, summary);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cancels an invoice, removing its amounts from the patient's annual copayment totals.
+     */
+    @PutMapping("/invoice/{invoiceNumber}/cancel")
+    public ResponseEntity<InvoiceDTO> cancelInvoice(@PathVariable String invoiceNumber) {
+        InvoiceDTO invoice = billingApplicationService.cancelInvoice(invoiceNumber);
+        return ResponseEntity.ok(invoice);
+    }
+
     /**
      * Gets billing details for a patient.
      */
@@ -76,6 +137,15 @@ public class BillingController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Gets clinic-wide billing statistics, broken down by invoice status and year.
+     */
+    @GetMapping("/statistics")
+    public ResponseEntity<BillingApplicationService.BillingStatisticsDTO> getClinicBillingStatistics() {
+        BillingApplicationService.BillingStatisticsDTO statistics = billingApplicationService.getClinicBillingStatistics();
+        return ResponseEntity.ok(statistics);
+    }
+
     /**
      * Validates insurance policy for billing purposes.
      */
@@ -103,4 +173,14 @@ public class BillingController {
         java.math.BigDecimal amount = billingApplicationService.getAccumulatedCopaymentForYear(patientCedula, year);
         return ResponseEntity.ok(amount.toString());
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds one page of invoices ordered by identifier.
+     * Pass the returned nextCursor as "after" to read the following page.
+     */
+    @GetMapping("/invoices")
+    public ResponseEntity<CursorPageDTO<InvoiceDTO>> findInvoicesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(billingApplicationService.findInvoicesPage(after, size));
+    }
+}
@@ -12,8 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.inventory.CreateInventoryItemDTO;
 import app.clinic.application.dto.inventory.InventoryItemDTO;
 import app.clinic.application.dto.inventory.UpdateInventoryItemDTO;
@@ -30,9 +35,11 @@ import jakarta.validation.Valid;
 public class InventoryController {
 
     private final InventoryApplicationService inventoryApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public InventoryController(InventoryApplicationService inventoryApplicationService) {
+    public InventoryController(InventoryApplicationService inventoryApplicationService, ObjectMapper objectMapper) {
         this.inventoryApplicationService = inventoryApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -67,12 +74,21 @@ public class InventoryController {
     }
 
     /**
-     * Finds all inventory items.
+     * Finds all inventory items, written as a JSON array while they are read in batches.
      */
     @GetMapping
-    public ResponseEntity<List<InventoryItemDTO>> findAllInventoryItems() {
-        List<InventoryItemDTO> items = inventoryApplicationService.findAllInventoryItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<StreamingResponseBody> findAllInventoryItems() {
+        return JsonArrayResponses.of(objectMapper, inventoryApplicationService.streamAllInventoryItems());
+    }
+
+    /**
+     * Finds one page of inventory items ordered by identifier.
+     * Pass the returned nextCursor as "after" to read the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<InventoryItemDTO>> findInventoryItemsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(inventoryApplicationService.findInventoryItemsPage(after, size));
     }
 
     /**
@@ -103,7 +119,7 @@ public class InventoryController {
     }
 
     /**
-     * Finds inventory items by name.
+     * Finds inventory items whose name starts with or contains the given text.
      */
     @GetMapping("/search/{name}")
     public ResponseEntity<List<InventoryItemDTO>> findInventoryItemsByName(@PathVariable String name) {
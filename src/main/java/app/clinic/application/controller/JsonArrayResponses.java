@@ -0,0 +1,47 @@
+package app.clinic.application.controller;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Helper for endpoints that write a Stream as a JSON array while it is consumed,
+ * so the response never holds the whole result in memory. The stream is closed
+ * once written. Output is flushed to the client once per batch of elements rather
+ * than after every element.
+ */
+final class JsonArrayResponses {
+
+    static final int FLUSH_BATCH_SIZE = 100;
+
+    private JsonArrayResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Stream<?> items) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<?> source = items;
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Iterator<?> iterator = source.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    if (++written % FLUSH_BATCH_SIZE == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,7 +1,10 @@
 package app.clinic.application.controller;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,11 +12,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.clinic.application.dto.medical.CreateMedicalRecordDTO;
 import app.clinic.application.dto.medical.MedicalRecordDTO;
 import app.clinic.application.dto.medical.MedicalRecordEntryDTO;
+import app.clinic.application.dto.medical.MedicalRecordSearchHitDTO;
 import app.clinic.application.service.MedicalRecordApplicationService;
 import jakarta.validation.Valid;
 
@@ -27,9 +35,12 @@ import jakarta.validation.Valid;
 public class MedicalRecordController {
 
     private final MedicalRecordApplicationService medicalRecordApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public MedicalRecordController(MedicalRecordApplicationService medicalRecordApplicationService) {
+    public MedicalRecordController(MedicalRecordApplicationService medicalRecordApplicationService,
+                                   ObjectMapper objectMapper) {
         this.medicalRecordApplicationService = medicalRecordApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -63,6 +74,40 @@ public class MedicalRecordController {
                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Finds the entries of a patient dated between from and to (yyyy-MM-dd), both inclusive.
+     * The range is validated before the response starts; entries are then written as a JSON
+     * array while they are read, so memory use does not depend on the length of the history.
+     */
+    @GetMapping("/patient/{patientCedula}/history")
+    public ResponseEntity<StreamingResponseBody> findMedicalHistory(
+            @PathVariable String patientCedula,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return JsonArrayResponses.of(objectMapper,
+                medicalRecordApplicationService.streamMedicalHistory(patientCedula, from, to));
+    }
+
+    /**
+     * Finds the most recent entries of a patient, in date order.
+     */
+    @GetMapping("/patient/{patientCedula}/history/latest")
+    public ResponseEntity<StreamingResponseBody> findLatestMedicalHistory(@PathVariable String patientCedula,
+                                                                          @RequestParam(defaultValue = "10") int count) {
+        return JsonArrayResponses.of(objectMapper,
+                medicalRecordApplicationService.findLatestMedicalHistory(patientCedula, count).stream());
+    }
+
+    /**
+     * Searches medical record entries by words of their consultation reason, symptoms or diagnosis.
+     * Returns the matching patients and dates, best matches first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<MedicalRecordSearchHitDTO>> searchMedicalRecords(@RequestParam("q") String query,
+                                                                                @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(medicalRecordApplicationService.searchMedicalRecords(query, limit));
+    }
+
     /**
      * Checks if a patient has any medical records.
      */
@@ -112,15 +112,6 @@ public class OrderController {
         return ResponseEntity.ok(isValid);
     }
 
-    /**
-     * Generates the next available order number.
-     */
-    @GetMapping("/next-number")
-    public ResponseEntity<String> generateNextOrderNumber() {
-        String nextNumber = orderApplicationService.generateNextOrderNumber();
-        return ResponseEntity.ok(nextNumber);
-    }
-
     /**
      * Checks if an order number is available.
      */
@@ -1,9 +1,8 @@
 package app.clinic.application.controller;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,8 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.patient.CreatePatientDTO;
 import app.clinic.application.dto.patient.PatientDTO;
 import app.clinic.application.dto.patient.UpdatePatientDTO;
@@ -34,9 +38,11 @@ public class PatientController {
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
 
     private final PatientApplicationService patientApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public PatientController(PatientApplicationService patientApplicationService) {
+    public PatientController(PatientApplicationService patientApplicationService, ObjectMapper objectMapper) {
         this.patientApplicationService = patientApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -98,6 +104,10 @@ public class PatientController {
             logger.info("Paciente actualizado exitosamente con cédula: {}", cedula);
             return ResponseEntity.ok(updatedPatient);
 
+        } catch (OptimisticLockingFailureException e) {
+            // Reported as 409 Conflict by the global exception handler
+            logger.warn("Paciente modificado concurrentemente con cédula: {} - {}", cedula, e.getMessage());
+            throw e;
         } catch (Exception e) {
             if (e.getMessage().contains("not found")) {
                 logger.warn("Paciente no encontrado para actualización con cédula: {} - {}",
@@ -186,18 +196,31 @@ public class PatientController {
 
     /**
      * Finds all patients.
+     * The list is written as a JSON array while patients are read in batches, so memory use
+     * does not depend on the number of patients.
      */
     @GetMapping
-    public ResponseEntity<List<PatientDTO>> findAllPatients() {
+    public ResponseEntity<StreamingResponseBody> findAllPatients() {
         logger.debug("Obteniendo lista de todos los pacientes");
+        return JsonArrayResponses.of(objectMapper, patientApplicationService.streamAllPatients());
+    }
 
-        try {
-            List<PatientDTO> patients = patientApplicationService.findAllPatients();
-            logger.debug("Se encontraron {} pacientes", patients.size());
-            return ResponseEntity.ok(patients);
+    /**
+     * Finds one page of patients ordered by identifier.
+     * Pass the returned nextCursor as "after" to read the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<PatientDTO>> findPatientsPage(@RequestParam(required = false) Long after,
+                                                                     @RequestParam(defaultValue = "50") int size) {
+        logger.debug("Obteniendo página de pacientes después del cursor: {}", after);
 
+        try {
+            return ResponseEntity.ok(patientApplicationService.findPatientsPage(after, size));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Parámetros de paginación inválidos: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            logger.error("Error al obtener lista de pacientes: {}", e.getMessage(), e);
+            logger.error("Error al obtener página de pacientes: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -1,8 +1,10 @@
 package app.clinic.application.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +13,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.visit.CreatePatientVisitDTO;
 import app.clinic.application.dto.visit.PatientVisitDTO;
+import app.clinic.application.dto.visit.VitalSignAggregateDTO;
+import app.clinic.application.dto.visit.VitalSignPointDTO;
 import app.clinic.application.dto.visit.VitalSignsDTO;
 import app.clinic.application.service.PatientVisitApplicationService;
 import jakarta.validation.Valid;
@@ -123,6 +129,34 @@ public class PatientVisitController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Finds the measurements of one vital sign of a patient from one date through another, in time order.
+     * The series is read from the vital signs store, without loading the patient's visits.
+     */
+    @GetMapping("/patient/{patientCedula}/vital-signs/{vitalSign}")
+    public ResponseEntity<List<VitalSignPointDTO>> findVitalSignSeries(
+            @PathVariable String patientCedula,
+            @PathVariable String vitalSign,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(patientVisitApplicationService.findVitalSignSeries(patientCedula, vitalSign, from, to));
+    }
+
+    /**
+     * Summarizes one vital sign of a patient per day or week (minimum, maximum and average) from one date
+     * through another, for long-term trends.
+     */
+    @GetMapping("/patient/{patientCedula}/vital-signs/{vitalSign}/trend")
+    public ResponseEntity<List<VitalSignAggregateDTO>> findVitalSignTrend(
+            @PathVariable String patientCedula,
+            @PathVariable String vitalSign,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "week") String resolution) {
+        return ResponseEntity.ok(
+                patientVisitApplicationService.findVitalSignTrend(patientCedula, vitalSign, from, to, resolution));
+    }
+
     /**
      * Checks if a patient has any pending visits.
      */
@@ -131,4 +165,14 @@ public class PatientVisitController {
         boolean hasPending = patientVisitApplicationService.hasPendingVisits(patientCedula);
         return ResponseEntity.ok(hasPending);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds one page of patient visits ordered by identifier.
+     * Pass the returned nextCursor as "after" to read the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<PatientVisitDTO>> findPatientVisitsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(patientVisitApplicationService.findPatientVisitsPage(after, size));
+    }
+}
@@ -11,8 +11,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.user.CreateUserDTO;
 import app.clinic.application.dto.user.UpdateUserDTO;
 import app.clinic.application.dto.user.UserDTO;
@@ -29,9 +34,11 @@ import jakarta.validation.Valid;
 public class UserController {
 
     private final UserApplicationService userApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserApplicationService userApplicationService) {
+    public UserController(UserApplicationService userApplicationService, ObjectMapper objectMapper) {
         this.userApplicationService = userApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -109,12 +116,21 @@ public class UserController {
     }
 
     /**
-     * Finds all users.
+     * Finds all users, written as a JSON array while they are read in batches.
      */
     @GetMapping
-    public ResponseEntity<List<UserDTO>> findAllUsers() {
-        List<UserDTO> users = userApplicationService.findAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<StreamingResponseBody> findAllUsers() {
+        return JsonArrayResponses.of(objectMapper, userApplicationService.streamAllUsers());
+    }
+
+    /**
+     * Finds one page of users ordered by identifier.
+     * Pass the returned nextCursor as "after" to read the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<UserDTO>> findUsersPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userApplicationService.findUsersPage(after, size));
     }
 
     /**
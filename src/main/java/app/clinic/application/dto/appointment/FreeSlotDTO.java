@@ -0,0 +1,52 @@
+package app.clinic.application.dto.appointment;
+
+/**
+ * Data Transfer Object for a free slot in a doctor's agenda.
+ * Used for API responses of the free slot search.
+ */
+public class FreeSlotDTO {
+    private String doctorCedula;
+    private String startDateTime;
+    private String endDateTime;
+
+    // Default constructor
+    public FreeSlotDTO() {}
+
+    // Constructor with parameters
+    public FreeSlotDTO(String doctorCedula, String startDateTime, String endDateTime) {
+        this.doctorCedula = doctorCedula;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+    }
+
+    // Getters and Setters
+    public String getDoctorCedula() {
+        return doctorCedula;
+    }
+
+    public void setDoctorCedula(String doctorCedula) {
+        this.doctorCedula = doctorCedula;
+    }
+
+    public String getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(String startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public String getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(String endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FreeSlotDTO{doctor='%s', start='%s', end='%s'}",
+                           doctorCedula, startDateTime, endDateTime);
+    }
+}
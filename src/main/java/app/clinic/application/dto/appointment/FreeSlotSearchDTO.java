@@ -0,0 +1,80 @@
+package app.clinic.application.dto.appointment;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for searching free appointment slots across several doctors.
+ * Contains validation annotations for input data.
+ */
+public class FreeSlotSearchDTO {
+
+    @NotEmpty(message = "At least one doctor cedula is required")
+    @Size(max = 50, message = "At most 50 doctors can be searched at once")
+    private List<@NotBlank(message = "Doctor cedula is required") String> doctorCedulas;
+
+    @NotBlank(message = "Window start date time is required")
+    private String startDateTime;
+
+    @NotBlank(message = "Window end date time is required")
+    private String endDateTime;
+
+    @Min(value = 5, message = "Slot length must be at least 5 minutes")
+    @Max(value = 480, message = "Slot length must not exceed 480 minutes")
+    private int slotMinutes = 30;
+
+    // Default constructor
+    public FreeSlotSearchDTO() {}
+
+    // Constructor with parameters
+    public FreeSlotSearchDTO(List<String> doctorCedulas, String startDateTime, String endDateTime, int slotMinutes) {
+        this.doctorCedulas = doctorCedulas;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.slotMinutes = slotMinutes;
+    }
+
+    // Getters and Setters
+    public List<String> getDoctorCedulas() {
+        return doctorCedulas;
+    }
+
+    public void setDoctorCedulas(List<String> doctorCedulas) {
+        this.doctorCedulas = doctorCedulas;
+    }
+
+    public String getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(String startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public String getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(String endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FreeSlotSearchDTO{doctorCedulas=%s, start='%s', end='%s', slotMinutes=%d}",
+                           doctorCedulas, startDateTime, endDateTime, slotMinutes);
+    }
+}
@@ -0,0 +1,99 @@
+package app.clinic.application.dto.billing;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object reporting the outcome of one chunk of a batch billing run.
+ * A failed chunk is rolled back as a whole; error holds a generic error code (for example CONCURRENT_UPDATE).
+ */
+public class BatchBillingChunkDTO {
+    private int chunkNumber;
+    private int totalChunks;
+    private int patients;
+    private int generatedInvoices;
+    private List<String> unknownPatientCedulas;
+    private boolean failed;
+    private String error;
+    private long elapsedMillis;
+
+    // Default constructor
+    public BatchBillingChunkDTO() {}
+
+    // Constructor with parameters
+    public BatchBillingChunkDTO(int chunkNumber, int totalChunks, int patients, int generatedInvoices,
+                                List<String> unknownPatientCedulas, boolean failed, String error, long elapsedMillis) {
+        this.chunkNumber = chunkNumber;
+        this.totalChunks = totalChunks;
+        this.patients = patients;
+        this.generatedInvoices = generatedInvoices;
+        this.unknownPatientCedulas = unknownPatientCedulas;
+        this.failed = failed;
+        this.error = error;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters and Setters
+    public int getChunkNumber() {
+        return chunkNumber;
+    }
+
+    public void setChunkNumber(int chunkNumber) {
+        this.chunkNumber = chunkNumber;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getPatients() {
+        return patients;
+    }
+
+    public void setPatients(int patients) {
+        this.patients = patients;
+    }
+
+    public int getGeneratedInvoices() {
+        return generatedInvoices;
+    }
+
+    public void setGeneratedInvoices(int generatedInvoices) {
+        this.generatedInvoices = generatedInvoices;
+    }
+
+    public List<String> getUnknownPatientCedulas() {
+        return unknownPatientCedulas;
+    }
+
+    public void setUnknownPatientCedulas(List<String> unknownPatientCedulas) {
+        this.unknownPatientCedulas = unknownPatientCedulas;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package app.clinic.application.dto.billing;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for a batch billing run.
+ * Contains validation annotations for input data.
+ */
+public class BatchBillingRequestDTO {
+
+    @NotEmpty(message = "At least one patient cedula is required")
+    @Size(max = 100000, message = "At most 100000 patients can be billed in one run")
+    private List<@NotBlank(message = "Patient cedula is required") String> patientCedulas;
+
+    // Default constructor
+    public BatchBillingRequestDTO() {}
+
+    // Constructor with parameters
+    public BatchBillingRequestDTO(List<String> patientCedulas) {
+        this.patientCedulas = patientCedulas;
+    }
+
+    // Getters and Setters
+    public List<String> getPatientCedulas() {
+        return patientCedulas;
+    }
+
+    public void setPatientCedulas(List<String> patientCedulas) {
+        this.patientCedulas = patientCedulas;
+    }
+}
@@ -0,0 +1,107 @@
+package app.clinic.application.dto.billing;
+
+/**
+ * Data Transfer Object summarizing a finished batch billing run.
+ */
+public class BatchBillingSummaryDTO {
+    private int requestedPatients;
+    private int generatedInvoices;
+    private int unknownPatients;
+    private int failedPatients;
+    private int chunks;
+    private int failedChunks;
+    private String totalBilled;
+    private String totalCopayment;
+    private long elapsedMillis;
+
+    // Default constructor
+    public BatchBillingSummaryDTO() {}
+
+    // Constructor with parameters
+    public BatchBillingSummaryDTO(int requestedPatients, int generatedInvoices, int unknownPatients,
+                                  int failedPatients, int chunks, int failedChunks, String totalBilled,
+                                  String totalCopayment, long elapsedMillis) {
+        this.requestedPatients = requestedPatients;
+        this.generatedInvoices = generatedInvoices;
+        this.unknownPatients = unknownPatients;
+        this.failedPatients = failedPatients;
+        this.chunks = chunks;
+        this.failedChunks = failedChunks;
+        this.totalBilled = totalBilled;
+        this.totalCopayment = totalCopayment;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters and Setters
+    public int getRequestedPatients() {
+        return requestedPatients;
+    }
+
+    public void setRequestedPatients(int requestedPatients) {
+        this.requestedPatients = requestedPatients;
+    }
+
+    public int getGeneratedInvoices() {
+        return generatedInvoices;
+    }
+
+    public void setGeneratedInvoices(int generatedInvoices) {
+        this.generatedInvoices = generatedInvoices;
+    }
+
+    public int getUnknownPatients() {
+        return unknownPatients;
+    }
+
+    public void setUnknownPatients(int unknownPatients) {
+        this.unknownPatients = unknownPatients;
+    }
+
+    public int getFailedPatients() {
+        return failedPatients;
+    }
+
+    public void setFailedPatients(int failedPatients) {
+        this.failedPatients = failedPatients;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public String getTotalBilled() {
+        return totalBilled;
+    }
+
+    public void setTotalBilled(String totalBilled) {
+        this.totalBilled = totalBilled;
+    }
+
+    public String getTotalCopayment() {
+        return totalCopayment;
+    }
+
+    public void setTotalCopayment(String totalCopayment) {
+        this.totalCopayment = totalCopayment;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,59 @@
+package app.clinic.application.dto.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+import app.clinic.domain.model.KeysetPage;
+
+/**
+ * Data Transfer Object for one page of a cursor-paginated listing.
+ * The client passes nextCursor back as the "after" parameter to fetch the following page;
+ * it is null on the last page.
+ */
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasNext;
+
+    // Default constructor
+    public CursorPageDTO() {}
+
+    // Constructor with parameters
+    public CursorPageDTO(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    /**
+     * Converts a domain page, mapping each item to its DTO.
+     */
+    public static <D, T> CursorPageDTO<T> from(KeysetPage<D> page, Function<D, T> mapper) {
+        return new CursorPageDTO<>(page.getItems().stream().map(mapper).toList(), page.getNextCursor());
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
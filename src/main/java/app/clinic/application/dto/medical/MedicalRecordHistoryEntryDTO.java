@@ -0,0 +1,34 @@
+package app.clinic.application.dto.medical;
+
+/**
+ * Data Transfer Object for a medical record entry together with its record date.
+ * Used for API responses listing part of a patient's history.
+ */
+public class MedicalRecordHistoryEntryDTO extends MedicalRecordEntryDTO {
+    private String recordDate;
+
+    // Default constructor
+    public MedicalRecordHistoryEntryDTO() {}
+
+    // Constructor with parameters
+    public MedicalRecordHistoryEntryDTO(String recordDate, MedicalRecordEntryDTO entry) {
+        super(entry.getDoctorCedula(), entry.getConsultationReason(), entry.getSymptoms(),
+              entry.getDiagnosis(), entry.getData());
+        this.recordDate = recordDate;
+    }
+
+    // Getters and Setters
+    public String getRecordDate() {
+        return recordDate;
+    }
+
+    public void setRecordDate(String recordDate) {
+        this.recordDate = recordDate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MedicalRecordHistoryEntryDTO{recordDate='%s', doctorCedula='%s', diagnosis='%s'}",
+                           recordDate, getDoctorCedula(), getDiagnosis());
+    }
+}
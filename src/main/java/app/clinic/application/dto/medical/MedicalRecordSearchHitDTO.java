@@ -0,0 +1,62 @@
+package app.clinic.application.dto.medical;
+
+/**
+ * Data Transfer Object for a medical record entry found by a full-text search.
+ * Used for API responses listing ranked search results.
+ */
+public class MedicalRecordSearchHitDTO {
+    private String patientCedula;
+    private String recordDate;
+    private String diagnosis;
+    private float score;
+
+    // Default constructor
+    public MedicalRecordSearchHitDTO() {}
+
+    // Constructor with parameters
+    public MedicalRecordSearchHitDTO(String patientCedula, String recordDate, String diagnosis, float score) {
+        this.patientCedula = patientCedula;
+        this.recordDate = recordDate;
+        this.diagnosis = diagnosis;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getPatientCedula() {
+        return patientCedula;
+    }
+
+    public void setPatientCedula(String patientCedula) {
+        this.patientCedula = patientCedula;
+    }
+
+    public String getRecordDate() {
+        return recordDate;
+    }
+
+    public void setRecordDate(String recordDate) {
+        this.recordDate = recordDate;
+    }
+
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MedicalRecordSearchHitDTO{patientCedula='%s', recordDate='%s', score=%.3f}",
+                           patientCedula, recordDate, score);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Null;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -21,8 +22,7 @@ public class CreateOrderDTO {
     @Size(max = 10, message = "Doctor cedula must not exceed 10 characters")
     private String doctorCedula;
 
-    @NotBlank(message = "Order number is required")
-    @Size(max = 10, message = "Order number must not exceed 10 characters")
+    @Null(message = "Order numbers are assigned by the clinic and must not be sent")
     private String orderNumber;
 
     @Valid
@@ -16,6 +16,7 @@ public class PatientDTO {
     private int age;
     private EmergencyContactDTO emergencyContact;
     private InsurancePolicyDTO insurancePolicy;
+    private Long version;
 
     // Default constructor
     public PatientDTO() {}
@@ -126,6 +127,14 @@ public class PatientDTO {
         this.insurancePolicy = insurancePolicy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return String.format("PatientDTO{cedula='%s', username='%s', fullName='%s', gender='%s', age=%d}",
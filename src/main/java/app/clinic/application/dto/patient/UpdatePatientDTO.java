@@ -41,6 +41,12 @@ public class UpdatePatientDTO {
     @Valid
     private UpdateInsurancePolicyDTO insurancePolicy;
 
+    /**
+     * Version of the patient the client read. When sent, the update is rejected
+     * with 409 Conflict if the patient has been modified since.
+     */
+    private Long version;
+
     // Default constructor
     public UpdatePatientDTO() {}
 
@@ -133,6 +139,14 @@ public class UpdatePatientDTO {
         this.insurancePolicy = insurancePolicy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return String.format("UpdatePatientDTO{cedula='%s', fullName='%s', gender='%s'}",
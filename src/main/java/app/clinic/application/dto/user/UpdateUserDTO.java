@@ -34,6 +34,12 @@ public class UpdateUserDTO {
              message = "Role must be one of: HUMAN_RESOURCES, ADMINISTRATIVE_STAFF, INFORMATION_SUPPORT, NURSE, DOCTOR")
     private String role;
 
+    /**
+     * Version of the user the client read. When sent, the update is rejected
+     * with 409 Conflict if the user has been modified since.
+     */
+    private Long version;
+
     // Default constructor
     public UpdateUserDTO() {}
 
@@ -106,6 +112,14 @@ public class UpdateUserDTO {
         this.role = role;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return String.format("UpdateUserDTO{cedula='%s', fullName='%s', role='%s'}",
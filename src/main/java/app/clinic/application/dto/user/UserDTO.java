@@ -15,6 +15,7 @@ public class UserDTO {
     private String role;
     private boolean active;
     private int age;
+    private Long version;
 
     // Default constructor
     public UserDTO() {}
@@ -116,6 +117,14 @@ public class UserDTO {
         this.age = age;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return String.format("UserDTO{cedula='%s', username='%s', fullName='%s', role='%s', active=%s}",
@@ -0,0 +1,72 @@
+package app.clinic.application.dto.visit;
+
+/**
+ * Data Transfer Object for the measurements of a vital sign within one day or week.
+ * Used for API responses charting long-term trends of a patient's vital signs.
+ */
+public class VitalSignAggregateDTO {
+    private String periodStart;
+    private int count;
+    private double min;
+    private double max;
+    private double average;
+
+    // Default constructor
+    public VitalSignAggregateDTO() {}
+
+    // Constructor with parameters
+    public VitalSignAggregateDTO(String periodStart, int count, double min, double max, double average) {
+        this.periodStart = periodStart;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+    }
+
+    // Getters and Setters
+    public String getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(String periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public void setAverage(double average) {
+        this.average = average;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VitalSignAggregateDTO{periodStart='%s', count=%d, min=%s, max=%s, average=%.2f}",
+                           periodStart, count, min, max, average);
+    }
+}
@@ -0,0 +1,41 @@
+package app.clinic.application.dto.visit;
+
+/**
+ * Data Transfer Object for one measurement of a vital sign series.
+ * Used for API responses charting a patient's vital signs over time.
+ */
+public class VitalSignPointDTO {
+    private String recordedAt;
+    private double value;
+
+    // Default constructor
+    public VitalSignPointDTO() {}
+
+    // Constructor with parameters
+    public VitalSignPointDTO(String recordedAt, double value) {
+        this.recordedAt = recordedAt;
+        this.value = value;
+    }
+
+    // Getters and Setters
+    public String getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(String recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VitalSignPointDTO{recordedAt='%s', value=%s}", recordedAt, value);
+    }
+}
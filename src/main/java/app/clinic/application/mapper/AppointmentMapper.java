@@ -8,12 +8,14 @@ import java.util.stream.Collectors;
 
 import app.clinic.application.dto.appointment.AppointmentDTO;
 import app.clinic.application.dto.appointment.CreateAppointmentDTO;
+import app.clinic.application.dto.appointment.FreeSlotDTO;
 import app.clinic.application.dto.appointment.UpdateAppointmentDTO;
 import app.clinic.domain.model.Appointment;
 import app.clinic.domain.model.AppointmentDateTime;
 import app.clinic.domain.model.AppointmentStatus;
 import app.clinic.domain.model.ConsultationReason;
 import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.FreeSlot;
 import app.clinic.domain.model.PatientCedula;
 
 /**
@@ -50,10 +52,21 @@ public class AppointmentMapper {
         dto.setAppointmentDateTime(appointment.getAppointmentDateTime().getValue().format(DATE_TIME_FORMATTER));
         dto.setStatus(appointment.getStatus().getDisplayName());
         dto.setReason(appointment.getReason() != null ? appointment.getReason().getValue() : null);
-        dto.setNotes(null); // Notes field not available in domain entity
+        dto.setNotes(appointment.getNotes() != null ? appointment.getNotes() : "");
         return dto;
     }
 
+    /**
+     * Converts a free slot to DTO.
+     */
+    public static FreeSlotDTO toDTO(FreeSlot freeSlot) {
+        return new FreeSlotDTO(
+            freeSlot.getDoctorCedula().getValue(),
+            freeSlot.getStart().format(DATE_TIME_FORMATTER),
+            freeSlot.getEnd().format(DATE_TIME_FORMATTER)
+        );
+    }
+
     /**
      * Converts a list of domain entities to DTOs.
      */
@@ -69,6 +82,7 @@ public class AppointmentMapper {
     public static Appointment updateFromDTO(Appointment existingAppointment, UpdateAppointmentDTO updateDTO) {
         ConsultationReason reason = updateDTO.getReason() != null ?
             ConsultationReason.of(updateDTO.getReason()) : existingAppointment.getReason();
+        String notes = updateDTO.getNotes() != null ? updateDTO.getNotes() : existingAppointment.getNotes();
 
         return Appointment.of(
             existingAppointment.getId(),
@@ -76,7 +90,8 @@ public class AppointmentMapper {
             existingAppointment.getDoctorCedula(),
             existingAppointment.getAppointmentDateTime(),
             existingAppointment.getStatus(),
-            reason
+            reason,
+            notes
         );
     }
 }
\ No newline at end of file
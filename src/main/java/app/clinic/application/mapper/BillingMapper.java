@@ -14,6 +14,7 @@ import app.clinic.application.service.PatientApplicationService;
 import app.clinic.infrastructure.entity.BillingDetailsEntity;
 import app.clinic.infrastructure.entity.BillingSummaryEntity;
 import app.clinic.infrastructure.entity.InvoiceEntity;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository.InvoiceWithPatient;
 
 /**
  * Mapper service for converting between domain entities and DTOs.
@@ -74,6 +75,46 @@ public class BillingMapper {
                       .collect(Collectors.toList());
     }
 
+    /**
+     * Converts an invoice row already joined with its patient to InvoiceDTO, without further lookups.
+     */
+    public InvoiceDTO toInvoiceDTOWithPatient(InvoiceWithPatient row) {
+        if (row == null) {
+            return null;
+        }
+
+        InvoiceDTO dto = new InvoiceDTO();
+        dto.setInvoiceNumber(row.getInvoiceNumber());
+        dto.setPatientCedula(row.getPatientCedula());
+        dto.setPatientName(row.getPatientFirstNames() != null
+                ? row.getPatientFirstNames() + " " + row.getPatientLastNames()
+                : "Paciente no encontrado");
+        dto.setTotalAmount(row.getTotalAmount() != null ? row.getTotalAmount().toString() : "0");
+        dto.setCopaymentAmount(row.getCopaymentAmount() != null ? row.getCopaymentAmount().toString() : "0");
+        dto.setInsuranceCoverage(row.getInsuranceCoverage() != null ? row.getInsuranceCoverage().toString() : "0");
+        dto.setPatientResponsibility(row.getPatientResponsibility() != null ? row.getPatientResponsibility().toString() : "0");
+        dto.setBillingDate(row.getBillingDate() != null ? row.getBillingDate().format(DATE_FORMATTER) : null);
+        dto.setDueDate(row.getDueDate() != null ? row.getDueDate().format(DATE_FORMATTER) : null);
+        dto.setStatus(row.getStatus() != null ? row.getStatus().toString() : "PENDING");
+        dto.setNotes(row.getNotes());
+        dto.setYear(row.getInvoiceYear());
+
+        return dto;
+    }
+
+    /**
+     * Converts invoice rows joined with their patients to a list of InvoiceDTO.
+     */
+    public List<InvoiceDTO> toInvoiceDTOsWithPatient(List<InvoiceWithPatient> rows) {
+        if (rows == null) {
+            return List.of();
+        }
+
+        return rows.stream()
+                   .map(this::toInvoiceDTOWithPatient)
+                   .collect(Collectors.toList());
+    }
+
     /**
      * Converts BillingSummaryEntity to BillingDTO.
      */
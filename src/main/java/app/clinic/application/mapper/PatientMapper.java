@@ -100,6 +100,7 @@ public class PatientMapper {
         dto.setPhoneNumber(patient.getPhoneNumber().getValue());
         dto.setEmail(patient.getEmail().getValue());
         dto.setAge(patient.getAge().getValue());
+        dto.setVersion(patient.getVersion());
 
         // Convert emergency contact if present
         if (!patient.getEmergencyContacts().isEmpty()) {
@@ -222,8 +223,12 @@ public class PatientMapper {
             }
         }
 
+        // The version the client read, if sent, so a stale update is rejected on save
+        Long version = dto.getVersion() != null ? dto.getVersion() : existingPatient.getVersion();
+
         return Patient.of(cedula, username, password, fullName, birthDate, gender,
-                         address, phoneNumber, email, emergencyContacts, insurancePolicy);
+                         address, phoneNumber, email, emergencyContacts, insurancePolicy)
+                .withVersion(version);
     }
 
     /**
@@ -62,6 +62,7 @@ public class UserMapper {
         dto.setRole(user.getRole().name());
         dto.setActive(user.isActive());
         dto.setAge(user.getAge());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
@@ -74,7 +75,8 @@ public class UserMapper {
         // For now, return the existing user as the domain model structure is complex
         // In a real application, you would need to implement proper update logic
         // based on the specific domain model requirements
-        return existingUser;
+        // The version the client read, if sent, so a stale update is rejected on save
+        return dto.getVersion() != null ? existingUser.withVersion(dto.getVersion()) : existingUser;
     }
 
     /**
@@ -1,19 +1,30 @@
 package app.clinic.application.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
 import app.clinic.application.dto.appointment.AppointmentDTO;
 import app.clinic.application.dto.appointment.CreateAppointmentDTO;
+import app.clinic.application.dto.appointment.FreeSlotDTO;
+import app.clinic.application.dto.appointment.FreeSlotSearchDTO;
 import app.clinic.application.dto.appointment.UpdateAppointmentDTO;
+import app.clinic.application.mapper.AppointmentMapper;
+import app.clinic.domain.model.Appointment;
+import app.clinic.domain.model.AppointmentId;
+import app.clinic.domain.model.AppointmentStatus;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.service.AppointmentDomainService;
+import app.clinic.domain.service.AppointmentSchedulingEngine;
 
 /**
  * Application service for appointment management operations.
@@ -23,77 +34,59 @@ import app.clinic.application.dto.appointment.UpdateAppointmentDTO;
 @Service
 public class AppointmentApplicationService {
 
-    // In-memory storage for appointments (replace with real repository later)
-    private final ConcurrentMap<String, AppointmentDTO> appointments = new ConcurrentHashMap<>();
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    private final AppointmentDomainService appointmentDomainService;
+    private final AppointmentSchedulingEngine appointmentSchedulingEngine;
+
+    public AppointmentApplicationService(AppointmentDomainService appointmentDomainService,
+                                         AppointmentSchedulingEngine appointmentSchedulingEngine) {
+        this.appointmentDomainService = appointmentDomainService;
+        this.appointmentSchedulingEngine = appointmentSchedulingEngine;
+    }
+
     /**
      * Schedules a new appointment.
      */
     public AppointmentDTO scheduleAppointment(CreateAppointmentDTO createAppointmentDTO) {
-        // Generate new appointment ID
-        String appointmentId = UUID.randomUUID().toString();
-
-        // Create new appointment DTO
-        AppointmentDTO appointment = new AppointmentDTO();
-        appointment.setId(appointmentId);
-        appointment.setPatientCedula(createAppointmentDTO.getPatientCedula());
-        appointment.setDoctorCedula(createAppointmentDTO.getDoctorCedula());
-        appointment.setAppointmentDateTime(createAppointmentDTO.getAppointmentDateTime());
-        appointment.setReason(createAppointmentDTO.getReason());
-        appointment.setStatus("Programada");
-        appointment.setNotes("");
-
-        // Store appointment
-        appointments.put(appointmentId, appointment);
-
-        return appointment;
+        Appointment appointment = AppointmentMapper.toDomainEntity(createAppointmentDTO);
+        Appointment scheduledAppointment = appointmentDomainService.scheduleAppointment(appointment);
+        return AppointmentMapper.toDTO(scheduledAppointment);
     }
 
     /**
      * Updates an existing appointment.
      */
     public AppointmentDTO updateAppointment(String appointmentId, UpdateAppointmentDTO updateAppointmentDTO) {
-        // Find existing appointment
-        AppointmentDTO existingAppointment = appointments.get(appointmentId);
-        if (existingAppointment == null) {
-            throw new IllegalArgumentException("Appointment not found with ID: " + appointmentId);
-        }
-
-        // Update fields if provided
-        if (updateAppointmentDTO.getReason() != null) {
-            existingAppointment.setReason(updateAppointmentDTO.getReason());
-        }
-        if (updateAppointmentDTO.getNotes() != null) {
-            existingAppointment.setNotes(updateAppointmentDTO.getNotes());
-        }
+        Appointment existingAppointment = appointmentDomainService.findAppointmentById(AppointmentId.of(appointmentId))
+            .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
 
-        return existingAppointment;
+        Appointment updatedAppointment = AppointmentMapper.updateFromDTO(existingAppointment, updateAppointmentDTO);
+        return AppointmentMapper.toDTO(appointmentDomainService.updateAppointment(updatedAppointment));
     }
 
     /**
      * Finds an appointment by ID.
      */
     public Optional<AppointmentDTO> findAppointmentById(String appointmentId) {
-        return Optional.ofNullable(appointments.get(appointmentId));
+        return appointmentDomainService.findAppointmentById(AppointmentId.of(appointmentId))
+            .map(AppointmentMapper::toDTO);
     }
 
     /**
      * Finds all appointments for a specific patient.
      */
     public List<AppointmentDTO> findAppointmentsByPatientCedula(String patientCedula) {
-        return appointments.values().stream()
-                .filter(apt -> apt.getPatientCedula().equals(patientCedula))
-                .collect(Collectors.toList());
+        return AppointmentMapper.toDTOList(
+            appointmentDomainService.findAppointmentsByPatient(PatientCedula.of(patientCedula)));
     }
 
     /**
      * Finds all appointments for a specific doctor.
      */
     public List<AppointmentDTO> findAppointmentsByDoctorCedula(String doctorCedula) {
-        return appointments.values().stream()
-                .filter(apt -> apt.getDoctorCedula().equals(doctorCedula))
-                .collect(Collectors.toList());
+        return AppointmentMapper.toDTOList(
+            appointmentDomainService.findAppointmentsByDoctor(DoctorCedula.of(doctorCedula)));
     }
 
     /**
@@ -103,45 +96,28 @@ public class AppointmentApplicationService {
         LocalDateTime start = LocalDateTime.parse(startDate, DATE_TIME_FORMATTER);
         LocalDateTime end = LocalDateTime.parse(endDate, DATE_TIME_FORMATTER);
 
-        return appointments.values().stream()
-            .filter(apt -> {
-                LocalDateTime aptDateTime = LocalDateTime.parse(apt.getAppointmentDateTime(), DATE_TIME_FORMATTER);
-                return !aptDateTime.isBefore(start) && !aptDateTime.isAfter(end);
-            })
-            .collect(Collectors.toList());
+        return AppointmentMapper.toDTOList(appointmentDomainService.findAppointmentsByDateRange(start, end));
     }
 
     /**
      * Cancels an appointment.
      */
     public AppointmentDTO cancelAppointment(String appointmentId) {
-        AppointmentDTO appointment = appointments.get(appointmentId);
-        if (appointment == null) {
-            throw new IllegalArgumentException("Appointment not found with ID: " + appointmentId);
-        }
-
-        appointment.setStatus("Cancelada");
-        return appointment;
+        return AppointmentMapper.toDTO(appointmentDomainService.cancelAppointment(AppointmentId.of(appointmentId)));
     }
 
     /**
      * Marks an appointment as completed.
      */
     public AppointmentDTO completeAppointment(String appointmentId) {
-        AppointmentDTO appointment = appointments.get(appointmentId);
-        if (appointment == null) {
-            throw new IllegalArgumentException("Appointment not found with ID: " + appointmentId);
-        }
-
-        appointment.setStatus("Completada");
-        return appointment;
+        return AppointmentMapper.toDTO(appointmentDomainService.completeAppointment(AppointmentId.of(appointmentId)));
     }
 
     /**
      * Deletes an appointment by ID.
      */
     public void deleteAppointment(String appointmentId) {
-        appointments.remove(appointmentId);
+        appointmentDomainService.deleteAppointmentById(AppointmentId.of(appointmentId));
     }
 
     /**
@@ -150,40 +126,52 @@ public class AppointmentApplicationService {
     public boolean checkDoctorAvailability(String doctorCedula, String dateTime) {
         try {
             LocalDateTime requestedDateTime = LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
-
-            // Check for conflicting appointments
-            return appointments.values().stream()
-                .filter(apt -> apt.getDoctorCedula().equals(doctorCedula))
-                .filter(apt -> "Programada".equals(apt.getStatus()) || "Confirmada".equals(apt.getStatus()))
-                .noneMatch(apt -> {
-                    LocalDateTime aptDateTime = LocalDateTime.parse(apt.getAppointmentDateTime(), DATE_TIME_FORMATTER);
-                    return aptDateTime.equals(requestedDateTime);
-                });
-        } catch (Exception e) {
+            return appointmentDomainService.isDoctorAvailable(DoctorCedula.of(doctorCedula), requestedDateTime);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
             return false;
         }
     }
 
+    /**
+     * Finds the free slots of several doctors within a date window.
+     * The returned stream is computed lazily and can be written out as it is consumed.
+     */
+    public Stream<FreeSlotDTO> findFreeSlots(FreeSlotSearchDTO searchDTO) {
+        Set<DoctorCedula> doctorCedulas = new LinkedHashSet<>();
+        for (String doctorCedula : searchDTO.getDoctorCedulas()) {
+            doctorCedulas.add(DoctorCedula.of(doctorCedula));
+        }
+        LocalDateTime start = LocalDateTime.parse(searchDTO.getStartDateTime(), DATE_TIME_FORMATTER);
+        LocalDateTime end = LocalDateTime.parse(searchDTO.getEndDateTime(), DATE_TIME_FORMATTER);
+
+        return appointmentSchedulingEngine.findFreeSlots(doctorCedulas, start, end,
+                Duration.ofMinutes(searchDTO.getSlotMinutes()))
+            .map(AppointmentMapper::toDTO);
+    }
+
     /**
      * Gets appointment statistics for a patient.
      */
     public AppointmentStatisticsDTO getAppointmentStatistics(String patientCedula) {
-        List<AppointmentDTO> patientAppointments = findAppointmentsByPatientCedula(patientCedula);
+        List<Appointment> patientAppointments =
+            appointmentDomainService.findAppointmentsByPatient(PatientCedula.of(patientCedula));
+        LocalDateTime now = LocalDateTime.now();
 
         int totalAppointments = patientAppointments.size();
-        int completedAppointments = (int) patientAppointments.stream()
-            .filter(apt -> "Completada".equals(apt.getStatus()))
-            .count();
-        int cancelledAppointments = (int) patientAppointments.stream()
-            .filter(apt -> "Cancelada".equals(apt.getStatus()))
-            .count();
-        int upcomingAppointments = (int) patientAppointments.stream()
-            .filter(apt -> "Programada".equals(apt.getStatus()) || "Confirmada".equals(apt.getStatus()))
-            .filter(apt -> {
-                LocalDateTime aptDateTime = LocalDateTime.parse(apt.getAppointmentDateTime(), DATE_TIME_FORMATTER);
-                return aptDateTime.isAfter(LocalDateTime.now());
-            })
-            .count();
+        int completedAppointments = 0;
+        int cancelledAppointments = 0;
+        int upcomingAppointments = 0;
+        for (Appointment appointment : patientAppointments) {
+            AppointmentStatus status = appointment.getStatus();
+            if (status == AppointmentStatus.COMPLETADA) {
+                completedAppointments++;
+            } else if (status == AppointmentStatus.CANCELADA) {
+                cancelledAppointments++;
+            } else if ((status == AppointmentStatus.PROGRAMADA || status == AppointmentStatus.CONFIRMADA)
+                    && appointment.getAppointmentDateTime().getValue().isAfter(now)) {
+                upcomingAppointments++;
+            }
+        }
 
         return new AppointmentStatisticsDTO(totalAppointments, completedAppointments,
                                           cancelledAppointments, upcomingAppointments);
@@ -193,13 +181,7 @@ public class AppointmentApplicationService {
      * Checks if a patient has any upcoming appointments.
      */
     public boolean hasUpcomingAppointments(String patientCedula) {
-        return appointments.values().stream()
-            .filter(apt -> apt.getPatientCedula().equals(patientCedula))
-            .filter(apt -> "Programada".equals(apt.getStatus()) || "Confirmada".equals(apt.getStatus()))
-            .anyMatch(apt -> {
-                LocalDateTime aptDateTime = LocalDateTime.parse(apt.getAppointmentDateTime(), DATE_TIME_FORMATTER);
-                return aptDateTime.isAfter(LocalDateTime.now());
-            });
+        return appointmentDomainService.hasUpcomingAppointments(PatientCedula.of(patientCedula));
     }
 
     /**
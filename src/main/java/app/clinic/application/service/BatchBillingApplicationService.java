@@ -0,0 +1,235 @@
+package app.clinic.application.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.application.dto.billing.BatchBillingChunkDTO;
+import app.clinic.application.dto.billing.BatchBillingSummaryDTO;
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.BillingCalculationResult;
+import app.clinic.domain.model.Money;
+import app.clinic.domain.model.Patient;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.TotalCost;
+import app.clinic.domain.model.Year;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.domain.port.InvoiceNumberAllocator;
+import app.clinic.domain.port.PatientRepository;
+import app.clinic.domain.service.BillingDomainService;
+import app.clinic.infrastructure.adapter.InvoiceBatchWriter;
+import app.clinic.infrastructure.entity.InvoiceEntity;
+
+/**
+ * Application service for end-of-day batch billing runs.
+ * Patients are billed in chunks, each in its own transaction: the chunk's patients and
+ * copayment ledger entries are loaded with one query each, billing is calculated in parallel
+ * from that data, and the invoices are written with a JDBC batch insert. A failing chunk is
+ * rolled back and reported without stopping the run.
+ */
+@Service
+public class BatchBillingApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchBillingApplicationService.class);
+
+    /** Error codes reported for a failed chunk; details are only logged, never returned to the client. */
+    static final String CONCURRENT_UPDATE_ERROR = "CONCURRENT_UPDATE";
+    static final String DATA_ACCESS_ERROR = "DATA_ACCESS_ERROR";
+    static final String CHUNK_FAILED_ERROR = "CHUNK_FAILED";
+
+    private final BillingDomainService billingDomainService;
+    private final PatientRepository patientRepository;
+    private final CopaymentLedger copaymentLedger;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+    private final InvoiceBatchWriter invoiceBatchWriter;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public BatchBillingApplicationService(BillingDomainService billingDomainService,
+                                          PatientRepository patientRepository,
+                                          CopaymentLedger copaymentLedger,
+                                          InvoiceNumberAllocator invoiceNumberAllocator,
+                                          InvoiceBatchWriter invoiceBatchWriter,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.billing.batch.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Batch billing chunk size must be positive");
+        }
+        this.billingDomainService = billingDomainService;
+        this.patientRepository = patientRepository;
+        this.copaymentLedger = copaymentLedger;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
+        this.invoiceBatchWriter = invoiceBatchWriter;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Generates one invoice for each distinct patient cedula.
+     * The listener receives the outcome of every chunk as soon as it is committed or rolled back.
+     */
+    public BatchBillingSummaryDTO generateInvoices(List<String> patientCedulas, Consumer<BatchBillingChunkDTO> progressListener) {
+        long runStart = System.nanoTime();
+        Set<PatientCedula> distinctCedulas = new LinkedHashSet<>();
+        for (String patientCedula : patientCedulas) {
+            distinctCedulas.add(PatientCedula.of(patientCedula));
+        }
+        List<PatientCedula> cedulas = new ArrayList<>(distinctCedulas);
+        int totalChunks = (cedulas.size() + chunkSize - 1) / chunkSize;
+        Year year = Year.current();
+
+        int generated = 0;
+        int unknown = 0;
+        int failedPatients = 0;
+        int failedChunks = 0;
+        BigDecimal totalBilled = BigDecimal.ZERO;
+        BigDecimal totalCopayment = BigDecimal.ZERO;
+
+        for (int chunkIndex = 0; chunkIndex < totalChunks; chunkIndex++) {
+            List<PatientCedula> chunk = cedulas.subList(chunkIndex * chunkSize,
+                Math.min(cedulas.size(), (chunkIndex + 1) * chunkSize));
+            long chunkStart = System.nanoTime();
+            BatchBillingChunkDTO progress;
+            try {
+                ChunkResult result = chunkTransaction.execute(status -> billChunk(chunk, year));
+                generated += result.invoices().size();
+                unknown += result.unknownCedulas().size();
+                for (InvoiceEntity invoice : result.invoices()) {
+                    totalBilled = totalBilled.add(invoice.getTotalAmount());
+                    totalCopayment = totalCopayment.add(invoice.getCopaymentAmount());
+                }
+                progress = new BatchBillingChunkDTO(chunkIndex + 1, totalChunks, chunk.size(), result.invoices().size(),
+                    result.unknownCedulas(), false, null, elapsedMillis(chunkStart));
+            } catch (RuntimeException e) {
+                failedPatients += chunk.size();
+                failedChunks++;
+                logger.warn("Batch billing chunk {}/{} failed and was rolled back", chunkIndex + 1, totalChunks, e);
+                progress = new BatchBillingChunkDTO(chunkIndex + 1, totalChunks, chunk.size(), 0,
+                    List.of(), true, errorCodeOf(e), elapsedMillis(chunkStart));
+            }
+            logger.info("Batch billing chunk {}/{}: {} invoices, {} unknown patients, {} ms",
+                progress.getChunkNumber(), totalChunks, progress.getGeneratedInvoices(),
+                progress.getUnknownPatientCedulas().size(), progress.getElapsedMillis());
+            progressListener.accept(progress);
+        }
+
+        BatchBillingSummaryDTO summary = new BatchBillingSummaryDTO(cedulas.size(), generated, unknown, failedPatients,
+            totalChunks, failedChunks, totalBilled.toString(), totalCopayment.toString(), elapsedMillis(runStart));
+        logger.info("Batch billing finished: {} invoices for {} patients, {} failed chunks in {} ms",
+            generated, cedulas.size(), failedChunks, summary.getElapsedMillis());
+        return summary;
+    }
+
+    /**
+     * Maps a chunk failure to a generic error code, so exception messages (SQL, constraint names,
+     * patient identifiers) never reach the API client.
+     */
+    private static String errorCodeOf(RuntimeException e) {
+        if (e instanceof ConcurrencyFailureException) {
+            return CONCURRENT_UPDATE_ERROR;
+        }
+        if (e instanceof DataAccessException) {
+            return DATA_ACCESS_ERROR;
+        }
+        return CHUNK_FAILED_ERROR;
+    }
+
+    /**
+     * Bills one chunk inside the current transaction.
+     * The ledger entries read here stay managed until commit, so a concurrent invoice for the
+     * same patient makes the versioned ledger update fail and the chunk roll back.
+     */
+    private ChunkResult billChunk(List<PatientCedula> chunk, Year year) {
+        Map<PatientCedula, Patient> patients = patientRepository.findByCedulas(chunk).stream()
+            .collect(Collectors.toMap(Patient::getCedula, Function.identity(), (first, second) -> first));
+        Map<PatientCedula, AnnualBillingTotals> totals = copaymentLedger.findTotals(patients.keySet(), year);
+
+        List<Patient> billable = new ArrayList<>(patients.size());
+        List<String> unknownCedulas = new ArrayList<>();
+        for (PatientCedula cedula : chunk) {
+            Patient patient = patients.get(cedula);
+            if (patient != null) {
+                billable.add(patient);
+            } else {
+                unknownCedulas.add(cedula.getValue());
+            }
+        }
+
+        // Pure calculation over prefetched data; the parallel stream keeps the chunk order
+        TotalCost totalCost = TotalCost.of(Money.of(BillingApplicationService.PLACEHOLDER_TOTAL_AMOUNT));
+        List<BillingCalculationResult> results = billable.parallelStream()
+            .map(patient -> billingDomainService.calculateBilling(patient, totalCost, totals.get(patient.getCedula())))
+            .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InvoiceEntity> invoices = new ArrayList<>(billable.size());
+        for (int i = 0; i < billable.size(); i++) {
+            invoices.add(toInvoice(billable.get(i).getCedula(), results.get(i), now, year));
+        }
+        invoiceBatchWriter.insertAll(invoices);
+
+        for (InvoiceEntity invoice : invoices) {
+            copaymentLedger.recordInvoice(PatientCedula.of(invoice.getPatientCedula()), year,
+                Money.of(invoice.getCopaymentAmount()), Money.of(invoice.getTotalAmount()));
+        }
+        return new ChunkResult(invoices, unknownCedulas);
+    }
+
+    private InvoiceEntity toInvoice(PatientCedula cedula, BillingCalculationResult result, LocalDateTime now, Year year) {
+        InvoiceEntity invoice = new InvoiceEntity();
+        invoice.setInvoiceNumber(invoiceNumberAllocator.nextInvoiceNumber().getValue());
+        invoice.setPatientCedula(cedula.getValue());
+        invoice.setTotalAmount(result.getTotalCost().getAmount());
+        // The patient's share is what counts towards the annual copayment, as in generateInvoice
+        invoice.setCopaymentAmount(result.getPatientResponsibility().getAmount());
+        invoice.setInsuranceCoverage(result.getInsuranceCoverage().getAmount());
+        invoice.setPatientResponsibility(result.getPatientResponsibility().getAmount());
+        invoice.setBillingDate(now);
+        invoice.setDueDate(now.plusDays(30));
+        invoice.setStatus(InvoiceEntity.InvoiceStatus.PENDING);
+        invoice.setYear(year.getValue());
+        invoice.setNotes("Factura generada en lote");
+        return invoice;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Invoices written by a committed chunk and the cedulas it could not find.
+     */
+    private static final class ChunkResult {
+        private final List<InvoiceEntity> invoices;
+        private final List<String> unknownCedulas;
+
+        ChunkResult(List<InvoiceEntity> invoices, List<String> unknownCedulas) {
+            this.invoices = invoices;
+            this.unknownCedulas = unknownCedulas;
+        }
+
+        List<InvoiceEntity> invoices() {
+            return invoices;
+        }
+
+        List<String> unknownCedulas() {
+            return unknownCedulas;
+        }
+    }
+}
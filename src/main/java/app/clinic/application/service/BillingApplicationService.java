@@ -3,21 +3,33 @@ package app.clinic.application.service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.application.dto.billing.BillingCalculationResultDTO;
 import app.clinic.application.dto.billing.BillingDTO;
 import app.clinic.application.dto.billing.InvoiceDTO;
 import app.clinic.application.dto.billing.OrderSummaryDTO;
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.patient.PatientDTO;
 import app.clinic.application.mapper.BillingMapper;
+import app.clinic.domain.exception.EntityNotFoundException;
+import app.clinic.domain.model.KeysetPage;
+import app.clinic.domain.model.Money;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.domain.port.InvoiceNumberAllocator;
 import app.clinic.domain.service.BillingDomainService;
 import app.clinic.infrastructure.adapter.BillingRepositoryAdapter;
 import app.clinic.infrastructure.entity.InvoiceEntity;
 import app.clinic.infrastructure.repository.InvoiceJpaRepository;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository.InvoiceStatusYearTotals;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository.InvoiceWithPatient;
 
 /**
  * Application service for billing management operations.
@@ -32,28 +44,35 @@ public class BillingApplicationService {
     private final BillingRepositoryAdapter billingRepositoryAdapter;
     private final BillingMapper billingMapper;
     private final InvoiceJpaRepository invoiceJpaRepository;
+    private final CopaymentLedger copaymentLedger;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
 
     // Constants for copayment rules
     private static final BigDecimal COPAYMENT_AMOUNT = new BigDecimal("50000"); // $50,000
     private static final BigDecimal ANNUAL_COPAYMENT_LIMIT = new BigDecimal("1000000"); // $1,000,000
+    static final BigDecimal PLACEHOLDER_TOTAL_AMOUNT = new BigDecimal("200000"); // $200,000 until orders are priced
 
     public BillingApplicationService(BillingDomainService billingDomainService,
                                     PatientApplicationService patientApplicationService,
                                     BillingRepositoryAdapter billingRepositoryAdapter,
                                     BillingMapper billingMapper,
-                                    InvoiceJpaRepository invoiceJpaRepository) {
+                                    InvoiceJpaRepository invoiceJpaRepository,
+                                    CopaymentLedger copaymentLedger,
+                                    InvoiceNumberAllocator invoiceNumberAllocator) {
         this.billingDomainService = billingDomainService;
         this.patientApplicationService = patientApplicationService;
         this.billingRepositoryAdapter = billingRepositoryAdapter;
         this.billingMapper = billingMapper;
         this.invoiceJpaRepository = invoiceJpaRepository;
+        this.copaymentLedger = copaymentLedger;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
     }
 
     /**
      * Calculates billing for a patient based on their orders and insurance policy.
      */
     public BillingCalculationResultDTO calculateBilling(String patientCedula) {
-        java.math.BigDecimal totalAmount = java.math.BigDecimal.valueOf(200000); // $200,000 placeholder
+        java.math.BigDecimal totalAmount = PLACEHOLDER_TOTAL_AMOUNT;
 
         // Check if patient has active insurance
         boolean hasActiveInsurance = validateInsurancePolicyForBilling(patientCedula);
@@ -64,13 +83,16 @@ public class BillingApplicationService {
 
     /**
      * Generates an invoice for a patient.
+     * The invoice and the patient's annual copayment ledger entry are written in one transaction;
+     * a concurrent invoice for the same patient fails with an optimistic locking conflict.
      */
+    @Transactional
     public InvoiceDTO generateInvoice(String patientCedula) {
         // Calculate billing using existing method
         BillingCalculationResultDTO calculationResult = calculateBilling(patientCedula);
 
         // Generate unique invoice number
-        String invoiceNumber = generateUniqueInvoiceNumber();
+        String invoiceNumber = invoiceNumberAllocator.nextInvoiceNumber().getValue();
 
         // Get patient information
         String patientName = patientApplicationService.findPatientByCedula(patientCedula)
@@ -96,11 +118,34 @@ public class BillingApplicationService {
 
         // Save invoice using repository adapter
         InvoiceEntity savedInvoice = invoiceJpaRepository.save(invoiceEntity);
+        recordInLedger(savedInvoice);
 
         // Convert to DTO using mapper
         return billingMapper.toInvoiceDTO(savedInvoice);
     }
 
+    /**
+     * Cancels an invoice and removes its amounts from the patient's annual copayment ledger.
+     * Cancelling an already cancelled invoice returns it unchanged.
+     */
+    @Transactional
+    public InvoiceDTO cancelInvoice(String invoiceNumber) {
+        InvoiceEntity invoice = invoiceJpaRepository.findByInvoiceNumber(invoiceNumber);
+        if (invoice == null) {
+            throw new EntityNotFoundException("Invoice not found: " + invoiceNumber);
+        }
+
+        if (!InvoiceEntity.InvoiceStatus.CANCELLED.equals(invoice.getStatus())) {
+            invoice.setStatus(InvoiceEntity.InvoiceStatus.CANCELLED);
+            copaymentLedger.reverseInvoice(PatientCedula.of(invoice.getPatientCedula()),
+                app.clinic.domain.model.Year.of(invoice.getYear()),
+                amountOf(invoice.getCopaymentAmount()),
+                amountOf(invoice.getTotalAmount()));
+        }
+
+        return billingMapper.toInvoiceDTO(invoice);
+    }
+
     /**
      * Gets billing details for a patient.
      */
@@ -113,34 +158,28 @@ public class BillingApplicationService {
 
         PatientDTO patient = patientOpt.get();
 
-        // Get patient invoices for order summaries
-        List<InvoiceEntity> invoices = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(patientCedula);
+        // Get patient invoice numbers for order summaries
+        List<String> invoiceNumbers = invoiceJpaRepository.findInvoiceNumbersByPatientCedula(patientCedula);
 
         // Create order summaries from invoices (simplified implementation)
-        List<OrderSummaryDTO> orderSummaries = invoices.stream()
-            .map(invoice -> new OrderSummaryDTO(
-                invoice.getInvoiceNumber(),
+        List<OrderSummaryDTO> orderSummaries = invoiceNumbers.stream()
+            .map(invoiceNumber -> new OrderSummaryDTO(
+                invoiceNumber,
                 List.of(), // medications - would need separate query
                 List.of(), // procedures - would need separate query
                 List.of()  // diagnostic aids - would need separate query
             ))
             .toList();
 
-        // Calculate totals from invoices
-        BigDecimal totalAmount = invoices.stream()
-            .map(InvoiceEntity::getTotalAmount)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCopayment = invoices.stream()
-            .map(InvoiceEntity::getCopaymentAmount)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalInsuranceCoverage = invoices.stream()
-            .map(InvoiceEntity::getInsuranceCoverage)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Totals over all invoices, summed in the database by status and year
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal totalCopayment = BigDecimal.ZERO;
+        BigDecimal totalInsuranceCoverage = BigDecimal.ZERO;
+        for (InvoiceStatusYearTotals group : invoiceJpaRepository.sumByStatusAndYearForPatient(patientCedula)) {
+            totalAmount = totalAmount.add(group.getTotalAmount());
+            totalCopayment = totalCopayment.add(group.getCopaymentAmount());
+            totalInsuranceCoverage = totalInsuranceCoverage.add(group.getInsuranceCoverage());
+        }
 
         // Get insurance information
         String insuranceCompany = "";
@@ -214,9 +253,10 @@ public class BillingApplicationService {
      * Gets accumulated copayment amount for current year.
      */
     public BigDecimal getAccumulatedCopaymentForYear(String patientCedula, int year) {
-        // Use the repository method to get total copayment for the year
-        BigDecimal totalCopayment = invoiceJpaRepository.getTotalCopaymentForYear(patientCedula, year);
-        return totalCopayment != null ? totalCopayment : BigDecimal.ZERO;
+        // Single primary-key read of the ledger entry maintained on invoice writes
+        return copaymentLedger.findTotals(PatientCedula.of(patientCedula), app.clinic.domain.model.Year.of(year))
+            .getAccumulatedCopayment()
+            .getValue();
     }
 
     /**
@@ -288,65 +328,88 @@ public class BillingApplicationService {
      * Gets billing history for a patient.
      */
     public List<InvoiceDTO> getBillingHistory(String patientCedula) {
-        // Get all invoices for the patient ordered by billing date (most recent first)
-        List<InvoiceEntity> invoices = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(patientCedula);
+        // Invoices joined with the patient in one query (most recent first)
+        List<InvoiceWithPatient> invoices = invoiceJpaRepository.findWithPatientByPatientCedula(patientCedula);
 
-        // Convert entities to DTOs using the billing mapper
-        return billingMapper.toInvoiceDTOList(invoices);
+        // Convert rows to DTOs using the billing mapper
+        return billingMapper.toInvoiceDTOsWithPatient(invoices);
+    }
+
+    /**
+     * Finds one page of invoices after the given cursor, ordered by identifier.
+     * Uses keyset pagination on the primary key, so every page costs the same.
+     */
+    public CursorPageDTO<InvoiceDTO> findInvoicesPage(Long afterCursor, int size) {
+        int limit = KeysetPage.validatePageSize(size);
+        List<InvoiceWithPatient> invoices = invoiceJpaRepository.findWithPatientByIdGreaterThan(
+            afterCursor != null ? afterCursor : 0L, Limit.of(limit + 1));
+
+        boolean hasNext = invoices.size() > limit;
+        List<InvoiceWithPatient> pageInvoices = hasNext ? invoices.subList(0, limit) : invoices;
+        Long nextCursor = hasNext ? pageInvoices.get(limit - 1).getId() : null;
+        return new CursorPageDTO<>(billingMapper.toInvoiceDTOsWithPatient(pageInvoices), nextCursor);
     }
 
     /**
      * Gets billing statistics for a patient.
      */
     public BillingStatisticsDTO getBillingStatistics(String patientCedula) {
-        // Get all invoices for the patient
-        List<InvoiceEntity> invoices = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(patientCedula);
+        return toBillingStatistics(invoiceJpaRepository.sumByStatusAndYearForPatient(patientCedula));
+    }
 
-        // Filter out cancelled invoices for statistics
-        List<InvoiceEntity> validInvoices = invoices.stream()
-            .filter(invoice -> !InvoiceEntity.InvoiceStatus.CANCELLED.equals(invoice.getStatus()))
-            .toList();
+    /**
+     * Gets clinic-wide billing statistics across all patients.
+     */
+    public BillingStatisticsDTO getClinicBillingStatistics() {
+        return toBillingStatistics(invoiceJpaRepository.sumByStatusAndYear());
+    }
 
-        if (validInvoices.isEmpty()) {
-            return new BillingStatisticsDTO(
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                0,
-                "0"
-            );
+    /**
+     * Folds the status/year groups into statistics. Cancelled invoices are excluded from
+     * the totals but are still reported in the breakdown.
+     */
+    private BillingStatisticsDTO toBillingStatistics(List<InvoiceStatusYearTotals> groups) {
+        BigDecimal totalBilled = BigDecimal.ZERO;
+        BigDecimal totalPaidByPatient = BigDecimal.ZERO;
+        BigDecimal totalPaidByInsurance = BigDecimal.ZERO;
+        long numberOfInvoices = 0;
+        List<StatusYearStatisticsDTO> breakdown = new ArrayList<>();
+
+        for (InvoiceStatusYearTotals group : groups) {
+            breakdown.add(new StatusYearStatisticsDTO(
+                group.getStatus() != null ? group.getStatus().name() : null,
+                group.getInvoiceYear(),
+                group.getInvoiceCount(),
+                group.getTotalAmount(),
+                group.getCopaymentAmount(),
+                group.getInsuranceCoverage(),
+                group.getPatientResponsibility()
+            ));
+            if (InvoiceEntity.InvoiceStatus.CANCELLED.equals(group.getStatus())) {
+                continue;
+            }
+            totalBilled = totalBilled.add(group.getTotalAmount());
+            totalPaidByPatient = totalPaidByPatient.add(group.getCopaymentAmount());
+            totalPaidByInsurance = totalPaidByInsurance.add(group.getInsuranceCoverage());
+            numberOfInvoices += group.getInvoiceCount();
         }
 
-        // Calculate totals
-        BigDecimal totalBilled = validInvoices.stream()
-            .map(InvoiceEntity::getTotalAmount)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPaidByPatient = validInvoices.stream()
-            .map(InvoiceEntity::getCopaymentAmount)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPaidByInsurance = validInvoices.stream()
-            .map(InvoiceEntity::getInsuranceCoverage)
-            .filter(amount -> amount != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         // Calculate average billing amount
-        String averageBillingAmount = totalBilled.divide(
-            BigDecimal.valueOf(validInvoices.size()),
+        String averageBillingAmount = numberOfInvoices == 0 ? "0" : totalBilled.divide(
+            BigDecimal.valueOf(numberOfInvoices),
             2,
             java.math.RoundingMode.HALF_UP
         ).toString();
 
-        return new BillingStatisticsDTO(
+        BillingStatisticsDTO statistics = new BillingStatisticsDTO(
             totalBilled,
             totalPaidByPatient,
             totalPaidByInsurance,
-            validInvoices.size(),
+            Math.toIntExact(numberOfInvoices),
             averageBillingAmount
         );
+        statistics.setBreakdown(breakdown);
+        return statistics;
     }
 
     /**
@@ -358,6 +421,7 @@ public class BillingApplicationService {
         private BigDecimal totalPaidByInsurance;
         private int numberOfInvoices;
         private String averageBillingAmount;
+        private List<StatusYearStatisticsDTO> breakdown = List.of();
 
         // Constructors, getters and setters
         public BillingStatisticsDTO() {}
@@ -382,14 +446,62 @@ public class BillingApplicationService {
         public void setNumberOfInvoices(int numberOfInvoices) { this.numberOfInvoices = numberOfInvoices; }
         public String getAverageBillingAmount() { return averageBillingAmount; }
         public void setAverageBillingAmount(String averageBillingAmount) { this.averageBillingAmount = averageBillingAmount; }
+        public List<StatusYearStatisticsDTO> getBreakdown() { return breakdown; }
+        public void setBreakdown(List<StatusYearStatisticsDTO> breakdown) { this.breakdown = breakdown; }
     }
 
     /**
-     * Generates a unique invoice number.
+     * DTO for the invoice count and totals of one status in one year.
      */
-    private String generateUniqueInvoiceNumber() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String randomSuffix = String.valueOf((int) (Math.random() * 1000));
-        return "INV-" + timestamp + "-" + randomSuffix;
+    public static class StatusYearStatisticsDTO {
+        private String status;
+        private Integer year;
+        private long numberOfInvoices;
+        private BigDecimal totalBilled;
+        private BigDecimal totalCopayment;
+        private BigDecimal totalInsuranceCoverage;
+        private BigDecimal totalPatientResponsibility;
+
+        // Constructors, getters and setters
+        public StatusYearStatisticsDTO() {}
+
+        public StatusYearStatisticsDTO(String status, Integer year, long numberOfInvoices, BigDecimal totalBilled,
+                                       BigDecimal totalCopayment, BigDecimal totalInsuranceCoverage,
+                                       BigDecimal totalPatientResponsibility) {
+            this.status = status;
+            this.year = year;
+            this.numberOfInvoices = numberOfInvoices;
+            this.totalBilled = totalBilled;
+            this.totalCopayment = totalCopayment;
+            this.totalInsuranceCoverage = totalInsuranceCoverage;
+            this.totalPatientResponsibility = totalPatientResponsibility;
+        }
+
+        // Getters and setters
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public Integer getYear() { return year; }
+        public void setYear(Integer year) { this.year = year; }
+        public long getNumberOfInvoices() { return numberOfInvoices; }
+        public void setNumberOfInvoices(long numberOfInvoices) { this.numberOfInvoices = numberOfInvoices; }
+        public BigDecimal getTotalBilled() { return totalBilled; }
+        public void setTotalBilled(BigDecimal totalBilled) { this.totalBilled = totalBilled; }
+        public BigDecimal getTotalCopayment() { return totalCopayment; }
+        public void setTotalCopayment(BigDecimal totalCopayment) { this.totalCopayment = totalCopayment; }
+        public BigDecimal getTotalInsuranceCoverage() { return totalInsuranceCoverage; }
+        public void setTotalInsuranceCoverage(BigDecimal totalInsuranceCoverage) { this.totalInsuranceCoverage = totalInsuranceCoverage; }
+        public BigDecimal getTotalPatientResponsibility() { return totalPatientResponsibility; }
+        public void setTotalPatientResponsibility(BigDecimal totalPatientResponsibility) { this.totalPatientResponsibility = totalPatientResponsibility; }
+    }
+
+    private void recordInLedger(InvoiceEntity invoice) {
+        copaymentLedger.recordInvoice(PatientCedula.of(invoice.getPatientCedula()),
+            app.clinic.domain.model.Year.of(invoice.getYear()),
+            amountOf(invoice.getCopaymentAmount()),
+            amountOf(invoice.getTotalAmount()));
+    }
+
+    private static Money amountOf(BigDecimal amount) {
+        return Money.of(amount != null ? amount : BigDecimal.ZERO);
     }
 }
\ No newline at end of file
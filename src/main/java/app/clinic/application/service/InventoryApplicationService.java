@@ -4,9 +4,11 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.inventory.CreateInventoryItemDTO;
 import app.clinic.application.dto.inventory.InventoryItemDTO;
 import app.clinic.application.dto.inventory.UpdateInventoryItemDTO;
@@ -15,21 +17,31 @@ import app.clinic.domain.model.InventoryItem;
 import app.clinic.domain.model.InventoryItemId;
 import app.clinic.domain.model.InventoryItemName;
 import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.Money;
+import app.clinic.domain.port.InventoryCatalog;
 import app.clinic.domain.service.InventoryDomainService;
 
 /**
  * Application service for inventory management operations.
  * Coordinates between REST controllers and domain services.
  * Handles inventory-related use cases and business operations.
+ * Read-only lookups, listings and name searches are answered by the in-memory inventory catalog.
  */
 @Service
 public class InventoryApplicationService {
 
+    /**
+     * Maximum number of items returned by a name search.
+     */
+    static final int NAME_SEARCH_LIMIT = 50;
+
     private final InventoryDomainService inventoryDomainService;
+    private final InventoryCatalog inventoryCatalog;
 
-    public InventoryApplicationService(InventoryDomainService inventoryDomainService) {
+    public InventoryApplicationService(InventoryDomainService inventoryDomainService, InventoryCatalog inventoryCatalog) {
         this.inventoryDomainService = inventoryDomainService;
+        this.inventoryCatalog = inventoryCatalog;
     }
 
     /**
@@ -154,7 +166,7 @@ public class InventoryApplicationService {
     public Optional<InventoryItemDTO> findInventoryItemById(String itemId) {
         try {
             InventoryItemId inventoryItemId = InventoryItemId.of(itemId);
-            Optional<InventoryItem> inventoryItem = inventoryDomainService.findInventoryItemById(inventoryItemId);
+            Optional<InventoryItem> inventoryItem = inventoryCatalog.findById(inventoryItemId);
             return inventoryItem.map(this::convertInventoryItemToDTO);
         } catch (Exception e) {
             return Optional.empty();
@@ -162,20 +174,27 @@ public class InventoryApplicationService {
     }
 
     /**
-     * Finds all inventory items.
+     * Streams all inventory items as DTOs. The stream reads items in batches while it is
+     * consumed and must be closed by the caller.
      */
-    public List<InventoryItemDTO> findAllInventoryItems() {
-        List<InventoryItem> inventoryItems = inventoryDomainService.findAllInventoryItems();
-        return inventoryItems.stream()
-            .map(this::convertInventoryItemToDTO)
-            .toList();
+    public Stream<InventoryItemDTO> streamAllInventoryItems() {
+        return inventoryDomainService.streamAllInventoryItems()
+            .map(this::convertInventoryItemToDTO);
+    }
+
+    /**
+     * Finds one page of inventory items after the given cursor.
+     */
+    public CursorPageDTO<InventoryItemDTO> findInventoryItemsPage(Long afterCursor, int size) {
+        KeysetPage<InventoryItem> page = inventoryDomainService.findInventoryItemsPage(afterCursor, size);
+        return CursorPageDTO.from(page, this::convertInventoryItemToDTO);
     }
 
     /**
      * Finds all medications.
      */
     public List<InventoryItemDTO> findAllMedications() {
-        List<InventoryItem> medications = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.MEDICAMENTO);
+        List<InventoryItem> medications = inventoryCatalog.findActiveByType(InventoryItemType.MEDICAMENTO);
         return medications.stream()
             .map(this::convertInventoryItemToDTO)
             .toList();
@@ -185,7 +204,7 @@ public class InventoryApplicationService {
      * Finds all procedures.
      */
     public List<InventoryItemDTO> findAllProcedures() {
-        List<InventoryItem> procedures = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.PROCEDIMIENTO);
+        List<InventoryItem> procedures = inventoryCatalog.findActiveByType(InventoryItemType.PROCEDIMIENTO);
         return procedures.stream()
             .map(this::convertInventoryItemToDTO)
             .toList();
@@ -195,20 +214,22 @@ public class InventoryApplicationService {
      * Finds all diagnostic aids.
      */
     public List<InventoryItemDTO> findAllDiagnosticAids() {
-        List<InventoryItem> diagnosticAids = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.AYUDA_DIAGNOSTICA);
+        List<InventoryItem> diagnosticAids = inventoryCatalog.findActiveByType(InventoryItemType.AYUDA_DIAGNOSTICA);
         return diagnosticAids.stream()
             .map(this::convertInventoryItemToDTO)
             .toList();
     }
 
     /**
-     * Finds inventory items by name.
+     * Finds inventory items whose name starts with or contains the given text, ignoring case and accents.
      */
     public List<InventoryItemDTO> findInventoryItemsByName(String name) {
-        InventoryItemName itemName = InventoryItemName.of(name);
-        Optional<InventoryItem> inventoryItem = inventoryDomainService.findInventoryItemByName(itemName);
-        return inventoryItem.map(item -> List.of(convertInventoryItemToDTO(item)))
-            .orElse(List.of());
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search text cannot be null or empty");
+        }
+        return inventoryCatalog.searchByName(name, NAME_SEARCH_LIMIT).stream()
+            .map(this::convertInventoryItemToDTO)
+            .toList();
     }
 
     /**
@@ -225,7 +246,7 @@ public class InventoryApplicationService {
     public boolean inventoryItemExists(String itemId) {
         try {
             InventoryItemId inventoryItemId = InventoryItemId.of(itemId);
-            return inventoryDomainService.findInventoryItemById(inventoryItemId).isPresent();
+            return inventoryCatalog.findById(inventoryItemId).isPresent();
         } catch (Exception e) {
             return false;
         }
@@ -240,9 +261,9 @@ public class InventoryApplicationService {
 
         // Calculate totals by type
         int totalItems = allItems.size();
-        int totalMedications = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.MEDICAMENTO).size();
-        int totalProcedures = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.PROCEDIMIENTO).size();
-        int totalDiagnosticAids = inventoryDomainService.findActiveInventoryItemsByType(InventoryItemType.AYUDA_DIAGNOSTICA).size();
+        int totalMedications = inventoryCatalog.findActiveByType(InventoryItemType.MEDICAMENTO).size();
+        int totalProcedures = inventoryCatalog.findActiveByType(InventoryItemType.PROCEDIMIENTO).size();
+        int totalDiagnosticAids = inventoryCatalog.findActiveByType(InventoryItemType.AYUDA_DIAGNOSTICA).size();
 
         // Calculate average cost
         String averageCost = "0.00";
@@ -325,7 +346,7 @@ public class InventoryApplicationService {
     public boolean isInventoryItemAvailable(String itemId) {
         try {
             InventoryItemId inventoryItemId = InventoryItemId.of(itemId);
-            Optional<InventoryItem> inventoryItem = inventoryDomainService.findInventoryItemById(inventoryItemId);
+            Optional<InventoryItem> inventoryItem = inventoryCatalog.findById(inventoryItemId);
             return inventoryItem.map(InventoryItem::isActive).orElse(false);
         } catch (Exception e) {
             return false;
@@ -2,8 +2,11 @@ package app.clinic.application.service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
@@ -12,16 +15,20 @@ import app.clinic.application.dto.medical.DiagnosticAidRecordDTO;
 import app.clinic.application.dto.medical.MedicalRecordDTO;
 import app.clinic.application.dto.medical.MedicalRecordDataDTO;
 import app.clinic.application.dto.medical.MedicalRecordEntryDTO;
+import app.clinic.application.dto.medical.MedicalRecordHistoryEntryDTO;
+import app.clinic.application.dto.medical.MedicalRecordSearchHitDTO;
 import app.clinic.application.dto.medical.MedicationRecordDTO;
 import app.clinic.application.dto.medical.ProcedureRecordDTO;
 import app.clinic.domain.model.ConsultationReason;
 import app.clinic.domain.model.Diagnosis;
 import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.MedicalRecordSearchHit;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientRecord;
 import app.clinic.domain.model.PatientRecordData;
 import app.clinic.domain.model.PatientRecordDate;
 import app.clinic.domain.model.PatientRecordEntry;
+import app.clinic.domain.model.PatientRecordKey;
 import app.clinic.domain.model.Symptoms;
 import app.clinic.domain.service.MedicalRecordDomainService;
 
@@ -33,6 +40,9 @@ import app.clinic.domain.service.MedicalRecordDomainService;
 @Service
 public class MedicalRecordApplicationService {
 
+    static final int MAX_LATEST_ENTRIES = 100;
+    static final int MAX_SEARCH_RESULTS = 100;
+
     private final MedicalRecordDomainService medicalRecordDomainService;
 
     public MedicalRecordApplicationService(MedicalRecordDomainService medicalRecordDomainService) {
@@ -49,7 +59,7 @@ public class MedicalRecordApplicationService {
         // Use today's date as the record date
         PatientRecordDate recordDate = PatientRecordDate.today();
 
-        // Create or update patient record using domain service
+        // Store the entry on its own; the patient's existing history is not rewritten
         medicalRecordDomainService.addRecordEntry(
             PatientCedula.of(createMedicalRecordDTO.getPatientCedula()),
             recordDate,
@@ -79,22 +89,16 @@ public class MedicalRecordApplicationService {
      * Finds a specific medical record entry by patient and date.
      */
     public Optional<MedicalRecordEntryDTO> findMedicalRecordEntry(String patientCedula, String recordDate) {
-        PatientRecord patientRecord = medicalRecordDomainService.findByPatientCedula(
-            PatientCedula.of(patientCedula)
-        );
-
-        if (patientRecord.isEmpty()) {
-            return Optional.empty();
-        }
-
         try {
             // Parse recordDate string using the standard format dd/MM/yyyy
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
             LocalDate localDate = LocalDate.parse(recordDate.trim(), formatter);
             PatientRecordDate patientRecordDate = PatientRecordDate.of(localDate);
 
-            // Get the record entry for the specified date
-            PatientRecordEntry entry = patientRecord.getRecord(patientRecordDate);
+            // Read only the entry for the specified date, not the whole record
+            PatientRecordEntry entry = medicalRecordDomainService.findEntryByKey(
+                PatientRecordKey.of(PatientCedula.of(patientCedula), patientRecordDate)
+            );
 
             // Convert to DTO if entry exists, otherwise return empty
             return Optional.ofNullable(entry).map(this::convertEntryToDTO);
@@ -108,6 +112,44 @@ public class MedicalRecordApplicationService {
         }
     }
 
+    /**
+     * Streams the entries of a patient dated between from and to, both inclusive, in date order.
+     * The range is validated eagerly; entries are read in batches as the stream is consumed.
+     */
+    public Stream<MedicalRecordHistoryEntryDTO> streamMedicalHistory(String patientCedula, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and end dates are required");
+        }
+        return medicalRecordDomainService.streamEntriesBetween(
+                PatientCedula.of(patientCedula), PatientRecordDate.of(from), PatientRecordDate.of(to))
+            .map(this::convertHistoryEntryToDTO);
+    }
+
+    /**
+     * Finds the given number of most recent entries of a patient, in date order.
+     */
+    public List<MedicalRecordHistoryEntryDTO> findLatestMedicalHistory(String patientCedula, int count) {
+        if (count <= 0 || count > MAX_LATEST_ENTRIES) {
+            throw new IllegalArgumentException("Number of entries must be between 1 and " + MAX_LATEST_ENTRIES);
+        }
+        PatientRecord latest = medicalRecordDomainService.findLatestEntries(PatientCedula.of(patientCedula), count);
+        return latest.getRecords().entrySet().stream()
+            .map(this::convertHistoryEntryToDTO)
+            .toList();
+    }
+
+    /**
+     * Searches entries by words of their consultation reason, symptoms and diagnosis, best matches first.
+     */
+    public List<MedicalRecordSearchHitDTO> searchMedicalRecords(String query, int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Number of results must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return medicalRecordDomainService.search(query, limit).stream()
+            .map(this::convertSearchHitToDTO)
+            .toList();
+    }
+
     /**
      * Updates an existing medical record entry.
      */
@@ -136,11 +178,11 @@ public class MedicalRecordApplicationService {
             PatientRecordDate patientRecordDate = PatientRecordDate.of(localDate);
 
             // Verify that the specific record entry exists
-            PatientRecord patientRecord = medicalRecordDomainService.findByPatientCedula(
-                PatientCedula.of(patientCedula)
+            PatientRecordEntry existingEntry = medicalRecordDomainService.findEntryByKey(
+                PatientRecordKey.of(PatientCedula.of(patientCedula), patientRecordDate)
             );
 
-            if (!patientRecord.hasRecord(patientRecordDate)) {
+            if (existingEntry == null) {
                 throw new IllegalArgumentException("Medical record entry not found for the specified date");
             }
 
@@ -188,11 +230,11 @@ public class MedicalRecordApplicationService {
             PatientRecordDate patientRecordDate = PatientRecordDate.of(localDate);
 
             // Verify that the specific record entry exists
-            PatientRecord patientRecord = medicalRecordDomainService.findByPatientCedula(
-                PatientCedula.of(patientCedula)
+            PatientRecordEntry existingEntry = medicalRecordDomainService.findEntryByKey(
+                PatientRecordKey.of(PatientCedula.of(patientCedula), patientRecordDate)
             );
 
-            if (!patientRecord.hasRecord(patientRecordDate)) {
+            if (existingEntry == null) {
                 throw new IllegalArgumentException("Medical record entry not found for the specified date");
             }
 
@@ -213,20 +255,14 @@ public class MedicalRecordApplicationService {
      * Checks if a patient has any medical records.
      */
     public boolean hasMedicalRecords(String patientCedula) {
-        PatientRecord patientRecord = medicalRecordDomainService.findByPatientCedula(
-            PatientCedula.of(patientCedula)
-        );
-        return !patientRecord.isEmpty();
+        return medicalRecordDomainService.hasRecords(PatientCedula.of(patientCedula));
     }
 
     /**
      * Gets the number of medical record entries for a patient.
      */
     public int getMedicalRecordCount(String patientCedula) {
-        PatientRecord patientRecord = medicalRecordDomainService.findByPatientCedula(
-            PatientCedula.of(patientCedula)
-        );
-        return patientRecord.getRecords().size();
+        return Math.toIntExact(medicalRecordDomainService.countEntries(PatientCedula.of(patientCedula)));
     }
 
     /**
@@ -260,6 +296,25 @@ public class MedicalRecordApplicationService {
         return dto;
     }
 
+    /**
+     * Helper method to convert a dated PatientRecordEntry to MedicalRecordHistoryEntryDTO.
+     */
+    private MedicalRecordHistoryEntryDTO convertHistoryEntryToDTO(Map.Entry<PatientRecordDate, PatientRecordEntry> entry) {
+        return new MedicalRecordHistoryEntryDTO(entry.getKey().getValue().toString(), convertEntryToDTO(entry.getValue()));
+    }
+
+    /**
+     * Helper method to convert MedicalRecordSearchHit domain entity to MedicalRecordSearchHitDTO.
+     */
+    private MedicalRecordSearchHitDTO convertSearchHitToDTO(MedicalRecordSearchHit hit) {
+        return new MedicalRecordSearchHitDTO(
+            hit.getKey().getPatientCedula().getValue(),
+            hit.getKey().getRecordDate().getValue().toString(),
+            hit.getDiagnosis().getValue(),
+            hit.getScore()
+        );
+    }
+
     /**
      * Helper method to convert PatientRecordData domain entity to MedicalRecordDataDTO.
      */
@@ -1,8 +1,10 @@
 package app.clinic.application.service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
@@ -17,7 +19,10 @@ import app.clinic.domain.model.DiagnosticAidOrder;
 import app.clinic.domain.model.DoctorCedula;
 import app.clinic.domain.model.Dosage;
 import app.clinic.domain.model.Frequency;
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
 import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemType;
 import app.clinic.domain.model.ItemNumber;
 import app.clinic.domain.model.MedicalSpecialty;
 import app.clinic.domain.model.MedicationItem;
@@ -31,7 +36,7 @@ import app.clinic.domain.model.ProcedureOrder;
 import app.clinic.domain.model.Quantity;
 import app.clinic.domain.model.RequiresSpecialistAssistance;
 import app.clinic.domain.model.TreatmentDuration;
-import app.clinic.domain.port.InventoryRepository;
+import app.clinic.domain.port.InventoryCatalog;
 import app.clinic.domain.service.OrderDomainService;
 
 /**
@@ -43,11 +48,11 @@ import app.clinic.domain.service.OrderDomainService;
 public class OrderApplicationService {
 
     private final OrderDomainService orderDomainService;
-    private final InventoryRepository inventoryRepository;
+    private final InventoryCatalog inventoryCatalog;
 
-    public OrderApplicationService(OrderDomainService orderDomainService, InventoryRepository inventoryRepository) {
+    public OrderApplicationService(OrderDomainService orderDomainService, InventoryCatalog inventoryCatalog) {
         this.orderDomainService = orderDomainService;
-        this.inventoryRepository = inventoryRepository;
+        this.inventoryCatalog = inventoryCatalog;
     }
 
     /**
@@ -58,14 +63,15 @@ public class OrderApplicationService {
         if (!validateOrderBusinessRules(createOrderDTO)) {
             throw new IllegalArgumentException("Order violates business rules");
         }
-
-        // Generate order number if not provided
-        String orderNumber = createOrderDTO.getOrderNumber() != null ?
-            createOrderDTO.getOrderNumber() : generateNextOrderNumber();
+        // Numbers chosen by the client would bypass the allocator and could later collide with allocated ones
+        if (createOrderDTO.getOrderNumber() != null) {
+            throw new IllegalArgumentException("Order numbers are assigned by the clinic and must not be sent");
+        }
 
         try {
+            OrderNumber orderNumberObj = orderDomainService.nextOrderNumber();
+
             // Create domain entities based on order type
-            OrderNumber orderNumberObj = OrderNumber.of(orderNumber);
             PatientCedula patientCedula = PatientCedula.of(createOrderDTO.getPatientCedula());
             DoctorCedula doctorCedula = DoctorCedula.of(createOrderDTO.getDoctorCedula());
             OrderCreationDate creationDate = OrderCreationDate.now();
@@ -119,26 +125,9 @@ public class OrderApplicationService {
         try {
             OrderNumber orderNumberObj = OrderNumber.of(orderNumber);
 
-            // Search for medication order first
-            Optional<MedicationOrder> medicationOrder = orderDomainService.findMedicationOrderByNumber(orderNumberObj);
-            if (medicationOrder.isPresent()) {
-                return Optional.of(mapMedicationOrderToDTO(medicationOrder.get()));
-            }
-
-            // Search for procedure order
-            Optional<ProcedureOrder> procedureOrder = orderDomainService.findProcedureOrderByNumber(orderNumberObj);
-            if (procedureOrder.isPresent()) {
-                return Optional.of(mapProcedureOrderToDTO(procedureOrder.get()));
-            }
-
-            // Search for diagnostic aid order
-            Optional<DiagnosticAidOrder> diagnosticAidOrder = orderDomainService.findDiagnosticAidOrderByNumber(orderNumberObj);
-            if (diagnosticAidOrder.isPresent()) {
-                return Optional.of(mapDiagnosticAidOrderToDTO(diagnosticAidOrder.get()));
-            }
-
-            // Order not found
-            return Optional.empty();
+            // Single type-discriminated lookup across all order types
+            return orderDomainService.findOrderByNumber(orderNumberObj)
+                .map(this::mapOrderToDTO);
 
         } catch (IllegalArgumentException e) {
             // Invalid order number format
@@ -156,19 +145,11 @@ public class OrderApplicationService {
 
         try {
             PatientCedula patientCedulaObj = PatientCedula.of(patientCedula.trim());
-            List<OrderDTO> orders = new ArrayList<>();
-
-            // Search in all order types
-            List<MedicationOrder> medicationOrders = orderDomainService.findMedicationOrdersByPatient(patientCedulaObj);
-            medicationOrders.forEach(order -> orders.add(mapMedicationOrderToDTO(order)));
 
-            List<ProcedureOrder> procedureOrders = orderDomainService.findProcedureOrdersByPatient(patientCedulaObj);
-            procedureOrders.forEach(order -> orders.add(mapProcedureOrderToDTO(order)));
-
-            List<DiagnosticAidOrder> diagnosticAidOrders = orderDomainService.findDiagnosticAidOrdersByPatient(patientCedulaObj);
-            diagnosticAidOrders.forEach(order -> orders.add(mapDiagnosticAidOrderToDTO(order)));
-
-            return orders;
+            // One query returns every order type, so each order appears exactly once
+            return orderDomainService.findOrdersByPatient(patientCedulaObj).stream()
+                .map(this::mapOrderToDTO)
+                .toList();
 
         } catch (IllegalArgumentException e) {
             // Invalid patient cedula format
@@ -330,42 +311,8 @@ public class OrderApplicationService {
         }
 
         try {
-            OrderNumber orderNumberObj = OrderNumber.of(orderNumber.trim());
-
-            // Try to delete from all order types
-            boolean deleted = false;
-
-            // Try to delete as medication order first
-            try {
-                orderDomainService.deleteMedicationOrder(orderNumberObj);
-                deleted = true;
-            } catch (IllegalArgumentException e) {
-                // Order not found as medication order, try other types
-            }
-
-            // Try to delete as procedure order
-            if (!deleted) {
-                try {
-                    orderDomainService.deleteProcedureOrder(orderNumberObj);
-                    deleted = true;
-                } catch (IllegalArgumentException e) {
-                    // Order not found as procedure order, try other types
-                }
-            }
-
-            // Try to delete as diagnostic aid order
-            if (!deleted) {
-                try {
-                    orderDomainService.deleteDiagnosticAidOrder(orderNumberObj);
-                    deleted = true;
-                } catch (IllegalArgumentException e) {
-                    // Order not found as diagnostic aid order
-                }
-            }
-
-            if (!deleted) {
-                throw new IllegalArgumentException("Order not found: " + orderNumber);
-            }
+            // A single lookup by number finds the order whatever its type, then deletes it
+            orderDomainService.deleteOrder(OrderNumber.of(orderNumber.trim()));
 
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Error deleting order: " + e.getMessage(), e);
@@ -374,7 +321,9 @@ public class OrderApplicationService {
 
     /**
      * Validates business rules for order creation.
-     * Ensures no mixing of diagnostic aids with medications/procedures.
+     * Ensures no mixing of diagnostic aids with medications/procedures, and that every item
+     * refers to an active inventory item of the matching type. All items are checked against
+     * the inventory catalog together, so an N-item order needs at most one inventory query.
      */
     public boolean validateOrderBusinessRules(CreateOrderDTO orderDTO) {
         if (orderDTO.getItems() == null || orderDTO.getItems().isEmpty()) {
@@ -384,8 +333,9 @@ public class OrderApplicationService {
         boolean hasDiagnosticAid = false;
         boolean hasMedication = false;
         boolean hasProcedure = false;
+        Set<InventoryItemId> inventoryIds = new HashSet<>();
 
-        // Check for mixing of diagnostic aids with other types
+        // Check item types and collect the inventory item IDs in a single pass
         for (OrderItemDTO item : orderDTO.getItems()) {
             switch (item.getType().toUpperCase()) {
                 case "DIAGNOSTIC_AID":
@@ -400,6 +350,12 @@ public class OrderApplicationService {
                 default:
                     return false; // Invalid item type
             }
+            if (item.getInventoryItemId() == null || item.getInventoryItemId().trim().isEmpty()) {
+                return false;
+            }
+            if (!inventoryIds.add(InventoryItemId.of(item.getInventoryItemId()))) {
+                return false; // Duplicate inventory items in same order
+            }
         }
 
         // Business rule: Cannot mix diagnostic aids with medications or procedures
@@ -407,50 +363,26 @@ public class OrderApplicationService {
             return false;
         }
 
-        // Additional validations
-        if (orderDTO.getOrderNumber() != null && !isOrderNumberAvailable(orderDTO.getOrderNumber())) {
+        // Every item must be an active inventory item of the matching type, checked in one lookup
+        InventoryAvailability availability = inventoryCatalog.checkAvailability(inventoryIds);
+        if (!availability.isAllActive()) {
             return false;
         }
-
-        // Validate that all items have unique inventory item IDs within the order
-        List<String> inventoryIds = orderDTO.getItems().stream()
-            .map(OrderItemDTO::getInventoryItemId)
-            .toList();
-
-        if (inventoryIds.size() != inventoryIds.stream().distinct().count()) {
-            return false; // Duplicate inventory items in same order
-        }
-
-        return true;
+        return orderDTO.getItems().stream().allMatch(item -> availability
+            .find(InventoryItemId.of(item.getInventoryItemId()))
+            .filter(inventoryItem -> inventoryItem.getType() == toInventoryItemType(item.getType()))
+            .isPresent());
     }
 
     /**
-     * Generates the next available order number.
-     * Uses a sequential number format with validation to ensure uniqueness.
-     * @return A unique order number in format ORDxxxxxx (6 digits)
+     * Maps an order item type to the inventory item type it must refer to.
      */
-    public String generateNextOrderNumber() {
-        // Start with a base number and increment until we find an available one
-        int attempt = 0;
-        final int maxAttempts = 10000; // Prevent infinite loops
-
-        while (attempt < maxAttempts) {
-            // Generate a sequential number starting from current timestamp seconds
-            long currentSeconds = java.time.Instant.now().getEpochSecond();
-            int sequentialNumber = (int)(currentSeconds + attempt) % 1000000; // 6-digit number
-
-            String orderNumber = String.format("ORD%06d", sequentialNumber);
-
-            // Check if this order number is available
-            if (isOrderNumberAvailable(orderNumber)) {
-                return orderNumber;
-            }
-
-            attempt++;
-        }
-
-        // Fallback: if we can't find an available number after max attempts
-        throw new RuntimeException("Unable to generate a unique order number after " + maxAttempts + " attempts");
+    private InventoryItemType toInventoryItemType(String orderItemType) {
+        return switch (orderItemType.toUpperCase()) {
+            case "MEDICATION" -> InventoryItemType.MEDICAMENTO;
+            case "PROCEDURE" -> InventoryItemType.PROCEDIMIENTO;
+            default -> InventoryItemType.AYUDA_DIAGNOSTICA;
+        };
     }
 
     /**
@@ -462,10 +394,8 @@ public class OrderApplicationService {
         try {
             OrderNumber orderNumberObj = OrderNumber.of(orderNumber);
 
-            // Check if order number exists in any of the three order types
-            return orderDomainService.findMedicationOrderByNumber(orderNumberObj).isEmpty() &&
-                   orderDomainService.findProcedureOrderByNumber(orderNumberObj).isEmpty() &&
-                   orderDomainService.findDiagnosticAidOrderByNumber(orderNumberObj).isEmpty();
+            // A single existence check covers all order types
+            return !orderDomainService.existsByOrderNumber(orderNumberObj);
         } catch (IllegalArgumentException e) {
             // If order number format is invalid, consider it as not available
             return false;
@@ -625,6 +555,20 @@ public class OrderApplicationService {
         }
     }
 
+    /**
+     * Maps a domain order of any type to OrderDTO.
+     */
+    private OrderDTO mapOrderToDTO(Object domainOrder) {
+        if (domainOrder instanceof MedicationOrder medicationOrder) {
+            return mapMedicationOrderToDTO(medicationOrder);
+        } else if (domainOrder instanceof ProcedureOrder procedureOrder) {
+            return mapProcedureOrderToDTO(procedureOrder);
+        } else if (domainOrder instanceof DiagnosticAidOrder diagnosticAidOrder) {
+            return mapDiagnosticAidOrderToDTO(diagnosticAidOrder);
+        }
+        throw new IllegalArgumentException("Unknown order type: " + domainOrder.getClass().getSimpleName());
+    }
+
     /**
      * Maps a MedicationOrder domain model to OrderDTO.
      */
@@ -687,7 +631,7 @@ public class OrderApplicationService {
      */
     private MedicationOrderDTO mapMedicationItemToDTO(app.clinic.domain.model.MedicationItem medicationItem) {
         // Get inventory item details
-        Optional<app.clinic.domain.model.InventoryItem> inventoryItem = inventoryRepository
+        Optional<InventoryItem> inventoryItem = inventoryCatalog
             .findById(medicationItem.getMedicationId());
 
         String medicationName = inventoryItem.map(item -> item.getName().getValue()).orElse("Unknown");
@@ -708,7 +652,7 @@ public class OrderApplicationService {
      */
     private ProcedureOrderDTO mapProcedureItemToDTO(app.clinic.domain.model.ProcedureItem procedureItem) {
         // Get inventory item details
-        Optional<app.clinic.domain.model.InventoryItem> inventoryItem = inventoryRepository
+        Optional<InventoryItem> inventoryItem = inventoryCatalog
             .findById(procedureItem.getProcedureId());
 
         String procedureName = inventoryItem.map(item -> item.getName().getValue()).orElse("Unknown");
@@ -731,7 +675,7 @@ public class OrderApplicationService {
      */
     private DiagnosticAidOrderDTO mapDiagnosticAidItemToDTO(app.clinic.domain.model.DiagnosticAidItem diagnosticAidItem) {
         // Get inventory item details
-        Optional<app.clinic.domain.model.InventoryItem> inventoryItem = inventoryRepository
+        Optional<InventoryItem> inventoryItem = inventoryCatalog
             .findById(diagnosticAidItem.getDiagnosticAidId());
 
         String diagnosticAidName = inventoryItem.map(item -> item.getName().getValue()).orElse("Unknown");
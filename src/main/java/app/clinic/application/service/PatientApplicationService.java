@@ -1,15 +1,16 @@
 package app.clinic.application.service;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.patient.CreatePatientDTO;
 import app.clinic.application.dto.patient.PatientDTO;
 import app.clinic.application.dto.patient.UpdatePatientDTO;
 import app.clinic.application.mapper.PatientMapper;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.Patient;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientId;
@@ -86,13 +87,20 @@ public class PatientApplicationService {
     }
 
     /**
-     * Finds all patients.
+     * Streams all patients as DTOs. The stream reads patients in batches while it is consumed
+     * and must be closed by the caller.
      */
-    public List<PatientDTO> findAllPatients() {
-        List<Patient> patients = patientDomainService.findAllPatients();
-        return patients.stream()
-                     .map(PatientMapper::toDTO)
-                     .collect(Collectors.toList());
+    public Stream<PatientDTO> streamAllPatients() {
+        return patientDomainService.streamAllPatients()
+                     .map(PatientMapper::toDTO);
+    }
+
+    /**
+     * Finds one page of patients after the given cursor.
+     */
+    public CursorPageDTO<PatientDTO> findPatientsPage(Long afterCursor, int size) {
+        KeysetPage<Patient> page = patientDomainService.findPatientsPage(afterCursor, size);
+        return CursorPageDTO.from(page, PatientMapper::toDTO);
     }
 
     /**
@@ -1,5 +1,6 @@
 package app.clinic.application.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -8,19 +9,24 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.visit.CreatePatientVisitDTO;
 import app.clinic.application.dto.visit.PatientVisitDTO;
+import app.clinic.application.dto.visit.VitalSignAggregateDTO;
+import app.clinic.application.dto.visit.VitalSignPointDTO;
 import app.clinic.application.dto.visit.VitalSignsDTO;
 import app.clinic.application.mapper.PatientVisitMapper;
-import app.clinic.domain.model.AppointmentDateTime;
 import app.clinic.domain.model.BloodPressure;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.OxygenLevel;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientVisit;
 import app.clinic.domain.model.PatientVisitId;
 import app.clinic.domain.model.PatientVisitRecord;
 import app.clinic.domain.model.Pulse;
+import app.clinic.domain.model.SeriesResolution;
 import app.clinic.domain.model.Temperature;
+import app.clinic.domain.model.VitalSignType;
 import app.clinic.domain.model.VitalSignsData;
 import app.clinic.domain.service.PatientVisitDomainService;
 
@@ -124,6 +130,14 @@ public class PatientVisitApplicationService {
          return patientVisit.map(PatientVisitMapper::toDTO);
      }
 
+    /**
+     * Finds one page of patient visits after the given cursor, ordered by identifier.
+     */
+    public CursorPageDTO<PatientVisitDTO> findPatientVisitsPage(Long afterCursor, int size) {
+        KeysetPage<PatientVisit> page = patientVisitDomainService.findPatientVisitsPage(afterCursor, size);
+        return CursorPageDTO.from(page, PatientVisitMapper::toDTO);
+    }
+
     /**
       * Finds all visits for a specific patient.
       */
@@ -181,6 +195,38 @@ public class PatientVisitApplicationService {
         }
     }
 
+    /**
+     * Finds the measurements of a vital sign of a patient recorded from one date through another, in time order.
+     * The vital sign is named like "temperature", "pulse", "oxygen-level", "systolic-pressure" or "diastolic-pressure".
+     */
+    public List<VitalSignPointDTO> findVitalSignSeries(String patientCedula, String vitalSign,
+                                                       LocalDate from, LocalDate to) {
+        validateSeriesRequest(patientCedula, from, to);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        return patientVisitDomainService.findVitalSignSeries(PatientCedula.of(patientCedula.trim()),
+                parseEnum(VitalSignType.class, vitalSign, "vital sign"), from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay())
+            .stream()
+            .map(point -> new VitalSignPointDTO(point.getRecordedAt().format(formatter), point.getValue()))
+            .toList();
+    }
+
+    /**
+     * Summarizes the measurements of a vital sign of a patient recorded from one date through another per
+     * "day" or "week", in time order. Periods without measurements are omitted.
+     */
+    public List<VitalSignAggregateDTO> findVitalSignTrend(String patientCedula, String vitalSign,
+                                                          LocalDate from, LocalDate to, String resolution) {
+        validateSeriesRequest(patientCedula, from, to);
+        return patientVisitDomainService.findVitalSignTrend(PatientCedula.of(patientCedula.trim()),
+                parseEnum(VitalSignType.class, vitalSign, "vital sign"), from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(), parseEnum(SeriesResolution.class, resolution, "series resolution"))
+            .stream()
+            .map(aggregate -> new VitalSignAggregateDTO(aggregate.getPeriodStart().toString(), aggregate.getCount(),
+                    aggregate.getMin(), aggregate.getMax(), aggregate.getAverage()))
+            .toList();
+    }
+
     /**
      * Updates a patient visit record.
      */
@@ -299,21 +345,14 @@ public class PatientVisitApplicationService {
             throw new IllegalArgumentException("Patient cedula cannot be null or empty");
         }
 
-        // Get all visits for the specific patient
+        // Count visits with indexed queries instead of loading the patient's visits
         PatientCedula patientCedulaDomain = PatientCedula.of(patientCedula);
-        List<PatientVisit> patientVisits = patientVisitDomainService.findPatientVisitsByPatient(patientCedulaDomain);
-
-        // Calculate statistics
-        int totalVisits = patientVisits.size();
-        int completedVisits = (int) patientVisits.stream().filter(PatientVisit::isCompleted).count();
+        int totalVisits = (int) patientVisitDomainService.countVisitsByPatient(patientCedulaDomain);
+        int completedVisits = (int) patientVisitDomainService.countCompletedVisitsByPatient(patientCedulaDomain);
         int pendingVisits = totalVisits - completedVisits;
 
         // Find last visit date
-        String lastVisitDate = patientVisits.stream()
-            .map(PatientVisit::getVisitDateTime)
-            .filter(dateTime -> dateTime != null)
-            .map(AppointmentDateTime::getValue)
-            .max(LocalDateTime::compareTo)
+        String lastVisitDate = patientVisitDomainService.findLatestVisitDateTime(patientCedulaDomain)
             .map(dateTime -> dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
             .orElse(null);
 
@@ -336,17 +375,38 @@ public class PatientVisitApplicationService {
              throw new IllegalArgumentException("Patient cedula cannot be null or empty");
          }
 
-         // Get all completed visits
-         List<PatientVisit> completedVisits = patientVisitDomainService.findAllCompletedPatientVisits();
+         // Single indexed EXISTS on the patient's pending visits
+         return patientVisitDomainService.hasPendingVisits(PatientCedula.of(patientCedula));
+     }
 
-         // Get all visits for the specific patient
-         PatientCedula patientCedulaDomain = PatientCedula.of(patientCedula);
-         List<PatientVisit> patientVisits = patientVisitDomainService.findPatientVisitsByPatient(patientCedulaDomain);
+    /**
+     * Helper method to validate the patient and inclusive date range of a vital sign series request.
+     */
+    private void validateSeriesRequest(String patientCedula, LocalDate from, LocalDate to) {
+        if (patientCedula == null || patientCedula.trim().isEmpty()) {
+            throw new IllegalArgumentException("Patient cedula cannot be null or empty");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Series range dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
 
-         // Check if patient has any visits that are not completed
-         return patientVisits.stream()
-             .anyMatch(visit -> !visit.isCompleted());
-     }
+    /**
+     * Helper method to parse an enum constant by name, ignoring case and accepting dashes for underscores.
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String description) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("The " + description + " cannot be null or empty");
+        }
+        try {
+            return Enum.valueOf(type, value.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + description + ": " + value, e);
+        }
+    }
 
     /**
      * Helper method to convert VitalSignsDTO to VitalSignsData domain entity.
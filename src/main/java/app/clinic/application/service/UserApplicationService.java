@@ -3,13 +3,16 @@ package app.clinic.application.service;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.application.dto.common.CursorPageDTO;
 import app.clinic.application.dto.user.CreateUserDTO;
 import app.clinic.application.dto.user.UpdateUserDTO;
 import app.clinic.application.dto.user.UserDTO;
 import app.clinic.application.mapper.UserMapper;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.User;
 import app.clinic.domain.model.UserCedula;
 import app.clinic.domain.model.UserId;
@@ -101,13 +104,20 @@ public class UserApplicationService {
     }
 
     /**
-     * Finds all users.
+     * Streams all users as DTOs. The stream reads users in batches while it is consumed
+     * and must be closed by the caller.
      */
-    public List<UserDTO> findAllUsers() {
-        List<User> users = userDomainService.findAllUsers();
-        return users.stream()
-                  .map(UserMapper::toDTO)
-                  .collect(Collectors.toList());
+    public Stream<UserDTO> streamAllUsers() {
+        return userDomainService.streamAllUsers()
+                  .map(UserMapper::toDTO);
+    }
+
+    /**
+     * Finds one page of users after the given cursor.
+     */
+    public CursorPageDTO<UserDTO> findUsersPage(Long afterCursor, int size) {
+        KeysetPage<User> page = userDomainService.findUsersPage(afterCursor, size);
+        return CursorPageDTO.from(page, UserMapper::toDTO);
     }
 
     /**
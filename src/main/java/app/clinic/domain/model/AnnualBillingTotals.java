@@ -0,0 +1,79 @@
+package app.clinic.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Value Object representing what a patient has been billed in a year: the accumulated
+ * copayment, checked against the annual copayment limit, and the total billed amount.
+ * Cancelled invoices are not included.
+ */
+public class AnnualBillingTotals {
+    private final PatientCedula patientCedula;
+    private final Year year;
+    private final AccumulatedCopayment accumulatedCopayment;
+    private final Money totalBilled;
+
+    private AnnualBillingTotals(PatientCedula patientCedula, Year year,
+                                AccumulatedCopayment accumulatedCopayment, Money totalBilled) {
+        if (patientCedula == null) {
+            throw new IllegalArgumentException("Patient cedula cannot be null");
+        }
+        if (year == null) {
+            throw new IllegalArgumentException("Year cannot be null");
+        }
+        if (accumulatedCopayment == null || totalBilled == null) {
+            throw new IllegalArgumentException("Annual totals cannot be null");
+        }
+        this.patientCedula = patientCedula;
+        this.year = year;
+        this.accumulatedCopayment = accumulatedCopayment;
+        this.totalBilled = totalBilled;
+    }
+
+    public static AnnualBillingTotals of(PatientCedula patientCedula, Year year,
+                                         AccumulatedCopayment accumulatedCopayment, Money totalBilled) {
+        return new AnnualBillingTotals(patientCedula, year, accumulatedCopayment, totalBilled);
+    }
+
+    public static AnnualBillingTotals empty(PatientCedula patientCedula, Year year) {
+        return new AnnualBillingTotals(patientCedula, year, AccumulatedCopayment.zero(), Money.pesos(0));
+    }
+
+    public PatientCedula getPatientCedula() {
+        return patientCedula;
+    }
+
+    public Year getYear() {
+        return year;
+    }
+
+    public AccumulatedCopayment getAccumulatedCopayment() {
+        return accumulatedCopayment;
+    }
+
+    public Money getTotalBilled() {
+        return totalBilled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnnualBillingTotals that = (AnnualBillingTotals) o;
+        return Objects.equals(patientCedula, that.patientCedula) &&
+               Objects.equals(year, that.year) &&
+               Objects.equals(accumulatedCopayment, that.accumulatedCopayment) &&
+               Objects.equals(totalBilled, that.totalBilled);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(patientCedula, year, accumulatedCopayment, totalBilled);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnnualBillingTotals{patient=%s, year=%s, copayment=%s, billed=%s}",
+            patientCedula, year, accumulatedCopayment, totalBilled);
+    }
+}
@@ -1,5 +1,7 @@
 package app.clinic.domain.model;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -7,28 +9,49 @@ import java.util.Objects;
  * Contains appointment details, patient, doctor, and status information.
  */
 public class Appointment {
+
+    /**
+     * Time a doctor's agenda is blocked by a single appointment.
+     */
+    public static final Duration STANDARD_DURATION = Duration.ofMinutes(30);
+
     private final String id;
     private final PatientCedula patientCedula;
     private final DoctorCedula doctorCedula;
     private final AppointmentDateTime appointmentDateTime;
     private final AppointmentStatus status;
     private final ConsultationReason reason;
+    private final String notes;
 
     private Appointment(String id, PatientCedula patientCedula, DoctorCedula doctorCedula,
                        AppointmentDateTime appointmentDateTime, AppointmentStatus status,
-                       ConsultationReason reason) {
+                       ConsultationReason reason, String notes) {
         this.id = id;
         this.patientCedula = patientCedula;
         this.doctorCedula = doctorCedula;
         this.appointmentDateTime = appointmentDateTime;
         this.status = status != null ? status : AppointmentStatus.PROGRAMADA;
         this.reason = reason;
+        this.notes = notes;
     }
 
     public static Appointment of(String id, PatientCedula patientCedula, DoctorCedula doctorCedula,
                                 AppointmentDateTime appointmentDateTime, AppointmentStatus status,
                                 ConsultationReason reason) {
-        return new Appointment(id, patientCedula, doctorCedula, appointmentDateTime, status, reason);
+        return new Appointment(id, patientCedula, doctorCedula, appointmentDateTime, status, reason, null);
+    }
+
+    public static Appointment of(String id, PatientCedula patientCedula, DoctorCedula doctorCedula,
+                                AppointmentDateTime appointmentDateTime, AppointmentStatus status,
+                                ConsultationReason reason, String notes) {
+        return new Appointment(id, patientCedula, doctorCedula, appointmentDateTime, status, reason, notes);
+    }
+
+    /**
+     * Returns a copy of this appointment with a different status.
+     */
+    public Appointment withStatus(AppointmentStatus newStatus) {
+        return new Appointment(id, patientCedula, doctorCedula, appointmentDateTime, newStatus, reason, notes);
     }
 
     public String getId() {
@@ -47,6 +70,20 @@ public class Appointment {
         return appointmentDateTime;
     }
 
+    /**
+     * Returns the end of the time range this appointment occupies.
+     */
+    public LocalDateTime getEndDateTime() {
+        return appointmentDateTime.getValue().plus(STANDARD_DURATION);
+    }
+
+    /**
+     * Checks if this appointment still blocks the doctor's agenda.
+     */
+    public boolean isActive() {
+        return status == AppointmentStatus.PROGRAMADA || status == AppointmentStatus.CONFIRMADA;
+    }
+
     public AppointmentStatus getStatus() {
         return status;
     }
@@ -55,6 +92,10 @@ public class Appointment {
         return reason;
     }
 
+    public String getNotes() {
+        return notes;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -65,12 +106,13 @@ public class Appointment {
                Objects.equals(doctorCedula, that.doctorCedula) &&
                Objects.equals(appointmentDateTime, that.appointmentDateTime) &&
                status == that.status &&
-               Objects.equals(reason, that.reason);
+               Objects.equals(reason, that.reason) &&
+               Objects.equals(notes, that.notes);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, patientCedula, doctorCedula, appointmentDateTime, status, reason);
+        return Objects.hash(id, patientCedula, doctorCedula, appointmentDateTime, status, reason, notes);
     }
 
     @Override
@@ -10,18 +10,25 @@ import java.util.Objects;
 public class AppointmentDateTime {
     private final LocalDateTime value;
 
-    private AppointmentDateTime(LocalDateTime value) {
+    private AppointmentDateTime(LocalDateTime value, boolean requireFuture) {
         if (value == null) {
             throw new IllegalArgumentException("Appointment date and time cannot be null");
         }
-        if (!isValidAppointmentDateTime(value)) {
+        if (requireFuture && !isValidAppointmentDateTime(value)) {
             throw new IllegalArgumentException("Appointment must be scheduled for the future: " + value);
         }
         this.value = value;
     }
 
     public static AppointmentDateTime of(LocalDateTime value) {
-        return new AppointmentDateTime(value);
+        return new AppointmentDateTime(value, true);
+    }
+
+    /**
+     * Rebuilds an already stored date and time, which may lie in the past.
+     */
+    public static AppointmentDateTime restore(LocalDateTime value) {
+        return new AppointmentDateTime(value, false);
     }
 
     private boolean isValidAppointmentDateTime(LocalDateTime appointmentDateTime) {
@@ -0,0 +1,61 @@
+package app.clinic.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value Object representing a free time range in a doctor's agenda.
+ */
+public class FreeSlot {
+    private final DoctorCedula doctorCedula;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private FreeSlot(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end) {
+        if (doctorCedula == null) {
+            throw new IllegalArgumentException("Doctor cedula cannot be null");
+        }
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("Free slot end must be after its start");
+        }
+        this.doctorCedula = doctorCedula;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static FreeSlot of(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end) {
+        return new FreeSlot(doctorCedula, start, end);
+    }
+
+    public DoctorCedula getDoctorCedula() {
+        return doctorCedula;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FreeSlot that = (FreeSlot) o;
+        return Objects.equals(doctorCedula, that.doctorCedula) &&
+               Objects.equals(start, that.start) &&
+               Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(doctorCedula, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FreeSlot{doctor=%s, start=%s, end=%s}", doctorCedula, start, end);
+    }
+}
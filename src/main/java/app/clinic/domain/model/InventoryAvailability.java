@@ -0,0 +1,107 @@
+package app.clinic.domain.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Value Object representing the result of checking a set of inventory item IDs at once.
+ * Holds the items found, with their type and cost, and the requested IDs that do not exist.
+ */
+public class InventoryAvailability {
+    private final Map<InventoryItemId, InventoryItem> foundItems;
+    private final Set<InventoryItemId> missingIds;
+
+    private InventoryAvailability(Set<InventoryItemId> requestedIds, Collection<InventoryItem> items) {
+        if (requestedIds == null || items == null) {
+            throw new IllegalArgumentException("Requested IDs and found items cannot be null");
+        }
+        Map<InventoryItemId, InventoryItem> found = new LinkedHashMap<>();
+        for (InventoryItem item : items) {
+            if (requestedIds.contains(item.getId())) {
+                found.put(item.getId(), item);
+            }
+        }
+        Set<InventoryItemId> missing = new LinkedHashSet<>();
+        for (InventoryItemId id : requestedIds) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        this.foundItems = Collections.unmodifiableMap(found);
+        this.missingIds = Collections.unmodifiableSet(missing);
+    }
+
+    /**
+     * Creates the result for the requested IDs from the items that were found among them.
+     */
+    public static InventoryAvailability of(Set<InventoryItemId> requestedIds, Collection<InventoryItem> foundItems) {
+        return new InventoryAvailability(requestedIds, foundItems);
+    }
+
+    /**
+     * Returns the found item with the given ID, active or not.
+     */
+    public Optional<InventoryItem> find(InventoryItemId inventoryItemId) {
+        return Optional.ofNullable(foundItems.get(inventoryItemId));
+    }
+
+    public Collection<InventoryItem> getFoundItems() {
+        return foundItems.values();
+    }
+
+    public Set<InventoryItemId> getActiveIds() {
+        Set<InventoryItemId> active = new LinkedHashSet<>();
+        foundItems.forEach((id, item) -> {
+            if (item.isActive()) {
+                active.add(id);
+            }
+        });
+        return active;
+    }
+
+    public Set<InventoryItemId> getInactiveIds() {
+        Set<InventoryItemId> inactive = new LinkedHashSet<>();
+        foundItems.forEach((id, item) -> {
+            if (!item.isActive()) {
+                inactive.add(id);
+            }
+        });
+        return inactive;
+    }
+
+    public Set<InventoryItemId> getMissingIds() {
+        return missingIds;
+    }
+
+    /**
+     * Checks that every requested item exists and is active.
+     */
+    public boolean isAllActive() {
+        return missingIds.isEmpty() && foundItems.values().stream().allMatch(InventoryItem::isActive);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InventoryAvailability that = (InventoryAvailability) o;
+        return Objects.equals(foundItems, that.foundItems) &&
+               Objects.equals(missingIds, that.missingIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(foundItems, missingIds);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InventoryAvailability{found=%d, missing=%s}", foundItems.size(), missingIds);
+    }
+}
@@ -0,0 +1,72 @@
+package app.clinic.domain.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Value Object representing one page of a keyset (seek) paginated listing.
+ * The cursor is the identifier of the last item of the page; the next page starts
+ * right after it, so reading a page costs the same whatever its position.
+ */
+public class KeysetPage<T> {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    private KeysetPage(List<T> items, Long nextCursor) {
+        if (items == null) {
+            throw new IllegalArgumentException("Page items cannot be null");
+        }
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a page; nextCursor is null when this is the last page.
+     */
+    public static <T> KeysetPage<T> of(List<T> items, Long nextCursor) {
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    /**
+     * Validates a requested page size against the allowed range.
+     */
+    public static int validatePageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetPage<?> that = (KeysetPage<?>) o;
+        return Objects.equals(items, that.items) &&
+               Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KeysetPage{size=%d, nextCursor=%s}", items.size(), nextCursor);
+    }
+}
@@ -0,0 +1,58 @@
+package app.clinic.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Value Object representing a medical record entry matched by a full-text search.
+ * Identifies the entry by patient and date and carries its diagnosis and relevance score.
+ */
+public class MedicalRecordSearchHit {
+    private final PatientRecordKey key;
+    private final Diagnosis diagnosis;
+    private final float score;
+
+    private MedicalRecordSearchHit(PatientRecordKey key, Diagnosis diagnosis, float score) {
+        if (key == null || diagnosis == null) {
+            throw new IllegalArgumentException("Search hit key and diagnosis cannot be null");
+        }
+        this.key = key;
+        this.diagnosis = diagnosis;
+        this.score = score;
+    }
+
+    public static MedicalRecordSearchHit of(PatientRecordKey key, Diagnosis diagnosis, float score) {
+        return new MedicalRecordSearchHit(key, diagnosis, score);
+    }
+
+    public PatientRecordKey getKey() {
+        return key;
+    }
+
+    public Diagnosis getDiagnosis() {
+        return diagnosis;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MedicalRecordSearchHit that = (MedicalRecordSearchHit) o;
+        return Float.compare(score, that.score) == 0 &&
+               Objects.equals(key, that.key) &&
+               Objects.equals(diagnosis, that.diagnosis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, diagnosis, score);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MedicalRecordSearchHit{key=%s, score=%.3f}", key, score);
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Objects;
 /**
  * Entity representing a patient in the clinic system.
  * Contains personal information, emergency contacts, and insurance policy.
+ * A patient read from the repository carries the version it was stored with; saving it
+ * fails if the stored patient has changed since.
  */
 public class Patient {
     private final PatientCedula cedula;
@@ -19,11 +21,12 @@ public class Patient {
     private final PatientEmail email;
     private final List<EmergencyContact> emergencyContacts;
     private final InsurancePolicy insurancePolicy;
+    private final Long version;
 
     private Patient(PatientCedula cedula, PatientUsername username, PatientPassword password,
                    PatientFullName fullName, PatientBirthDate birthDate, PatientGender gender,
                    PatientAddress address, PatientPhoneNumber phoneNumber, PatientEmail email,
-                   List<EmergencyContact> emergencyContacts, InsurancePolicy insurancePolicy) {
+                   List<EmergencyContact> emergencyContacts, InsurancePolicy insurancePolicy, Long version) {
         this.cedula = cedula;
         this.username = username;
         this.password = password;
@@ -35,6 +38,7 @@ public class Patient {
         this.email = email;
         this.emergencyContacts = List.copyOf(emergencyContacts != null ? emergencyContacts : List.of());
         this.insurancePolicy = insurancePolicy;
+        this.version = version;
     }
 
     public static Patient of(PatientCedula cedula, PatientUsername username, PatientPassword password,
@@ -42,7 +46,15 @@ public class Patient {
                             PatientAddress address, PatientPhoneNumber phoneNumber, PatientEmail email,
                             List<EmergencyContact> emergencyContacts, InsurancePolicy insurancePolicy) {
         return new Patient(cedula, username, password, fullName, birthDate, gender,
-                          address, phoneNumber, email, emergencyContacts, insurancePolicy);
+                          address, phoneNumber, email, emergencyContacts, insurancePolicy, null);
+    }
+
+    /**
+     * Returns a copy of this patient that carries the given stored version.
+     */
+    public Patient withVersion(Long version) {
+        return new Patient(cedula, username, password, fullName, birthDate, gender,
+                          address, phoneNumber, email, emergencyContacts, insurancePolicy, version);
     }
 
     public PatientCedula getCedula() {
@@ -89,6 +101,13 @@ public class Patient {
         return insurancePolicy;
     }
 
+    /**
+     * Version of the stored patient this object was read from, or null if it has not been stored.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public PatientAge getAge() {
         return birthDate.getAge();
     }
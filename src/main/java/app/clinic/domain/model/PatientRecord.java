@@ -1,30 +1,42 @@
 package app.clinic.domain.model;
 
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Value Object representing a complete patient medical record.
  * Maps record dates to medical record entries for unstructured storage.
+ * Backed by a persistent tree ordered by date, so adding or removing an entry shares
+ * every untouched entry with the previous version.
  */
 public class PatientRecord {
-    private final Map<PatientRecordDate, PatientRecordEntry> records;
+    private static final Comparator<PatientRecordDate> DATE_ORDER = Comparator.comparing(PatientRecordDate::getValue);
+    private static final PatientRecord EMPTY = new PatientRecord(PersistentTreeMap.empty(DATE_ORDER));
 
-    private PatientRecord(Map<PatientRecordDate, PatientRecordEntry> records) {
-        this.records = new HashMap<>(records != null ? records : new HashMap<>());
+    private final PersistentTreeMap<PatientRecordDate, PatientRecordEntry> records;
+
+    private PatientRecord(PersistentTreeMap<PatientRecordDate, PatientRecordEntry> records) {
+        this.records = records;
     }
 
     public static PatientRecord of(Map<PatientRecordDate, PatientRecordEntry> records) {
-        return new PatientRecord(records);
+        return new PatientRecord(PersistentTreeMap.from(DATE_ORDER, records));
     }
 
     public static PatientRecord empty() {
-        return new PatientRecord(new HashMap<>());
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
+    /**
+     * Returns a read-only view of the entries in date order. The view is not copied.
+     */
     public Map<PatientRecordDate, PatientRecordEntry> getRecords() {
-        return new HashMap<>(records);
+        return records.asMap();
     }
 
     public PatientRecordEntry getRecord(PatientRecordDate date) {
@@ -32,15 +44,13 @@ public class PatientRecord {
     }
 
     public PatientRecord addRecord(PatientRecordDate date, PatientRecordEntry entry) {
-        Map<PatientRecordDate, PatientRecordEntry> newRecords = new HashMap<>(records);
-        newRecords.put(date, entry);
-        return new PatientRecord(newRecords);
+        PersistentTreeMap<PatientRecordDate, PatientRecordEntry> newRecords = records.put(date, entry);
+        return newRecords == records ? this : new PatientRecord(newRecords);
     }
 
     public PatientRecord removeRecord(PatientRecordDate date) {
-        Map<PatientRecordDate, PatientRecordEntry> newRecords = new HashMap<>(records);
-        newRecords.remove(date);
-        return new PatientRecord(newRecords);
+        PersistentTreeMap<PatientRecordDate, PatientRecordEntry> newRecords = records.remove(date);
+        return newRecords == records ? this : new PatientRecord(newRecords);
     }
 
     public boolean hasRecord(PatientRecordDate date) {
@@ -56,16 +66,36 @@ public class PatientRecord {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PatientRecord that = (PatientRecord) o;
-        return Objects.equals(records, that.records);
+        return Objects.equals(getRecords(), that.getRecords());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(records);
+        return getRecords().hashCode();
     }
 
     @Override
     public String toString() {
-        return records.toString();
+        return getRecords().toString();
+    }
+
+    /**
+     * Mutable builder for assembling a record from many entries at once.
+     * A builder can produce a single PatientRecord.
+     */
+    public static class Builder {
+        private final PersistentTreeMap.Builder<PatientRecordDate, PatientRecordEntry> records =
+            new PersistentTreeMap.Builder<>(DATE_ORDER);
+
+        private Builder() {}
+
+        public Builder addRecord(PatientRecordDate date, PatientRecordEntry entry) {
+            records.put(date, entry);
+            return this;
+        }
+
+        public PatientRecord build() {
+            return new PatientRecord(records.build());
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,42 @@
 package app.clinic.domain.model;
 
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Value Object representing a map of patient medical records.
  * Maps patient cedula to their complete medical record for NoSQL storage.
+ * Backed by a persistent tree ordered by cedula, so adding a record shares every
+ * other patient's record with the previous version.
  */
 public class PatientRecordMap {
-    private final Map<PatientCedula, PatientRecord> records;
+    private static final Comparator<PatientCedula> CEDULA_ORDER = Comparator.comparing(PatientCedula::getValue);
+    private static final PatientRecordMap EMPTY = new PatientRecordMap(PersistentTreeMap.empty(CEDULA_ORDER));
 
-    private PatientRecordMap(Map<PatientCedula, PatientRecord> records) {
-        this.records = new HashMap<>(records != null ? records : new HashMap<>());
+    private final PersistentTreeMap<PatientCedula, PatientRecord> records;
+
+    private PatientRecordMap(PersistentTreeMap<PatientCedula, PatientRecord> records) {
+        this.records = records;
     }
 
     public static PatientRecordMap of(Map<PatientCedula, PatientRecord> records) {
-        return new PatientRecordMap(records);
+        return new PatientRecordMap(PersistentTreeMap.from(CEDULA_ORDER, records));
     }
 
     public static PatientRecordMap empty() {
-        return new PatientRecordMap(new HashMap<>());
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
+    /**
+     * Returns a read-only view of the records ordered by cedula. The view is not copied.
+     */
     public Map<PatientCedula, PatientRecord> getRecords() {
-        return new HashMap<>(records);
+        return records.asMap();
     }
 
     public PatientRecord getRecord(PatientCedula patientCedula) {
@@ -32,9 +44,8 @@ public class PatientRecordMap {
     }
 
     public PatientRecordMap addRecord(PatientCedula patientCedula, PatientRecord patientRecord) {
-        Map<PatientCedula, PatientRecord> newRecords = new HashMap<>(records);
-        newRecords.put(patientCedula, patientRecord);
-        return new PatientRecordMap(newRecords);
+        PersistentTreeMap<PatientCedula, PatientRecord> newRecords = records.put(patientCedula, patientRecord);
+        return newRecords == records ? this : new PatientRecordMap(newRecords);
     }
 
     public boolean hasRecord(PatientCedula patientCedula) {
@@ -50,16 +61,43 @@ public class PatientRecordMap {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PatientRecordMap that = (PatientRecordMap) o;
-        return Objects.equals(records, that.records);
+        return Objects.equals(getRecords(), that.getRecords());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(records);
+        return getRecords().hashCode();
     }
 
     @Override
     public String toString() {
-        return records.toString();
+        return getRecords().toString();
+    }
+
+    /**
+     * Mutable builder for assembling the map from many records at once, such as a full load
+     * from storage. A builder can produce a single PatientRecordMap.
+     */
+    public static class Builder {
+        private final PersistentTreeMap.Builder<PatientCedula, PatientRecord> records =
+            new PersistentTreeMap.Builder<>(CEDULA_ORDER);
+
+        private Builder() {}
+
+        public Builder addRecord(PatientCedula patientCedula, PatientRecord patientRecord) {
+            records.put(patientCedula, patientRecord);
+            return this;
+        }
+
+        /**
+         * Returns the record collected so far for the patient, or null.
+         */
+        public PatientRecord getRecord(PatientCedula patientCedula) {
+            return records.get(patientCedula);
+        }
+
+        public PatientRecordMap build() {
+            return new PatientRecordMap(records.build());
+        }
     }
-}
\ No newline at end of file
+}
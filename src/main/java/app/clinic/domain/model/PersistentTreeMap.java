@@ -0,0 +1,346 @@
+package app.clinic.domain.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable sorted map with structural sharing, backing the medical record aggregates.
+ * Implemented as an AVL tree whose updates copy only the O(log n) nodes on the path to
+ * the changed key; every other node is shared with the previous version. Instances are
+ * exposed to callers through {@link #asMap()}, a read-only view that copies nothing.
+ */
+final class PersistentTreeMap<K, V> {
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    private PersistentTreeMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    static <K, V> PersistentTreeMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentTreeMap<>(comparator, null);
+    }
+
+    /**
+     * Builds a balanced tree from the given map in O(n log n), or O(n) if it is already sorted
+     * by the same comparator.
+     */
+    static <K, V> PersistentTreeMap<K, V> from(Comparator<? super K> comparator, Map<? extends K, ? extends V> source) {
+        if (source == null || source.isEmpty()) {
+            return empty(comparator);
+        }
+        TreeMap<K, V> sorted = new TreeMap<>(comparator);
+        sorted.putAll(source);
+        return fromSorted(comparator, sorted);
+    }
+
+    private static <K, V> PersistentTreeMap<K, V> fromSorted(Comparator<? super K> comparator, TreeMap<K, V> sorted) {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(sorted.entrySet());
+        return new PersistentTreeMap<>(comparator, buildBalanced(entries, 0, entries.size()));
+    }
+
+    private static <K, V> Node<K, V> buildBalanced(List<Map.Entry<K, V>> entries, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Map.Entry<K, V> entry = entries.get(middle);
+        return new Node<>(entry.getKey(), entry.getValue(),
+                buildBalanced(entries, from, middle), buildBalanced(entries, middle + 1, to));
+    }
+
+    int size() {
+        return Node.size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return node.value;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    boolean containsKey(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    PersistentTreeMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Node<K, V> newRoot = insert(root, key, value);
+        return newRoot == root ? this : new PersistentTreeMap<>(comparator, newRoot);
+    }
+
+    PersistentTreeMap<K, V> remove(K key) {
+        Node<K, V> newRoot = delete(root, key);
+        return newRoot == root ? this : new PersistentTreeMap<>(comparator, newRoot);
+    }
+
+    /**
+     * Returns a read-only map view iterating in key order. The view shares this tree and is
+     * never invalidated, since the tree itself never changes.
+     */
+    Map<K, V> asMap() {
+        return new MapView<>(this);
+    }
+
+    private Node<K, V> insert(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            Node<K, V> left = insert(node.left, key, value);
+            return left == node.left ? node : rebalance(node.key, node.value, left, node.right);
+        }
+        if (comparison > 0) {
+            Node<K, V> right = insert(node.right, key, value);
+            return right == node.right ? node : rebalance(node.key, node.value, node.left, right);
+        }
+        return node.value == value ? node : new Node<>(node.key, value, node.left, node.right);
+    }
+
+    private Node<K, V> delete(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            Node<K, V> left = delete(node.left, key);
+            return left == node.left ? node : rebalance(node.key, node.value, left, node.right);
+        }
+        if (comparison > 0) {
+            Node<K, V> right = delete(node.right, key);
+            return right == node.right ? node : rebalance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return rebalance(successor.key, successor.value, node.left, deleteMin(node.right));
+    }
+
+    private Node<K, V> deleteMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return rebalance(node.key, node.value, deleteMin(node.left), node.right);
+    }
+
+    private static <K, V> Node<K, V> rebalance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int balance = Node.height(left) - Node.height(right);
+        if (balance > 1) {
+            if (Node.height(left.left) < Node.height(left.right)) {
+                left = rotateLeft(left.key, left.value, left.left, left.right);
+            }
+            return rotateRight(key, value, left, right);
+        }
+        if (balance < -1) {
+            if (Node.height(right.right) < Node.height(right.left)) {
+                right = rotateRight(right.key, right.value, right.left, right.right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+    }
+
+    /**
+     * Immutable tree node caching its height and subtree size.
+     */
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        static int height(Node<?, ?> node) {
+            return node != null ? node.height : 0;
+        }
+
+        static int size(Node<?, ?> node) {
+            return node != null ? node.size : 0;
+        }
+    }
+
+    /**
+     * In-order iterator over the tree entries.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+        EntryIterator(Node<K, V> root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node<K, V> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = stack.pop();
+            pushLeft(node.right);
+            return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+        }
+    }
+
+    /**
+     * Read-only java.util.Map view over a tree version. Mutators inherited from AbstractMap
+     * throw UnsupportedOperationException.
+     */
+    private static final class MapView<K, V> extends AbstractMap<K, V> {
+        private final PersistentTreeMap<K, V> tree;
+
+        MapView(PersistentTreeMap<K, V> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            try {
+                return key != null ? tree.get((K) key) : null;
+            } catch (ClassCastException e) {
+                return null;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object key) {
+            try {
+                return key != null && tree.containsKey((K) key);
+            } catch (ClassCastException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public int size() {
+            return tree.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return tree.isEmpty();
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator<>(tree.root);
+                }
+
+                @Override
+                public int size() {
+                    return tree.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Transient builder that collects entries in a mutable sorted map and freezes them into a
+     * balanced tree in a single O(n) pass, avoiding one persistent update per entry.
+     */
+    static final class Builder<K, V> {
+        private final Comparator<? super K> comparator;
+        private TreeMap<K, V> entries;
+
+        Builder(Comparator<? super K> comparator) {
+            this.comparator = comparator;
+            this.entries = new TreeMap<>(comparator);
+        }
+
+        Builder<K, V> put(K key, V value) {
+            ensureOpen();
+            entries.put(Objects.requireNonNull(key, "key"), value);
+            return this;
+        }
+
+        V get(K key) {
+            ensureOpen();
+            return entries.get(key);
+        }
+
+        PersistentTreeMap<K, V> build() {
+            ensureOpen();
+            PersistentTreeMap<K, V> result = fromSorted(comparator, entries);
+            entries = null;
+            return result;
+        }
+
+        private void ensureOpen() {
+            if (entries == null) {
+                throw new IllegalStateException("Builder has already been used");
+            }
+        }
+    }
+}
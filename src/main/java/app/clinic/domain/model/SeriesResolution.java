@@ -0,0 +1,25 @@
+package app.clinic.domain.model;
+
+/**
+ * Enumeration representing the period each point of a downsampled time series covers.
+ * Weeks start on Monday.
+ */
+public enum SeriesResolution {
+    DAY("Día"),
+    WEEK("Semana");
+
+    private final String displayName;
+
+    SeriesResolution(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.Objects;
 /**
  * Entity representing a user in the clinic system.
  * Contains user information and role-based access control.
+ * A user read from the repository carries the version it was stored with; saving it
+ * fails if the stored user has changed since.
  */
 public class User {
     private final UserCedula cedula;
@@ -17,10 +19,11 @@ public class User {
     private final UserEmail email;
     private final UserRole role;
     private final boolean active;
+    private final Long version;
 
     private User(UserCedula cedula, UserUsername username, UserPassword password,
                 UserFullName fullName, UserBirthDate birthDate, UserAddress address,
-                UserPhoneNumber phoneNumber, UserEmail email, UserRole role, boolean active) {
+                UserPhoneNumber phoneNumber, UserEmail email, UserRole role, boolean active, Long version) {
         this.cedula = cedula;
         this.username = username;
         this.password = password;
@@ -31,20 +34,29 @@ public class User {
         this.email = email;
         this.role = role;
         this.active = active;
+        this.version = version;
     }
 
     public static User of(UserCedula cedula, UserUsername username, UserPassword password,
                          UserFullName fullName, UserBirthDate birthDate, UserAddress address,
                          UserPhoneNumber phoneNumber, UserEmail email, UserRole role) {
         return new User(cedula, username, password, fullName, birthDate, address,
-                       phoneNumber, email, role, true);
+                       phoneNumber, email, role, true, null);
     }
 
     public static User of(UserCedula cedula, UserUsername username, UserPassword password,
                          UserFullName fullName, UserBirthDate birthDate, UserAddress address,
                          UserPhoneNumber phoneNumber, UserEmail email, UserRole role, boolean active) {
         return new User(cedula, username, password, fullName, birthDate, address,
-                       phoneNumber, email, role, active);
+                       phoneNumber, email, role, active, null);
+    }
+
+    /**
+     * Returns a copy of this user that carries the given stored version.
+     */
+    public User withVersion(Long version) {
+        return new User(cedula, username, password, fullName, birthDate, address,
+                       phoneNumber, email, role, active, version);
     }
 
     public UserCedula getCedula() {
@@ -87,6 +99,13 @@ public class User {
         return active;
     }
 
+    /**
+     * Version of the stored user this object was read from, or null if it has not been stored.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public int getAge() {
         return birthDate.getAge();
     }
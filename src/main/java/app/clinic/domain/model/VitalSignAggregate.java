@@ -0,0 +1,77 @@
+package app.clinic.domain.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Value Object representing the measurements of a vital sign within one period of a downsampled series.
+ * Holds the first day of the period and the count, minimum, maximum and average of its measurements.
+ */
+public class VitalSignAggregate {
+    private final LocalDate periodStart;
+    private final int count;
+    private final double min;
+    private final double max;
+    private final double average;
+
+    private VitalSignAggregate(LocalDate periodStart, int count, double min, double max, double average) {
+        if (periodStart == null) {
+            throw new IllegalArgumentException("Period start cannot be null");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("Aggregate must cover at least one measurement");
+        }
+        this.periodStart = periodStart;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+    }
+
+    public static VitalSignAggregate of(LocalDate periodStart, int count, double min, double max, double average) {
+        return new VitalSignAggregate(periodStart, count, min, max, average);
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VitalSignAggregate that = (VitalSignAggregate) o;
+        return count == that.count &&
+               Double.compare(min, that.min) == 0 &&
+               Double.compare(max, that.max) == 0 &&
+               Double.compare(average, that.average) == 0 &&
+               Objects.equals(periodStart, that.periodStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(periodStart, count, min, max, average);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VitalSignAggregate{periodStart=%s, count=%d, min=%s, max=%s, average=%.2f}",
+                           periodStart, count, min, max, average);
+    }
+}
@@ -0,0 +1,51 @@
+package app.clinic.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value Object representing one measurement of a vital sign at a point in time.
+ */
+public class VitalSignPoint {
+    private final LocalDateTime recordedAt;
+    private final double value;
+
+    private VitalSignPoint(LocalDateTime recordedAt, double value) {
+        if (recordedAt == null) {
+            throw new IllegalArgumentException("Recording time cannot be null");
+        }
+        this.recordedAt = recordedAt;
+        this.value = value;
+    }
+
+    public static VitalSignPoint of(LocalDateTime recordedAt, double value) {
+        return new VitalSignPoint(recordedAt, value);
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VitalSignPoint that = (VitalSignPoint) o;
+        return Double.compare(value, that.value) == 0 &&
+               Objects.equals(recordedAt, that.recordedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(recordedAt, value);
+    }
+
+    @Override
+    public String toString() {
+        return recordedAt + "=" + value;
+    }
+}
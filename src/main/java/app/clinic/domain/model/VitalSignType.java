@@ -0,0 +1,34 @@
+package app.clinic.domain.model;
+
+/**
+ * Enumeration representing the vital signs tracked as time series.
+ * Blood pressure is tracked as its systolic and diastolic components.
+ */
+public enum VitalSignType {
+    TEMPERATURE("Temperatura", "°C"),
+    PULSE("Pulso", "BPM"),
+    OXYGEN_LEVEL("Nivel de oxígeno", "%"),
+    SYSTOLIC_PRESSURE("Presión sistólica", "mmHg"),
+    DIASTOLIC_PRESSURE("Presión diastólica", "mmHg");
+
+    private final String displayName;
+    private final String unit;
+
+    VitalSignType(String displayName, String unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,7 +1,9 @@
 package app.clinic.domain.port;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import app.clinic.domain.model.Appointment;
 import app.clinic.domain.model.AppointmentDateTime;
@@ -41,6 +43,34 @@ public interface AppointmentRepository {
      */
     List<Appointment> findByDateTime(AppointmentDateTime appointmentDateTime);
 
+    /**
+     * Finds appointments within an inclusive date and time range, ordered by date and time.
+     */
+    List<Appointment> findByDateTimeRange(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Finds scheduled or confirmed appointments of the given doctors starting in [start, end),
+     * ordered by date and time across all doctors.
+     */
+    List<Appointment> findActiveByDoctorsBetween(Set<DoctorCedula> doctorCedulas, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Checks if a scheduled or confirmed appointment of the doctor overlaps the range [start, end).
+     */
+    boolean existsActiveByDoctorOverlapping(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Saves the appointment unless it overlaps another scheduled or confirmed appointment of its doctor.
+     * The check and the save run in one transaction holding the doctor's schedule lock, so bookings
+     * for the same doctor are serialized across all nodes. Returns empty when the doctor is not available.
+     */
+    Optional<Appointment> saveIfDoctorAvailable(Appointment appointment);
+
+    /**
+     * Checks if a patient has a scheduled or confirmed appointment after the given date and time.
+     */
+    boolean existsActiveByPatientAfter(PatientCedula patientCedula, LocalDateTime dateTime);
+
     /**
      * Finds appointments by status.
      */
@@ -2,6 +2,7 @@ package app.clinic.domain.port;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import app.clinic.domain.model.BillingCalculationResult;
 import app.clinic.domain.model.BillingDetails;
@@ -9,6 +10,7 @@ import app.clinic.domain.model.BillingSummary;
 import app.clinic.domain.model.Invoice;
 import app.clinic.domain.model.InvoiceId;
 import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.Year;
 
@@ -43,6 +45,17 @@ public interface BillingRepository {
      */
     List<Invoice> findAll();
 
+    /**
+     * Finds the page of invoices that follows the given cursor (null for the first page),
+     * ordered by identifier.
+     */
+    KeysetPage<Invoice> findPage(Long afterCursor, int size);
+
+    /**
+     * Streams all invoices in identifier order, reading them in batches as the stream is consumed.
+     */
+    Stream<Invoice> streamAll();
+
     /**
      * Checks if an invoice exists with the given invoice number.
      */
@@ -0,0 +1,45 @@
+package app.clinic.domain.port;
+
+import java.util.Collection;
+import java.util.Map;
+
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.Money;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.Year;
+
+/**
+ * Port interface for the per-patient, per-year copayment ledger.
+ * The ledger keeps running totals of non-cancelled invoices so the annual copayment limit
+ * can be checked without summing the invoices. Updates must run in the transaction that
+ * creates or cancels the invoice; concurrent updates of the same patient and year fail
+ * with an optimistic locking error instead of losing an amount.
+ */
+public interface CopaymentLedger {
+
+    /**
+     * Finds the totals of a patient in a year; empty totals if nothing was billed.
+     */
+    AnnualBillingTotals findTotals(PatientCedula patientCedula, Year year);
+
+    /**
+     * Finds the totals of several patients in a year with one lookup.
+     * Every requested patient is present in the result, with empty totals if nothing was billed.
+     */
+    Map<PatientCedula, AnnualBillingTotals> findTotals(Collection<PatientCedula> patientCedulas, Year year);
+
+    /**
+     * Adds a newly created invoice to the patient's totals.
+     */
+    void recordInvoice(PatientCedula patientCedula, Year year, Money copaymentAmount, Money totalAmount);
+
+    /**
+     * Removes a cancelled invoice from the patient's totals.
+     */
+    void reverseInvoice(PatientCedula patientCedula, Year year, Money copaymentAmount, Money totalAmount);
+
+    /**
+     * Rebuilds the totals of a year from the invoices and returns the number of entries corrected.
+     */
+    int reconcile(Year year);
+}
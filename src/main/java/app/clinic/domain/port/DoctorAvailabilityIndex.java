@@ -0,0 +1,33 @@
+package app.clinic.domain.port;
+
+import java.time.LocalDateTime;
+
+import app.clinic.domain.model.DoctorCedula;
+
+/**
+ * Port interface for the index of time ranges blocked in each doctor's agenda.
+ * Only scheduled and confirmed appointments are expected to be indexed.
+ */
+public interface DoctorAvailabilityIndex {
+
+    /**
+     * Checks if the doctor has no indexed appointment overlapping the range [start, end).
+     */
+    boolean isAvailable(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Atomically indexes the appointment if the range [start, end) is free for the doctor.
+     * Returns false, leaving the index unchanged, when the range overlaps another appointment.
+     */
+    boolean tryReserve(String appointmentId, DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Indexes the appointment regardless of overlaps, replacing any previous entry with the same ID.
+     */
+    void put(String appointmentId, DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Removes the appointment from the index if present.
+     */
+    void remove(String appointmentId);
+}
@@ -0,0 +1,55 @@
+package app.clinic.domain.port;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemType;
+
+/**
+ * Port interface for the read-optimized inventory catalog.
+ * Serves lookups, listings and name searches on hot paths without going to the inventory repository;
+ * writes to the repository are expected to be mirrored here.
+ */
+public interface InventoryCatalog {
+
+    /**
+     * Finds a catalog item, active or not, by its identifier.
+     */
+    Optional<InventoryItem> findById(InventoryItemId inventoryItemId);
+
+    /**
+     * Looks up all the given items at once. IDs not held in the catalog are checked against the
+     * inventory repository in a single query, and any found there are added to the catalog.
+     */
+    InventoryAvailability checkAvailability(Set<InventoryItemId> inventoryItemIds);
+
+    /**
+     * Lists the active items of the given type ordered by name.
+     */
+    List<InventoryItem> findActiveByType(InventoryItemType type);
+
+    /**
+     * Searches items whose name starts with or contains the query, ignoring case and accents.
+     * Prefix matches come first; at most limit items are returned.
+     */
+    List<InventoryItem> searchByName(String query, int limit);
+
+    /**
+     * Adds the item to the catalog, replacing any previous entry with the same ID.
+     */
+    void put(InventoryItem inventoryItem);
+
+    /**
+     * Removes the item from the catalog if present.
+     */
+    void remove(InventoryItemId inventoryItemId);
+
+    /**
+     * Counts the items held in the catalog.
+     */
+    int size();
+}
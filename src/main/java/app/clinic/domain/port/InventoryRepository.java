@@ -2,11 +2,15 @@ package app.clinic.domain.port;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import app.clinic.domain.model.InventoryAvailability;
 import app.clinic.domain.model.InventoryItem;
 import app.clinic.domain.model.InventoryItemId;
 import app.clinic.domain.model.InventoryItemName;
 import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.model.KeysetPage;
 
 /**
  * Port interface for inventory repository operations.
@@ -34,6 +38,17 @@ public interface InventoryRepository {
      */
     List<InventoryItem> findAll();
 
+    /**
+     * Finds the page of inventory items that follows the given cursor (null for the first page),
+     * ordered by identifier.
+     */
+    KeysetPage<InventoryItem> findPage(Long afterCursor, int size);
+
+    /**
+     * Streams all inventory items in identifier order, reading them in batches as the stream is consumed.
+     */
+    Stream<InventoryItem> streamAll();
+
     /**
      * Finds inventory items by type.
      */
@@ -54,6 +69,12 @@ public interface InventoryRepository {
      */
     boolean existsById(InventoryItemId inventoryItemId);
 
+    /**
+     * Looks up all the given inventory items in one round trip, reporting which exist, whether
+     * they are active, and their type and cost.
+     */
+    InventoryAvailability checkAvailability(Set<InventoryItemId> inventoryItemIds);
+
     /**
      * Checks if an inventory item exists with the given name.
      */
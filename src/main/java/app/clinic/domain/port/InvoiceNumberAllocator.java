@@ -0,0 +1,16 @@
+package app.clinic.domain.port;
+
+import app.clinic.domain.model.InvoiceNumber;
+
+/**
+ * Port interface for invoice number allocation.
+ * Implementations must hand out numbers that are unique across nodes and that sort
+ * in creation order, without checking the invoices table for each candidate.
+ */
+public interface InvoiceNumberAllocator {
+
+    /**
+     * Allocates the next unique invoice number.
+     */
+    InvoiceNumber nextInvoiceNumber();
+}
@@ -1,9 +1,12 @@
 package app.clinic.domain.port;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientRecord;
+import app.clinic.domain.model.PatientRecordDate;
 import app.clinic.domain.model.PatientRecordEntry;
 import app.clinic.domain.model.PatientRecordKey;
 import app.clinic.domain.model.PatientRecordMap;
@@ -14,14 +17,25 @@ import app.clinic.domain.model.PatientRecordWithData;
  * Port interface for medical record repository operations.
  * Defines the contract for medical record data access in the domain layer.
  * Handles both structured and unstructured medical record storage.
+ * Entries are stored one per patient and date, so writing an entry never rewrites the rest of the history.
  */
 public interface MedicalRecordRepository {
 
     /**
-     * Saves a complete medical record map.
+     * Saves every entry of a medical record map.
      */
     PatientRecordMap save(PatientRecordMap medicalRecordMap);
 
+    /**
+     * Stores one entry of a patient's record, replacing the entry already stored for the same date.
+     */
+    PatientRecordEntry saveEntry(PatientRecordKey key, PatientRecordEntry entry);
+
+    /**
+     * Deletes one entry of a patient's record; returns false if there was no entry for the date.
+     */
+    boolean deleteEntry(PatientRecordKey key);
+
     /**
      * Saves a medical record map with additional data.
      */
@@ -32,6 +46,19 @@ public interface MedicalRecordRepository {
      */
     Optional<PatientRecord> findByPatientCedula(PatientCedula patientCedula);
 
+    /**
+     * Finds the given number of most recent entries of a patient's record.
+     */
+    PatientRecord findLatestEntries(PatientCedula patientCedula, int limit);
+
+    /**
+     * Streams the entries of a patient dated between from and to, both inclusive, in date order.
+     * Entries are read in batches as the stream is consumed.
+     */
+    Stream<Map.Entry<PatientRecordDate, PatientRecordEntry>> streamEntriesBetween(PatientCedula patientCedula,
+                                                                                  PatientRecordDate from,
+                                                                                  PatientRecordDate to);
+
     /**
      * Finds medical record with data by patient cedula.
      */
@@ -47,6 +74,17 @@ public interface MedicalRecordRepository {
      */
     PatientRecordMap findAll();
 
+    /**
+     * Streams every entry of every patient, reading them in batches as the stream is consumed.
+     */
+    Stream<Map.Entry<PatientRecordKey, PatientRecordEntry>> streamAll();
+
+    /**
+     * Streams every entry of every patient like streamAll, but without reading or decoding their
+     * additional data: the entries carry empty data. For callers that only use the structured fields.
+     */
+    Stream<Map.Entry<PatientRecordKey, PatientRecordEntry>> streamAllWithoutData();
+
     /**
      * Finds all medical records with data.
      */
@@ -62,6 +100,11 @@ public interface MedicalRecordRepository {
      */
     void deleteByPatientCedula(PatientCedula patientCedula);
 
+    /**
+     * Counts the entries of a patient's record.
+     */
+    long countByPatientCedula(PatientCedula patientCedula);
+
     /**
      * Counts total number of medical records.
      */
@@ -0,0 +1,41 @@
+package app.clinic.domain.port;
+
+import java.util.List;
+
+import app.clinic.domain.model.MedicalRecordSearchHit;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientRecordEntry;
+import app.clinic.domain.model.PatientRecordKey;
+
+/**
+ * Port interface for the full-text index over medical record entries.
+ * Indexes the consultation reason, symptoms and diagnosis of each entry; writes to the
+ * medical record repository are expected to be mirrored here.
+ */
+public interface MedicalRecordSearchIndex {
+
+    /**
+     * Adds the entry to the index, replacing any entry indexed for the same patient and date.
+     */
+    void index(PatientRecordKey key, PatientRecordEntry entry);
+
+    /**
+     * Removes the entry of a patient for one date if indexed.
+     */
+    void remove(PatientRecordKey key);
+
+    /**
+     * Removes every entry of a patient.
+     */
+    void removePatient(PatientCedula patientCedula);
+
+    /**
+     * Searches entries matching the words of the query, best matches first; at most limit hits are returned.
+     */
+    List<MedicalRecordSearchHit> search(String query, int limit);
+
+    /**
+     * Counts the entries held in the index.
+     */
+    int size();
+}
@@ -0,0 +1,15 @@
+package app.clinic.domain.port;
+
+import app.clinic.domain.model.OrderNumber;
+
+/**
+ * Port interface for order number allocation.
+ * Implementations must hand out unique order numbers without per-number existence checks.
+ */
+public interface OrderNumberSequence {
+
+    /**
+     * Allocates the next unique order number.
+     */
+    OrderNumber nextOrderNumber();
+}
@@ -47,6 +47,13 @@ public interface OrderRepository {
      */
     Optional<DiagnosticAidOrder> findDiagnosticAidOrderByNumber(OrderNumber orderNumber);
 
+    /**
+     * Finds an order by order number regardless of its type.
+     * Resolves the concrete order (MedicationOrder, ProcedureOrder or DiagnosticAidOrder)
+     * with a single lookup.
+     */
+    Optional<Object> findOrderByNumber(OrderNumber orderNumber);
+
     /**
      * Finds all medication orders for a patient.
      */
@@ -62,6 +69,22 @@ public interface OrderRepository {
      */
     List<DiagnosticAidOrder> findDiagnosticAidOrdersByPatient(PatientCedula patientCedula);
 
+    /**
+     * Finds all orders of any type for a patient with a single query.
+     * Each element is a MedicationOrder, ProcedureOrder or DiagnosticAidOrder.
+     */
+    List<Object> findOrdersByPatient(PatientCedula patientCedula);
+
+    /**
+     * Finds all orders of any type for a doctor with a single query.
+     */
+    List<Object> findOrdersByDoctor(DoctorCedula doctorCedula);
+
+    /**
+     * Finds all orders of any type within a date range with a single query.
+     */
+    List<Object> findOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate);
+
     /**
      * Finds all orders by order number.
      */
@@ -73,9 +96,10 @@ public interface OrderRepository {
     boolean existsByOrderNumber(OrderNumber orderNumber);
 
     /**
-     * Deletes an order by order number.
+     * Deletes an order of any type by order number.
+     * Returns whether an order with that number existed.
      */
-    void deleteByOrderNumber(OrderNumber orderNumber);
+    boolean deleteByOrderNumber(OrderNumber orderNumber);
 
     /**
      * Counts total number of orders.
@@ -1,8 +1,11 @@
 package app.clinic.domain.port;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.Patient;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientId;
@@ -29,6 +32,11 @@ public interface PatientRepository {
      */
     Optional<Patient> findByCedula(PatientCedula cedula);
 
+    /**
+     * Finds the patients with any of the given cedulas; unknown cedulas are left out.
+     */
+    List<Patient> findByCedulas(Collection<PatientCedula> cedulas);
+
     /**
      * Finds a patient by their username.
      */
@@ -39,6 +47,17 @@ public interface PatientRepository {
      */
     List<Patient> findAll();
 
+    /**
+     * Finds the page of patients that follows the given cursor (null for the first page),
+     * ordered by identifier.
+     */
+    KeysetPage<Patient> findPage(Long afterCursor, int size);
+
+    /**
+     * Streams all patients in identifier order, reading them in batches as the stream is consumed.
+     */
+    Stream<Patient> streamAll();
+
     /**
      * Checks if a patient exists with the given cedula.
      */
@@ -2,7 +2,9 @@ package app.clinic.domain.port;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientVisit;
 import app.clinic.domain.model.PatientVisitId;
@@ -33,6 +35,17 @@ public interface PatientVisitRepository {
      */
     List<PatientVisit> findAll();
 
+    /**
+     * Finds the page of patient visits that follows the given cursor (null for the first page),
+     * ordered by identifier.
+     */
+    KeysetPage<PatientVisit> findPage(Long afterCursor, int size);
+
+    /**
+     * Streams all patient visits in identifier order, reading them in batches as the stream is consumed.
+     */
+    Stream<PatientVisit> streamAll();
+
     /**
      * Finds all completed patient visits.
      */
@@ -63,6 +76,21 @@ public interface PatientVisitRepository {
      */
     long countCompleted();
 
+    /**
+     * Counts completed visits of a patient.
+     */
+    long countCompletedByPatient(PatientCedula patientCedula);
+
+    /**
+     * Checks if a patient has any visit that is not completed yet.
+     */
+    boolean existsPendingByPatient(PatientCedula patientCedula);
+
+    /**
+     * Finds the date and time of the most recent visit of a patient.
+     */
+    Optional<java.time.LocalDateTime> findLatestVisitDateTime(PatientCedula patientCedula);
+
     /**
      * Finds patient visits within a date range.
      */
@@ -2,7 +2,9 @@ package app.clinic.domain.port;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.User;
 import app.clinic.domain.model.UserCedula;
 import app.clinic.domain.model.UserId;
@@ -50,6 +52,17 @@ public interface UserRepository {
      */
     List<User> findAll();
 
+    /**
+     * Finds the page of users that follows the given cursor (null for the first page),
+     * ordered by identifier.
+     */
+    KeysetPage<User> findPage(Long afterCursor, int size);
+
+    /**
+     * Streams all users in identifier order, reading them in batches as the stream is consumed.
+     */
+    Stream<User> streamAll();
+
     /**
      * Checks if a user exists with the given cedula.
      */
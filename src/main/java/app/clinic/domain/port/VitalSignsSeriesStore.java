@@ -0,0 +1,44 @@
+package app.clinic.domain.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.SeriesResolution;
+import app.clinic.domain.model.VitalSignAggregate;
+import app.clinic.domain.model.VitalSignPoint;
+import app.clinic.domain.model.VitalSignType;
+import app.clinic.domain.model.VitalSignsData;
+
+/**
+ * Port interface for the vital signs time-series store.
+ * Keeps every patient's vital signs as series ordered by recording time, independent of the visits
+ * they were taken in, so trends can be read without loading visits.
+ */
+public interface VitalSignsSeriesStore {
+
+    /**
+     * Stores the vital signs taken in a visit of a patient at the given time. The sample already stored
+     * for the same visit is replaced, even when the visit moved to another patient or time.
+     */
+    void append(String visitId, PatientCedula patientCedula, LocalDateTime recordedAt, VitalSignsData vitalSigns);
+
+    /**
+     * Removes the vital signs taken in a visit. Does nothing when the visit has none stored.
+     */
+    void remove(String visitId);
+
+    /**
+     * Finds the measurements of a vital sign recorded from (inclusive) until to (exclusive), in time order.
+     */
+    List<VitalSignPoint> findSeries(PatientCedula patientCedula, VitalSignType type,
+                                    LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Summarizes the measurements of a vital sign recorded from (inclusive) until to (exclusive) per period
+     * of the given resolution, in time order. Periods without measurements are omitted.
+     */
+    List<VitalSignAggregate> findDownsampledSeries(PatientCedula patientCedula, VitalSignType type,
+                                                   LocalDateTime from, LocalDateTime to,
+                                                   SeriesResolution resolution);
+}
@@ -1,5 +1,6 @@
 package app.clinic.domain.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import app.clinic.domain.model.AppointmentStatus;
 import app.clinic.domain.model.DoctorCedula;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.port.AppointmentRepository;
+import app.clinic.domain.port.DoctorAvailabilityIndex;
 
 /**
  * Domain service for appointment operations.
@@ -21,17 +23,30 @@ import app.clinic.domain.port.AppointmentRepository;
 public class AppointmentDomainService {
 
     private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityIndex doctorAvailabilityIndex;
 
-    public AppointmentDomainService(AppointmentRepository appointmentRepository) {
+    public AppointmentDomainService(AppointmentRepository appointmentRepository,
+                                    DoctorAvailabilityIndex doctorAvailabilityIndex) {
         this.appointmentRepository = appointmentRepository;
+        this.doctorAvailabilityIndex = doctorAvailabilityIndex;
     }
 
     /**
      * Schedules a new appointment with validation.
+     * The availability index is a fast pre-check for this node; the repository decides, checking
+     * overlaps under the doctor's schedule lock in the same transaction as the save. The index entry
+     * is released again if the save is refused or fails.
      */
     public Appointment scheduleAppointment(Appointment appointment) {
         validateAppointmentForScheduling(appointment);
-        return appointmentRepository.save(appointment);
+        reserveDoctorTime(appointment);
+        try {
+            return appointmentRepository.saveIfDoctorAvailable(appointment)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor is not available at the requested time"));
+        } catch (RuntimeException e) {
+            doctorAvailabilityIndex.remove(appointment.getId());
+            throw e;
+        }
     }
 
     /**
@@ -46,42 +61,34 @@ public class AppointmentDomainService {
      * Cancels an appointment.
      */
     public Appointment cancelAppointment(AppointmentId appointmentId) {
-        Optional<Appointment> existingAppointment = appointmentRepository.findById(appointmentId);
-        if (existingAppointment.isEmpty()) {
-            throw new IllegalArgumentException("Appointment to cancel does not exist");
-        }
-
-        Appointment cancelledAppointment = Appointment.of(
-            existingAppointment.get().getId(),
-            existingAppointment.get().getPatientCedula(),
-            existingAppointment.get().getDoctorCedula(),
-            existingAppointment.get().getAppointmentDateTime(),
-            AppointmentStatus.CANCELADA,
-            existingAppointment.get().getReason()
-        );
-
-        return appointmentRepository.save(cancelledAppointment);
+        Appointment existingAppointment = appointmentRepository.findById(appointmentId)
+            .orElseThrow(() -> new IllegalArgumentException("Appointment to cancel does not exist"));
+        Appointment cancelledAppointment = appointmentRepository.save(existingAppointment.withStatus(AppointmentStatus.CANCELADA));
+        doctorAvailabilityIndex.remove(cancelledAppointment.getId());
+        return cancelledAppointment;
     }
 
     /**
      * Confirms an appointment.
      */
     public Appointment confirmAppointment(AppointmentId appointmentId) {
-        Optional<Appointment> existingAppointment = appointmentRepository.findById(appointmentId);
-        if (existingAppointment.isEmpty()) {
-            throw new IllegalArgumentException("Appointment to confirm does not exist");
-        }
-
-        Appointment confirmedAppointment = Appointment.of(
-            existingAppointment.get().getId(),
-            existingAppointment.get().getPatientCedula(),
-            existingAppointment.get().getDoctorCedula(),
-            existingAppointment.get().getAppointmentDateTime(),
-            AppointmentStatus.CONFIRMADA,
-            existingAppointment.get().getReason()
-        );
+        Appointment existingAppointment = appointmentRepository.findById(appointmentId)
+            .orElseThrow(() -> new IllegalArgumentException("Appointment to confirm does not exist"));
+        Appointment confirmedAppointment = appointmentRepository.save(existingAppointment.withStatus(AppointmentStatus.CONFIRMADA));
+        doctorAvailabilityIndex.put(confirmedAppointment.getId(), confirmedAppointment.getDoctorCedula(),
+            confirmedAppointment.getAppointmentDateTime().getValue(), confirmedAppointment.getEndDateTime());
+        return confirmedAppointment;
+    }
 
-        return appointmentRepository.save(confirmedAppointment);
+    /**
+     * Marks an appointment as completed.
+     */
+    public Appointment completeAppointment(AppointmentId appointmentId) {
+        Appointment existingAppointment = appointmentRepository.findById(appointmentId)
+            .orElseThrow(() -> new IllegalArgumentException("Appointment to complete does not exist"));
+        Appointment completedAppointment = appointmentRepository.save(existingAppointment.withStatus(AppointmentStatus.COMPLETADA));
+        doctorAvailabilityIndex.remove(completedAppointment.getId());
+        return completedAppointment;
     }
 
     /**
@@ -105,6 +112,31 @@ public class AppointmentDomainService {
         return appointmentRepository.findByDoctorCedula(doctorCedula);
     }
 
+    /**
+     * Finds all appointments within an inclusive date and time range.
+     */
+    public List<Appointment> findAppointmentsByDateRange(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return appointmentRepository.findByDateTimeRange(start, end);
+    }
+
+    /**
+     * Checks if a standard-length appointment starting at the given date and time
+     * would not overlap any scheduled or confirmed appointment of the doctor.
+     */
+    public boolean isDoctorAvailable(DoctorCedula doctorCedula, LocalDateTime dateTime) {
+        return doctorAvailabilityIndex.isAvailable(doctorCedula, dateTime, dateTime.plus(Appointment.STANDARD_DURATION));
+    }
+
+    /**
+     * Checks if a patient has any scheduled or confirmed appointment in the future.
+     */
+    public boolean hasUpcomingAppointments(PatientCedula patientCedula) {
+        return appointmentRepository.existsActiveByPatientAfter(patientCedula, LocalDateTime.now());
+    }
+
     /**
      * Finds all appointments.
      */
@@ -118,6 +150,7 @@ public class AppointmentDomainService {
     public void deleteAppointmentById(AppointmentId appointmentId) {
         validateAppointmentCanBeDeleted(appointmentId);
         appointmentRepository.deleteById(appointmentId);
+        doctorAvailabilityIndex.remove(appointmentId.getValue());
     }
 
     /**
@@ -125,7 +158,6 @@ public class AppointmentDomainService {
      */
     private void validateAppointmentForScheduling(Appointment appointment) {
         validateAppointmentDateTime(appointment.getAppointmentDateTime());
-        validateDoctorAvailability(appointment.getDoctorCedula(), appointment.getAppointmentDateTime());
         // Add additional validation rules
     }
 
@@ -137,7 +169,9 @@ public class AppointmentDomainService {
         if (existingAppointment.isEmpty()) {
             throw new IllegalArgumentException("Appointment to update does not exist");
         }
-        validateAppointmentDateTime(appointment.getAppointmentDateTime());
+        if (!existingAppointment.get().getAppointmentDateTime().equals(appointment.getAppointmentDateTime())) {
+            validateAppointmentDateTime(appointment.getAppointmentDateTime());
+        }
         // Add additional validation rules
     }
 
@@ -162,17 +196,20 @@ public class AppointmentDomainService {
     }
 
     /**
-     * Validates doctor availability for the appointment time.
+     * Reserves the appointment's time range in this node's index of the doctor's agenda.
+     * The index may still hold an appointment cancelled through another node since its last refresh,
+     * so a conflict it reports is confirmed against the repository before the booking is refused.
      */
-    private void validateDoctorAvailability(DoctorCedula doctorCedula, AppointmentDateTime appointmentDateTime) {
-        List<Appointment> doctorAppointments = appointmentRepository.findByDoctorCedula(doctorCedula);
-        boolean isConflict = doctorAppointments.stream()
-            .filter(apt -> apt.getStatus() == AppointmentStatus.PROGRAMADA ||
-                          apt.getStatus() == AppointmentStatus.CONFIRMADA)
-            .anyMatch(apt -> apt.getAppointmentDateTime().getValue().equals(appointmentDateTime.getValue()));
-
-        if (isConflict) {
+    private void reserveDoctorTime(Appointment appointment) {
+        DoctorCedula doctorCedula = appointment.getDoctorCedula();
+        LocalDateTime start = appointment.getAppointmentDateTime().getValue();
+        LocalDateTime end = appointment.getEndDateTime();
+        if (doctorAvailabilityIndex.tryReserve(appointment.getId(), doctorCedula, start, end)) {
+            return;
+        }
+        if (appointmentRepository.existsActiveByDoctorOverlapping(doctorCedula, start, end)) {
             throw new IllegalArgumentException("Doctor is not available at the requested time");
         }
+        doctorAvailabilityIndex.put(appointment.getId(), doctorCedula, start, end);
     }
 }
\ No newline at end of file
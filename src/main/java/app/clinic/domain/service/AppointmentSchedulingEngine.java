@@ -0,0 +1,209 @@
+package app.clinic.domain.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.stereotype.Service;
+
+import app.clinic.domain.model.Appointment;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.FreeSlot;
+import app.clinic.domain.port.AppointmentRepository;
+
+/**
+ * Domain service that searches doctors' agendas for free slots.
+ * Candidate slots lie on a grid of the requested length anchored at the window start. The
+ * active appointments of all requested doctors are read in one query ordered by date and
+ * time and swept once, keeping a cursor per doctor, so the cost is linear in the number of
+ * appointments and slots found. Slots are produced lazily while the result is consumed.
+ */
+@Service
+public class AppointmentSchedulingEngine {
+
+    static final int MAX_DOCTORS = 50;
+    static final Duration MAX_WINDOW = Duration.ofDays(31);
+    static final Duration MIN_SLOT_LENGTH = Duration.ofMinutes(5);
+    static final Duration MAX_SLOT_LENGTH = Duration.ofHours(8);
+
+    private final AppointmentRepository appointmentRepository;
+
+    public AppointmentSchedulingEngine(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Returns every free slot of the given doctors within [windowStart, windowEnd).
+     * Parameters are validated and appointments loaded before this method returns; the slots
+     * themselves are computed as the stream is consumed. Slots in the past are skipped, and
+     * the slots of one doctor are delivered in chronological order.
+     */
+    public Stream<FreeSlot> findFreeSlots(Set<DoctorCedula> doctorCedulas, LocalDateTime windowStart,
+                                          LocalDateTime windowEnd, Duration slotLength) {
+        validateSearch(doctorCedulas, windowStart, windowEnd, slotLength);
+
+        // Appointments that started shortly before the window may still block its first slots.
+        List<Appointment> appointments = appointmentRepository.findActiveByDoctorsBetween(
+            doctorCedulas, windowStart.minus(Appointment.STANDARD_DURATION), windowEnd);
+
+        SlotSweep sweep = new SlotSweep(doctorCedulas, appointments, windowStart, windowEnd, slotLength);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(sweep, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Validates the search parameters and their limits.
+     */
+    private void validateSearch(Set<DoctorCedula> doctorCedulas, LocalDateTime windowStart,
+                                LocalDateTime windowEnd, Duration slotLength) {
+        if (doctorCedulas == null || doctorCedulas.isEmpty()) {
+            throw new IllegalArgumentException("At least one doctor is required");
+        }
+        if (doctorCedulas.size() > MAX_DOCTORS) {
+            throw new IllegalArgumentException("Free slot search supports at most " + MAX_DOCTORS + " doctors");
+        }
+        if (windowStart == null || windowEnd == null || !windowEnd.isAfter(windowStart)) {
+            throw new IllegalArgumentException("Search window end must be after its start");
+        }
+        if (Duration.between(windowStart, windowEnd).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("Search window cannot exceed " + MAX_WINDOW.toDays() + " days");
+        }
+        if (slotLength == null || slotLength.compareTo(MIN_SLOT_LENGTH) < 0 || slotLength.compareTo(MAX_SLOT_LENGTH) > 0) {
+            throw new IllegalArgumentException("Slot length must be between " + MIN_SLOT_LENGTH.toMinutes()
+                + " and " + MAX_SLOT_LENGTH.toMinutes() + " minutes");
+        }
+    }
+
+    /**
+     * Single pass over the appointments, sorted by date and time, that yields the free grid
+     * slots between consecutive appointments of each doctor and, at the end, the slots left
+     * before the window end.
+     */
+    private static final class SlotSweep implements Iterator<FreeSlot> {
+
+        private final List<Appointment> appointments;
+        private final LocalDateTime windowStart;
+        private final LocalDateTime windowEnd;
+        private final Duration slotLength;
+        private final Map<DoctorCedula, LocalDateTime> cursors = new LinkedHashMap<>();
+
+        private int nextAppointment;
+        private Iterator<Map.Entry<DoctorCedula, LocalDateTime>> remainingDoctors;
+
+        // Range currently being emitted: free grid slots of one doctor from cursor up to limit.
+        private DoctorCedula doctor;
+        private LocalDateTime cursor;
+        private LocalDateTime limit;
+        private Appointment blockingAppointment;
+
+        private FreeSlot next;
+
+        SlotSweep(Set<DoctorCedula> doctorCedulas, List<Appointment> appointments,
+                  LocalDateTime windowStart, LocalDateTime windowEnd, Duration slotLength) {
+            this.appointments = appointments;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.slotLength = slotLength;
+            LocalDateTime firstCandidate = alignUp(LocalDateTime.now());
+            for (DoctorCedula doctorCedula : doctorCedulas) {
+                cursors.put(doctorCedula, firstCandidate);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = computeNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public FreeSlot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FreeSlot slot = next;
+            next = null;
+            return slot;
+        }
+
+        private FreeSlot computeNext() {
+            while (true) {
+                if (doctor != null) {
+                    LocalDateTime slotEnd = cursor.plus(slotLength);
+                    if (!slotEnd.isAfter(limit) && !slotEnd.isAfter(windowEnd)) {
+                        FreeSlot slot = FreeSlot.of(doctor, cursor, slotEnd);
+                        cursor = slotEnd;
+                        return slot;
+                    }
+                    closeRange();
+                }
+                if (!openNextRange()) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * Moves the doctor's cursor past the appointment that ended the current range.
+         */
+        private void closeRange() {
+            if (blockingAppointment != null) {
+                if (blockingAppointment.getEndDateTime().isAfter(cursor)) {
+                    cursor = alignUp(blockingAppointment.getEndDateTime());
+                }
+                cursors.put(doctor, cursor);
+            }
+            doctor = null;
+        }
+
+        /**
+         * Starts the range before the next appointment or, once all appointments are consumed,
+         * the range up to the window end of the next doctor.
+         */
+        private boolean openNextRange() {
+            if (nextAppointment < appointments.size()) {
+                blockingAppointment = appointments.get(nextAppointment++);
+                doctor = blockingAppointment.getDoctorCedula();
+                cursor = cursors.getOrDefault(doctor, windowEnd);
+                limit = blockingAppointment.getAppointmentDateTime().getValue();
+                return true;
+            }
+            if (remainingDoctors == null) {
+                remainingDoctors = cursors.entrySet().iterator();
+            }
+            if (remainingDoctors.hasNext()) {
+                Map.Entry<DoctorCedula, LocalDateTime> entry = remainingDoctors.next();
+                blockingAppointment = null;
+                doctor = entry.getKey();
+                cursor = entry.getValue();
+                limit = windowEnd;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns the first grid point at or after the given instant.
+         */
+        private LocalDateTime alignUp(LocalDateTime instant) {
+            if (!instant.isAfter(windowStart)) {
+                return windowStart;
+            }
+            long elapsed = Duration.between(windowStart, instant).toNanos();
+            long length = slotLength.toNanos();
+            long steps = (elapsed + length - 1) / length;
+            return windowStart.plus(slotLength.multipliedBy(steps));
+        }
+    }
+}
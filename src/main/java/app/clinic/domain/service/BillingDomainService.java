@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.AnnualBillingTotals;
 import app.clinic.domain.model.BillingCalculationResult;
 import app.clinic.domain.model.BillingDetails;
 import app.clinic.domain.model.BillingSummary;
@@ -48,7 +49,16 @@ public class BillingDomainService {
         // Calculate accumulated copayment for the current year
         BillingCalculationResult accumulatedResult = billingRepository.calculateAccumulatedCopayment(patientCedula, currentYear);
 
-        return calculateBillingWithRules(totalCost, insurancePolicy, accumulatedResult);
+        return calculateBillingWithRules(totalCost, insurancePolicy, accumulatedResult.getPatientResponsibility());
+    }
+
+    /**
+     * Calculates billing for an already loaded patient and their annual totals.
+     * Performs no lookups, so callers that prefetch data in bulk can run it concurrently.
+     */
+    public BillingCalculationResult calculateBilling(Patient patient, TotalCost totalCost, AnnualBillingTotals annualTotals) {
+        return calculateBillingWithRules(totalCost, patient.getInsurancePolicy(),
+            Money.of(annualTotals.getAccumulatedCopayment().getValue()));
     }
 
     /**
@@ -70,7 +80,7 @@ public class BillingDomainService {
      */
     private BillingCalculationResult calculateBillingWithRules(TotalCost totalCost,
                                                               InsurancePolicy insurancePolicy,
-                                                              BillingCalculationResult accumulatedResult) {
+                                                              Money accumulatedCopayment) {
         Money totalAmount = totalCost.getValue();
         Money copaymentAmount = Money.of(CopaymentAmount.standard().getValue());
         Money insuranceCoverage = Money.of(BigDecimal.ZERO);
@@ -79,7 +89,7 @@ public class BillingDomainService {
 
         if (insurancePolicy != null && insurancePolicy.isActive()) {
             // Patient has active insurance
-            if (accumulatedResult.getPatientResponsibility().getAmount()
+            if (accumulatedCopayment.getAmount()
                 .compareTo(MaximumCopaymentAmount.standard().getValue()) >= 0) {
                 // Patient has reached maximum copayment for the year
                 insuranceCoverage = totalAmount;
@@ -87,7 +97,7 @@ public class BillingDomainService {
             } else {
                 // Calculate remaining copayment capacity
                 Money remainingCopaymentCapacity = Money.of(MaximumCopaymentAmount.standard().getValue()
-                    .subtract(accumulatedResult.getPatientResponsibility().getAmount()));
+                    .subtract(accumulatedCopayment.getAmount()));
 
                 if (copaymentAmount.getAmount().compareTo(remainingCopaymentCapacity.getAmount()) <= 0) {
                     // Patient can pay full copayment
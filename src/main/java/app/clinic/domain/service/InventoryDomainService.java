@@ -2,6 +2,7 @@ package app.clinic.domain.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
@@ -9,19 +10,24 @@ import app.clinic.domain.model.InventoryItem;
 import app.clinic.domain.model.InventoryItemId;
 import app.clinic.domain.model.InventoryItemName;
 import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.model.KeysetPage;
+import app.clinic.domain.port.InventoryCatalog;
 import app.clinic.domain.port.InventoryRepository;
 
 /**
  * Domain service for inventory operations.
  * Contains business logic for inventory management following domain-driven design principles.
+ * Every write is mirrored into the inventory catalog so lookups served from it stay current.
  */
 @Service
 public class InventoryDomainService {
 
     private final InventoryRepository inventoryRepository;
+    private final InventoryCatalog inventoryCatalog;
 
-    public InventoryDomainService(InventoryRepository inventoryRepository) {
+    public InventoryDomainService(InventoryRepository inventoryRepository, InventoryCatalog inventoryCatalog) {
         this.inventoryRepository = inventoryRepository;
+        this.inventoryCatalog = inventoryCatalog;
     }
 
     /**
@@ -29,7 +35,7 @@ public class InventoryDomainService {
      */
     public InventoryItem addInventoryItem(InventoryItem inventoryItem) {
         validateInventoryItemForAddition(inventoryItem);
-        return inventoryRepository.save(inventoryItem);
+        return saveAndIndex(inventoryItem);
     }
 
     /**
@@ -37,7 +43,7 @@ public class InventoryDomainService {
      */
     public InventoryItem updateInventoryItem(InventoryItem inventoryItem) {
         validateInventoryItemForUpdate(inventoryItem);
-        return inventoryRepository.save(inventoryItem);
+        return saveAndIndex(inventoryItem);
     }
 
     /**
@@ -61,6 +67,20 @@ public class InventoryDomainService {
         return inventoryRepository.findAll();
     }
 
+    /**
+     * Finds one page of inventory items after the given cursor, ordered by identifier.
+     */
+    public KeysetPage<InventoryItem> findInventoryItemsPage(Long afterCursor, int size) {
+        return inventoryRepository.findPage(afterCursor, KeysetPage.validatePageSize(size));
+    }
+
+    /**
+     * Streams all inventory items without loading them all into memory.
+     */
+    public Stream<InventoryItem> streamAllInventoryItems() {
+        return inventoryRepository.streamAll();
+    }
+
     /**
      * Finds inventory items by type.
      */
@@ -93,7 +113,7 @@ public class InventoryDomainService {
             inventoryItem.getCost(),
             false
         );
-        return inventoryRepository.save(deactivatedItem);
+        return saveAndIndex(deactivatedItem);
     }
 
     /**
@@ -107,7 +127,7 @@ public class InventoryDomainService {
             inventoryItem.getCost(),
             true
         );
-        return inventoryRepository.save(activatedItem);
+        return saveAndIndex(activatedItem);
     }
 
     /**
@@ -116,6 +136,16 @@ public class InventoryDomainService {
     public void deleteInventoryItemById(InventoryItemId inventoryItemId) {
         validateInventoryItemCanBeDeleted(inventoryItemId);
         inventoryRepository.deleteById(inventoryItemId);
+        inventoryCatalog.remove(inventoryItemId);
+    }
+
+    /**
+     * Saves the item and indexes the stored version in the catalog.
+     */
+    private InventoryItem saveAndIndex(InventoryItem inventoryItem) {
+        InventoryItem savedItem = inventoryRepository.save(inventoryItem);
+        inventoryCatalog.put(savedItem);
+        return savedItem;
     }
 
     /**
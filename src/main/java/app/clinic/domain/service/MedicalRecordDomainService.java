@@ -1,7 +1,12 @@
 package app.clinic.domain.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.MedicalRecordSearchHit;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientRecord;
 import app.clinic.domain.model.PatientRecordDate;
@@ -9,6 +14,7 @@ import app.clinic.domain.model.PatientRecordEntry;
 import app.clinic.domain.model.PatientRecordKey;
 import app.clinic.domain.model.PatientRecordMap;
 import app.clinic.domain.port.MedicalRecordRepository;
+import app.clinic.domain.port.MedicalRecordSearchIndex;
 
 /**
  * Domain service for medical record operations.
@@ -18,36 +24,46 @@ import app.clinic.domain.port.MedicalRecordRepository;
 public class MedicalRecordDomainService {
 
     private final MedicalRecordRepository medicalRecordRepository;
+    private final MedicalRecordSearchIndex medicalRecordSearchIndex;
 
-    public MedicalRecordDomainService(MedicalRecordRepository medicalRecordRepository) {
+    public MedicalRecordDomainService(MedicalRecordRepository medicalRecordRepository,
+                                      MedicalRecordSearchIndex medicalRecordSearchIndex) {
         this.medicalRecordRepository = medicalRecordRepository;
+        this.medicalRecordSearchIndex = medicalRecordSearchIndex;
     }
 
     /**
-     * Creates a new medical record entry for a patient.
+     * Creates a new medical record for a patient, storing each of its entries.
      */
-    public PatientRecordMap createMedicalRecord(PatientCedula patientCedula, PatientRecord record) {
+    public PatientRecord createMedicalRecord(PatientCedula patientCedula, PatientRecord record) {
         validateMedicalRecordForCreation(patientCedula, record);
-        PatientRecordMap existingRecords = medicalRecordRepository.findAll();
-        PatientRecordMap updatedRecords = existingRecords.addRecord(patientCedula, record);
-        return medicalRecordRepository.save(updatedRecords);
+        for (Map.Entry<PatientRecordDate, PatientRecordEntry> entry : record.getRecords().entrySet()) {
+            saveAndIndex(PatientRecordKey.of(patientCedula, entry.getKey()), entry.getValue());
+        }
+        return record;
     }
 
     /**
-     * Adds a medical record entry to an existing patient record.
+     * Adds a medical record entry to a patient's record, replacing the entry for the same date if any.
+     * Only the given entry is written; the rest of the patient's history is not read.
      */
-    public PatientRecordMap addRecordEntry(PatientCedula patientCedula, PatientRecordDate date,
-                                        PatientRecordEntry entry) {
-        PatientRecordMap existingRecords = medicalRecordRepository.findAll();
-        PatientRecord existingRecord = existingRecords.getRecord(patientCedula);
-
-        if (existingRecord == null) {
-            throw new IllegalArgumentException("Patient record does not exist");
+    public PatientRecordEntry addRecordEntry(PatientCedula patientCedula, PatientRecordDate date,
+                                             PatientRecordEntry entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Record entry cannot be null");
         }
+        return saveAndIndex(PatientRecordKey.of(patientCedula, date), entry);
+    }
 
-        PatientRecord updatedRecord = existingRecord.addRecord(date, entry);
-        PatientRecordMap updatedRecords = existingRecords.addRecord(patientCedula, updatedRecord);
-        return medicalRecordRepository.save(updatedRecords);
+    /**
+     * Searches entries by the words of their consultation reason, symptoms and diagnosis,
+     * best matches first.
+     */
+    public List<MedicalRecordSearchHit> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+        return medicalRecordSearchIndex.search(query, limit);
     }
 
     /**
@@ -57,6 +73,43 @@ public class MedicalRecordDomainService {
         return medicalRecordRepository.findByPatientCedula(patientCedula).orElse(PatientRecord.empty());
     }
 
+    /**
+     * Finds the given number of most recent entries of a patient's record.
+     */
+    public PatientRecord findLatestEntries(PatientCedula patientCedula, int limit) {
+        return medicalRecordRepository.findLatestEntries(patientCedula, limit);
+    }
+
+    /**
+     * Streams the entries of a patient dated between from and to, both inclusive, in date order.
+     * The range is validated before any entry is read.
+     */
+    public Stream<Map.Entry<PatientRecordDate, PatientRecordEntry>> streamEntriesBetween(PatientCedula patientCedula,
+                                                                                         PatientRecordDate from,
+                                                                                         PatientRecordDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range bounds cannot be null");
+        }
+        if (from.getValue().isAfter(to.getValue())) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        return medicalRecordRepository.streamEntriesBetween(patientCedula, from, to);
+    }
+
+    /**
+     * Checks if a patient has any medical record entries.
+     */
+    public boolean hasRecords(PatientCedula patientCedula) {
+        return medicalRecordRepository.existsByPatientCedula(patientCedula);
+    }
+
+    /**
+     * Counts the entries of a patient's medical record.
+     */
+    public long countEntries(PatientCedula patientCedula) {
+        return medicalRecordRepository.countByPatientCedula(patientCedula);
+    }
+
     /**
      * Finds a specific record entry by composite key.
      */
@@ -77,26 +130,27 @@ public class MedicalRecordDomainService {
     public void deleteByPatientCedula(PatientCedula patientCedula) {
         validateMedicalRecordCanBeDeleted(patientCedula);
         medicalRecordRepository.deleteByPatientCedula(patientCedula);
+        medicalRecordSearchIndex.removePatient(patientCedula);
     }
 
     /**
      * Removes a specific record entry from a patient's medical record.
      */
-    public PatientRecordMap removeRecordEntry(PatientCedula patientCedula, PatientRecordDate date) {
-        PatientRecordMap existingRecords = medicalRecordRepository.findAll();
-        PatientRecord existingRecord = existingRecords.getRecord(patientCedula);
-
-        if (existingRecord == null) {
-            throw new IllegalArgumentException("Patient record does not exist");
-        }
-
-        if (!existingRecord.hasRecord(date)) {
+    public void removeRecordEntry(PatientCedula patientCedula, PatientRecordDate date) {
+        PatientRecordKey key = PatientRecordKey.of(patientCedula, date);
+        if (!medicalRecordRepository.deleteEntry(key)) {
             throw new IllegalArgumentException("Record entry does not exist for the specified date");
         }
+        medicalRecordSearchIndex.remove(key);
+    }
 
-        PatientRecord updatedRecord = existingRecord.removeRecord(date);
-        PatientRecordMap updatedRecords = existingRecords.addRecord(patientCedula, updatedRecord);
-        return medicalRecordRepository.save(updatedRecords);
+    /**
+     * Saves the entry and mirrors it into the search index.
+     */
+    private PatientRecordEntry saveAndIndex(PatientRecordKey key, PatientRecordEntry entry) {
+        PatientRecordEntry saved = medicalRecordRepository.saveEntry(key, entry);
+        medicalRecordSearchIndex.index(key, saved);
+        return saved;
     }
 
     /**
@@ -1,7 +1,6 @@
 
 package app.clinic.domain.service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +13,7 @@ import app.clinic.domain.model.OrderCreationDate;
 import app.clinic.domain.model.OrderNumber;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.ProcedureOrder;
+import app.clinic.domain.port.OrderNumberSequence;
 import app.clinic.domain.port.OrderRepository;
 
 /**
@@ -24,9 +24,18 @@ import app.clinic.domain.port.OrderRepository;
 public class OrderDomainService {
 
     private final OrderRepository orderRepository;
+    private final OrderNumberSequence orderNumberSequence;
 
-    public OrderDomainService(OrderRepository orderRepository) {
+    public OrderDomainService(OrderRepository orderRepository, OrderNumberSequence orderNumberSequence) {
         this.orderRepository = orderRepository;
+        this.orderNumberSequence = orderNumberSequence;
+    }
+
+    /**
+     * Allocates the next unique order number.
+     */
+    public OrderNumber nextOrderNumber() {
+        return orderNumberSequence.nextOrderNumber();
     }
 
     /**
@@ -74,6 +83,27 @@ public class OrderDomainService {
         return orderRepository.findDiagnosticAidOrderByNumber(orderNumber);
     }
 
+    /**
+     * Finds an order of any type by order number.
+     */
+    public Optional<Object> findOrderByNumber(OrderNumber orderNumber) {
+        return orderRepository.findOrderByNumber(orderNumber);
+    }
+
+    /**
+     * Checks if an order of any type exists with the given order number.
+     */
+    public boolean existsByOrderNumber(OrderNumber orderNumber) {
+        return orderRepository.existsByOrderNumber(orderNumber);
+    }
+
+    /**
+     * Finds all orders of any type for a patient.
+     */
+    public List<Object> findOrdersByPatient(PatientCedula patientCedula) {
+        return orderRepository.findOrdersByPatient(patientCedula);
+    }
+
     /**
      * Finds all medication orders for a patient.
      */
@@ -194,40 +224,27 @@ public class OrderDomainService {
         orderRepository.deleteDiagnosticAidOrderByNumber(orderNumber);
     }
 
+    /**
+     * Deletes an order of any type by order number, resolving it with a single lookup.
+     */
+    public void deleteOrder(OrderNumber orderNumber) {
+        if (!orderRepository.deleteByOrderNumber(orderNumber)) {
+            throw new IllegalArgumentException("Order not found: " + orderNumber.getValue());
+        }
+    }
+
     /**
      * Finds all orders for a specific doctor.
      */
     public List<Object> findOrdersByDoctor(DoctorCedula doctorCedula) {
-        List<Object> orders = new ArrayList<>();
-
-        List<MedicationOrder> medicationOrders = orderRepository.findMedicationOrdersByDoctor(doctorCedula);
-        orders.addAll(medicationOrders);
-
-        List<ProcedureOrder> procedureOrders = orderRepository.findProcedureOrdersByDoctor(doctorCedula);
-        orders.addAll(procedureOrders);
-
-        List<DiagnosticAidOrder> diagnosticAidOrders = orderRepository.findDiagnosticAidOrdersByDoctor(doctorCedula);
-        orders.addAll(diagnosticAidOrders);
-
-        return orders;
+        return orderRepository.findOrdersByDoctor(doctorCedula);
     }
 
     /**
      * Finds all orders within a date range.
      */
     public List<Object> findOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate) {
-        List<Object> orders = new ArrayList<>();
-
-        List<MedicationOrder> medicationOrders = orderRepository.findMedicationOrdersByDateRange(startDate, endDate);
-        orders.addAll(medicationOrders);
-
-        List<ProcedureOrder> procedureOrders = orderRepository.findProcedureOrdersByDateRange(startDate, endDate);
-        orders.addAll(procedureOrders);
-
-        List<DiagnosticAidOrder> diagnosticAidOrders = orderRepository.findDiagnosticAidOrdersByDateRange(startDate, endDate);
-        orders.addAll(diagnosticAidOrders);
-
-        return orders;
+        return orderRepository.findOrdersByDateRange(startDate, endDate);
     }
 
     /**
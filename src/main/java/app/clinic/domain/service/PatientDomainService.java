@@ -2,9 +2,11 @@ package app.clinic.domain.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.Patient;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientId;
@@ -68,6 +70,20 @@ public class PatientDomainService {
         return patientRepository.findAll();
     }
 
+    /**
+     * Finds one page of patients after the given cursor, ordered by identifier.
+     */
+    public KeysetPage<Patient> findPatientsPage(Long afterCursor, int size) {
+        return patientRepository.findPage(afterCursor, KeysetPage.validatePageSize(size));
+    }
+
+    /**
+     * Streams all patients without loading them all into memory.
+     */
+    public Stream<Patient> streamAllPatients() {
+        return patientRepository.streamAll();
+    }
+
     /**
      * Deletes a patient by ID.
      */
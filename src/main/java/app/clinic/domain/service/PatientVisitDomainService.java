@@ -3,13 +3,20 @@ package app.clinic.domain.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientVisit;
 import app.clinic.domain.model.PatientVisitId;
+import app.clinic.domain.model.SeriesResolution;
+import app.clinic.domain.model.VitalSignAggregate;
+import app.clinic.domain.model.VitalSignPoint;
+import app.clinic.domain.model.VitalSignType;
 import app.clinic.domain.port.PatientVisitRepository;
+import app.clinic.domain.port.VitalSignsSeriesStore;
 
 /**
  * Domain service for patient visit operations.
@@ -19,9 +26,12 @@ import app.clinic.domain.port.PatientVisitRepository;
 public class PatientVisitDomainService {
 
     private final PatientVisitRepository patientVisitRepository;
+    private final VitalSignsSeriesStore vitalSignsSeriesStore;
 
-    public PatientVisitDomainService(PatientVisitRepository patientVisitRepository) {
+    public PatientVisitDomainService(PatientVisitRepository patientVisitRepository,
+                                     VitalSignsSeriesStore vitalSignsSeriesStore) {
         this.patientVisitRepository = patientVisitRepository;
+        this.vitalSignsSeriesStore = vitalSignsSeriesStore;
     }
 
     /**
@@ -29,7 +39,7 @@ public class PatientVisitDomainService {
      */
     public PatientVisit recordPatientVisit(PatientVisit patientVisit) {
         validatePatientVisitForRecording(patientVisit);
-        return patientVisitRepository.save(patientVisit);
+        return saveAndAppendVitalSigns(patientVisit);
     }
 
     /**
@@ -37,7 +47,7 @@ public class PatientVisitDomainService {
      */
     public PatientVisit updatePatientVisit(PatientVisit patientVisit) {
         validatePatientVisitForUpdate(patientVisit);
-        return patientVisitRepository.save(patientVisit);
+        return saveAndAppendVitalSigns(patientVisit);
     }
 
     /**
@@ -81,6 +91,20 @@ public class PatientVisitDomainService {
         return patientVisitRepository.findAll();
     }
 
+    /**
+     * Finds one page of patient visits after the given cursor, ordered by identifier.
+     */
+    public KeysetPage<PatientVisit> findPatientVisitsPage(Long afterCursor, int size) {
+        return patientVisitRepository.findPage(afterCursor, KeysetPage.validatePageSize(size));
+    }
+
+    /**
+     * Streams all patient visits without loading them all into memory.
+     */
+    public Stream<PatientVisit> streamAllPatientVisits() {
+        return patientVisitRepository.streamAll();
+    }
+
     /**
      * Finds all completed patient visits.
      */
@@ -88,6 +112,34 @@ public class PatientVisitDomainService {
         return patientVisitRepository.findAllCompleted();
     }
 
+    /**
+     * Checks if a patient has any visit that is not completed yet.
+     */
+    public boolean hasPendingVisits(PatientCedula patientCedula) {
+        return patientVisitRepository.existsPendingByPatient(patientCedula);
+    }
+
+    /**
+     * Counts all visits of a patient.
+     */
+    public long countVisitsByPatient(PatientCedula patientCedula) {
+        return patientVisitRepository.countByPatient(patientCedula);
+    }
+
+    /**
+     * Counts the completed visits of a patient.
+     */
+    public long countCompletedVisitsByPatient(PatientCedula patientCedula) {
+        return patientVisitRepository.countCompletedByPatient(patientCedula);
+    }
+
+    /**
+     * Finds the date and time of the most recent visit of a patient.
+     */
+    public Optional<LocalDateTime> findLatestVisitDateTime(PatientCedula patientCedula) {
+        return patientVisitRepository.findLatestVisitDateTime(patientCedula);
+    }
+
     /**
      * Finds patient visits within a date range.
      */
@@ -106,12 +158,67 @@ public class PatientVisitDomainService {
         return patientVisitRepository.findByVisitDateTimeBetween(startDateTime, endDateTime);
     }
 
+    /**
+     * Finds the measurements of a vital sign of a patient recorded within a date range, without loading visits.
+     */
+    public List<VitalSignPoint> findVitalSignSeries(PatientCedula patientCedula, VitalSignType type,
+                                                    LocalDateTime from, LocalDateTime to) {
+        validateSeriesRange(type, from, to);
+        return vitalSignsSeriesStore.findSeries(patientCedula, type, from, to);
+    }
+
+    /**
+     * Summarizes the measurements of a vital sign of a patient recorded within a date range per day or week,
+     * without loading visits.
+     */
+    public List<VitalSignAggregate> findVitalSignTrend(PatientCedula patientCedula, VitalSignType type,
+                                                       LocalDateTime from, LocalDateTime to,
+                                                       SeriesResolution resolution) {
+        validateSeriesRange(type, from, to);
+        if (resolution == null) {
+            throw new IllegalArgumentException("Series resolution cannot be null");
+        }
+        return vitalSignsSeriesStore.findDownsampledSeries(patientCedula, type, from, to, resolution);
+    }
+
     /**
      * Deletes a patient visit by ID.
      */
     public void deletePatientVisitById(PatientVisitId patientVisitId) {
         validatePatientVisitCanBeDeleted(patientVisitId);
         patientVisitRepository.deleteById(patientVisitId);
+        vitalSignsSeriesStore.remove(patientVisitId.getValue());
+    }
+
+    /**
+     * Saves a patient visit and stores its vital signs in the patient's series, replacing the ones stored
+     * for the visit before. A visit saved without vital signs has them removed from the series.
+     */
+    private PatientVisit saveAndAppendVitalSigns(PatientVisit patientVisit) {
+        PatientVisit savedVisit = patientVisitRepository.save(patientVisit);
+        if (savedVisit.getVisitRecord() != null && savedVisit.getVisitRecord().getVitalSigns() != null) {
+            vitalSignsSeriesStore.append(savedVisit.getId(), savedVisit.getPatientCedula(),
+                                         savedVisit.getVisitDateTime().getValue(),
+                                         savedVisit.getVisitRecord().getVitalSigns());
+        } else {
+            vitalSignsSeriesStore.remove(savedVisit.getId());
+        }
+        return savedVisit;
+    }
+
+    /**
+     * Validates the vital sign and date range of a series query.
+     */
+    private void validateSeriesRange(VitalSignType type, LocalDateTime from, LocalDateTime to) {
+        if (type == null) {
+            throw new IllegalArgumentException("Vital sign type cannot be null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Series range dates cannot be null");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Series range start must be before its end");
+        }
     }
 
     /**
@@ -2,9 +2,11 @@ package app.clinic.domain.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.User;
 import app.clinic.domain.model.UserCedula;
 import app.clinic.domain.model.UserId;
@@ -83,6 +85,20 @@ public class UserDomainService {
         return userRepository.findAll();
     }
 
+    /**
+     * Finds one page of users after the given cursor, ordered by identifier.
+     */
+    public KeysetPage<User> findUsersPage(Long afterCursor, int size) {
+        return userRepository.findPage(afterCursor, KeysetPage.validatePageSize(size));
+    }
+
+    /**
+     * Streams all users without loading them all into memory.
+     */
+    public Stream<User> streamAllUsers() {
+        return userRepository.streamAll();
+    }
+
     /**
      * Deletes a user by ID.
      */
@@ -114,7 +130,7 @@ public class UserDomainService {
             user.getEmail(),
             user.getRole(),
             true
-        );
+        ).withVersion(user.getVersion());
         return userRepository.save(activatedUser);
     }
 
@@ -133,7 +149,7 @@ public class UserDomainService {
             user.getEmail(),
             user.getRole(),
             false
-        );
+        ).withVersion(user.getVersion());
         return userRepository.save(deactivatedUser);
     }
 
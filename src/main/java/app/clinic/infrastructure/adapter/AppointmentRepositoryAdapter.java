@@ -1,50 +1,87 @@
 package app.clinic.infrastructure.adapter;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import app.clinic.domain.model.Appointment;
 import app.clinic.domain.model.AppointmentDateTime;
 import app.clinic.domain.model.AppointmentId;
 import app.clinic.domain.model.AppointmentStatus;
+import app.clinic.domain.model.ConsultationReason;
 import app.clinic.domain.model.DoctorCedula;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.port.AppointmentRepository;
 import app.clinic.infrastructure.entity.AppointmentEntity;
 import app.clinic.infrastructure.repository.AppointmentJpaRepository;
+import app.clinic.infrastructure.repository.DoctorScheduleLockJpaRepository;
 
 /**
  * Adapter that implements the AppointmentRepository port using JPA.
  * Converts between domain objects and JPA entities for appointment management.
+ * Bookings are checked for overlaps while holding the doctor's row in doctor_schedule_locks, so the
+ * database, not any per-node cache, decides whether a doctor is available.
  */
 @Repository
 public class AppointmentRepositoryAdapter implements AppointmentRepository {
 
+    private static final Set<AppointmentEntity.AppointmentStatus> ACTIVE_STATUSES = EnumSet.of(
+            AppointmentEntity.AppointmentStatus.PROGRAMADA,
+            AppointmentEntity.AppointmentStatus.CONFIRMADA);
+
     private final AppointmentJpaRepository appointmentJpaRepository;
+    private final DoctorScheduleLockJpaRepository scheduleLockJpaRepository;
+    private final TransactionTemplate newTransaction;
 
-    public AppointmentRepositoryAdapter(AppointmentJpaRepository appointmentJpaRepository) {
+    public AppointmentRepositoryAdapter(AppointmentJpaRepository appointmentJpaRepository,
+                                        DoctorScheduleLockJpaRepository scheduleLockJpaRepository,
+                                        PlatformTransactionManager transactionManager) {
         this.appointmentJpaRepository = appointmentJpaRepository;
+        this.scheduleLockJpaRepository = scheduleLockJpaRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Override
+    @Transactional
     public Appointment save(Appointment appointment) {
-        AppointmentEntity entity = toEntity(appointment);
+        AppointmentEntity entity = appointmentJpaRepository.findByAppointmentId(appointment.getId())
+                .map(existing -> updateEntity(existing, appointment))
+                .orElseGet(() -> toEntity(appointment));
         AppointmentEntity savedEntity = appointmentJpaRepository.save(entity);
         return toDomain(savedEntity);
     }
 
+    @Override
+    @Transactional
+    public Optional<Appointment> saveIfDoctorAvailable(Appointment appointment) {
+        lockDoctorSchedule(appointment.getDoctorCedula().getValue());
+        if (existsActiveOverlapping(appointment.getDoctorCedula(), appointment.getAppointmentDateTime().getValue(),
+                appointment.getEndDateTime(), appointment.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(save(appointment));
+    }
+
     @Override
     public Optional<Appointment> findById(AppointmentId appointmentId) {
-        return appointmentJpaRepository.findById(Long.valueOf(appointmentId.getValue()))
+        return appointmentJpaRepository.findByAppointmentId(appointmentId.getValue())
                 .map(this::toDomain);
     }
 
     @Override
     public List<Appointment> findByPatientCedula(PatientCedula patientCedula) {
-        return appointmentJpaRepository.findByPatientCedula(patientCedula.getValue())
+        return appointmentJpaRepository.findByPatientCedulaOrderByAppointmentDateTimeAsc(patientCedula.getValue())
                 .stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
@@ -52,7 +89,7 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
 
     @Override
     public List<Appointment> findByDoctorCedula(DoctorCedula doctorCedula) {
-        return appointmentJpaRepository.findByDoctorCedula(doctorCedula.getValue())
+        return appointmentJpaRepository.findByDoctorCedulaOrderByAppointmentDateTimeAsc(doctorCedula.getValue())
                 .stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
@@ -66,6 +103,40 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Appointment> findByDateTimeRange(LocalDateTime start, LocalDateTime end) {
+        return appointmentJpaRepository.findByAppointmentDateTimeBetweenOrderByAppointmentDateTimeAsc(start, end)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Appointment> findActiveByDoctorsBetween(Set<DoctorCedula> doctorCedulas,
+                                                        LocalDateTime start, LocalDateTime end) {
+        if (doctorCedulas.isEmpty()) {
+            return List.of();
+        }
+        List<String> cedulas = doctorCedulas.stream()
+                .map(DoctorCedula::getValue)
+                .collect(Collectors.toList());
+        return appointmentJpaRepository.findByDoctorsAndStatusesBetween(cedulas, ACTIVE_STATUSES, start, end)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean existsActiveByDoctorOverlapping(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end) {
+        return existsActiveOverlapping(doctorCedula, start, end, "");
+    }
+
+    @Override
+    public boolean existsActiveByPatientAfter(PatientCedula patientCedula, LocalDateTime dateTime) {
+        return appointmentJpaRepository.existsByPatientCedulaAndStatusInAndAppointmentDateTimeAfter(
+                patientCedula.getValue(), ACTIVE_STATUSES, dateTime);
+    }
+
     @Override
     public List<Appointment> findByStatus(AppointmentStatus status) {
         return appointmentJpaRepository.findByStatus(toEntityStatus(status))
@@ -84,12 +155,13 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
 
     @Override
     public boolean existsById(AppointmentId appointmentId) {
-        return appointmentJpaRepository.existsById(Long.valueOf(appointmentId.getValue()));
+        return appointmentJpaRepository.existsByAppointmentId(appointmentId.getValue());
     }
 
     @Override
+    @Transactional
     public void deleteById(AppointmentId appointmentId) {
-        appointmentJpaRepository.deleteById(Long.valueOf(appointmentId.getValue()));
+        appointmentJpaRepository.deleteByAppointmentId(appointmentId.getValue());
     }
 
     @Override
@@ -112,6 +184,33 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
         return appointmentJpaRepository.countByDoctorCedula(doctorCedula.getValue());
     }
 
+    /**
+     * Every stored appointment lasts Appointment.STANDARD_DURATION, so one overlaps [start, end)
+     * exactly when it starts after start - STANDARD_DURATION and before end.
+     */
+    private boolean existsActiveOverlapping(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end,
+                                            String excludedAppointmentId) {
+        return appointmentJpaRepository.existsByDoctorAndStatusesStartingBetween(doctorCedula.getValue(),
+                ACTIVE_STATUSES, start.minus(Appointment.STANDARD_DURATION), end, excludedAppointmentId);
+    }
+
+    /**
+     * Locks the doctor's schedule row for the current transaction, creating it on the doctor's first booking.
+     * Another request or node creating it at the same time is not an error.
+     */
+    private void lockDoctorSchedule(String doctorCedula) {
+        if (scheduleLockJpaRepository.findForUpdate(doctorCedula).isPresent()) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> scheduleLockJpaRepository.insert(doctorCedula));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently; the stored row is locked below
+        }
+        scheduleLockJpaRepository.findForUpdate(doctorCedula).orElseThrow(
+                () -> new IllegalStateException("Schedule lock of doctor " + doctorCedula + " could not be created"));
+    }
+
     // Métodos de conversión entre dominio y entidad
 
     private AppointmentEntity toEntity(Appointment appointment) {
@@ -122,18 +221,29 @@ public class AppointmentRepositoryAdapter implements AppointmentRepository {
                 appointment.getAppointmentDateTime().getValue(),
                 toEntityStatus(appointment.getStatus()),
                 appointment.getReason() != null ? appointment.getReason().getValue() : null,
-                null // notes field can be added later if needed
+                appointment.getNotes()
         );
     }
 
+    private AppointmentEntity updateEntity(AppointmentEntity entity, Appointment appointment) {
+        entity.setPatientCedula(appointment.getPatientCedula().getValue());
+        entity.setDoctorCedula(appointment.getDoctorCedula().getValue());
+        entity.setAppointmentDateTime(appointment.getAppointmentDateTime().getValue());
+        entity.setStatus(toEntityStatus(appointment.getStatus()));
+        entity.setReason(appointment.getReason() != null ? appointment.getReason().getValue() : null);
+        entity.setNotes(appointment.getNotes());
+        return entity;
+    }
+
     private Appointment toDomain(AppointmentEntity entity) {
         return Appointment.of(
                 entity.getAppointmentId(),
                 PatientCedula.of(entity.getPatientCedula()),
                 DoctorCedula.of(entity.getDoctorCedula()),
-                AppointmentDateTime.of(entity.getAppointmentDateTime()),
+                AppointmentDateTime.restore(entity.getAppointmentDateTime()),
                 toDomainStatus(entity.getStatus()),
-                entity.getReason() != null ? app.clinic.domain.model.ConsultationReason.of(entity.getReason()) : null
+                entity.getReason() != null ? ConsultationReason.of(entity.getReason()) : null,
+                entity.getNotes()
         );
     }
 
@@ -4,9 +4,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.AnnualBillingTotals;
 import app.clinic.domain.model.BillingCalculationResult;
 import app.clinic.domain.model.BillingDetails;
 import app.clinic.domain.model.BillingSummary;
@@ -14,18 +17,25 @@ import app.clinic.domain.model.InsuranceCompanyName;
 import app.clinic.domain.model.Invoice;
 import app.clinic.domain.model.InvoiceId;
 import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.OrderNumber;
 import app.clinic.domain.model.OrderSummary;
 import app.clinic.domain.model.Patient;
+import app.clinic.domain.model.PatientAge;
+import app.clinic.domain.model.PatientBirthDate;
 import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientFullName;
 import app.clinic.domain.model.PolicyExpirationDate;
 import app.clinic.domain.model.PolicyNumber;
 import app.clinic.domain.model.PolicyValidityDays;
 import app.clinic.domain.model.Year;
 import app.clinic.domain.port.BillingRepository;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.domain.port.InvoiceNumberAllocator;
 import app.clinic.domain.port.PatientRepository;
 import app.clinic.infrastructure.entity.InvoiceEntity;
 import app.clinic.infrastructure.repository.InvoiceJpaRepository;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository.InvoiceWithPatient;
 
 /**
  * Adapter that implements the BillingRepository port.
@@ -36,17 +46,30 @@ public class BillingRepositoryAdapter implements BillingRepository {
 
     private final InvoiceJpaRepository invoiceJpaRepository;
     private final PatientRepository patientRepository;
+    private final KeysetPageReader keysetPageReader;
+    private final CopaymentLedger copaymentLedger;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
 
-    public BillingRepositoryAdapter(InvoiceJpaRepository invoiceJpaRepository, PatientRepository patientRepository) {
+    public BillingRepositoryAdapter(InvoiceJpaRepository invoiceJpaRepository, PatientRepository patientRepository,
+                                    KeysetPageReader keysetPageReader, CopaymentLedger copaymentLedger,
+                                    InvoiceNumberAllocator invoiceNumberAllocator) {
         this.invoiceJpaRepository = invoiceJpaRepository;
         this.patientRepository = patientRepository;
+        this.keysetPageReader = keysetPageReader;
+        this.copaymentLedger = copaymentLedger;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
     }
 
     @Override
+    @Transactional
     public Invoice save(Invoice invoice) {
         // Convert domain Invoice to InvoiceEntity
         InvoiceEntity entity = new InvoiceEntity();
-        entity.setInvoiceNumber(invoice.getInvoiceNumber().getValue());
+        // New invoices without a number get the next one from the allocator
+        InvoiceNumber invoiceNumber = invoice.getInvoiceNumber() != null
+            ? invoice.getInvoiceNumber()
+            : invoiceNumberAllocator.nextInvoiceNumber();
+        entity.setInvoiceNumber(invoiceNumber.getValue());
         entity.setPatientCedula(invoice.getBillingDetails().getPatientCedula().getValue());
         entity.setTotalAmount(invoice.getTotalAmount().getAmount());
 
@@ -64,9 +87,13 @@ public class BillingRepositoryAdapter implements BillingRepository {
         entity.setNotes("Factura creada automáticamente");
 
         InvoiceEntity savedEntity = invoiceJpaRepository.save(entity);
+        copaymentLedger.recordInvoice(PatientCedula.of(savedEntity.getPatientCedula()), Year.of(savedEntity.getYear()),
+            app.clinic.domain.model.Money.of(savedEntity.getCopaymentAmount()),
+            app.clinic.domain.model.Money.of(savedEntity.getTotalAmount()));
 
-        // Convert back to domain Invoice with saved entity data
-        return convertToDomainInvoice(savedEntity);
+        // The caller's billing details already describe the patient; no lookup needed
+        return Invoice.of(invoiceNumber, invoice.getBillingDetails(), invoice.getTotalAmount(),
+            app.clinic.domain.model.BillingDate.of(savedEntity.getBillingDate().toLocalDate()));
     }
 
     @Override
@@ -79,30 +106,36 @@ public class BillingRepositoryAdapter implements BillingRepository {
 
     @Override
     public Optional<Invoice> findByInvoiceNumber(InvoiceNumber invoiceNumber) {
-        InvoiceEntity entity = invoiceJpaRepository.findByInvoiceNumber(invoiceNumber.getValue());
-        if (entity == null) {
-            return Optional.empty();
-        }
-        return Optional.of(convertToDomainInvoice(entity));
+        return invoiceJpaRepository.findWithPatientByInvoiceNumber(invoiceNumber.getValue())
+            .map(this::convertToDomainInvoice);
     }
 
     @Override
     public List<Invoice> findByPatientCedula(PatientCedula patientCedula) {
-        List<InvoiceEntity> entities = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(
-            patientCedula.getValue());
-        return entities.stream()
+        return invoiceJpaRepository.findWithPatientByPatientCedula(patientCedula.getValue()).stream()
             .map(this::convertToDomainInvoice)
             .toList();
     }
 
     @Override
     public List<Invoice> findAll() {
-        List<InvoiceEntity> entities = invoiceJpaRepository.findAll();
-        return entities.stream()
+        return invoiceJpaRepository.findAllWithPatient().stream()
             .map(this::convertToDomainInvoice)
             .toList();
     }
 
+    @Override
+    public KeysetPage<Invoice> findPage(Long afterCursor, int size) {
+        return keysetPageReader.readPage(afterCursor, size, invoiceJpaRepository::findWithPatientByIdGreaterThan,
+                InvoiceWithPatient::getId, this::convertToDomainInvoice);
+    }
+
+    @Override
+    public Stream<Invoice> streamAll() {
+        return keysetPageReader.stream(invoiceJpaRepository::findWithPatientByIdGreaterThan,
+                InvoiceWithPatient::getId, this::convertToDomainInvoice);
+    }
+
     @Override
     public boolean existsByInvoiceNumber(InvoiceNumber invoiceNumber) {
         return invoiceJpaRepository.existsByInvoiceNumber(invoiceNumber.getValue());
@@ -126,88 +159,51 @@ public class BillingRepositoryAdapter implements BillingRepository {
 
     @Override
     public BillingCalculationResult calculateAccumulatedCopayment(PatientCedula patientCedula, Year year) {
-        // Calculate accumulated copayment using JPA repository
-        BigDecimal totalCopayment = invoiceJpaRepository.getTotalCopaymentForYear(
-            patientCedula.getValue(), year.getValue());
-
-        BigDecimal totalBilled = invoiceJpaRepository.getTotalBilledForYear(
-            patientCedula.getValue(), year.getValue());
+        // Accumulated values come from the ledger entry maintained on invoice writes
+        AnnualBillingTotals totals = copaymentLedger.findTotals(patientCedula, year);
+        app.clinic.domain.model.Money totalCopayment = app.clinic.domain.model.Money.of(totals.getAccumulatedCopayment().getValue());
 
         // Create result with accumulated values
         return BillingCalculationResult.of(
-            app.clinic.domain.model.Money.of(totalBilled != null ? totalBilled : BigDecimal.ZERO),
-            app.clinic.domain.model.Money.of(totalCopayment != null ? totalCopayment : BigDecimal.ZERO),
+            totals.getTotalBilled(),
+            totalCopayment,
             app.clinic.domain.model.Money.of(BigDecimal.ZERO), // Insurance coverage
-            app.clinic.domain.model.Money.of(totalCopayment != null ? totalCopayment : BigDecimal.ZERO), // Patient responsibility
+            totalCopayment, // Patient responsibility
             false
         );
     }
 
     @Override
     public BillingSummary generateBillingSummary(PatientCedula patientCedula) {
-        // Get patient information
-        Optional<Patient> patientOpt = patientRepository.findByCedula(patientCedula);
-        if (patientOpt.isEmpty()) {
+        List<InvoiceWithPatient> invoices = invoiceJpaRepository.findWithPatientByPatientCedula(patientCedula.getValue());
+        BillingDetails details = billingDetailsOf(patientCedula, invoices);
+        if (details == null) {
             return null;
         }
 
-        Patient patient = patientOpt.get();
-
-        // Get patient invoices
-        List<InvoiceEntity> invoices = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(
-            patientCedula.getValue());
-
-        // Create order summaries from invoices (simplified implementation)
-        List<OrderSummary> orderSummaries = invoices.stream()
-            .map(invoice -> OrderSummary.of(
-                app.clinic.domain.model.OrderNumber.of(invoice.getInvoiceNumber()),
-                List.of(), // medications - would need separate query
-                List.of(), // procedures - would need separate query
-                List.of()  // diagnostic aids - would need separate query
-            ))
-            .toList();
-
-        // Extract insurance information
-        InsuranceCompanyName insuranceCompany = null;
-        PolicyNumber policyNumber = null;
-        PolicyValidityDays validityDays = null;
-        PolicyExpirationDate expirationDate = null;
-
-        if (patient.getInsurancePolicy() != null) {
-            insuranceCompany = patient.getInsurancePolicy().getCompanyName();
-            policyNumber = patient.getInsurancePolicy().getPolicyNumber();
-            expirationDate = patient.getInsurancePolicy().getExpirationDate();
-            // validityDays would need to be calculated from expiration date
-            validityDays = app.clinic.domain.model.PolicyValidityDays.of(365); // Default 1 year
-        }
-
-        // Create and return billing summary
         return BillingSummary.of(
-            patient.getFullName(),
-            patient.getAge(),
+            details.getPatientName(),
+            details.getPatientAge(),
             patientCedula,
-            insuranceCompany,
-            policyNumber,
-            validityDays,
-            expirationDate,
-            orderSummaries
+            details.getInsuranceCompany(),
+            details.getPolicyNumber(),
+            details.getValidityDays(),
+            details.getExpirationDate(),
+            details.getOrderSummaries()
         );
     }
 
     @Override
     public BillingDetails generateBillingDetails(PatientCedula patientCedula) {
-        // Get patient information
-        Optional<Patient> patientOpt = patientRepository.findByCedula(patientCedula);
-        if (patientOpt.isEmpty()) {
-            return null;
-        }
-
-        Patient patient = patientOpt.get();
-
-        // Get patient invoices
-        List<InvoiceEntity> invoices = invoiceJpaRepository.findByPatientCedulaOrderByBillingDateDesc(
-            patientCedula.getValue());
+        List<InvoiceWithPatient> invoices = invoiceJpaRepository.findWithPatientByPatientCedula(patientCedula.getValue());
+        return billingDetailsOf(patientCedula, invoices);
+    }
 
+    /**
+     * Builds billing details from the patient's invoice rows, which already carry the patient
+     * and insurance data. Only a patient without invoices needs a separate lookup.
+     */
+    private BillingDetails billingDetailsOf(PatientCedula patientCedula, List<InvoiceWithPatient> invoices) {
         // Create order summaries from invoices (simplified implementation)
         List<OrderSummary> orderSummaries = invoices.stream()
             .map(invoice -> OrderSummary.of(
@@ -218,7 +214,30 @@ public class BillingRepositoryAdapter implements BillingRepository {
             ))
             .toList();
 
-        // Extract insurance information
+        if (invoices.isEmpty()) {
+            return patientRepository.findByCedula(patientCedula)
+                .map(patient -> billingDetailsOf(patient, orderSummaries))
+                .orElse(null);
+        }
+
+        InvoiceWithPatient row = invoices.get(0);
+        if (row.getPatientFirstNames() == null) {
+            // Invoices without a registered patient
+            return null;
+        }
+        return BillingDetails.of(
+            PatientFullName.of(row.getPatientFirstNames(), row.getPatientLastNames()),
+            PatientBirthDate.of(row.getPatientBirthDate()).getAge(),
+            patientCedula,
+            row.getInsuranceCompanyName() != null ? InsuranceCompanyName.of(row.getInsuranceCompanyName()) : null,
+            row.getPolicyNumber() != null ? PolicyNumber.of(row.getPolicyNumber()) : null,
+            row.getPolicyExpirationDate() != null ? PolicyValidityDays.of(365) : null, // Default 1 year
+            row.getPolicyExpirationDate() != null ? PolicyExpirationDate.of(row.getPolicyExpirationDate()) : null,
+            orderSummaries
+        );
+    }
+
+    private BillingDetails billingDetailsOf(Patient patient, List<OrderSummary> orderSummaries) {
         InsuranceCompanyName insuranceCompany = null;
         PolicyNumber policyNumber = null;
         PolicyValidityDays validityDays = null;
@@ -232,11 +251,10 @@ public class BillingRepositoryAdapter implements BillingRepository {
             validityDays = PolicyValidityDays.of(365); // Default 1 year
         }
 
-        // Create and return billing details
         return BillingDetails.of(
             patient.getFullName(),
             patient.getAge(),
-            patientCedula,
+            patient.getCedula(),
             insuranceCompany,
             policyNumber,
             validityDays,
@@ -246,26 +264,30 @@ public class BillingRepositoryAdapter implements BillingRepository {
     }
 
     /**
-     * Helper method to convert InvoiceEntity to domain Invoice model
+     * Converts an invoice row joined with its patient and policy into a complete domain Invoice.
+     * Falls back to placeholder patient data only when no patient is registered for the cedula.
      */
-    private Invoice convertToDomainInvoice(InvoiceEntity entity) {
-        // Create billing details from entity data (simplified version)
-        BillingDetails billingDetails = app.clinic.domain.model.BillingDetails.of(
-            app.clinic.domain.model.PatientFullName.of("Unknown", "Patient"), // Would need patient lookup
-            app.clinic.domain.model.PatientAge.of(0), // Would need patient lookup
-            app.clinic.domain.model.PatientCedula.of(entity.getPatientCedula()),
-            null, // Insurance company - would need patient lookup
-            null, // Policy number - would need patient lookup
-            null, // Validity days - would need patient lookup
-            null, // Expiration date - would need patient lookup
+    private Invoice convertToDomainInvoice(InvoiceWithPatient row) {
+        PatientCedula patientCedula = PatientCedula.of(row.getPatientCedula());
+        boolean hasPatient = row.getPatientFirstNames() != null;
+
+        BillingDetails billingDetails = BillingDetails.of(
+            hasPatient ? PatientFullName.of(row.getPatientFirstNames(), row.getPatientLastNames())
+                       : PatientFullName.of("Unknown", "Patient"),
+            hasPatient ? PatientBirthDate.of(row.getPatientBirthDate()).getAge() : PatientAge.of(0),
+            patientCedula,
+            row.getInsuranceCompanyName() != null ? InsuranceCompanyName.of(row.getInsuranceCompanyName()) : null,
+            row.getPolicyNumber() != null ? PolicyNumber.of(row.getPolicyNumber()) : null,
+            row.getPolicyExpirationDate() != null ? PolicyValidityDays.of(365) : null, // Default 1 year
+            row.getPolicyExpirationDate() != null ? PolicyExpirationDate.of(row.getPolicyExpirationDate()) : null,
             List.of() // Order summaries - would need separate query
         );
 
-        return app.clinic.domain.model.Invoice.of(
-            app.clinic.domain.model.InvoiceNumber.of(entity.getInvoiceNumber()),
+        return Invoice.of(
+            InvoiceNumber.of(row.getInvoiceNumber()),
             billingDetails,
-            app.clinic.domain.model.Money.of(entity.getTotalAmount()),
-            app.clinic.domain.model.BillingDate.of(entity.getBillingDate().toLocalDate())
+            app.clinic.domain.model.Money.of(row.getTotalAmount()),
+            app.clinic.domain.model.BillingDate.of(row.getBillingDate().toLocalDate())
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,435 @@
+package app.clinic.infrastructure.adapter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientVisit;
+import app.clinic.domain.model.SeriesResolution;
+import app.clinic.domain.model.VitalSignAggregate;
+import app.clinic.domain.model.VitalSignPoint;
+import app.clinic.domain.model.VitalSignType;
+import app.clinic.domain.model.VitalSignsData;
+import app.clinic.domain.port.PatientVisitRepository;
+import app.clinic.domain.port.VitalSignsSeriesStore;
+import app.clinic.infrastructure.entity.VitalSignSampleEntity;
+import app.clinic.infrastructure.repository.VitalSignSampleJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the VitalSignsSeriesStore port over the vital sign samples table.
+ * Samples are durable as one row of small integers per visit. Reads are served from per-patient partitions
+ * held in memory as primitive columns (one array of recording times and one array per vital sign) sorted
+ * by time, so ranges are found by binary search and downsampled with a single scan.
+ * Partitions are loaded from the table on first use, outside of any lock shared between patients, and kept
+ * for the most recently read patients, up to app.vital-signs.series.max-cached-patients. Storing or removing
+ * a sample evicts the partitions of the patients it touches, and a partition older than
+ * app.vital-signs.series.partition-ttl is reloaded, which also picks up samples written by other nodes.
+ * Once all beans are created an empty table is filled from the vital signs of the recorded visits.
+ */
+@Component
+public class ColumnarVitalSignsSeriesStore implements VitalSignsSeriesStore, SmartInitializingSingleton {
+
+    static final short MISSING = Short.MIN_VALUE;
+    static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final VitalSignType[] TYPES = VitalSignType.values();
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int DAYS_PER_WEEK = 7;
+    /** Epoch day 0 (1970-01-01) is a Thursday, three days after the Monday that starts its week. */
+    private static final int EPOCH_WEEK_OFFSET = 3;
+
+    private final VitalSignSampleJpaRepository sampleJpaRepository;
+    private final PatientVisitRepository patientVisitRepository;
+    private final int maxCachedPatients;
+    private final long partitionTtlNanos;
+    private final ConcurrentMap<String, CachedPartition> partitions = new ConcurrentHashMap<>();
+
+    public ColumnarVitalSignsSeriesStore(VitalSignSampleJpaRepository sampleJpaRepository,
+                                         PatientVisitRepository patientVisitRepository, MeterRegistry meterRegistry,
+                                         @Value("${app.vital-signs.series.max-cached-patients:10000}")
+                                         int maxCachedPatients,
+                                         @Value("${app.vital-signs.series.partition-ttl:PT10M}")
+                                         Duration partitionTtl) {
+        if (maxCachedPatients <= 0) {
+            throw new IllegalArgumentException("Maximum cached patients must be positive: " + maxCachedPatients);
+        }
+        if (partitionTtl.isNegative()) {
+            throw new IllegalArgumentException("Partition time to live cannot be negative: " + partitionTtl);
+        }
+        this.sampleJpaRepository = sampleJpaRepository;
+        this.patientVisitRepository = patientVisitRepository;
+        this.maxCachedPatients = maxCachedPatients;
+        this.partitionTtlNanos = partitionTtl.toNanos();
+        Gauge.builder("clinic.vital-signs.series.cached-patients", this, ColumnarVitalSignsSeriesStore::cachedPatients)
+                .description("Patients whose vital signs series are held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (sampleJpaRepository.count() == 0) {
+            backfill();
+        }
+    }
+
+    /**
+     * Fills the empty table with the vital signs of every recorded visit that has them.
+     * The table holds no samples yet, so they are inserted in batches without looking up stored ones.
+     */
+    public void backfill() {
+        List<VitalSignSampleEntity> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<PatientVisit> visits = patientVisitRepository.streamAll()) {
+            Iterator<PatientVisit> iterator = visits.iterator();
+            while (iterator.hasNext()) {
+                PatientVisit visit = iterator.next();
+                if (visit.getVisitRecord() != null && visit.getVisitRecord().getVitalSigns() != null) {
+                    batch.add(toEntity(new VitalSignSampleEntity(), visit.getId(), visit.getPatientCedula(),
+                                       visit.getVisitDateTime().getValue(),
+                                       toColumns(visit.getVisitRecord().getVitalSigns())));
+                    if (batch.size() == BACKFILL_BATCH_SIZE) {
+                        sampleJpaRepository.saveAll(batch);
+                        batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sampleJpaRepository.saveAll(batch);
+        }
+        partitions.clear();
+    }
+
+    @Override
+    public void append(String visitId, PatientCedula patientCedula, LocalDateTime recordedAt,
+                       VitalSignsData vitalSigns) {
+        short[] values = toColumns(vitalSigns);
+        VitalSignSampleEntity entity = sampleJpaRepository.findByVisitId(visitId)
+                .orElseGet(VitalSignSampleEntity::new);
+        String previousPatientCedula = entity.getPatientCedula();
+        sampleJpaRepository.save(toEntity(entity, visitId, patientCedula, recordedAt, values));
+
+        // The visit may have moved to another patient or time; both partitions reload on their next read
+        if (previousPatientCedula != null) {
+            partitions.remove(previousPatientCedula);
+        }
+        partitions.remove(patientCedula.getValue());
+    }
+
+    @Override
+    public void remove(String visitId) {
+        sampleJpaRepository.findByVisitId(visitId).ifPresent(sample -> {
+            sampleJpaRepository.delete(sample);
+            partitions.remove(sample.getPatientCedula());
+        });
+    }
+
+    @Override
+    public List<VitalSignPoint> findSeries(PatientCedula patientCedula, VitalSignType type,
+                                           LocalDateTime from, LocalDateTime to) {
+        return partition(patientCedula).series(type, toEpochSecond(from), toEpochSecond(to));
+    }
+
+    @Override
+    public List<VitalSignAggregate> findDownsampledSeries(PatientCedula patientCedula, VitalSignType type,
+                                                          LocalDateTime from, LocalDateTime to,
+                                                          SeriesResolution resolution) {
+        return partition(patientCedula).downsample(type, toEpochSecond(from), toEpochSecond(to), resolution);
+    }
+
+    /**
+     * Returns the number of patients whose series are held in memory.
+     */
+    public int cachedPatients() {
+        return partitions.size();
+    }
+
+    /**
+     * Returns the partition of a patient, loading it when it is missing or expired. Only the reader that
+     * registers the load queries the table; concurrent readers of the same patient wait for its result,
+     * and readers of other patients are not blocked.
+     */
+    private Partition partition(PatientCedula patientCedula) {
+        String key = patientCedula.getValue();
+        long now = System.nanoTime();
+        CachedPartition cached = partitions.get(key);
+        if (cached == null || cached.isExpired(now, partitionTtlNanos)) {
+            CachedPartition loading = new CachedPartition(now);
+            cached = partitions.compute(key, (k, current) ->
+                    current == null || current.isExpired(now, partitionTtlNanos) ? loading : current);
+            if (cached == loading) {
+                evictLeastRecentlyRead(key);
+                try {
+                    loading.partition.complete(loadPartition(key));
+                } catch (RuntimeException e) {
+                    partitions.remove(key, loading);
+                    loading.partition.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        cached.lastReadNanos = now;
+        try {
+            return cached.partition.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Evicts the least recently read partitions, other than the one being loaded, while over capacity.
+     */
+    private void evictLeastRecentlyRead(String loadingKey) {
+        while (partitions.size() > maxCachedPatients) {
+            Map.Entry<String, CachedPartition> eldest = null;
+            for (Map.Entry<String, CachedPartition> entry : partitions.entrySet()) {
+                if (!entry.getKey().equals(loadingKey) && (eldest == null
+                        || entry.getValue().lastReadNanos - eldest.getValue().lastReadNanos < 0)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            partitions.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private Partition loadPartition(String patientCedula) {
+        List<VitalSignSampleEntity> samples = sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc(patientCedula);
+        Partition partition = new Partition(samples.size());
+        for (VitalSignSampleEntity sample : samples) {
+            short[] values = new short[TYPES.length];
+            values[VitalSignType.TEMPERATURE.ordinal()] = fromNullable(sample.getTemperatureCenti());
+            values[VitalSignType.PULSE.ordinal()] = fromNullable(sample.getPulse());
+            values[VitalSignType.OXYGEN_LEVEL.ordinal()] = fromNullable(sample.getOxygenLevelCenti());
+            values[VitalSignType.SYSTOLIC_PRESSURE.ordinal()] = fromNullable(sample.getSystolicPressure());
+            values[VitalSignType.DIASTOLIC_PRESSURE.ordinal()] = fromNullable(sample.getDiastolicPressure());
+            partition.add(toEpochSecond(sample.getRecordedAt()), values);
+        }
+        return partition;
+    }
+
+    private static VitalSignSampleEntity toEntity(VitalSignSampleEntity entity, String visitId,
+                                                  PatientCedula patientCedula, LocalDateTime recordedAt,
+                                                  short[] values) {
+        entity.setVisitId(visitId);
+        entity.setPatientCedula(patientCedula.getValue());
+        entity.setRecordedAt(recordedAt);
+        entity.setTemperatureCenti(toNullable(values[VitalSignType.TEMPERATURE.ordinal()]));
+        entity.setPulse(toNullable(values[VitalSignType.PULSE.ordinal()]));
+        entity.setOxygenLevelCenti(toNullable(values[VitalSignType.OXYGEN_LEVEL.ordinal()]));
+        entity.setSystolicPressure(toNullable(values[VitalSignType.SYSTOLIC_PRESSURE.ordinal()]));
+        entity.setDiastolicPressure(toNullable(values[VitalSignType.DIASTOLIC_PRESSURE.ordinal()]));
+        return entity;
+    }
+
+    private static short[] toColumns(VitalSignsData vitalSigns) {
+        short[] values = new short[TYPES.length];
+        Arrays.fill(values, MISSING);
+        if (vitalSigns.getTemperature() != null) {
+            values[VitalSignType.TEMPERATURE.ordinal()] = toCenti(vitalSigns.getTemperature().getValue());
+        }
+        if (vitalSigns.getPulse() != null) {
+            values[VitalSignType.PULSE.ordinal()] = toShort(vitalSigns.getPulse().getValue());
+        }
+        if (vitalSigns.getOxygenLevel() != null) {
+            values[VitalSignType.OXYGEN_LEVEL.ordinal()] = toCenti(vitalSigns.getOxygenLevel().getValue());
+        }
+        if (vitalSigns.getBloodPressure() != null) {
+            values[VitalSignType.SYSTOLIC_PRESSURE.ordinal()] = toShort(vitalSigns.getBloodPressure().getSystolic());
+            values[VitalSignType.DIASTOLIC_PRESSURE.ordinal()] = toShort(vitalSigns.getBloodPressure().getDiastolic());
+        }
+        return values;
+    }
+
+    private static short toCenti(BigDecimal value) {
+        return toShort(value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact());
+    }
+
+    private static short toShort(int value) {
+        if (value <= MISSING || value > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Vital sign value out of storable range: " + value);
+        }
+        return (short) value;
+    }
+
+    private static Short toNullable(short value) {
+        return value == MISSING ? null : value;
+    }
+
+    private static short fromNullable(Short value) {
+        return value == null ? MISSING : value;
+    }
+
+    private static int scaleOf(VitalSignType type) {
+        return type == VitalSignType.TEMPERATURE || type == VitalSignType.OXYGEN_LEVEL ? 100 : 1;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long periodOf(long epochSecond, SeriesResolution resolution) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        return resolution == SeriesResolution.WEEK
+                ? Math.floorDiv(epochDay + EPOCH_WEEK_OFFSET, DAYS_PER_WEEK)
+                : epochDay;
+    }
+
+    private static LocalDate periodStart(long period, SeriesResolution resolution) {
+        return resolution == SeriesResolution.WEEK
+                ? LocalDate.ofEpochDay(period * DAYS_PER_WEEK - EPOCH_WEEK_OFFSET)
+                : LocalDate.ofEpochDay(period);
+    }
+
+    /**
+     * The vital signs of one patient as parallel primitive columns sorted by recording time, in epoch
+     * seconds of the local date and time. A vital sign not measured at a time holds MISSING.
+     * A partition is filled once while loading and only read afterwards; it is published to other
+     * readers through the future of its cache entry.
+     */
+    static final class Partition {
+        private long[] times;
+        private final short[][] columns = new short[TYPES.length][];
+        private int size;
+
+        Partition(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 8);
+            this.times = new long[capacity];
+            for (int column = 0; column < columns.length; column++) {
+                columns[column] = new short[capacity];
+            }
+        }
+
+        /**
+         * Adds a sample after those already held for the same time. Only called while loading.
+         */
+        void add(long time, short[] values) {
+            int index = upperBound(time);
+            if (size == times.length) {
+                grow();
+            }
+            System.arraycopy(times, index, times, index + 1, size - index);
+            for (short[] column : columns) {
+                System.arraycopy(column, index, column, index + 1, size - index);
+            }
+            times[index] = time;
+            for (int column = 0; column < columns.length; column++) {
+                columns[column][index] = values[column];
+            }
+            size++;
+        }
+
+        List<VitalSignPoint> series(VitalSignType type, long from, long to) {
+            short[] column = columns[type.ordinal()];
+            double scale = scaleOf(type);
+            List<VitalSignPoint> points = new ArrayList<>();
+            for (int i = lowerBound(from), end = lowerBound(to); i < end; i++) {
+                if (column[i] != MISSING) {
+                    points.add(VitalSignPoint.of(LocalDateTime.ofEpochSecond(times[i], 0, ZoneOffset.UTC),
+                                                 column[i] / scale));
+                }
+            }
+            return points;
+        }
+
+        List<VitalSignAggregate> downsample(VitalSignType type, long from, long to,
+                                            SeriesResolution resolution) {
+            short[] column = columns[type.ordinal()];
+            double scale = scaleOf(type);
+            List<VitalSignAggregate> aggregates = new ArrayList<>();
+            long period = 0;
+            int count = 0;
+            int min = 0;
+            int max = 0;
+            long sum = 0;
+            for (int i = lowerBound(from), end = lowerBound(to); i < end; i++) {
+                short value = column[i];
+                if (value == MISSING) {
+                    continue;
+                }
+                long valuePeriod = periodOf(times[i], resolution);
+                if (count > 0 && valuePeriod != period) {
+                    aggregates.add(VitalSignAggregate.of(periodStart(period, resolution), count,
+                                                         min / scale, max / scale, sum / (count * scale)));
+                    count = 0;
+                }
+                if (count == 0) {
+                    period = valuePeriod;
+                    min = value;
+                    max = value;
+                    sum = 0;
+                }
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                count++;
+            }
+            if (count > 0) {
+                aggregates.add(VitalSignAggregate.of(periodStart(period, resolution), count,
+                                                     min / scale, max / scale, sum / (count * scale)));
+            }
+            return aggregates;
+        }
+
+        private int lowerBound(long time) {
+            int index = Arrays.binarySearch(times, 0, size, time);
+            return index < 0 ? -index - 1 : index;
+        }
+
+        private int upperBound(long time) {
+            int index = lowerBound(time);
+            while (index < size && times[index] == time) {
+                index++;
+            }
+            return index;
+        }
+
+        private void grow() {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            for (int column = 0; column < columns.length; column++) {
+                columns[column] = Arrays.copyOf(columns[column], capacity);
+            }
+        }
+    }
+
+    /**
+     * Cache entry of a patient partition: the pending or completed load, when it started and when the
+     * partition was last read, in System.nanoTime() units.
+     */
+    private static final class CachedPartition {
+        final CompletableFuture<Partition> partition = new CompletableFuture<>();
+        final long loadedAtNanos;
+        volatile long lastReadNanos;
+
+        CachedPartition(long loadedAtNanos) {
+            this.loadedAtNanos = loadedAtNanos;
+            this.lastReadNanos = loadedAtNanos;
+        }
+
+        boolean isExpired(long nowNanos, long ttlNanos) {
+            return nowNanos - loadedAtNanos >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package app.clinic.infrastructure.adapter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.AccumulatedCopayment;
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.Money;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.Year;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.infrastructure.entity.CopaymentAccumulatorEntity;
+import app.clinic.infrastructure.repository.CopaymentAccumulatorJpaRepository;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository;
+
+/**
+ * Adapter that implements the CopaymentLedger port on the copayment_accumulators table.
+ * Reads are a single primary-key lookup. Updates modify the row loaded in the caller's
+ * transaction, so the @Version check also covers the limit check made earlier in that
+ * transaction; a concurrent first insert for the same key is reported the same way.
+ * Reconciliation corrects one patient per short transaction, so it can run while invoices are
+ * being written, on several nodes at once.
+ */
+@Component
+public class CopaymentLedgerAdapter implements CopaymentLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopaymentLedgerAdapter.class);
+
+    private final CopaymentAccumulatorJpaRepository accumulatorJpaRepository;
+    private final InvoiceJpaRepository invoiceJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CopaymentLedgerAdapter(CopaymentAccumulatorJpaRepository accumulatorJpaRepository,
+                                  InvoiceJpaRepository invoiceJpaRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.accumulatorJpaRepository = accumulatorJpaRepository;
+        this.invoiceJpaRepository = invoiceJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public AnnualBillingTotals findTotals(PatientCedula patientCedula, Year year) {
+        return accumulatorJpaRepository.findById(keyOf(patientCedula, year))
+                .map(entity -> toTotals(patientCedula, year, entity))
+                .orElseGet(() -> AnnualBillingTotals.empty(patientCedula, year));
+    }
+
+    @Override
+    public Map<PatientCedula, AnnualBillingTotals> findTotals(Collection<PatientCedula> patientCedulas, Year year) {
+        Map<PatientCedula, AnnualBillingTotals> totals = new HashMap<>();
+        for (PatientCedula patientCedula : patientCedulas) {
+            totals.put(patientCedula, AnnualBillingTotals.empty(patientCedula, year));
+        }
+        List<CopaymentAccumulatorEntity.Key> keys = patientCedulas.stream()
+                .map(patientCedula -> keyOf(patientCedula, year))
+                .toList();
+        for (CopaymentAccumulatorEntity entity : accumulatorJpaRepository.findAllById(keys)) {
+            PatientCedula patientCedula = PatientCedula.of(entity.getId().getPatientCedula());
+            totals.put(patientCedula, toTotals(patientCedula, year, entity));
+        }
+        return totals;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInvoice(PatientCedula patientCedula, Year year, Money copaymentAmount, Money totalAmount) {
+        apply(keyOf(patientCedula, year), copaymentAmount.getAmount(), totalAmount.getAmount());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseInvoice(PatientCedula patientCedula, Year year, Money copaymentAmount, Money totalAmount) {
+        apply(keyOf(patientCedula, year), copaymentAmount.getAmount().negate(), totalAmount.getAmount().negate());
+    }
+
+    /**
+     * Finds the entries that differ from the invoices with two reads, then corrects each one in its
+     * own transaction after reading the patient's invoices and entry again. An entry changed by an
+     * invoice written meanwhile is left to that write and checked again on the next run.
+     * Called outside a transaction, no transaction spans more than one patient.
+     */
+    @Override
+    public int reconcile(Year year) {
+        Map<CopaymentAccumulatorEntity.Key, CopaymentAccumulatorEntity> existing = new HashMap<>();
+        for (CopaymentAccumulatorEntity entity : accumulatorJpaRepository.findByIdYear(year.getValue())) {
+            existing.put(entity.getId(), entity);
+        }
+
+        Set<String> drifted = new LinkedHashSet<>();
+        for (InvoiceJpaRepository.PatientYearTotals total : invoiceJpaRepository.sumTotalsByPatientForYear(year.getValue())) {
+            CopaymentAccumulatorEntity entity = existing.remove(
+                    new CopaymentAccumulatorEntity.Key(total.getPatientCedula(), year.getValue()));
+            if (entity == null || !matches(entity, total.getCopaymentTotal(), total.getBilledTotal())) {
+                drifted.add(total.getPatientCedula());
+            }
+        }
+        // Entries left over have no invoices in the year any more
+        for (CopaymentAccumulatorEntity stale : existing.values()) {
+            if (!matches(stale, BigDecimal.ZERO, BigDecimal.ZERO)) {
+                drifted.add(stale.getId().getPatientCedula());
+            }
+        }
+
+        int corrected = 0;
+        for (String patientCedula : drifted) {
+            CopaymentAccumulatorEntity.Key key = new CopaymentAccumulatorEntity.Key(patientCedula, year.getValue());
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcileEntry(key)))) {
+                    corrected++;
+                }
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                logger.info("Copayment ledger entry for {}/{} changed during reconciliation, skipped",
+                        patientCedula, year.getValue());
+            }
+        }
+
+        if (corrected > 0) {
+            logger.warn("Copayment ledger for {} corrected {} entries", year.getValue(), corrected);
+        }
+        return corrected;
+    }
+
+    /**
+     * Sets one entry to the totals of the patient's invoices in the year. Returns whether it changed.
+     */
+    private boolean reconcileEntry(CopaymentAccumulatorEntity.Key key) {
+        BigDecimal copaymentTotal = invoiceJpaRepository.getTotalCopaymentForYear(key.getPatientCedula(), key.getYear());
+        BigDecimal billedTotal = invoiceJpaRepository.getTotalBilledForYear(key.getPatientCedula(), key.getYear());
+        Optional<CopaymentAccumulatorEntity> existing = accumulatorJpaRepository.findById(key);
+        if (existing.isEmpty()) {
+            if (copaymentTotal.signum() == 0 && billedTotal.signum() == 0) {
+                return false;
+            }
+            accumulatorJpaRepository.saveAndFlush(new CopaymentAccumulatorEntity(key, copaymentTotal, billedTotal));
+            return true;
+        }
+        CopaymentAccumulatorEntity entity = existing.get();
+        if (matches(entity, copaymentTotal, billedTotal)) {
+            return false;
+        }
+        // Managed entity: the versioned UPDATE is issued on commit
+        entity.apply(copaymentTotal.subtract(entity.getCopaymentTotal()), billedTotal.subtract(entity.getBilledTotal()));
+        return true;
+    }
+
+    private static boolean matches(CopaymentAccumulatorEntity entity, BigDecimal copaymentTotal, BigDecimal billedTotal) {
+        return entity.getCopaymentTotal().compareTo(copaymentTotal) == 0
+                && entity.getBilledTotal().compareTo(billedTotal) == 0;
+    }
+
+    private void apply(CopaymentAccumulatorEntity.Key key, BigDecimal copaymentDelta, BigDecimal billedDelta) {
+        Optional<CopaymentAccumulatorEntity> existing = accumulatorJpaRepository.findById(key);
+        if (existing.isPresent()) {
+            // Managed entity: the versioned UPDATE is issued on flush
+            existing.get().apply(copaymentDelta, billedDelta);
+            return;
+        }
+
+        try {
+            accumulatorJpaRepository.saveAndFlush(new CopaymentAccumulatorEntity(key,
+                    copaymentDelta.max(BigDecimal.ZERO), billedDelta.max(BigDecimal.ZERO)));
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException(
+                    "Copayment ledger entry for " + key.getPatientCedula() + "/" + key.getYear() + " was created concurrently", e);
+        }
+    }
+
+    private AnnualBillingTotals toTotals(PatientCedula patientCedula, Year year, CopaymentAccumulatorEntity entity) {
+        return AnnualBillingTotals.of(patientCedula, year,
+                AccumulatedCopayment.of(entity.getCopaymentTotal()),
+                Money.of(entity.getBilledTotal()));
+    }
+
+    private CopaymentAccumulatorEntity.Key keyOf(PatientCedula patientCedula, Year year) {
+        return new CopaymentAccumulatorEntity.Key(patientCedula.getValue(), year.getValue());
+    }
+}
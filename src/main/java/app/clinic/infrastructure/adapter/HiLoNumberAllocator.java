@@ -0,0 +1,167 @@
+package app.clinic.infrastructure.adapter;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.infrastructure.entity.NumberSequenceEntity;
+import app.clinic.infrastructure.repository.NumberSequenceJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Hi/lo block allocator over one named row of the number_sequences table.
+ * Each node reserves a block of numbers (one row-locked UPDATE per block, in its own
+ * transaction) and hands numbers out from memory without querying the database for
+ * every number. Numbers are unique across nodes sharing the table; they increase with
+ * time on each node, but blocks held by different nodes interleave.
+ * The row is created on first use from the given initial value. When several nodes
+ * create it at once, the duplicate inserts fail and those nodes use the stored row.
+ */
+public final class HiLoNumberAllocator {
+
+    private final String sequenceName;
+    private final int blockSize;
+    private final long maxValue;
+    private final LongSupplier initialValue;
+    private final NumberSequenceJpaRepository sequenceJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter allocatedCounter;
+    private final Counter blocksReservedCounter;
+    private final Timer blockReservationTimer;
+
+    private volatile Block currentBlock = Block.EMPTY;
+
+    /**
+     * Creates an allocator for the given sequence. Metrics are registered as
+     * metricPrefix + ".allocated", ".blocks.reserved" and ".block.reservation".
+     */
+    public HiLoNumberAllocator(String sequenceName, int blockSize, long maxValue, LongSupplier initialValue,
+                               NumberSequenceJpaRepository sequenceJpaRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry, String metricPrefix) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size of sequence " + sequenceName + " must be positive");
+        }
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+        this.maxValue = maxValue;
+        this.initialValue = initialValue;
+        this.sequenceJpaRepository = sequenceJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.allocatedCounter = Counter.builder(metricPrefix + ".allocated")
+                .description("Numbers handed out from the " + sequenceName + " sequence")
+                .register(meterRegistry);
+        this.blocksReservedCounter = Counter.builder(metricPrefix + ".blocks.reserved")
+                .description("Blocks of the " + sequenceName + " sequence reserved from the database")
+                .register(meterRegistry);
+        this.blockReservationTimer = Timer.builder(metricPrefix + ".block.reservation")
+                .description("Time spent reserving a block of the " + sequenceName + " sequence")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the next number of the sequence.
+     */
+    public long next() {
+        // Fast path: lock-free increment inside the current block
+        long value = currentBlock.next();
+        while (value < 0) {
+            value = refill();
+        }
+        allocatedCounter.increment();
+        return value;
+    }
+
+    /**
+     * Reserves a new block when the current one is exhausted.
+     * Only one thread reserves; the others retry against the new block.
+     */
+    private synchronized long refill() {
+        long value = currentBlock.next();
+        if (value >= 0) {
+            return value;
+        }
+        long startNanos = System.nanoTime();
+        currentBlock = reserveBlock();
+        blockReservationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        blocksReservedCounter.increment();
+        return currentBlock.next();
+    }
+
+    /**
+     * Moves the stored high-water mark forward by one block, creating the row first if needed.
+     */
+    private Block reserveBlock() {
+        Long start = transactionTemplate.execute(status -> advanceHighWaterMark().orElse(null));
+        if (start == null) {
+            createSequenceRow();
+            start = transactionTemplate.execute(status -> advanceHighWaterMark().orElseThrow(
+                    () -> new IllegalStateException("Sequence " + sequenceName + " could not be created")));
+        }
+        long end = Math.min(start + blockSize, maxValue + 1);
+        return new Block(start, end);
+    }
+
+    /**
+     * Locks the sequence row and moves it forward by one block, returning the block start.
+     * Returns empty when the row does not exist yet.
+     */
+    private Optional<Long> advanceHighWaterMark() {
+        return sequenceJpaRepository.findForUpdate(sequenceName).map(sequence -> {
+            long blockStart = sequence.getNextValue();
+            if (blockStart > maxValue) {
+                throw new IllegalStateException(
+                        "Number space of sequence " + sequenceName + " exhausted (max " + maxValue + ")");
+            }
+            sequence.setNextValue(blockStart + blockSize);
+            sequenceJpaRepository.save(sequence);
+            return blockStart;
+        });
+    }
+
+    /**
+     * Inserts the sequence row at its initial value. Another node inserting it first is not an error.
+     */
+    private void createSequenceRow() {
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> sequenceJpaRepository.insert(sequenceName, initialValue.getAsLong()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another node; its row is used from now on
+        }
+    }
+
+    /**
+     * Range of reserved numbers [next, end) held in memory.
+     */
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * Returns the next value in the block, or -1 when the block is exhausted.
+         */
+        long next() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package app.clinic.infrastructure.adapter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.clinic.domain.model.Appointment;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.port.DoctorAvailabilityIndex;
+import app.clinic.infrastructure.entity.AppointmentEntity;
+import app.clinic.infrastructure.repository.AppointmentJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the DoctorAvailabilityIndex port with an in-memory interval index.
+ * Each doctor's active appointments are kept in a set ordered by start time, so an overlap
+ * check only visits the appointments starting within one maximum duration before the
+ * requested range. The index is warmed from the appointments table once all beans are
+ * created, before the web server starts accepting requests, and refreshed from it periodically.
+ * It is only a per-node pre-check: the appointment repository checks every booking for overlaps
+ * under the doctor's schedule lock.
+ */
+@Component
+public class InMemoryDoctorAvailabilityIndex implements DoctorAvailabilityIndex, SmartInitializingSingleton {
+
+    private static final EnumSet<AppointmentEntity.AppointmentStatus> ACTIVE_STATUSES = EnumSet.of(
+            AppointmentEntity.AppointmentStatus.PROGRAMADA,
+            AppointmentEntity.AppointmentStatus.CONFIRMADA);
+
+    private final AppointmentJpaRepository appointmentJpaRepository;
+    private final Map<String, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<String, Slot> slotsById = new ConcurrentHashMap<>();
+
+    public InMemoryDoctorAvailabilityIndex(AppointmentJpaRepository appointmentJpaRepository,
+                                           MeterRegistry meterRegistry) {
+        this.appointmentJpaRepository = appointmentJpaRepository;
+        Gauge.builder("clinic.appointments.availability.index.size", slotsById, Map::size)
+                .description("Active appointments held in the doctor availability index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Replaces the indexed appointments with the active ones stored that have not ended yet.
+     * This evicts appointments that have ended, including those left scheduled after their time,
+     * drops doctors left without appointments, and picks up bookings and cancellations made
+     * through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.appointments.availability.refresh-interval:PT1M}",
+            initialDelayString = "${app.appointments.availability.refresh-interval:PT1M}")
+    public void refresh() {
+        refresh(LocalDateTime.now());
+    }
+
+    /**
+     * Reloads the index with the active appointments that have not finished before the given instant.
+     * Each doctor's schedule is swapped under its own monitor. A booking indexed on this node while the
+     * rows are read may be missing until the next refresh; that only weakens the pre-check.
+     */
+    void refresh(LocalDateTime now) {
+        Map<String, List<Slot>> loaded = new HashMap<>();
+        for (AppointmentEntity entity : appointmentJpaRepository.findByStatusInAndAppointmentDateTimeGreaterThanEqual(
+                ACTIVE_STATUSES, now.minus(Appointment.STANDARD_DURATION))) {
+            LocalDateTime start = entity.getAppointmentDateTime();
+            Slot slot = new Slot(entity.getAppointmentId(), entity.getDoctorCedula(),
+                    start, start.plus(Appointment.STANDARD_DURATION));
+            if (slot.end().isAfter(now)) {
+                loaded.computeIfAbsent(slot.doctorCedula(), key -> new ArrayList<>()).add(slot);
+            }
+        }
+        Set<String> doctorCedulas = new HashSet<>(schedules.keySet());
+        doctorCedulas.addAll(loaded.keySet());
+        for (String doctorCedula : doctorCedulas) {
+            List<Slot> slots = loaded.getOrDefault(doctorCedula, List.of());
+            DoctorSchedule schedule = slots.isEmpty() ? schedules.get(doctorCedula) : scheduleFor(doctorCedula);
+            if (schedule == null) {
+                continue;
+            }
+            synchronized (schedule) {
+                for (Slot previous : schedule.slots()) {
+                    slotsById.remove(previous.appointmentId(), previous);
+                }
+                schedule.replace(slots);
+                for (Slot slot : slots) {
+                    slotsById.put(slot.appointmentId(), slot);
+                }
+                if (slots.isEmpty()) {
+                    schedule.retire();
+                    schedules.remove(doctorCedula, schedule);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isAvailable(DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        DoctorSchedule schedule = schedules.get(doctorCedula.getValue());
+        if (schedule == null) {
+            return true;
+        }
+        synchronized (schedule) {
+            return !schedule.overlaps(start, end);
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String appointmentId, DoctorCedula doctorCedula,
+                              LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        Slot slot = new Slot(appointmentId, doctorCedula.getValue(), start, end);
+        Slot previous = slotsById.get(appointmentId);
+        if (previous != null && !previous.doctorCedula().equals(slot.doctorCedula())) {
+            remove(appointmentId);
+        }
+        while (true) {
+            DoctorSchedule schedule = scheduleFor(slot.doctorCedula());
+            synchronized (schedule) {
+                if (schedule.isRetired()) {
+                    continue;
+                }
+                // An appointment being moved within the same agenda must not conflict with itself.
+                Slot current = slotsById.get(appointmentId);
+                if (current != null && current.doctorCedula().equals(slot.doctorCedula())) {
+                    schedule.remove(current);
+                } else {
+                    current = null;
+                }
+                if (schedule.overlaps(start, end)) {
+                    if (current != null) {
+                        schedule.add(current);
+                    }
+                    return false;
+                }
+                schedule.add(slot);
+                slotsById.put(appointmentId, slot);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void put(String appointmentId, DoctorCedula doctorCedula, LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        Slot slot = new Slot(appointmentId, doctorCedula.getValue(), start, end);
+        remove(appointmentId);
+        while (true) {
+            DoctorSchedule schedule = scheduleFor(slot.doctorCedula());
+            synchronized (schedule) {
+                if (schedule.isRetired()) {
+                    continue;
+                }
+                schedule.add(slot);
+                slotsById.put(appointmentId, slot);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void remove(String appointmentId) {
+        Slot slot = slotsById.get(appointmentId);
+        if (slot == null) {
+            return;
+        }
+        DoctorSchedule schedule = scheduleFor(slot.doctorCedula());
+        synchronized (schedule) {
+            if (slotsById.remove(appointmentId, slot)) {
+                schedule.remove(slot);
+            }
+        }
+    }
+
+    private DoctorSchedule scheduleFor(String doctorCedula) {
+        return schedules.computeIfAbsent(doctorCedula, key -> new DoctorSchedule());
+    }
+
+    private static void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End of the time range must be after its start");
+        }
+    }
+
+    /**
+     * Time range blocked by one appointment.
+     */
+    private record Slot(String appointmentId, String doctorCedula, LocalDateTime start, LocalDateTime end) {
+
+        private static final Comparator<Slot> BY_START = Comparator.comparing(Slot::start)
+                .thenComparing(Slot::appointmentId);
+    }
+
+    /**
+     * Active appointments of one doctor ordered by start time. Not thread-safe on its own;
+     * callers synchronize on the instance. A retired schedule has been dropped from the index
+     * and must not receive appointments.
+     */
+    private static final class DoctorSchedule {
+
+        private final NavigableSet<Slot> slots = new TreeSet<>(Slot.BY_START);
+        private Duration longestDuration = Duration.ZERO;
+        private boolean retired;
+
+        void add(Slot slot) {
+            slots.add(slot);
+            Duration duration = Duration.between(slot.start(), slot.end());
+            if (duration.compareTo(longestDuration) > 0) {
+                longestDuration = duration;
+            }
+        }
+
+        void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        Collection<Slot> slots() {
+            return slots;
+        }
+
+        void replace(Collection<Slot> replacement) {
+            slots.clear();
+            longestDuration = Duration.ZERO;
+            replacement.forEach(this::add);
+        }
+
+        void retire() {
+            retired = true;
+        }
+
+        boolean isRetired() {
+            return retired;
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            // No slot starting earlier than start - longestDuration can reach into the range.
+            Slot lowerBound = new Slot("", "", start.minus(longestDuration), start.minus(longestDuration));
+            for (Slot slot : slots.tailSet(lowerBound, true)) {
+                if (!slot.start().isBefore(end)) {
+                    return false;
+                }
+                if (slot.end().isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
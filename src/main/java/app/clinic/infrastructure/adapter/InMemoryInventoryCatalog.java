@@ -0,0 +1,391 @@
+package app.clinic.infrastructure.adapter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.port.InventoryCatalog;
+import app.clinic.domain.port.InventoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the InventoryCatalog port with an immutable in-memory snapshot.
+ * The snapshot keys items by their numeric ID in an open-addressing table of primitive longs,
+ * keeps the active items of each type in arrays ordered by name, and indexes normalized names
+ * both in sorted order, for prefix searches, and by trigram, for substring searches. Writes
+ * rebuild the snapshot and publish it with a single volatile store, so readers never lock.
+ * The catalog is loaded once all beans are created and reloaded periodically to pick up
+ * changes made by other instances; bulk availability checks also fall back to the repository
+ * for IDs the catalog does not hold yet. Reloads read the repository without holding the
+ * writers' monitor and replay the writes made meanwhile on top of the rows they read.
+ */
+@Component
+public class InMemoryInventoryCatalog implements InventoryCatalog, SmartInitializingSingleton {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final InventoryRepository inventoryRepository;
+    private final Object refreshLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    /** Writes made while a reload reads the repository, or null when no reload is running. Guarded by this. */
+    private List<Consumer<Map<Long, InventoryItem>>> writesDuringRefresh;
+
+    public InMemoryInventoryCatalog(InventoryRepository inventoryRepository, MeterRegistry meterRegistry) {
+        this.inventoryRepository = inventoryRepository;
+        Gauge.builder("clinic.inventory.catalog.index.size", this, InMemoryInventoryCatalog::size)
+                .description("Inventory items held in the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Replaces the catalog with the current contents of the inventory repository.
+     * The repository is read and the new snapshot built without holding the writers' monitor, so
+     * puts and removes (and the order validations that reach them) never wait on the table scan.
+     * Writes made meanwhile are recorded and replayed on top of the reloaded rows before it is
+     * published, so they are not overwritten by rows read before them. Readers are not blocked.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.catalog.refresh-interval:PT5M}",
+            initialDelayString = "${app.inventory.catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                writesDuringRefresh = new ArrayList<>();
+            }
+            Snapshot reloaded;
+            try (Stream<InventoryItem> stream = inventoryRepository.streamAll()) {
+                reloaded = new Snapshot(stream.toList());
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    writesDuringRefresh = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                List<Consumer<Map<Long, InventoryItem>>> writes = writesDuringRefresh;
+                writesDuringRefresh = null;
+                if (writes.isEmpty()) {
+                    snapshot = reloaded;
+                } else {
+                    Map<Long, InventoryItem> items = reloaded.asMap();
+                    writes.forEach(write -> write.accept(items));
+                    snapshot = new Snapshot(items.values());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<InventoryItem> findById(InventoryItemId inventoryItemId) {
+        Long key = parseKey(inventoryItemId);
+        if (key == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.get(key));
+    }
+
+    @Override
+    public InventoryAvailability checkAvailability(Set<InventoryItemId> inventoryItemIds) {
+        Snapshot current = snapshot;
+        List<InventoryItem> found = new ArrayList<>(inventoryItemIds.size());
+        Set<InventoryItemId> unknown = new LinkedHashSet<>();
+        for (InventoryItemId id : inventoryItemIds) {
+            Long key = parseKey(id);
+            InventoryItem item = key == null ? null : current.get(key);
+            if (item != null) {
+                found.add(item);
+            } else if (key != null) {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            // Items created through another instance since the last refresh
+            Collection<InventoryItem> loaded = inventoryRepository.checkAvailability(unknown).getFoundItems();
+            if (!loaded.isEmpty()) {
+                putAll(loaded);
+                found.addAll(loaded);
+            }
+        }
+        return InventoryAvailability.of(inventoryItemIds, found);
+    }
+
+    @Override
+    public List<InventoryItem> findActiveByType(InventoryItemType type) {
+        return Collections.unmodifiableList(Arrays.asList(snapshot.activeByType.get(type)));
+    }
+
+    @Override
+    public List<InventoryItem> searchByName(String query, int limit) {
+        String term = query == null ? "" : normalize(query);
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<InventoryItem> matches = new ArrayList<>();
+        for (int position = current.lowerBound(term);
+             position < current.names.length && current.names[position].startsWith(term) && matches.size() < limit;
+             position++) {
+            matches.add(current.items[position]);
+        }
+        if (term.length() < GRAM_LENGTH) {
+            return matches;
+        }
+        // Names containing the term contain each of its trigrams, so the rarest one bounds the candidates.
+        for (int position : current.rarestPostings(term)) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            if (current.names[position].indexOf(term) > 0) {
+                matches.add(current.items[position]);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public void put(InventoryItem inventoryItem) {
+        putAll(List.of(inventoryItem));
+    }
+
+    /**
+     * Removes an item. Like every write, this rebuilds the whole snapshot (name sort and trigram
+     * postings), which costs O(n log n) in the catalog size; that is acceptable because inventory
+     * changes are rare next to the reads the snapshot serves without locking.
+     */
+    @Override
+    public synchronized void remove(InventoryItemId inventoryItemId) {
+        Long key = parseKey(inventoryItemId);
+        if (key == null) {
+            return;
+        }
+        Consumer<Map<Long, InventoryItem>> write = items -> items.remove(key);
+        if (writesDuringRefresh != null) {
+            writesDuringRefresh.add(write);
+        }
+        if (snapshot.get(key) != null) {
+            apply(write);
+        }
+    }
+
+    /**
+     * Adds or replaces items, rebuilding the snapshot once for all of them.
+     */
+    private synchronized void putAll(Collection<InventoryItem> inventoryItems) {
+        List<InventoryItem> copy = List.copyOf(inventoryItems);
+        Consumer<Map<Long, InventoryItem>> write = items -> {
+            for (InventoryItem inventoryItem : copy) {
+                items.put(requireKey(inventoryItem.getId()), inventoryItem);
+            }
+        };
+        if (writesDuringRefresh != null) {
+            writesDuringRefresh.add(write);
+        }
+        apply(write);
+    }
+
+    /**
+     * Publishes a snapshot rebuilt from the current one with the given write applied. Caller holds the monitor.
+     */
+    private void apply(Consumer<Map<Long, InventoryItem>> write) {
+        Map<Long, InventoryItem> items = snapshot.asMap();
+        write.accept(items);
+        snapshot = new Snapshot(items.values());
+    }
+
+    @Override
+    public int size() {
+        return snapshot.items.length;
+    }
+
+    /**
+     * Lowercases the name and strips accents and repeated whitespace, so "Acetaminofén" and
+     * "ACETAMINOFEN" index and search alike.
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFD);
+        String plain = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(plain).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Long parseKey(InventoryItemId inventoryItemId) {
+        try {
+            return Long.valueOf(inventoryItemId.getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long requireKey(InventoryItemId inventoryItemId) {
+        Long key = parseKey(inventoryItemId);
+        if (key == null) {
+            throw new IllegalArgumentException("Only stored inventory items can be added to the catalog: " + inventoryItemId);
+        }
+        return key;
+    }
+
+    /**
+     * Immutable view of the catalog. Positions refer to the items array, which is ordered by
+     * normalized name.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of());
+        private static final int[] NO_POSTINGS = new int[0];
+
+        final InventoryItem[] items;
+        final String[] names;
+        final Map<InventoryItemType, InventoryItem[]> activeByType = new EnumMap<>(InventoryItemType.class);
+        private final long[] keys;
+        private final int[] slots;
+        private final Map<String, int[]> postings;
+
+        Snapshot(Collection<InventoryItem> source) {
+            items = source.toArray(new InventoryItem[0]);
+            names = new String[items.length];
+            for (int i = 0; i < items.length; i++) {
+                names[i] = normalize(items[i].getName().getValue());
+            }
+            sortByName();
+
+            int capacity = Integer.highestOneBit(Math.max(2, items.length * 2 - 1)) << 1;
+            keys = new long[capacity];
+            slots = new int[capacity];
+            Map<String, List<Integer>> grams = new HashMap<>();
+            Map<InventoryItemType, List<InventoryItem>> active = new EnumMap<>(InventoryItemType.class);
+            for (int position = 0; position < items.length; position++) {
+                InventoryItem item = items[position];
+                insert(requireKey(item.getId()), position);
+                if (item.isActive()) {
+                    active.computeIfAbsent(item.getType(), type -> new ArrayList<>()).add(item);
+                }
+                String name = names[position];
+                for (int start = 0; start + GRAM_LENGTH <= name.length(); start++) {
+                    List<Integer> list = grams.computeIfAbsent(name.substring(start, start + GRAM_LENGTH),
+                            gram -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != position) {
+                        list.add(position);
+                    }
+                }
+            }
+            for (InventoryItemType type : InventoryItemType.values()) {
+                activeByType.put(type, active.getOrDefault(type, List.of()).toArray(new InventoryItem[0]));
+            }
+            postings = new HashMap<>(grams.size() * 2);
+            grams.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        InventoryItem get(long key) {
+            int mask = slots.length - 1;
+            for (int slot = hash(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return items[slots[slot] - 1];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the first position whose name is not less than the term.
+         */
+        int lowerBound(String term) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (names[middle].compareTo(term) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the ascending positions of the least frequent trigram of the term.
+         */
+        int[] rarestPostings(String term) {
+            int[] rarest = null;
+            for (int start = 0; start + GRAM_LENGTH <= term.length(); start++) {
+                int[] candidates = postings.get(term.substring(start, start + GRAM_LENGTH));
+                if (candidates == null) {
+                    return NO_POSTINGS;
+                }
+                if (rarest == null || candidates.length < rarest.length) {
+                    rarest = candidates;
+                }
+            }
+            return rarest;
+        }
+
+        Map<Long, InventoryItem> asMap() {
+            Map<Long, InventoryItem> copy = new LinkedHashMap<>(items.length * 2);
+            for (InventoryItem item : items) {
+                copy.put(requireKey(item.getId()), item);
+            }
+            return copy;
+        }
+
+        private void sortByName() {
+            Integer[] order = new Integer[items.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer, String>comparing(i -> names[i])
+                    .thenComparing(i -> items[i].getId().getValue()));
+            InventoryItem[] sortedItems = new InventoryItem[items.length];
+            String[] sortedNames = new String[names.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedItems[i] = items[order[i]];
+                sortedNames[i] = names[order[i]];
+            }
+            System.arraycopy(sortedItems, 0, items, 0, items.length);
+            System.arraycopy(sortedNames, 0, names, 0, names.length);
+        }
+
+        private void insert(long key, int position) {
+            int mask = slots.length - 1;
+            int slot = hash(key) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            slots[slot] = position + 1;
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
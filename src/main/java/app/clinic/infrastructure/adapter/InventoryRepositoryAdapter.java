@@ -2,15 +2,20 @@ package app.clinic.infrastructure.adapter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.Cost;
+import app.clinic.domain.model.InventoryAvailability;
 import app.clinic.domain.model.InventoryItem;
 import app.clinic.domain.model.InventoryItemId;
 import app.clinic.domain.model.InventoryItemName;
 import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.port.InventoryRepository;
 import app.clinic.infrastructure.entity.InventoryItemEntity;
 import app.clinic.infrastructure.repository.InventoryJpaRepository;
@@ -18,20 +23,33 @@ import app.clinic.infrastructure.repository.InventoryJpaRepository;
 /**
  * Adapter that implements the InventoryRepository port using JPA.
  * Converts between domain objects and JPA entities for inventory management.
+ * Writes go through the persistence context, so Hibernate updates the inventory item
+ * cache region and invalidates the cached catalog queries when the transaction commits.
  */
 @Repository
 public class InventoryRepositoryAdapter implements InventoryRepository {
 
+    private static final String STORED_ID_PATTERN = "\\d{1,18}";
+
     private final InventoryJpaRepository inventoryJpaRepository;
+    private final KeysetPageReader keysetPageReader;
 
-    public InventoryRepositoryAdapter(InventoryJpaRepository inventoryJpaRepository) {
+    public InventoryRepositoryAdapter(InventoryJpaRepository inventoryJpaRepository, KeysetPageReader keysetPageReader) {
         this.inventoryJpaRepository = inventoryJpaRepository;
+        this.keysetPageReader = keysetPageReader;
     }
 
     @Override
+    @Transactional
     public InventoryItem save(InventoryItem inventoryItem) {
-        InventoryItemEntity entity = toEntity(inventoryItem);
-        InventoryItemEntity savedEntity = inventoryJpaRepository.save(entity);
+        Optional<InventoryItemEntity> existing = findEntity(inventoryItem.getId());
+        if (existing.isPresent()) {
+            // Managed entity: the UPDATE and the cache update are issued on flush
+            InventoryItemEntity entity = existing.get();
+            copyToEntity(inventoryItem, entity);
+            return toDomain(entity);
+        }
+        InventoryItemEntity savedEntity = inventoryJpaRepository.save(toEntity(inventoryItem));
         return toDomain(savedEntity);
     }
 
@@ -55,6 +73,18 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public KeysetPage<InventoryItem> findPage(Long afterCursor, int size) {
+        return keysetPageReader.readPage(afterCursor, size, inventoryJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                InventoryItemEntity::getId, this::toDomain);
+    }
+
+    @Override
+    public Stream<InventoryItem> streamAll() {
+        return keysetPageReader.stream(inventoryJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                InventoryItemEntity::getId, this::toDomain);
+    }
+
     @Override
     public List<InventoryItem> findByType(InventoryItemType type) {
         return inventoryJpaRepository.findByType(toEntityType(type))
@@ -84,6 +114,21 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
         return inventoryJpaRepository.existsById(Long.valueOf(inventoryItemId.getValue()));
     }
 
+    @Override
+    public InventoryAvailability checkAvailability(Set<InventoryItemId> inventoryItemIds) {
+        // IDs that cannot be stored keys are reported missing without querying
+        List<Long> ids = inventoryItemIds.stream()
+                .map(InventoryItemId::getValue)
+                .filter(value -> value.matches(STORED_ID_PATTERN))
+                .map(Long::valueOf)
+                .toList();
+        List<InventoryItem> found = ids.isEmpty() ? List.of() : inventoryJpaRepository.findByIdIn(ids)
+                .stream()
+                .map(this::toDomain)
+                .toList();
+        return InventoryAvailability.of(inventoryItemIds, found);
+    }
+
     @Override
     public boolean existsByName(InventoryItemName name) {
         return inventoryJpaRepository.existsByName(name.getValue());
@@ -111,6 +156,21 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
 
     // Métodos de conversión entre dominio y entidad
 
+    private Optional<InventoryItemEntity> findEntity(InventoryItemId inventoryItemId) {
+        // New items carry a generated non-numeric id until they are stored
+        if (inventoryItemId == null || !inventoryItemId.getValue().matches(STORED_ID_PATTERN)) {
+            return Optional.empty();
+        }
+        return inventoryJpaRepository.findById(Long.valueOf(inventoryItemId.getValue()));
+    }
+
+    private void copyToEntity(InventoryItem inventoryItem, InventoryItemEntity entity) {
+        entity.setName(inventoryItem.getName().getValue());
+        entity.setType(toEntityType(inventoryItem.getType()));
+        entity.setCost(inventoryItem.getCost().getValue().getAmount());
+        entity.setActive(inventoryItem.isActive());
+    }
+
     private InventoryItemEntity toEntity(InventoryItem inventoryItem) {
         return new InventoryItemEntity(
                 inventoryItem.getName().getValue(),
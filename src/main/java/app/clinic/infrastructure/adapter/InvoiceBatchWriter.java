@@ -0,0 +1,56 @@
+package app.clinic.infrastructure.adapter;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.infrastructure.entity.InvoiceEntity;
+
+/**
+ * Writes many invoices with JDBC batch inserts.
+ * The invoices id column is an IDENTITY column, which makes Hibernate insert rows one
+ * statement at a time; going through JdbcTemplate sends the whole list in one batch.
+ * Runs on the connection of the caller's JPA transaction.
+ */
+@Component
+public class InvoiceBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO invoices (invoice_number, patient_cedula, total_amount, "
+            + "copayment_amount, insurance_coverage, patient_responsibility, billing_date, due_date, status, notes, "
+            + "invoice_year, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the invoices in one JDBC batch and returns the number of rows written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertAll(List<InvoiceEntity> invoices) {
+        if (invoices.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, invoices, invoices.size(), (statement, invoice) -> {
+            statement.setString(1, invoice.getInvoiceNumber());
+            statement.setString(2, invoice.getPatientCedula());
+            statement.setBigDecimal(3, invoice.getTotalAmount());
+            statement.setBigDecimal(4, invoice.getCopaymentAmount());
+            statement.setBigDecimal(5, invoice.getInsuranceCoverage());
+            statement.setBigDecimal(6, invoice.getPatientResponsibility());
+            statement.setTimestamp(7, Timestamp.valueOf(invoice.getBillingDate()));
+            statement.setTimestamp(8, Timestamp.valueOf(invoice.getDueDate()));
+            statement.setString(9, invoice.getStatus().name());
+            statement.setString(10, invoice.getNotes());
+            statement.setInt(11, invoice.getYear());
+        });
+        // A failed row raises an exception; drivers may report SUCCESS_NO_INFO for batched rows
+        return invoices.size();
+    }
+}
@@ -0,0 +1,31 @@
+package app.clinic.infrastructure.adapter;
+
+import app.clinic.domain.model.InvoiceNumber;
+
+/**
+ * Shared text format of allocated invoice numbers: "INV-" followed by the numeric value
+ * zero-padded to 19 digits, the width of Long.MAX_VALUE. The fixed width makes the string
+ * order match the numeric order, so invoice numbers sort by allocation.
+ */
+final class InvoiceNumberFormat {
+
+    static final String PREFIX = "INV-";
+    static final int DIGITS = 19;
+
+    private InvoiceNumberFormat() {
+    }
+
+    static InvoiceNumber format(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Invoice number value cannot be negative: " + value);
+        }
+        char[] chars = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        long remaining = value;
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        return InvoiceNumber.of(new String(chars));
+    }
+}
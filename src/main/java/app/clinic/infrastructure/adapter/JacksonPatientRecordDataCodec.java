@@ -0,0 +1,80 @@
+package app.clinic.infrastructure.adapter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import app.clinic.domain.model.PatientRecordData;
+
+/**
+ * Jackson based codec for medical record data.
+ * Writes CBOR by default, with repeated keys and strings (such as the fields of each medication)
+ * stored once per payload; JSON can be selected with app.medical-records.data-format=json.
+ * Payloads of either format are read back, so switching formats needs no migration.
+ */
+@Component
+public class JacksonPatientRecordDataCodec implements PatientRecordDataCodec {
+
+    public enum Format { JSON, CBOR }
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() {};
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final Format format;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    public JacksonPatientRecordDataCodec(@Value("${app.medical-records.data-format:cbor}") String format) {
+        if (format == null || format.isBlank()) {
+            throw new IllegalArgumentException("Medical record data format cannot be null or empty");
+        }
+        this.format = Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        this.jsonMapper = new ObjectMapper();
+        this.cborMapper = CBORMapper.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build();
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public byte[] encode(PatientRecordData data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        ObjectMapper mapper = format == Format.CBOR ? cborMapper : jsonMapper;
+        try {
+            return mapper.writeValueAsBytes(data.getData());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Medical record data cannot be serialized", e);
+        }
+    }
+
+    @Override
+    public PatientRecordData decode(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return PatientRecordData.empty();
+        }
+        try {
+            return PatientRecordData.of(mapperFor(payload).readValue(payload, DATA_TYPE));
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored medical record data cannot be decoded", e);
+        }
+    }
+
+    private ObjectMapper mapperFor(byte[] payload) {
+        // A CBOR map never starts with '{' (0x7B is a text string header), so the first byte tells them apart
+        return payload[0] == JSON_OBJECT_START ? jsonMapper : cborMapper;
+    }
+}
@@ -0,0 +1,154 @@
+package app.clinic.infrastructure.adapter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.KeysetPage;
+
+/**
+ * Shared keyset pagination support for the repository adapters.
+ * Pages are read with "id > cursor ORDER BY id LIMIT n" queries, which use the primary key
+ * index and cost the same at any depth. Streams read one batch per short read-only
+ * transaction with its own persistence context, so neither the heap nor a surrounding
+ * (open-in-view) persistence context grows with the size of the table. Streams can also
+ * be keyed by another unique, ordered column through a CursorQuery.
+ */
+@Component
+public class KeysetPageReader {
+
+    static final int STREAM_BATCH_SIZE = 500;
+
+    private final TransactionTemplate pageTransaction;
+    private final TransactionTemplate batchTransaction;
+
+    public KeysetPageReader(PlatformTransactionManager transactionManager) {
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+        this.pageTransaction.setReadOnly(true);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setReadOnly(true);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Query returning the entities whose id is greater than afterId, ordered by id.
+     */
+    @FunctionalInterface
+    public interface PageQuery<E> {
+        List<E> fetch(Long afterId, Limit limit);
+    }
+
+    /**
+     * Query returning the entities whose cursor column is greater than after, ordered by that column.
+     */
+    @FunctionalInterface
+    public interface CursorQuery<C, E> {
+        List<E> fetch(C after, Limit limit);
+    }
+
+    /**
+     * Reads the page of at most size items that follows the given cursor (null for the first page).
+     */
+    public <E, T> KeysetPage<T> readPage(Long afterCursor, int size, PageQuery<E> query,
+                                         Function<E, Long> idOf, Function<E, T> mapper) {
+        int limit = KeysetPage.validatePageSize(size);
+        return pageTransaction.execute(status -> {
+            // One extra row tells whether another page follows without a count query
+            List<E> entities = query.fetch(startAfter(afterCursor), Limit.of(limit + 1));
+            boolean hasNext = entities.size() > limit;
+            List<E> pageEntities = hasNext ? entities.subList(0, limit) : entities;
+            List<T> items = new ArrayList<>(pageEntities.size());
+            for (E entity : pageEntities) {
+                items.add(mapper.apply(entity));
+            }
+            Long nextCursor = hasNext ? idOf.apply(pageEntities.get(limit - 1)) : null;
+            return KeysetPage.of(items, nextCursor);
+        });
+    }
+
+    /**
+     * Returns a lazy stream over every entity in id order. Batches are fetched as the stream
+     * is consumed; only the current batch is held in memory.
+     */
+    public <E, T> Stream<T> stream(PageQuery<E> query, Function<E, Long> idOf, Function<E, T> mapper) {
+        return stream(startAfter(null), query::fetch, idOf, mapper);
+    }
+
+    /**
+     * Returns a lazy stream over the entities that follow the start cursor, in cursor order.
+     * The cursor column must be unique among the rows the query returns.
+     */
+    public <C, E, T> Stream<T> stream(C startAfter, CursorQuery<C, E> query, Function<E, C> cursorOf,
+                                      Function<E, T> mapper) {
+        BatchIterator<C, E, T> iterator = new BatchIterator<>(startAfter, query, cursorOf, mapper);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static Long startAfter(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    /**
+     * Iterator that refills its buffer one keyset batch at a time.
+     */
+    private final class BatchIterator<C, E, T> implements Iterator<T> {
+        private final CursorQuery<C, E> query;
+        private final Function<E, C> cursorOf;
+        private final Function<E, T> mapper;
+
+        private Iterator<T> buffer = List.<T>of().iterator();
+        private C lastCursor;
+        private boolean exhausted;
+
+        BatchIterator(C startAfter, CursorQuery<C, E> query, Function<E, C> cursorOf, Function<E, T> mapper) {
+            this.lastCursor = startAfter;
+            this.query = query;
+            this.cursorOf = cursorOf;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!buffer.hasNext() && !exhausted) {
+                buffer = fetchBatch().iterator();
+            }
+            return buffer.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.next();
+        }
+
+        private List<T> fetchBatch() {
+            return batchTransaction.execute(status -> {
+                List<E> entities = query.fetch(lastCursor, Limit.of(STREAM_BATCH_SIZE));
+                exhausted = entities.size() < STREAM_BATCH_SIZE;
+                List<T> items = new ArrayList<>(entities.size());
+                for (E entity : entities) {
+                    items.add(mapper.apply(entity));
+                }
+                if (!entities.isEmpty()) {
+                    lastCursor = cursorOf.apply(entities.get(entities.size() - 1));
+                }
+                return items;
+            });
+        }
+    }
+}
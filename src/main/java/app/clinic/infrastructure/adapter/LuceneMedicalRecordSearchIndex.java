@@ -0,0 +1,343 @@
+package app.clinic.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.clinic.domain.model.Diagnosis;
+import app.clinic.domain.model.MedicalRecordSearchHit;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientRecordDate;
+import app.clinic.domain.model.PatientRecordEntry;
+import app.clinic.domain.model.PatientRecordKey;
+import app.clinic.domain.port.MedicalRecordRepository;
+import app.clinic.domain.port.MedicalRecordSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the MedicalRecordSearchIndex port with a Lucene index, held in memory unless
+ * app.medical-records.search.index-path names a local directory. Each entry is one document keyed by
+ * patient and date; its consultation reason, symptoms and diagnosis are analyzed for Spanish clinical
+ * text, ignoring case, accents and stop words and reducing words to their light stem. Searches are
+ * ranked by BM25, diagnosis matches weighing most. A background thread reopens the searcher, so writes
+ * become visible within app.medical-records.search.max-staleness (one second by default) without a
+ * refresh per write; they are committed periodically and on shutdown. Once all beans are created the
+ * index is rebuilt from the repository if it does not hold as many entries.
+ */
+@Component
+public class LuceneMedicalRecordSearchIndex implements MedicalRecordSearchIndex, SmartInitializingSingleton,
+        DisposableBean {
+
+    static final String ID_FIELD = "id";
+    static final String PATIENT_FIELD = "patientCedula";
+    static final String DATE_FIELD = "recordDate";
+    static final String REASON_FIELD = "consultationReason";
+    static final String SYMPTOMS_FIELD = "symptoms";
+    static final String DIAGNOSIS_FIELD = "diagnosis";
+
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final double MIN_STALE_SECONDS = 0.025;
+    private static final Set<String> HIT_FIELDS = Set.of(PATIENT_FIELD, DATE_FIELD, DIAGNOSIS_FIELD);
+    private static final Map<String, Float> FIELD_BOOSTS = fieldBoosts();
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final Analyzer analyzer = new SpanishClinicalAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    public LuceneMedicalRecordSearchIndex(MedicalRecordRepository medicalRecordRepository, MeterRegistry meterRegistry,
+                                          @Value("${app.medical-records.search.index-path:}") String indexPath,
+                                          @Value("${app.medical-records.search.max-staleness:PT1S}")
+                                          Duration maxStaleness) {
+        this.medicalRecordRepository = medicalRecordRepository;
+        try {
+            this.directory = indexPath == null || indexPath.isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Path.of(indexPath));
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be opened at " + indexPath, e);
+        }
+        double maxStaleSeconds = maxStaleness.toNanos() / 1e9;
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                maxStaleSeconds, Math.min(maxStaleSeconds, MIN_STALE_SECONDS));
+        this.reopenThread.setName("medical-record-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+        Gauge.builder("clinic.medical-records.search.index.size", this, LuceneMedicalRecordSearchIndex::size)
+                .description("Medical record entries held in the full-text index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (size() != medicalRecordRepository.count()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the index contents with every entry of the medical record repository.
+     * Only the indexed text columns are read; the entries' additional data is never decoded.
+     */
+    public synchronized void rebuild() {
+        try {
+            writer.deleteAll();
+            try (Stream<Map.Entry<PatientRecordKey, PatientRecordEntry>> entries = medicalRecordRepository.streamAllWithoutData()) {
+                Iterator<Map.Entry<PatientRecordKey, PatientRecordEntry>> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<PatientRecordKey, PatientRecordEntry> entry = iterator.next();
+                    writer.addDocument(toDocument(entry.getKey(), entry.getValue()));
+                }
+            }
+            writer.commit();
+            refresh();
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be rebuilt", e);
+        }
+    }
+
+    /**
+     * Makes every write so far visible to searches without waiting for the reopen thread.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be refreshed", e);
+        }
+    }
+
+    /**
+     * Makes the writes since the last commit durable.
+     */
+    @Scheduled(fixedDelayString = "${app.medical-records.search.commit-interval:PT30S}",
+            initialDelayString = "${app.medical-records.search.commit-interval:PT30S}")
+    public synchronized void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be committed", e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        try {
+            reopenThread.close();
+            commit();
+        } finally {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    @Override
+    public void index(PatientRecordKey key, PatientRecordEntry entry) {
+        try {
+            writer.updateDocument(idTerm(key), toDocument(key, entry));
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be updated", e);
+        }
+    }
+
+    @Override
+    public void remove(PatientRecordKey key) {
+        try {
+            writer.deleteDocuments(idTerm(key));
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be updated", e);
+        }
+    }
+
+    @Override
+    public void removePatient(PatientCedula patientCedula) {
+        try {
+            writer.deleteDocuments(new Term(PATIENT_FIELD, patientCedula.getValue()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be updated", e);
+        }
+    }
+
+    @Override
+    public List<MedicalRecordSearchHit> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive");
+        }
+        Query luceneQuery = toQuery(query);
+        if (luceneQuery == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(luceneQuery, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<MedicalRecordSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc, HIT_FIELDS);
+                    PatientRecordKey key = PatientRecordKey.of(
+                            PatientCedula.of(document.get(PATIENT_FIELD)),
+                            PatientRecordDate.of(LocalDate.parse(document.get(DATE_FIELD))));
+                    hits.add(MedicalRecordSearchHit.of(key, Diagnosis.of(document.get(DIAGNOSIS_FIELD)), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be searched", e);
+        }
+    }
+
+    @Override
+    public int size() {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Medical record search index cannot be read", e);
+        }
+    }
+
+    private Document toDocument(PatientRecordKey key, PatientRecordEntry entry) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, key.toString(), Field.Store.NO));
+        document.add(new StringField(PATIENT_FIELD, key.getPatientCedula().getValue(), Field.Store.YES));
+        document.add(new StoredField(DATE_FIELD, key.getRecordDate().getValue().toString()));
+        document.add(new TextField(REASON_FIELD, entry.getConsultationReason().getValue(), Field.Store.NO));
+        document.add(new TextField(SYMPTOMS_FIELD, entry.getSymptoms().getValue(), Field.Store.NO));
+        document.add(new TextField(DIAGNOSIS_FIELD, entry.getDiagnosis().getValue(), Field.Store.YES));
+        return document;
+    }
+
+    private static Term idTerm(PatientRecordKey key) {
+        return new Term(ID_FIELD, key.toString());
+    }
+
+    /**
+     * Builds a query where each analyzed word of the text may match any of the indexed fields;
+     * entries matching more words, and matching them in the diagnosis, score higher.
+     */
+    private Query toQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : terms) {
+            List<Query> fieldQueries = new ArrayList<>(FIELD_BOOSTS.size());
+            FIELD_BOOSTS.forEach((field, boost) ->
+                    fieldQueries.add(new BoostQuery(new TermQuery(new Term(field, term)), boost)));
+            builder.add(new DisjunctionMaxQuery(fieldQueries, 0.1f), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(DIAGNOSIS_FIELD, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new IllegalStateException("Search query cannot be analyzed", e);
+        }
+        return terms;
+    }
+
+    private static Map<String, Float> fieldBoosts() {
+        Map<String, Float> boosts = new LinkedHashMap<>();
+        boosts.put(DIAGNOSIS_FIELD, 3.0f);
+        boosts.put(SYMPTOMS_FIELD, 2.0f);
+        boosts.put(REASON_FIELD, 1.0f);
+        return boosts;
+    }
+
+    /**
+     * Analyzer for Spanish clinical text: standard tokenization, lower case, Spanish stop words,
+     * accent folding (so "migraña" and "migrana" match) and light stemming of plurals and genders.
+     */
+    static final class SpanishClinicalAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer source = new StandardTokenizer();
+            TokenStream result = new LowerCaseFilter(source);
+            result = new StopFilter(result, SpanishAnalyzer.getDefaultStopSet());
+            result = new ASCIIFoldingFilter(result);
+            result = new SpanishLightStemFilter(result);
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
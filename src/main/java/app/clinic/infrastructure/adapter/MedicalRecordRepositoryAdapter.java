@@ -1,16 +1,27 @@
 package app.clinic.infrastructure.adapter;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.ConsultationReason;
+import app.clinic.domain.model.Diagnosis;
+import app.clinic.domain.model.DoctorCedula;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientRecord;
+import app.clinic.domain.model.PatientRecordDate;
 import app.clinic.domain.model.PatientRecordEntry;
 import app.clinic.domain.model.PatientRecordKey;
 import app.clinic.domain.model.PatientRecordMap;
 import app.clinic.domain.model.PatientRecordMapWithData;
 import app.clinic.domain.model.PatientRecordWithData;
+import app.clinic.domain.model.Symptoms;
 import app.clinic.domain.port.MedicalRecordRepository;
 import app.clinic.infrastructure.entity.MedicalRecordEntity;
 import app.clinic.infrastructure.repository.MedicalRecordJpaRepository;
@@ -18,23 +29,64 @@ import app.clinic.infrastructure.repository.MedicalRecordJpaRepository;
 /**
  * Adapter that implements the MedicalRecordRepository port using JPA.
  * Converts between domain objects and JPA entities for medical records.
+ * Each entry is one row keyed by patient cedula and record date: adding an entry inserts one row
+ * and replacing one updates only that row, whatever the length of the patient's history.
+ * Reads scan the (patient_cedula, record_date) index in date order; date ranges are streamed in
+ * batches keyed by record date. The unstructured entry data is stored in the additional_data
+ * column through the PatientRecordDataCodec and decoded with every entry that is read, except by
+ * streamAllWithoutData, which leaves the column out of the query.
  */
 @Repository
 public class MedicalRecordRepositoryAdapter implements MedicalRecordRepository {
 
     private final MedicalRecordJpaRepository medicalRecordJpaRepository;
+    private final PatientRecordDataCodec patientRecordDataCodec;
+    private final KeysetPageReader keysetPageReader;
 
-    public MedicalRecordRepositoryAdapter(MedicalRecordJpaRepository medicalRecordJpaRepository) {
+    public MedicalRecordRepositoryAdapter(MedicalRecordJpaRepository medicalRecordJpaRepository,
+                                          PatientRecordDataCodec patientRecordDataCodec,
+                                          KeysetPageReader keysetPageReader) {
         this.medicalRecordJpaRepository = medicalRecordJpaRepository;
+        this.patientRecordDataCodec = patientRecordDataCodec;
+        this.keysetPageReader = keysetPageReader;
     }
 
     @Override
+    @Transactional
     public PatientRecordMap save(PatientRecordMap medicalRecordMap) {
-        // Basic implementation - in a real scenario this would handle NoSQL storage
-        // For now, return the same map as it's immutable
+        for (Map.Entry<PatientCedula, PatientRecord> patientRecord : medicalRecordMap.getRecords().entrySet()) {
+            for (Map.Entry<PatientRecordDate, PatientRecordEntry> entry : patientRecord.getValue().getRecords().entrySet()) {
+                saveEntry(PatientRecordKey.of(patientRecord.getKey(), entry.getKey()), entry.getValue());
+            }
+        }
         return medicalRecordMap;
     }
 
+    @Override
+    @Transactional
+    public PatientRecordEntry saveEntry(PatientRecordKey key, PatientRecordEntry entry) {
+        Optional<MedicalRecordEntity> existing = medicalRecordJpaRepository.findByPatientCedulaAndRecordDate(
+                key.getPatientCedula().getValue(), key.getRecordDate().getValue());
+        if (existing.isPresent()) {
+            // Managed entity: only this row is updated on flush
+            copyToEntity(entry, existing.get());
+            return entry;
+        }
+        MedicalRecordEntity entity = new MedicalRecordEntity();
+        entity.setPatientCedula(key.getPatientCedula().getValue());
+        entity.setRecordDate(key.getRecordDate().getValue());
+        copyToEntity(entry, entity);
+        medicalRecordJpaRepository.save(entity);
+        return entry;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteEntry(PatientRecordKey key) {
+        return medicalRecordJpaRepository.deleteByPatientCedulaAndRecordDate(
+                key.getPatientCedula().getValue(), key.getRecordDate().getValue()) > 0;
+    }
+
     @Override
     public PatientRecordMapWithData saveWithData(PatientRecordMapWithData medicalRecordMap) {
         // Basic implementation - in a real scenario this would handle NoSQL storage with additional data
@@ -44,31 +96,90 @@ public class MedicalRecordRepositoryAdapter implements MedicalRecordRepository {
 
     @Override
     public Optional<PatientRecord> findByPatientCedula(PatientCedula patientCedula) {
-        return medicalRecordJpaRepository.findByPatientCedula(patientCedula.getValue())
-                .map(this::toPatientRecordDomain);
+        List<MedicalRecordEntity> entities = medicalRecordJpaRepository
+                .findByPatientCedulaOrderByRecordDateAsc(patientCedula.getValue());
+        return entities.isEmpty() ? Optional.empty() : Optional.of(toPatientRecordDomain(entities));
+    }
+
+    @Override
+    public PatientRecord findLatestEntries(PatientCedula patientCedula, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Number of entries must be positive");
+        }
+        return toPatientRecordDomain(medicalRecordJpaRepository
+                .findByPatientCedulaOrderByRecordDateDesc(patientCedula.getValue(), Limit.of(limit)));
+    }
+
+    @Override
+    public Stream<Map.Entry<PatientRecordDate, PatientRecordEntry>> streamEntriesBetween(PatientCedula patientCedula,
+                                                                                         PatientRecordDate from,
+                                                                                         PatientRecordDate to) {
+        String cedula = patientCedula.getValue();
+        LocalDate end = to.getValue();
+        // Record dates are unique per patient, so the date itself is the keyset cursor
+        return keysetPageReader.stream(from.getValue().minusDays(1),
+                (LocalDate after, Limit limit) -> medicalRecordJpaRepository
+                        .findByPatientCedulaAndRecordDateGreaterThanAndRecordDateLessThanEqualOrderByRecordDateAsc(
+                                cedula, after, end, limit),
+                MedicalRecordEntity::getRecordDate,
+                entity -> Map.entry(PatientRecordDate.of(entity.getRecordDate()), toPatientRecordEntryDomain(entity)));
     }
 
     @Override
     public Optional<PatientRecordWithData> findByPatientCedulaWithData(PatientCedula patientCedula) {
-        return medicalRecordJpaRepository.findByPatientCedula(patientCedula.getValue())
-                .map(this::toPatientRecordWithDataDomain);
+        List<MedicalRecordEntity> entities = medicalRecordJpaRepository
+                .findByPatientCedulaOrderByRecordDateAsc(patientCedula.getValue());
+        return entities.isEmpty() ? Optional.empty() : Optional.of(toPatientRecordWithDataDomain(entities));
     }
 
     @Override
     public Optional<PatientRecordEntry> findEntryByKey(PatientRecordKey key) {
-        // Implementation depends on the specific structure of PatientRecordKey
-        // This would need to be implemented based on the domain model
-        throw new UnsupportedOperationException("Not implemented yet");
+        return medicalRecordJpaRepository.findByPatientCedulaAndRecordDate(
+                        key.getPatientCedula().getValue(), key.getRecordDate().getValue())
+                .map(this::toPatientRecordEntryDomain);
     }
 
     @Override
     public PatientRecordMap findAll() {
-        PatientRecordMap result = PatientRecordMap.empty();
-        for (MedicalRecordEntity entity : medicalRecordJpaRepository.findAll()) {
-            PatientRecord record = toPatientRecordDomain(entity);
-            result = result.addRecord(PatientCedula.of(entity.getPatientCedula()), record);
+        PatientRecordMap.Builder builder = PatientRecordMap.builder();
+        PatientCedula currentPatient = null;
+        PatientRecord.Builder currentRecord = null;
+        // Rows arrive grouped by patient, so each patient's record is built in one pass
+        for (MedicalRecordEntity entity : medicalRecordJpaRepository.findAllByOrderByPatientCedulaAscRecordDateAsc()) {
+            PatientCedula patientCedula = PatientCedula.of(entity.getPatientCedula());
+            if (!patientCedula.equals(currentPatient)) {
+                if (currentRecord != null) {
+                    builder.addRecord(currentPatient, currentRecord.build());
+                }
+                currentPatient = patientCedula;
+                currentRecord = PatientRecord.builder();
+            }
+            currentRecord.addRecord(PatientRecordDate.of(entity.getRecordDate()), toPatientRecordEntryDomain(entity));
         }
-        return result;
+        if (currentRecord != null) {
+            builder.addRecord(currentPatient, currentRecord.build());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Stream<Map.Entry<PatientRecordKey, PatientRecordEntry>> streamAll() {
+        return keysetPageReader.stream(medicalRecordJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                MedicalRecordEntity::getId,
+                entity -> Map.entry(PatientRecordKey.of(PatientCedula.of(entity.getPatientCedula()),
+                        PatientRecordDate.of(entity.getRecordDate())), toPatientRecordEntryDomain(entity)));
+    }
+
+    @Override
+    public Stream<Map.Entry<PatientRecordKey, PatientRecordEntry>> streamAllWithoutData() {
+        return keysetPageReader.stream(medicalRecordJpaRepository::findSummariesByIdGreaterThan,
+                MedicalRecordJpaRepository.MedicalRecordSummary::getId,
+                summary -> Map.entry(PatientRecordKey.of(PatientCedula.of(summary.getPatientCedula()),
+                        PatientRecordDate.of(summary.getRecordDate())), PatientRecordEntry.of(
+                        DoctorCedula.of(summary.getDoctorCedula()),
+                        ConsultationReason.of(summary.getConsultationReason()),
+                        Symptoms.of(summary.getSymptoms()),
+                        Diagnosis.of(summary.getDiagnosis()))));
     }
 
     @Override
@@ -84,10 +195,16 @@ public class MedicalRecordRepositoryAdapter implements MedicalRecordRepository {
     }
 
     @Override
+    @Transactional
     public void deleteByPatientCedula(PatientCedula patientCedula) {
         medicalRecordJpaRepository.deleteByPatientCedula(patientCedula.getValue());
     }
 
+    @Override
+    public long countByPatientCedula(PatientCedula patientCedula) {
+        return medicalRecordJpaRepository.countByPatientCedula(patientCedula.getValue());
+    }
+
     @Override
     public long count() {
         return medicalRecordJpaRepository.count();
@@ -95,15 +212,35 @@ public class MedicalRecordRepositoryAdapter implements MedicalRecordRepository {
 
     // Métodos auxiliares de conversión
 
-    private PatientRecord toPatientRecordDomain(MedicalRecordEntity entity) {
-        // Convertir MedicalRecordEntity a PatientRecord del dominio
-        // Esta implementación depende de la estructura específica del modelo de dominio
-        throw new UnsupportedOperationException("Not implemented yet");
+    private void copyToEntity(PatientRecordEntry entry, MedicalRecordEntity entity) {
+        entity.setDoctorCedula(entry.getDoctorCedula().getValue());
+        entity.setConsultationReason(entry.getConsultationReason().getValue());
+        entity.setSymptoms(entry.getSymptoms().getValue());
+        entity.setDiagnosis(entry.getDiagnosis().getValue());
+        entity.setAdditionalData(patientRecordDataCodec.encode(entry.getData()));
+    }
+
+    private PatientRecord toPatientRecordDomain(List<MedicalRecordEntity> entities) {
+        PatientRecord.Builder builder = PatientRecord.builder();
+        for (MedicalRecordEntity entity : entities) {
+            builder.addRecord(PatientRecordDate.of(entity.getRecordDate()), toPatientRecordEntryDomain(entity));
+        }
+        return builder.build();
+    }
+
+    private PatientRecordEntry toPatientRecordEntryDomain(MedicalRecordEntity entity) {
+        return PatientRecordEntry.of(
+                DoctorCedula.of(entity.getDoctorCedula()),
+                ConsultationReason.of(entity.getConsultationReason()),
+                Symptoms.of(entity.getSymptoms()),
+                Diagnosis.of(entity.getDiagnosis()),
+                patientRecordDataCodec.decode(entity.getAdditionalData())
+        );
     }
 
-    private PatientRecordWithData toPatientRecordWithDataDomain(MedicalRecordEntity entity) {
+    private PatientRecordWithData toPatientRecordWithDataDomain(List<MedicalRecordEntity> entities) {
         // Convertir MedicalRecordEntity a PatientRecordWithData del dominio
         // Esta implementación depende de la estructura específica del modelo de dominio
         throw new UnsupportedOperationException("Not implemented yet");
     }
-}
\ No newline at end of file
+}
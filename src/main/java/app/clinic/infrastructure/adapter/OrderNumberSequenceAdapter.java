@@ -0,0 +1,50 @@
+package app.clinic.infrastructure.adapter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import app.clinic.domain.model.OrderNumber;
+import app.clinic.domain.port.OrderNumberSequence;
+import app.clinic.infrastructure.repository.NumberSequenceJpaRepository;
+import app.clinic.infrastructure.repository.OrderJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the OrderNumberSequence port with a hi/lo block allocator
+ * over the "orders" row of the number_sequences table, so numbers are handed out from
+ * memory without checking the orders table for every candidate.
+ */
+@Component
+public class OrderNumberSequenceAdapter implements OrderNumberSequence {
+
+    static final String SEQUENCE_NAME = "orders";
+    static final long MAX_ORDER_NUMBER = 999_999L;
+
+    private final OrderJpaRepository orderJpaRepository;
+    private final HiLoNumberAllocator allocator;
+
+    public OrderNumberSequenceAdapter(NumberSequenceJpaRepository sequenceJpaRepository,
+                                      OrderJpaRepository orderJpaRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.orders.number.block-size:50}") int blockSize) {
+        this.orderJpaRepository = orderJpaRepository;
+        this.allocator = new HiLoNumberAllocator(SEQUENCE_NAME, blockSize, MAX_ORDER_NUMBER, this::initialValue,
+                sequenceJpaRepository, transactionManager, meterRegistry, "clinic.orders.numbers");
+    }
+
+    @Override
+    public OrderNumber nextOrderNumber() {
+        return OrderNumber.of((int) allocator.next());
+    }
+
+    /**
+     * Seeds the sequence just above the highest order number already stored.
+     */
+    private long initialValue() {
+        return orderJpaRepository.findMaxOrderNumber()
+                .map(orderNumber -> orderNumber + 1)
+                .orElse(1L);
+    }
+}
@@ -1,161 +1,187 @@
 package app.clinic.infrastructure.adapter;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.DiagnosticAidItem;
 import app.clinic.domain.model.DiagnosticAidOrder;
 import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.Dosage;
+import app.clinic.domain.model.Frequency;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.ItemNumber;
+import app.clinic.domain.model.MedicalSpecialty;
+import app.clinic.domain.model.MedicationItem;
 import app.clinic.domain.model.MedicationOrder;
 import app.clinic.domain.model.OrderCreationDate;
 import app.clinic.domain.model.OrderNumber;
 import app.clinic.domain.model.OrderStatus;
 import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.ProcedureItem;
 import app.clinic.domain.model.ProcedureOrder;
+import app.clinic.domain.model.Quantity;
+import app.clinic.domain.model.RequiresSpecialistAssistance;
+import app.clinic.domain.model.TreatmentDuration;
 import app.clinic.domain.port.OrderRepository;
 import app.clinic.infrastructure.entity.DiagnosticAidOrderEntity;
+import app.clinic.infrastructure.entity.InventoryItemEntity;
 import app.clinic.infrastructure.entity.MedicationOrderEntity;
 import app.clinic.infrastructure.entity.OrderEntity;
 import app.clinic.infrastructure.entity.ProcedureOrderEntity;
+import app.clinic.infrastructure.repository.InventoryJpaRepository;
 import app.clinic.infrastructure.repository.OrderJpaRepository;
 
 /**
  * Adapter that implements the OrderRepository port using JPA.
  * Converts between domain objects and JPA entities for medical orders.
+ * Order items are cascaded from the order header (batched inserts) and read back
+ * together with the header through fetch-join queries.
  */
 @Repository
 public class OrderRepositoryAdapter implements OrderRepository {
 
     private final OrderJpaRepository orderJpaRepository;
+    private final InventoryJpaRepository inventoryJpaRepository;
 
-    public OrderRepositoryAdapter(OrderJpaRepository orderJpaRepository) {
+    public OrderRepositoryAdapter(OrderJpaRepository orderJpaRepository, InventoryJpaRepository inventoryJpaRepository) {
         this.orderJpaRepository = orderJpaRepository;
+        this.inventoryJpaRepository = inventoryJpaRepository;
     }
 
     @Override
+    @Transactional
     public MedicationOrder saveMedicationOrder(MedicationOrder medicationOrder) {
-        // Save the main order entity first
         OrderEntity orderEntity = new OrderEntity(
                 medicationOrder.getOrderNumber().getValue(),
                 medicationOrder.getPatientCedula().getValue(),
                 medicationOrder.getDoctorCedula().getValue(),
-                medicationOrder.getCreationDate().getValue().toLocalDate()
+                medicationOrder.getCreationDate().getValue().toLocalDate(),
+                OrderEntity.OrderType.MEDICAMENTO
         );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
+        addMedicationItems(orderEntity, medicationOrder.getMedications());
 
-        // Save medication items (simplified implementation)
-        // In a real implementation, you would save each medication item to MedicationOrderEntity
-
-        return medicationOrder; // Return the original order for now
+        // Items are cascaded from the header and written as one JDBC batch
+        return toMedicationOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
+    @Transactional
     public ProcedureOrder saveProcedureOrder(ProcedureOrder procedureOrder) {
-        // Save the main order entity first
         OrderEntity orderEntity = new OrderEntity(
                 procedureOrder.getOrderNumber().getValue(),
                 procedureOrder.getPatientCedula().getValue(),
                 procedureOrder.getDoctorCedula().getValue(),
-                procedureOrder.getCreationDate().getValue().toLocalDate()
+                procedureOrder.getCreationDate().getValue().toLocalDate(),
+                OrderEntity.OrderType.PROCEDIMIENTO
         );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
-
-        // Save procedure items (simplified implementation)
-        // In a real implementation, you would save each procedure item to ProcedureOrderEntity
+        addProcedureItems(orderEntity, procedureOrder.getProcedures());
 
-        return procedureOrder; // Return the original order for now
+        return toProcedureOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
+    @Transactional
     public DiagnosticAidOrder saveDiagnosticAidOrder(DiagnosticAidOrder diagnosticAidOrder) {
-        // Save the main order entity first
         OrderEntity orderEntity = new OrderEntity(
                 diagnosticAidOrder.getOrderNumber().getValue(),
                 diagnosticAidOrder.getPatientCedula().getValue(),
                 diagnosticAidOrder.getDoctorCedula().getValue(),
-                diagnosticAidOrder.getCreationDate().getValue().toLocalDate()
+                diagnosticAidOrder.getCreationDate().getValue().toLocalDate(),
+                OrderEntity.OrderType.AYUDA_DIAGNOSTICA
         );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
-
-        // Save diagnostic aid items (simplified implementation)
-        // In a real implementation, you would save each diagnostic aid item to DiagnosticAidOrderEntity
+        addDiagnosticAidItems(orderEntity, diagnosticAidOrder.getDiagnosticAids());
 
-        return diagnosticAidOrder; // Return the original order for now
+        return toDiagnosticAidOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
     public Optional<MedicationOrder> findMedicationOrderByNumber(OrderNumber orderNumber) {
-        // Find the order entity by number
-        Optional<OrderEntity> orderEntity = orderJpaRepository.findByOrderNumber(orderNumber.getValue());
-
-        if (orderEntity.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // For now, return a basic MedicationOrder - in a real implementation,
-        // you would need to fetch the complete order with all its items
-        // This is a simplified implementation
-        return Optional.of(createBasicMedicationOrder(orderEntity.get()));
+        return orderJpaRepository.findWithItemsByOrderNumber(orderNumber.getValue())
+                .filter(orderEntity -> hasOrderType(orderEntity, OrderEntity.OrderType.MEDICAMENTO))
+                .map(this::toMedicationOrderDomain);
     }
 
     @Override
     public Optional<ProcedureOrder> findProcedureOrderByNumber(OrderNumber orderNumber) {
-        // Find the order entity by number
-        Optional<OrderEntity> orderEntity = orderJpaRepository.findByOrderNumber(orderNumber.getValue());
-
-        if (orderEntity.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // For now, return a basic ProcedureOrder - in a real implementation,
-        // you would need to fetch the complete order with all its items
-        return Optional.of(createBasicProcedureOrder(orderEntity.get()));
+        return orderJpaRepository.findWithItemsByOrderNumber(orderNumber.getValue())
+                .filter(orderEntity -> hasOrderType(orderEntity, OrderEntity.OrderType.PROCEDIMIENTO))
+                .map(this::toProcedureOrderDomain);
     }
 
     @Override
     public Optional<DiagnosticAidOrder> findDiagnosticAidOrderByNumber(OrderNumber orderNumber) {
-        // Find the order entity by number
-        Optional<OrderEntity> orderEntity = orderJpaRepository.findByOrderNumber(orderNumber.getValue());
-
-        if (orderEntity.isEmpty()) {
-            return Optional.empty();
-        }
+        return orderJpaRepository.findWithItemsByOrderNumber(orderNumber.getValue())
+                .filter(orderEntity -> hasOrderType(orderEntity, OrderEntity.OrderType.AYUDA_DIAGNOSTICA))
+                .map(this::toDiagnosticAidOrderDomain);
+    }
 
-        // For now, return a basic DiagnosticAidOrder - in a real implementation,
-        // you would need to fetch the complete order with all its items
-        return Optional.of(createBasicDiagnosticAidOrder(orderEntity.get()));
+    @Override
+    public Optional<Object> findOrderByNumber(OrderNumber orderNumber) {
+        // Single lookup: the order_type column tells which domain order to build,
+        // and the items come back in the same fetch-join query
+        return orderJpaRepository.findWithItemsByOrderNumber(orderNumber.getValue())
+                .map(this::toTypedOrder);
     }
 
     @Override
     public List<MedicationOrder> findMedicationOrdersByPatient(PatientCedula patientCedula) {
-        // Find orders by patient cedula and return as medication orders
-        // In a real implementation, you would need to determine the order type
-        return orderJpaRepository.findByPatientCedula(patientCedula.getValue())
+        return orderJpaRepository.findWithItemsByPatientCedulaAndOrderType(patientCedula.getValue(),
+                        OrderEntity.OrderType.MEDICAMENTO)
                 .stream()
-                .map(this::createBasicMedicationOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toMedicationOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ProcedureOrder> findProcedureOrdersByPatient(PatientCedula patientCedula) {
-        // Find orders by patient cedula and return as procedure orders
-        // In a real implementation, you would need to determine the order type
-        return orderJpaRepository.findByPatientCedula(patientCedula.getValue())
+        return orderJpaRepository.findWithItemsByPatientCedulaAndOrderType(patientCedula.getValue(),
+                        OrderEntity.OrderType.PROCEDIMIENTO)
                 .stream()
-                .map(this::createBasicProcedureOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toProcedureOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<DiagnosticAidOrder> findDiagnosticAidOrdersByPatient(PatientCedula patientCedula) {
-        // Find orders by patient cedula and return as diagnostic aid orders
-        // In a real implementation, you would need to determine the order type
-        return orderJpaRepository.findByPatientCedula(patientCedula.getValue())
+        return orderJpaRepository.findWithItemsByPatientCedulaAndOrderType(patientCedula.getValue(),
+                        OrderEntity.OrderType.AYUDA_DIAGNOSTICA)
+                .stream()
+                .map(this::toDiagnosticAidOrderDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Object> findOrdersByPatient(PatientCedula patientCedula) {
+        // One query for every order type; each row is built as its own concrete order
+        return orderJpaRepository.findWithItemsByPatientCedula(patientCedula.getValue())
+                .stream()
+                .map(this::toTypedOrder)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Object> findOrdersByDoctor(DoctorCedula doctorCedula) {
+        return orderJpaRepository.findWithItemsByDoctorCedula(doctorCedula.getValue())
                 .stream()
-                .map(this::createBasicDiagnosticAidOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toTypedOrder)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Object> findOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate) {
+        return orderJpaRepository.findWithItemsByCreationDateBetween(startDate.getValue().toLocalDate(),
+                        endDate.getValue().toLocalDate())
+                .stream()
+                .map(this::toTypedOrder)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -171,9 +197,10 @@ public class OrderRepositoryAdapter implements OrderRepository {
     }
 
     @Override
-    public void deleteByOrderNumber(OrderNumber orderNumber) {
-        orderJpaRepository.findByOrderNumber(orderNumber.getValue())
-                .ifPresent(orderJpaRepository::delete);
+    public boolean deleteByOrderNumber(OrderNumber orderNumber) {
+        Optional<OrderEntity> orderEntity = orderJpaRepository.findByOrderNumber(orderNumber.getValue());
+        orderEntity.ifPresent(orderJpaRepository::delete);
+        return orderEntity.isPresent();
     }
 
     @Override
@@ -194,188 +221,295 @@ public class OrderRepositoryAdapter implements OrderRepository {
     }
 
     /**
-     * Creates a basic MedicationOrder from OrderEntity.
-     * In a real implementation, this would need to fetch the complete order with all medication items.
+     * Builds the concrete domain order for an OrderEntity based on its order type.
      */
-    private MedicationOrder createBasicMedicationOrder(OrderEntity orderEntity) {
+    private Object toTypedOrder(OrderEntity orderEntity) {
+        return switch (orderEntity.getOrderType()) {
+            case MEDICAMENTO -> toMedicationOrderDomain(orderEntity);
+            case PROCEDIMIENTO -> toProcedureOrderDomain(orderEntity);
+            case AYUDA_DIAGNOSTICA -> toDiagnosticAidOrderDomain(orderEntity);
+        };
+    }
+
+    /**
+     * Checks whether an OrderEntity belongs to the given order type.
+     */
+    private boolean hasOrderType(OrderEntity orderEntity, OrderEntity.OrderType orderType) {
+        return orderEntity.getOrderType() == orderType;
+    }
+
+    /**
+     * Converts an OrderEntity and its medication lines to a MedicationOrder.
+     */
+    private MedicationOrder toMedicationOrderDomain(OrderEntity orderEntity) {
         try {
-            // Create basic domain objects - in a real implementation, you would need to
-            // fetch the complete order with all its medication items from the database
-            OrderNumber orderNumber = OrderNumber.of(orderEntity.getOrderNumber());
-            PatientCedula patientCedula = PatientCedula.of(orderEntity.getPatientCedula());
-            DoctorCedula doctorCedula = DoctorCedula.of(orderEntity.getDoctorCedula());
-            OrderCreationDate creationDate = OrderCreationDate.of(orderEntity.getCreationDate().atStartOfDay());
-
-            // For now, create an empty medication order - in a real implementation,
-            // you would need to fetch the medication items from MedicationOrderEntity
-            List<app.clinic.domain.model.MedicationItem> medications = new ArrayList<>();
-            return MedicationOrder.of(orderNumber, patientCedula, doctorCedula, creationDate,
-                                    OrderStatus.CREADA, medications);
+            List<MedicationItem> medications = orderEntity.getMedications().stream()
+                    .map(item -> MedicationItem.of(
+                            ItemNumber.of(item.getItemNumber()),
+                            InventoryItemId.of(item.getInventoryItemId()),
+                            Dosage.of(item.getDosage()),
+                            TreatmentDuration.of(item.getTreatmentDuration())))
+                    .toList();
+
+            return MedicationOrder.of(OrderNumber.of(orderEntity.getOrderNumber()),
+                                    PatientCedula.of(orderEntity.getPatientCedula()),
+                                    DoctorCedula.of(orderEntity.getDoctorCedula()),
+                                    toCreationDate(orderEntity), OrderStatus.CREADA, medications);
         } catch (Exception e) {
             throw new RuntimeException("Error creating MedicationOrder from entity: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Creates a basic ProcedureOrder from OrderEntity.
-     * In a real implementation, this would need to fetch the complete order with all procedure items.
+     * Converts an OrderEntity and its procedure lines to a ProcedureOrder.
      */
-    private ProcedureOrder createBasicProcedureOrder(OrderEntity orderEntity) {
+    private ProcedureOrder toProcedureOrderDomain(OrderEntity orderEntity) {
         try {
-            OrderNumber orderNumber = OrderNumber.of(orderEntity.getOrderNumber());
-            PatientCedula patientCedula = PatientCedula.of(orderEntity.getPatientCedula());
-            DoctorCedula doctorCedula = DoctorCedula.of(orderEntity.getDoctorCedula());
-            OrderCreationDate creationDate = OrderCreationDate.of(orderEntity.getCreationDate().atStartOfDay());
-
-            // For now, create an empty procedure order - in a real implementation,
-            // you would need to fetch the procedure items from ProcedureOrderEntity
-            List<app.clinic.domain.model.ProcedureItem> procedures = new ArrayList<>();
-            return ProcedureOrder.of(orderNumber, patientCedula, doctorCedula, creationDate,
-                                   OrderStatus.CREADA, procedures);
+            List<ProcedureItem> procedures = orderEntity.getProcedures().stream()
+                    .map(item -> ProcedureItem.of(
+                            ItemNumber.of(item.getItemNumber()),
+                            InventoryItemId.of(item.getInventoryItemId()),
+                            Quantity.of(item.getNumberOfTimes()),
+                            Frequency.of(item.getFrequency()),
+                            RequiresSpecialistAssistance.of(item.isRequiresSpecialistAssistance()),
+                            toSpecialty(item.getSpecialistTypeId())))
+                    .toList();
+
+            return ProcedureOrder.of(OrderNumber.of(orderEntity.getOrderNumber()),
+                                   PatientCedula.of(orderEntity.getPatientCedula()),
+                                   DoctorCedula.of(orderEntity.getDoctorCedula()),
+                                   toCreationDate(orderEntity), OrderStatus.CREADA, procedures);
         } catch (Exception e) {
             throw new RuntimeException("Error creating ProcedureOrder from entity: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Creates a basic DiagnosticAidOrder from OrderEntity.
-     * In a real implementation, this would need to fetch the complete order with all diagnostic aid items.
+     * Converts an OrderEntity and its diagnostic aid lines to a DiagnosticAidOrder.
      */
-    private DiagnosticAidOrder createBasicDiagnosticAidOrder(OrderEntity orderEntity) {
+    private DiagnosticAidOrder toDiagnosticAidOrderDomain(OrderEntity orderEntity) {
         try {
-            OrderNumber orderNumber = OrderNumber.of(orderEntity.getOrderNumber());
-            PatientCedula patientCedula = PatientCedula.of(orderEntity.getPatientCedula());
-            DoctorCedula doctorCedula = DoctorCedula.of(orderEntity.getDoctorCedula());
-            OrderCreationDate creationDate = OrderCreationDate.of(orderEntity.getCreationDate().atStartOfDay());
-
-            // For now, create an empty diagnostic aid order - in a real implementation,
-            // you would need to fetch the diagnostic aid items from DiagnosticAidOrderEntity
-            List<app.clinic.domain.model.DiagnosticAidItem> diagnosticAids = new ArrayList<>();
-            return DiagnosticAidOrder.of(orderNumber, patientCedula, doctorCedula, creationDate,
-                                       OrderStatus.CREADA, diagnosticAids);
+            List<DiagnosticAidItem> diagnosticAids = orderEntity.getDiagnosticAids().stream()
+                    .map(item -> DiagnosticAidItem.of(
+                            ItemNumber.of(item.getItemNumber()),
+                            InventoryItemId.of(item.getInventoryItemId()),
+                            Quantity.of(item.getQuantity()),
+                            RequiresSpecialistAssistance.of(item.isRequiresSpecialistAssistance()),
+                            toSpecialty(item.getSpecialistTypeId())))
+                    .toList();
+
+            return DiagnosticAidOrder.of(OrderNumber.of(orderEntity.getOrderNumber()),
+                                       PatientCedula.of(orderEntity.getPatientCedula()),
+                                       DoctorCedula.of(orderEntity.getDoctorCedula()),
+                                       toCreationDate(orderEntity), OrderStatus.CREADA, diagnosticAids);
         } catch (Exception e) {
             throw new RuntimeException("Error creating DiagnosticAidOrder from entity: " + e.getMessage(), e);
         }
     }
 
-    private MedicationOrder toMedicationOrderDomain(MedicationOrderEntity entity) {
-        // Convertir MedicationOrderEntity a MedicationOrder del dominio
-        // Esta implementación depende de la estructura específica del modelo de dominio
-        throw new UnsupportedOperationException("Not implemented yet");
+    private OrderCreationDate toCreationDate(OrderEntity orderEntity) {
+        return OrderCreationDate.of(orderEntity.getCreationDate().atStartOfDay());
     }
 
-    private ProcedureOrder toProcedureOrderDomain(ProcedureOrderEntity entity) {
-        // Convertir ProcedureOrderEntity a ProcedureOrder del dominio
-        // Esta implementación depende de la estructura específica del modelo de dominio
-        throw new UnsupportedOperationException("Not implemented yet");
+    private MedicalSpecialty toSpecialty(String specialistTypeId) {
+        return specialistTypeId != null ? MedicalSpecialty.valueOf(specialistTypeId) : null;
     }
 
-    private DiagnosticAidOrder toDiagnosticAidOrderDomain(DiagnosticAidOrderEntity entity) {
-        // Convertir DiagnosticAidOrderEntity a DiagnosticAidOrder del dominio
-        // Esta implementación depende de la estructura específica del modelo de dominio
-        throw new UnsupportedOperationException("Not implemented yet");
+    /**
+     * Adds medication lines to an order header, denormalizing name and cost from inventory.
+     */
+    private void addMedicationItems(OrderEntity orderEntity, List<MedicationItem> medications) {
+        Map<String, InventoryItemEntity> inventory = loadInventoryItems(
+                medications.stream().map(MedicationItem::getMedicationId).toList());
+
+        for (MedicationItem medication : medications) {
+            String inventoryItemId = medication.getMedicationId().getValue();
+            InventoryItemEntity inventoryItem = inventory.get(inventoryItemId);
+
+            MedicationOrderEntity itemEntity = new MedicationOrderEntity(orderEntity,
+                    medication.getItemNumber().getValue(),
+                    inventoryItem != null ? inventoryItem.getName() : inventoryItemId,
+                    medication.getDosage().getValue(),
+                    medication.getDuration().getValue(),
+                    inventoryItem != null ? inventoryItem.getCost() : BigDecimal.ZERO);
+            itemEntity.setInventoryItemId(inventoryItemId);
+            orderEntity.addMedication(itemEntity);
+        }
+    }
+
+    /**
+     * Adds procedure lines to an order header, denormalizing name and cost from inventory.
+     */
+    private void addProcedureItems(OrderEntity orderEntity, List<ProcedureItem> procedures) {
+        Map<String, InventoryItemEntity> inventory = loadInventoryItems(
+                procedures.stream().map(ProcedureItem::getProcedureId).toList());
+
+        for (ProcedureItem procedure : procedures) {
+            String inventoryItemId = procedure.getProcedureId().getValue();
+            InventoryItemEntity inventoryItem = inventory.get(inventoryItemId);
+
+            ProcedureOrderEntity itemEntity = new ProcedureOrderEntity(orderEntity,
+                    procedure.getItemNumber().getValue(),
+                    inventoryItem != null ? inventoryItem.getName() : inventoryItemId,
+                    procedure.getQuantity().getValue(),
+                    procedure.getFrequency().getValue(),
+                    inventoryItem != null ? inventoryItem.getCost() : BigDecimal.ZERO,
+                    procedure.getRequiresSpecialistAssistance().isRequired(),
+                    procedure.getSpecialistType() != null ? procedure.getSpecialistType().name() : null);
+            itemEntity.setInventoryItemId(inventoryItemId);
+            orderEntity.addProcedure(itemEntity);
+        }
+    }
+
+    /**
+     * Adds diagnostic aid lines to an order header, denormalizing name and cost from inventory.
+     */
+    private void addDiagnosticAidItems(OrderEntity orderEntity, List<DiagnosticAidItem> diagnosticAids) {
+        Map<String, InventoryItemEntity> inventory = loadInventoryItems(
+                diagnosticAids.stream().map(DiagnosticAidItem::getDiagnosticAidId).toList());
+
+        for (DiagnosticAidItem diagnosticAid : diagnosticAids) {
+            String inventoryItemId = diagnosticAid.getDiagnosticAidId().getValue();
+            InventoryItemEntity inventoryItem = inventory.get(inventoryItemId);
+
+            DiagnosticAidOrderEntity itemEntity = new DiagnosticAidOrderEntity(orderEntity,
+                    diagnosticAid.getItemNumber().getValue(),
+                    inventoryItem != null ? inventoryItem.getName() : inventoryItemId,
+                    diagnosticAid.getQuantity().getValue(),
+                    inventoryItem != null ? inventoryItem.getCost() : BigDecimal.ZERO,
+                    diagnosticAid.getRequiresSpecialistAssistance().isRequired(),
+                    diagnosticAid.getSpecialistType() != null ? diagnosticAid.getSpecialistType().name() : null);
+            itemEntity.setInventoryItemId(inventoryItemId);
+            orderEntity.addDiagnosticAid(itemEntity);
+        }
+    }
+
+    /**
+     * Loads the inventory items referenced by an order in a single IN query, keyed by inventory item ID.
+     */
+    private Map<String, InventoryItemEntity> loadInventoryItems(Collection<InventoryItemId> inventoryItemIds) {
+        List<Long> ids = inventoryItemIds.stream()
+                .map(InventoryItemId::getValue)
+                .filter(value -> value.matches("\\d+"))
+                .map(Long::valueOf)
+                .distinct()
+                .toList();
+
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return inventoryJpaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(item -> String.valueOf(item.getId()), Function.identity()));
+    }
+
+    /**
+     * Loads the managed order header for an update, or starts a new one if it does not exist yet.
+     * Existing item lines are cleared so orphan removal replaces them with the new ones.
+     */
+    private OrderEntity prepareForUpdate(OrderNumber orderNumber, PatientCedula patientCedula,
+                                         DoctorCedula doctorCedula, OrderCreationDate creationDate,
+                                         OrderEntity.OrderType orderType) {
+        OrderEntity orderEntity = orderJpaRepository.findWithItemsByOrderNumber(orderNumber.getValue())
+                .orElseGet(() -> new OrderEntity(orderNumber.getValue(), null, null, null));
+
+        orderEntity.setPatientCedula(patientCedula.getValue());
+        orderEntity.setDoctorCedula(doctorCedula.getValue());
+        orderEntity.setCreationDate(creationDate.getValue().toLocalDate());
+        orderEntity.setOrderType(orderType);
+        orderEntity.getMedications().clear();
+        orderEntity.getProcedures().clear();
+        orderEntity.getDiagnosticAids().clear();
+        return orderEntity;
     }
 
     // Implementación de métodos nuevos agregados al repositorio
 
     @Override
     public List<MedicationOrder> findMedicationOrdersByDoctor(DoctorCedula doctorCedula) {
-        // Find orders by doctor cedula and return as medication orders
-        return orderJpaRepository.findByDoctorCedula(doctorCedula.getValue())
+        return orderJpaRepository.findWithItemsByDoctorCedulaAndOrderType(doctorCedula.getValue(),
+                        OrderEntity.OrderType.MEDICAMENTO)
                 .stream()
-                .map(this::createBasicMedicationOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toMedicationOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ProcedureOrder> findProcedureOrdersByDoctor(DoctorCedula doctorCedula) {
-        // Find orders by doctor cedula and return as procedure orders
-        return orderJpaRepository.findByDoctorCedula(doctorCedula.getValue())
+        return orderJpaRepository.findWithItemsByDoctorCedulaAndOrderType(doctorCedula.getValue(),
+                        OrderEntity.OrderType.PROCEDIMIENTO)
                 .stream()
-                .map(this::createBasicProcedureOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toProcedureOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<DiagnosticAidOrder> findDiagnosticAidOrdersByDoctor(DoctorCedula doctorCedula) {
-        // Find orders by doctor cedula and return as diagnostic aid orders
-        return orderJpaRepository.findByDoctorCedula(doctorCedula.getValue())
+        return orderJpaRepository.findWithItemsByDoctorCedulaAndOrderType(doctorCedula.getValue(),
+                        OrderEntity.OrderType.AYUDA_DIAGNOSTICA)
                 .stream()
-                .map(this::createBasicDiagnosticAidOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toDiagnosticAidOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<MedicationOrder> findMedicationOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate) {
-        // Find orders by date range and return as medication orders
-        return orderJpaRepository.findByCreationDateBetween(startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
+        return orderJpaRepository.findWithItemsByOrderTypeAndCreationDateBetween(OrderEntity.OrderType.MEDICAMENTO,
+                        startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
                 .stream()
-                .map(this::createBasicMedicationOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toMedicationOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ProcedureOrder> findProcedureOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate) {
-        // Find orders by date range and return as procedure orders
-        return orderJpaRepository.findByCreationDateBetween(startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
+        return orderJpaRepository.findWithItemsByOrderTypeAndCreationDateBetween(OrderEntity.OrderType.PROCEDIMIENTO,
+                        startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
                 .stream()
-                .map(this::createBasicProcedureOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toProcedureOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<DiagnosticAidOrder> findDiagnosticAidOrdersByDateRange(OrderCreationDate startDate, OrderCreationDate endDate) {
-        // Find orders by date range and return as diagnostic aid orders
-        return orderJpaRepository.findByCreationDateBetween(startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
+        return orderJpaRepository.findWithItemsByOrderTypeAndCreationDateBetween(OrderEntity.OrderType.AYUDA_DIAGNOSTICA,
+                        startDate.getValue().toLocalDate(), endDate.getValue().toLocalDate())
                 .stream()
-                .map(this::createBasicDiagnosticAidOrder)
-                .collect(java.util.stream.Collectors.toList());
+                .map(this::toDiagnosticAidOrderDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public MedicationOrder updateMedicationOrder(MedicationOrder medicationOrder) {
-        // Update the main order entity
-        OrderEntity orderEntity = new OrderEntity(
-                medicationOrder.getOrderNumber().getValue(),
-                medicationOrder.getPatientCedula().getValue(),
-                medicationOrder.getDoctorCedula().getValue(),
-                medicationOrder.getCreationDate().getValue().toLocalDate()
-        );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
+        OrderEntity orderEntity = prepareForUpdate(medicationOrder.getOrderNumber(),
+                medicationOrder.getPatientCedula(), medicationOrder.getDoctorCedula(),
+                medicationOrder.getCreationDate(), OrderEntity.OrderType.MEDICAMENTO);
+        addMedicationItems(orderEntity, medicationOrder.getMedications());
 
-        // In a real implementation, you would also update the medication items
-        // For now, just return the original order
-        return medicationOrder;
+        return toMedicationOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
+    @Transactional
     public ProcedureOrder updateProcedureOrder(ProcedureOrder procedureOrder) {
-        // Update the main order entity
-        OrderEntity orderEntity = new OrderEntity(
-                procedureOrder.getOrderNumber().getValue(),
-                procedureOrder.getPatientCedula().getValue(),
-                procedureOrder.getDoctorCedula().getValue(),
-                procedureOrder.getCreationDate().getValue().toLocalDate()
-        );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
+        OrderEntity orderEntity = prepareForUpdate(procedureOrder.getOrderNumber(),
+                procedureOrder.getPatientCedula(), procedureOrder.getDoctorCedula(),
+                procedureOrder.getCreationDate(), OrderEntity.OrderType.PROCEDIMIENTO);
+        addProcedureItems(orderEntity, procedureOrder.getProcedures());
 
-        // In a real implementation, you would also update the procedure items
-        return procedureOrder;
+        return toProcedureOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
+    @Transactional
     public DiagnosticAidOrder updateDiagnosticAidOrder(DiagnosticAidOrder diagnosticAidOrder) {
-        // Update the main order entity
-        OrderEntity orderEntity = new OrderEntity(
-                diagnosticAidOrder.getOrderNumber().getValue(),
-                diagnosticAidOrder.getPatientCedula().getValue(),
-                diagnosticAidOrder.getDoctorCedula().getValue(),
-                diagnosticAidOrder.getCreationDate().getValue().toLocalDate()
-        );
-        OrderEntity savedOrder = orderJpaRepository.save(orderEntity);
+        OrderEntity orderEntity = prepareForUpdate(diagnosticAidOrder.getOrderNumber(),
+                diagnosticAidOrder.getPatientCedula(), diagnosticAidOrder.getDoctorCedula(),
+                diagnosticAidOrder.getCreationDate(), OrderEntity.OrderType.AYUDA_DIAGNOSTICA);
+        addDiagnosticAidItems(orderEntity, diagnosticAidOrder.getDiagnosticAids());
 
-        // In a real implementation, you would also update the diagnostic aid items
-        return diagnosticAidOrder;
+        return toDiagnosticAidOrderDomain(orderJpaRepository.save(orderEntity));
     }
 
     @Override
@@ -395,4 +529,4 @@ public class OrderRepositoryAdapter implements OrderRepository {
         // Implementación básica - en una implementación real eliminaría de la base de datos
         deleteByOrderNumber(orderNumber);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package app.clinic.infrastructure.adapter;
+
+import app.clinic.domain.model.PatientRecordData;
+
+/**
+ * Encodes the unstructured data of a medical record entry for storage in a single column.
+ */
+public interface PatientRecordDataCodec {
+
+    /**
+     * Encodes the data, returning null when there is nothing to store.
+     */
+    byte[] encode(PatientRecordData data);
+
+    /**
+     * Decodes a stored payload; a null or empty payload yields empty data.
+     */
+    PatientRecordData decode(byte[] payload);
+}
@@ -1,11 +1,16 @@
 package app.clinic.infrastructure.adapter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.Patient;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientId;
@@ -16,21 +21,35 @@ import app.clinic.infrastructure.repository.PatientJpaRepository;
 
 /**
  * Adapter that implements the PatientRepository port using JPA.
- * Converts between domain objects and JPA entities.
+ * Converts between domain objects and JPA entities. Saving an existing patient copies the
+ * domain values onto the managed entity, so dirty checking issues a single versioned UPDATE
+ * of the changed columns and the emergency contact and policy rows are updated in place.
+ * A patient carrying a version older than the stored one is rejected instead of overwriting
+ * the newer row.
  */
 @Repository
 public class PatientRepositoryAdapter implements PatientRepository {
 
     private final PatientJpaRepository patientJpaRepository;
+    private final KeysetPageReader keysetPageReader;
 
-    public PatientRepositoryAdapter(PatientJpaRepository patientJpaRepository) {
+    public PatientRepositoryAdapter(PatientJpaRepository patientJpaRepository, KeysetPageReader keysetPageReader) {
         this.patientJpaRepository = patientJpaRepository;
+        this.keysetPageReader = keysetPageReader;
     }
 
     @Override
+    @Transactional
     public Patient save(Patient patient) {
-        PatientEntity entity = toEntity(patient);
-        PatientEntity savedEntity = patientJpaRepository.save(entity);
+        Optional<PatientEntity> existing = patientJpaRepository.findByCedula(patient.getCedula().getValue());
+        if (existing.isPresent()) {
+            // Managed entity: flushed here so the returned object carries the new version
+            PatientEntity entity = existing.get();
+            checkVersion(patient, entity);
+            copyToEntity(patient, entity);
+            return toDomain(patientJpaRepository.saveAndFlush(entity));
+        }
+        PatientEntity savedEntity = patientJpaRepository.save(toEntity(patient));
         return toDomain(savedEntity);
     }
 
@@ -46,6 +65,17 @@ public class PatientRepositoryAdapter implements PatientRepository {
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<Patient> findByCedulas(Collection<PatientCedula> cedulas) {
+        if (cedulas.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = cedulas.stream().map(PatientCedula::getValue).toList();
+        return patientJpaRepository.findByCedulaIn(values).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Patient> findByUsername(PatientUsername username) {
         return patientJpaRepository.findByUsername(username.getValue())
@@ -60,6 +90,18 @@ public class PatientRepositoryAdapter implements PatientRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public KeysetPage<Patient> findPage(Long afterCursor, int size) {
+        return keysetPageReader.readPage(afterCursor, size, patientJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                PatientEntity::getId, this::toDomain);
+    }
+
+    @Override
+    public Stream<Patient> streamAll() {
+        return keysetPageReader.stream(patientJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                PatientEntity::getId, this::toDomain);
+    }
+
     @Override
     public boolean existsByCedula(PatientCedula cedula) {
         return patientJpaRepository.existsByCedula(cedula.getValue());
@@ -89,21 +131,46 @@ public class PatientRepositoryAdapter implements PatientRepository {
     // Métodos de conversión entre dominio y entidad
 
     private PatientEntity toEntity(Patient patient) {
-        return new PatientEntity(
-                patient.getCedula().getValue(),
-                patient.getUsername().getValue(),
-                patient.getPassword().getHashedValue(),
-                patient.getFullName().getFirstNames(),
-                patient.getFullName().getLastNames(),
-                patient.getBirthDate().getValue(),
-                toEntityGender(patient.getGender()),
-                patient.getAddress().getValue(),
-                patient.getPhoneNumber().getValue(),
-                patient.getEmail().getValue(),
-                patient.getEmergencyContacts() != null && !patient.getEmergencyContacts().isEmpty()
-                    ? toEntityEmergencyContact(patient.getEmergencyContacts().get(0)) : null,
-                patient.getInsurancePolicy() != null ? toEntityInsurancePolicy(patient.getInsurancePolicy()) : null
-        );
+        PatientEntity entity = new PatientEntity();
+        entity.setCedula(patient.getCedula().getValue());
+        copyToEntity(patient, entity);
+        return entity;
+    }
+
+    private void checkVersion(Patient patient, PatientEntity entity) {
+        if (patient.getVersion() != null && !patient.getVersion().equals(entity.getVersion())) {
+            throw new OptimisticLockingFailureException("Patient " + patient.getCedula().getValue()
+                    + " was modified concurrently: expected version " + patient.getVersion()
+                    + ", stored version " + entity.getVersion());
+        }
+    }
+
+    private void copyToEntity(Patient patient, PatientEntity entity) {
+        entity.setUsername(patient.getUsername().getValue());
+        entity.setPassword(patient.getPassword().getHashedValue());
+        entity.setFirstNames(patient.getFullName().getFirstNames());
+        entity.setLastNames(patient.getFullName().getLastNames());
+        entity.setBirthDate(patient.getBirthDate().getValue());
+        entity.setGender(toEntityGender(patient.getGender()));
+        entity.setAddress(patient.getAddress().getValue());
+        entity.setPhoneNumber(patient.getPhoneNumber().getValue());
+        entity.setEmail(patient.getEmail().getValue());
+
+        if (patient.getEmergencyContacts() == null || patient.getEmergencyContacts().isEmpty()) {
+            entity.setEmergencyContact(null);
+        } else if (entity.getEmergencyContact() == null) {
+            entity.setEmergencyContact(toEntityEmergencyContact(patient.getEmergencyContacts().get(0)));
+        } else {
+            copyToEntity(patient.getEmergencyContacts().get(0), entity.getEmergencyContact());
+        }
+
+        if (patient.getInsurancePolicy() == null) {
+            entity.setInsurancePolicy(null);
+        } else if (entity.getInsurancePolicy() == null) {
+            entity.setInsurancePolicy(toEntityInsurancePolicy(patient.getInsurancePolicy()));
+        } else {
+            copyToEntity(patient.getInsurancePolicy(), entity.getInsurancePolicy());
+        }
     }
 
     private Patient toDomain(PatientEntity entity) {
@@ -119,7 +186,7 @@ public class PatientRepositoryAdapter implements PatientRepository {
                 app.clinic.domain.model.PatientEmail.of(entity.getEmail()),
                 entity.getEmergencyContact() != null ? List.of(toDomainEmergencyContact(entity.getEmergencyContact())) : List.of(),
                 entity.getInsurancePolicy() != null ? toDomainInsurancePolicy(entity.getInsurancePolicy()) : null
-        );
+        ).withVersion(entity.getVersion());
     }
 
     private PatientEntity.PatientGender toEntityGender(app.clinic.domain.model.PatientGender gender) {
@@ -189,6 +256,14 @@ public class PatientRepositoryAdapter implements PatientRepository {
         );
     }
 
+    private void copyToEntity(app.clinic.domain.model.EmergencyContact emergencyContact,
+                              app.clinic.infrastructure.entity.EmergencyContactEntity entity) {
+        entity.setFirstNames(emergencyContact.getName().getFirstNames());
+        entity.setLastNames(emergencyContact.getName().getLastNames());
+        entity.setRelationship(toEntityRelationship(emergencyContact.getRelationship()));
+        entity.setPhoneNumber(emergencyContact.getPhoneNumber().getValue());
+    }
+
     private app.clinic.domain.model.EmergencyContact toDomainEmergencyContact(app.clinic.infrastructure.entity.EmergencyContactEntity entity) {
         return app.clinic.domain.model.EmergencyContact.of(
                 app.clinic.domain.model.EmergencyContactName.of(entity.getFirstNames(), entity.getLastNames()),
@@ -206,6 +281,14 @@ public class PatientRepositoryAdapter implements PatientRepository {
         );
     }
 
+    private void copyToEntity(app.clinic.domain.model.InsurancePolicy insurancePolicy,
+                              app.clinic.infrastructure.entity.InsurancePolicyEntity entity) {
+        entity.setCompanyName(insurancePolicy.getCompanyName().getValue());
+        entity.setPolicyNumber(insurancePolicy.getPolicyNumber().getValue());
+        entity.setStatus(toEntityPolicyStatus(insurancePolicy.getStatus()));
+        entity.setExpirationDate(insurancePolicy.getExpirationDate().getValue());
+    }
+
     private app.clinic.domain.model.InsurancePolicy toDomainInsurancePolicy(app.clinic.infrastructure.entity.InsurancePolicyEntity entity) {
         return app.clinic.domain.model.InsurancePolicy.of(
                 app.clinic.domain.model.InsuranceCompanyName.of(entity.getCompanyName()),
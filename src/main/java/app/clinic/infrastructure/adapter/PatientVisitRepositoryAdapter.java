@@ -4,9 +4,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Repository;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.PatientCedula;
 import app.clinic.domain.model.PatientVisit;
 import app.clinic.domain.model.PatientVisitId;
@@ -22,9 +24,11 @@ import app.clinic.infrastructure.repository.PatientVisitJpaRepository;
 public class PatientVisitRepositoryAdapter implements PatientVisitRepository {
 
     private final PatientVisitJpaRepository patientVisitJpaRepository;
+    private final KeysetPageReader keysetPageReader;
 
-    public PatientVisitRepositoryAdapter(PatientVisitJpaRepository patientVisitJpaRepository) {
+    public PatientVisitRepositoryAdapter(PatientVisitJpaRepository patientVisitJpaRepository, KeysetPageReader keysetPageReader) {
         this.patientVisitJpaRepository = patientVisitJpaRepository;
+        this.keysetPageReader = keysetPageReader;
     }
 
     @Override
@@ -56,11 +60,22 @@ public class PatientVisitRepositoryAdapter implements PatientVisitRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public KeysetPage<PatientVisit> findPage(Long afterCursor, int size) {
+        return keysetPageReader.readPage(afterCursor, size, patientVisitJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                PatientVisitEntity::getId, this::toDomain);
+    }
+
+    @Override
+    public Stream<PatientVisit> streamAll() {
+        return keysetPageReader.stream(patientVisitJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                PatientVisitEntity::getId, this::toDomain);
+    }
+
     @Override
     public List<PatientVisit> findAllCompleted() {
-        return patientVisitJpaRepository.findAll()
+        return patientVisitJpaRepository.findByCompletedTrue()
                 .stream()
-                .filter(PatientVisitEntity::isCompleted)
                 .map(this::toDomain)
                 .collect(Collectors.toList());
     }
@@ -87,10 +102,22 @@ public class PatientVisitRepositoryAdapter implements PatientVisitRepository {
 
     @Override
     public long countCompleted() {
-        return patientVisitJpaRepository.findAll()
-                .stream()
-                .mapToLong(entity -> entity.isCompleted() ? 1 : 0)
-                .sum();
+        return patientVisitJpaRepository.countByCompletedTrue();
+    }
+
+    @Override
+    public long countCompletedByPatient(PatientCedula patientCedula) {
+        return patientVisitJpaRepository.countByPatientCedulaAndCompletedTrue(patientCedula.getValue());
+    }
+
+    @Override
+    public boolean existsPendingByPatient(PatientCedula patientCedula) {
+        return patientVisitJpaRepository.existsByPatientCedulaAndCompletedFalse(patientCedula.getValue());
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLatestVisitDateTime(PatientCedula patientCedula) {
+        return patientVisitJpaRepository.findLatestVisitDateTimeByPatientCedula(patientCedula.getValue());
     }
 
     @Override
@@ -0,0 +1,57 @@
+package app.clinic.infrastructure.adapter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.port.InvoiceNumberAllocator;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository;
+import app.clinic.infrastructure.repository.NumberSequenceJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the InvoiceNumberAllocator port with a hi/lo block allocator
+ * over the "invoices" row of the number_sequences table, the same row-locked counter
+ * table used for order numbers. Numbers are unique across nodes; they increase with
+ * time on each node, but blocks held by different nodes interleave.
+ * This is the default strategy (app.billing.invoice-number.strategy=sequence).
+ */
+@Component
+@ConditionalOnProperty(name = "app.billing.invoice-number.strategy", havingValue = "sequence", matchIfMissing = true)
+public class SequenceInvoiceNumberAllocator implements InvoiceNumberAllocator {
+
+    static final String SEQUENCE_NAME = "invoices";
+
+    private final InvoiceJpaRepository invoiceJpaRepository;
+    private final HiLoNumberAllocator allocator;
+
+    public SequenceInvoiceNumberAllocator(NumberSequenceJpaRepository sequenceJpaRepository,
+                                          InvoiceJpaRepository invoiceJpaRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.billing.invoice-number.block-size:100}") int blockSize) {
+        this.invoiceJpaRepository = invoiceJpaRepository;
+        this.allocator = new HiLoNumberAllocator(SEQUENCE_NAME, blockSize, Long.MAX_VALUE - blockSize,
+                this::initialValue, sequenceJpaRepository, transactionManager, meterRegistry,
+                "clinic.invoices.numbers");
+    }
+
+    @Override
+    public InvoiceNumber nextInvoiceNumber() {
+        return InvoiceNumberFormat.format(allocator.next());
+    }
+
+    /**
+     * Seeds the sequence just above the highest allocated invoice number already stored.
+     * Allocated numbers have a fixed width, so their text order is also their numeric order.
+     */
+    private long initialValue() {
+        int prefixLength = InvoiceNumberFormat.PREFIX.length();
+        return invoiceJpaRepository
+                .findMaxInvoiceNumber(InvoiceNumberFormat.PREFIX, prefixLength + InvoiceNumberFormat.DIGITS)
+                .map(invoiceNumber -> Long.parseLong(invoiceNumber.substring(prefixLength)) + 1)
+                .orElse(1L);
+    }
+}
@@ -0,0 +1,83 @@
+package app.clinic.infrastructure.adapter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.port.InvoiceNumberAllocator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapter that implements the InvoiceNumberAllocator port with node + time + counter
+ * identifiers, without any database round trip (app.billing.invoice-number.strategy=snowflake).
+ * Layout: 41 bits of milliseconds since 2024-01-01, 10 bits of node id, 12 bits of counter.
+ * Every node must be configured with a distinct app.billing.invoice-number.node-id.
+ * Numbers sort by creation time across nodes to millisecond precision; if the clock goes
+ * backwards, or more than 4096 numbers are requested in one millisecond, the allocator
+ * keeps counting forward from the last issued timestamp so numbers never repeat or decrease.
+ */
+@Component
+@ConditionalOnProperty(name = "app.billing.invoice-number.strategy", havingValue = "snowflake")
+public class SnowflakeInvoiceNumberAllocator implements InvoiceNumberAllocator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final Counter allocatedCounter;
+
+    /**
+     * Last issued (timestamp << COUNTER_BITS | counter); the counter carries into the timestamp.
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public SnowflakeInvoiceNumberAllocator(@Value("${app.billing.invoice-number.node-id:0}") long nodeId,
+                                           MeterRegistry meterRegistry) {
+        this(nodeId, meterRegistry, System::currentTimeMillis);
+    }
+
+    public SnowflakeInvoiceNumberAllocator(long nodeId, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Invoice number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.allocatedCounter = Counter.builder("clinic.invoices.numbers.allocated")
+                .description("Invoice numbers handed out by the allocator")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InvoiceNumber nextInvoiceNumber() {
+        allocatedCounter.increment();
+        return InvoiceNumberFormat.format(nextValue());
+    }
+
+    /**
+     * Lock-free: one CAS on the packed state per number.
+     */
+    long nextValue() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << COUNTER_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            next = Math.max(now, previous + 1);
+        } while (!lastState.compareAndSet(previous, next));
+
+        long timestamp = next >>> COUNTER_BITS;
+        return (timestamp << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | (next & COUNTER_MASK);
+    }
+}
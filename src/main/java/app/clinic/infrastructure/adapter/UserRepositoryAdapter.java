@@ -3,9 +3,13 @@ package app.clinic.infrastructure.adapter;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.User;
 import app.clinic.domain.model.UserAddress;
 import app.clinic.domain.model.UserBirthDate;
@@ -23,21 +27,34 @@ import app.clinic.infrastructure.repository.UserJpaRepository;
 
 /**
  * Adapter that implements the UserRepository port using JPA.
- * Converts between domain objects and JPA entities.
+ * Converts between domain objects and JPA entities. Saving an existing user copies the
+ * domain values onto the managed entity, so dirty checking issues a single versioned UPDATE.
+ * A user carrying a version older than the stored one is rejected instead of overwriting
+ * the newer row.
  */
 @Repository
 public class UserRepositoryAdapter implements UserRepository {
 
     private final UserJpaRepository userJpaRepository;
+    private final KeysetPageReader keysetPageReader;
 
-    public UserRepositoryAdapter(UserJpaRepository userJpaRepository) {
+    public UserRepositoryAdapter(UserJpaRepository userJpaRepository, KeysetPageReader keysetPageReader) {
         this.userJpaRepository = userJpaRepository;
+        this.keysetPageReader = keysetPageReader;
     }
 
     @Override
+    @Transactional
     public User save(User user) {
-        UserEntity entity = toEntity(user);
-        UserEntity savedEntity = userJpaRepository.save(entity);
+        Optional<UserEntity> existing = userJpaRepository.findByCedula(user.getCedula().getValue());
+        if (existing.isPresent()) {
+            // Managed entity: flushed here so the returned object carries the new version
+            UserEntity entity = existing.get();
+            checkVersion(user, entity);
+            copyToEntity(user, entity);
+            return toDomain(userJpaRepository.saveAndFlush(entity));
+        }
+        UserEntity savedEntity = userJpaRepository.save(toEntity(user));
         return toDomain(savedEntity);
     }
 
@@ -83,6 +100,18 @@ public class UserRepositoryAdapter implements UserRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public KeysetPage<User> findPage(Long afterCursor, int size) {
+        return keysetPageReader.readPage(afterCursor, size, userJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                UserEntity::getId, this::toDomain);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return keysetPageReader.stream(userJpaRepository::findByIdGreaterThanOrderByIdAsc,
+                UserEntity::getId, this::toDomain);
+    }
+
     @Override
     public boolean existsByCedula(UserCedula cedula) {
         return userJpaRepository.existsByCedula(cedula.getValue());
@@ -117,19 +146,31 @@ public class UserRepositoryAdapter implements UserRepository {
     // Métodos de conversión entre dominio y entidad
 
     private UserEntity toEntity(User user) {
-        return new UserEntity(
-                user.getCedula().getValue(),
-                user.getUsername().getValue(),
-                user.getPassword().getHashedValue(),
-                user.getFullName().getFirstNames(),
-                user.getFullName().getLastNames(),
-                user.getBirthDate().getValue(),
-                user.getAddress().getValue(),
-                user.getPhoneNumber().getValue(),
-                user.getEmail().getValue(),
-                toEntityRole(user.getRole()),
-                user.isActive()
-        );
+        UserEntity entity = new UserEntity();
+        entity.setCedula(user.getCedula().getValue());
+        copyToEntity(user, entity);
+        return entity;
+    }
+
+    private void checkVersion(User user, UserEntity entity) {
+        if (user.getVersion() != null && !user.getVersion().equals(entity.getVersion())) {
+            throw new OptimisticLockingFailureException("User " + user.getCedula().getValue()
+                    + " was modified concurrently: expected version " + user.getVersion()
+                    + ", stored version " + entity.getVersion());
+        }
+    }
+
+    private void copyToEntity(User user, UserEntity entity) {
+        entity.setUsername(user.getUsername().getValue());
+        entity.setPassword(user.getPassword().getHashedValue());
+        entity.setFirstNames(user.getFullName().getFirstNames());
+        entity.setLastNames(user.getFullName().getLastNames());
+        entity.setBirthDate(user.getBirthDate().getValue());
+        entity.setAddress(user.getAddress().getValue());
+        entity.setPhoneNumber(user.getPhoneNumber().getValue());
+        entity.setEmail(user.getEmail().getValue());
+        entity.setRole(toEntityRole(user.getRole()));
+        entity.setActive(user.isActive());
     }
 
     private User toDomain(UserEntity entity) {
@@ -144,7 +185,7 @@ public class UserRepositoryAdapter implements UserRepository {
                 UserEmail.of(entity.getEmail()),
                 toDomainRole(entity.getRole()),
                 entity.isActive()
-        );
+        ).withVersion(entity.getVersion());
     }
 
     private UserEntity.UserRole toEntityRole(UserRole role) {
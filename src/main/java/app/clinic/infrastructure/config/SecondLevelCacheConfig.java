@@ -0,0 +1,71 @@
+package app.clinic.infrastructure.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.CreatedExpiryPolicy;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import app.clinic.infrastructure.entity.InsurancePolicyEntity;
+import app.clinic.infrastructure.entity.InventoryItemEntity;
+import app.clinic.infrastructure.entity.UserEntity;
+
+/**
+ * Configuration of the Hibernate second-level cache.
+ * Creates the JCache regions for reference data (inventory items, users and insurance
+ * policies) and for the cached catalog and user lookup queries, and hands the cache
+ * manager to Hibernate. Entity regions expire after a while as a safety net for writes
+ * made outside Hibernate; writes through the JPA repositories update or invalidate the
+ * regions themselves. Hit and miss counts are published by the Hibernate metrics binder.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Query cache region for the active inventory catalog queries.
+     */
+    public static final String INVENTORY_CATALOG_REGION = "inventory-catalog";
+
+    /**
+     * Query cache region for user lookups by cedula and username.
+     */
+    public static final String USER_LOOKUP_REGION = "user-lookups";
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.reference-data.ttl:PT30M}") Duration referenceDataTtl,
+            @Value("${app.cache.queries.ttl:PT10M}") Duration queryTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider().getCacheManager();
+        createRegion(cacheManager, InventoryItemEntity.class.getName(), referenceDataTtl);
+        createRegion(cacheManager, UserEntity.class.getName(), referenceDataTtl);
+        createRegion(cacheManager, InsurancePolicyEntity.class.getName(), referenceDataTtl);
+        createRegion(cacheManager, INVENTORY_CATALOG_REGION, queryTtl);
+        createRegion(cacheManager, USER_LOOKUP_REGION, queryTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        MutableConfiguration<Object, Object> configuration = new MutableConfiguration<>()
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true)
+                .setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(
+                        new javax.cache.expiry.Duration(TimeUnit.MILLISECONDS, ttl.toMillis())));
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 /**
@@ -16,14 +17,18 @@ import jakarta.persistence.Table;
  * Maps domain Appointment objects to database records.
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_patient_datetime", columnList = "patient_cedula, appointment_datetime"),
+        @Index(name = "idx_appointments_doctor_datetime", columnList = "doctor_cedula, appointment_datetime"),
+        @Index(name = "idx_appointments_datetime", columnList = "appointment_datetime")
+})
 public class AppointmentEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "appointment_id", nullable = false, unique = true, length = 20)
+    @Column(name = "appointment_id", nullable = false, unique = true, length = 36)
     private String appointmentId;
 
     @Column(name = "patient_cedula", nullable = false, length = 20)
@@ -0,0 +1,140 @@
+package app.clinic.infrastructure.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * JPA entity representing copayment_accumulators table in the database.
+ * Holds the running copayment and billed totals of a patient in a year, kept in step
+ * with the invoices table. The version column makes concurrent updates of the same
+ * row fail instead of overwriting each other.
+ */
+@Entity
+@Table(name = "copayment_accumulators")
+public class CopaymentAccumulatorEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "copayment_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal copaymentTotal;
+
+    @Column(name = "billed_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal billedTotal;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Default constructor
+    public CopaymentAccumulatorEntity() {}
+
+    // Constructor with parameters
+    public CopaymentAccumulatorEntity(Key id, BigDecimal copaymentTotal, BigDecimal billedTotal) {
+        this.id = id;
+        this.copaymentTotal = copaymentTotal;
+        this.billedTotal = billedTotal;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Applies a signed change to both totals, never going below zero.
+     */
+    public void apply(BigDecimal copaymentDelta, BigDecimal billedDelta) {
+        this.copaymentTotal = copaymentTotal.add(copaymentDelta).max(BigDecimal.ZERO);
+        this.billedTotal = billedTotal.add(billedDelta).max(BigDecimal.ZERO);
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Key getId() {
+        return id;
+    }
+
+    public void setId(Key id) {
+        this.id = id;
+    }
+
+    public BigDecimal getCopaymentTotal() {
+        return copaymentTotal;
+    }
+
+    public void setCopaymentTotal(BigDecimal copaymentTotal) {
+        this.copaymentTotal = copaymentTotal;
+    }
+
+    public BigDecimal getBilledTotal() {
+        return billedTotal;
+    }
+
+    public void setBilledTotal(BigDecimal billedTotal) {
+        this.billedTotal = billedTotal;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Composite primary key: patient and invoice year.
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "patient_cedula", length = 20, nullable = false)
+        private String patientCedula;
+
+        @Column(name = "invoice_year", nullable = false)
+        private Integer year;
+
+        // Default constructor
+        public Key() {}
+
+        public Key(String patientCedula, Integer year) {
+            this.patientCedula = patientCedula;
+            this.year = year;
+        }
+
+        public String getPatientCedula() {
+            return patientCedula;
+        }
+
+        public Integer getYear() {
+            return year;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(patientCedula, key.patientCedula) &&
+                   Objects.equals(year, key.year);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(patientCedula, year);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package app.clinic.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity representing doctor_schedule_locks table in the database.
+ * Holds one row per doctor whose agenda has been booked. The row carries no data: it is locked
+ * while an appointment of the doctor is checked for overlaps and saved, so bookings for the
+ * same doctor are serialized across all nodes.
+ */
+@Entity
+@Table(name = "doctor_schedule_locks")
+public class DoctorScheduleLockEntity {
+
+    @Id
+    @Column(name = "doctor_cedula", length = 20)
+    private String doctorCedula;
+
+    // Default constructor
+    public DoctorScheduleLockEntity() {}
+
+    // Constructor with parameters
+    public DoctorScheduleLockEntity(String doctorCedula) {
+        this.doctorCedula = doctorCedula;
+    }
+
+    // Getters and Setters
+    public String getDoctorCedula() {
+        return doctorCedula;
+    }
+
+    public void setDoctorCedula(String doctorCedula) {
+        this.doctorCedula = doctorCedula;
+    }
+}
@@ -2,6 +2,10 @@ package app.clinic.infrastructure.entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -16,6 +20,8 @@ import jakarta.persistence.Table;
  * Maps domain InsurancePolicy objects to database records.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "insurance_policies")
 public class InsurancePolicyEntity {
 
@@ -3,6 +3,8 @@ package app.clinic.infrastructure.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,12 +13,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Entidad JPA para persistencia de facturas en la base de datos.
  * Mapea la información de facturación de pacientes.
+ * Las actualizaciones escriben solo las columnas modificadas y se validan contra la columna de versión.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "invoices")
 public class InvoiceEntity {
 
@@ -58,6 +63,10 @@ public class InvoiceEntity {
     @Column(name = "invoice_year")
     private Integer year;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructores
     public InvoiceEntity() {}
 
@@ -180,6 +189,10 @@ public class InvoiceEntity {
         this.year = year;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public String toString() {
         return String.format("InvoiceEntity{id=%d, invoiceNumber='%s', patientCedula='%s', totalAmount=%s, status=%s}",
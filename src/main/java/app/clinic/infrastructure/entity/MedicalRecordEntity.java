@@ -9,13 +9,18 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 /**
  * JPA entity representing medical records table in the database.
- * Maps domain PatientRecord objects to database records.
+ * Each row holds one PatientRecordEntry of a patient, keyed by patient cedula and record date.
+ * The unique key doubles as the index for reading a patient's history in date order.
+ * The unstructured entry data is kept as an encoded binary payload.
  */
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_medical_records_patient_date", columnNames = {"patient_cedula", "record_date"})
+})
 public class MedicalRecordEntity {
 
     @Id
@@ -41,15 +46,15 @@ public class MedicalRecordEntity {
     private String diagnosis;
 
     @Lob
-    @Column(name = "additional_data", columnDefinition = "TEXT")
-    private String additionalData;
+    @Column(name = "additional_data")
+    private byte[] additionalData;
 
     // Default constructor
     public MedicalRecordEntity() {}
 
     // Constructor with parameters
     public MedicalRecordEntity(String patientCedula, LocalDate recordDate, String doctorCedula,
-                              String consultationReason, String symptoms, String diagnosis, String additionalData) {
+                              String consultationReason, String symptoms, String diagnosis, byte[] additionalData) {
         this.patientCedula = patientCedula;
         this.recordDate = recordDate;
         this.doctorCedula = doctorCedula;
@@ -116,11 +121,11 @@ public class MedicalRecordEntity {
         this.diagnosis = diagnosis;
     }
 
-    public String getAdditionalData() {
+    public byte[] getAdditionalData() {
         return additionalData;
     }
 
-    public void setAdditionalData(String additionalData) {
+    public void setAdditionalData(byte[] additionalData) {
         this.additionalData = additionalData;
     }
 }
\ No newline at end of file
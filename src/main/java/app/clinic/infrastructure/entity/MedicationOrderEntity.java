@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -20,8 +21,10 @@ import jakarta.persistence.Table;
 @Table(name = "medication_orders")
 public class MedicationOrderEntity {
 
+    // Pooled sequence ids (table-emulated on MySQL) so item inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medication_order_seq")
+    @SequenceGenerator(name = "medication_order_seq", sequenceName = "medication_order_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +34,9 @@ public class MedicationOrderEntity {
     @Column(name = "item_number", nullable = false)
     private Integer itemNumber;
 
+    @Column(name = "inventory_item_id", length = 20)
+    private String inventoryItemId;
+
     @Column(name = "medication_name", nullable = false, length = 100)
     private String medicationName;
 
@@ -82,6 +88,14 @@ public class MedicationOrderEntity {
         this.itemNumber = itemNumber;
     }
 
+    public String getInventoryItemId() {
+        return inventoryItemId;
+    }
+
+    public void setInventoryItemId(String inventoryItemId) {
+        this.inventoryItemId = inventoryItemId;
+    }
+
     public String getMedicationName() {
         return medicationName;
     }
@@ -0,0 +1,49 @@
+package app.clinic.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity representing number_sequences table in the database.
+ * Stores, per named sequence (order numbers, invoice numbers), the high-water mark of
+ * reserved number blocks (hi/lo allocation).
+ */
+@Entity
+@Table(name = "number_sequences")
+public class NumberSequenceEntity {
+
+    @Id
+    @Column(name = "sequence_name", length = 50)
+    private String sequenceName;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    // Default constructor
+    public NumberSequenceEntity() {}
+
+    // Constructor with parameters
+    public NumberSequenceEntity(String sequenceName, Long nextValue) {
+        this.sequenceName = sequenceName;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public void setSequenceName(String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -1,12 +1,22 @@
 package app.clinic.infrastructure.entity;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 
 /**
@@ -14,7 +24,10 @@ import jakarta.persistence.Table;
  * Maps domain Order objects to database records.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_patient_type_date", columnList = "patient_cedula, order_type, creation_date"),
+        @Index(name = "idx_orders_doctor_type_date", columnList = "doctor_cedula, order_type, creation_date")
+})
 public class OrderEntity {
 
     @Id
@@ -33,15 +46,26 @@ public class OrderEntity {
     @Column(name = "creation_date", nullable = false)
     private LocalDate creationDate;
 
-    // Temporarily commenting out complex relationships to resolve class loading issues
-    // @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
-    // private List<MedicationOrderEntity> medications;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_type", nullable = false, length = 20)
+    private OrderType orderType;
+
+    // Items are kept in ordered sets so header and lines of every type can be fetch-joined
+    // in one query (an order only ever has lines of a single type, so there is no cartesian blow-up)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("itemNumber ASC")
+    @BatchSize(size = 50)
+    private Set<MedicationOrderEntity> medications = new LinkedHashSet<>();
 
-    // @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
-    // private List<ProcedureOrderEntity> procedures;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("itemNumber ASC")
+    @BatchSize(size = 50)
+    private Set<ProcedureOrderEntity> procedures = new LinkedHashSet<>();
 
-    // @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
-    // private List<DiagnosticAidOrderEntity> diagnosticAids;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("itemNumber ASC")
+    @BatchSize(size = 50)
+    private Set<DiagnosticAidOrderEntity> diagnosticAids = new LinkedHashSet<>();
 
     // Default constructor
     public OrderEntity() {}
@@ -54,6 +78,12 @@ public class OrderEntity {
         this.creationDate = creationDate;
     }
 
+    public OrderEntity(String orderNumber, String patientCedula, String doctorCedula, LocalDate creationDate,
+                       OrderType orderType) {
+        this(orderNumber, patientCedula, doctorCedula, creationDate);
+        this.orderType = orderType;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -95,28 +125,69 @@ public class OrderEntity {
         this.creationDate = creationDate;
     }
 
-    // Temporarily commenting out getters and setters for complex relationships
-    // public List<MedicationOrderEntity> getMedications() {
-    //     return medications;
-    // }
+    public OrderType getOrderType() {
+        return orderType;
+    }
+
+    public void setOrderType(OrderType orderType) {
+        this.orderType = orderType;
+    }
+
+    public Set<MedicationOrderEntity> getMedications() {
+        return medications;
+    }
+
+    public void setMedications(Set<MedicationOrderEntity> medications) {
+        this.medications = medications;
+    }
+
+    public Set<ProcedureOrderEntity> getProcedures() {
+        return procedures;
+    }
 
-    // public void setMedications(List<MedicationOrderEntity> medications) {
-    //     this.medications = medications;
-    // }
+    public void setProcedures(Set<ProcedureOrderEntity> procedures) {
+        this.procedures = procedures;
+    }
 
-    // public List<ProcedureOrderEntity> getProcedures() {
-    //     return procedures;
-    // }
+    public Set<DiagnosticAidOrderEntity> getDiagnosticAids() {
+        return diagnosticAids;
+    }
 
-    // public void setProcedures(List<ProcedureOrderEntity> procedures) {
-    //     this.procedures = procedures;
-    // }
+    public void setDiagnosticAids(Set<DiagnosticAidOrderEntity> diagnosticAids) {
+        this.diagnosticAids = diagnosticAids;
+    }
 
-    // public List<DiagnosticAidOrderEntity> getDiagnosticAids() {
-    //     return diagnosticAids;
-    // }
+    /**
+     * Adds a medication line and links it back to this order.
+     */
+    public void addMedication(MedicationOrderEntity medication) {
+        medication.setOrder(this);
+        medications.add(medication);
+    }
 
-    // public void setDiagnosticAids(List<DiagnosticAidOrderEntity> diagnosticAids) {
-    //     this.diagnosticAids = diagnosticAids;
-    // }
+    /**
+     * Adds a procedure line and links it back to this order.
+     */
+    public void addProcedure(ProcedureOrderEntity procedure) {
+        procedure.setOrder(this);
+        procedures.add(procedure);
+    }
+
+    /**
+     * Adds a diagnostic aid line and links it back to this order.
+     */
+    public void addDiagnosticAid(DiagnosticAidOrderEntity diagnosticAid) {
+        diagnosticAid.setOrder(this);
+        diagnosticAids.add(diagnosticAid);
+    }
+
+    /**
+     * Enumeration for order types in the database.
+     * Discriminates which item table holds the order lines.
+     */
+    public enum OrderType {
+        MEDICAMENTO,
+        PROCEDIMIENTO,
+        AYUDA_DIAGNOSTICA
+    }
 }
\ No newline at end of file
@@ -2,26 +2,45 @@ package app.clinic.infrastructure.entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * JPA entity representing patients table in the database.
  * Maps domain Patient objects to database records.
+ * Updates write only the changed columns and are checked against the version column.
+ * The emergency contact and insurance policy are loaded lazily; repository methods that
+ * map to the domain fetch them in the same query through the named entity graph.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "patients")
+@NamedEntityGraph(name = PatientEntity.WITH_CONTACT_AND_POLICY, attributeNodes = {
+    @NamedAttributeNode("emergencyContact"),
+    @NamedAttributeNode("insurancePolicy")
+})
 public class PatientEntity {
 
+    /**
+     * Entity graph that loads the emergency contact and insurance policy with the patient.
+     */
+    public static final String WITH_CONTACT_AND_POLICY = "PatientEntity.withContactAndPolicy";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -57,14 +76,18 @@ public class PatientEntity {
     @Column(name = "email", nullable = false, length = 100)
     private String email;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "emergency_contact_id")
     private EmergencyContactEntity emergencyContact;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "insurance_policy_id")
     private InsurancePolicyEntity insurancePolicy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Default constructor
     public PatientEntity() {}
 
@@ -196,6 +219,10 @@ public class PatientEntity {
         this.insurancePolicy = insurancePolicy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Enumeration for patient gender in the database.
      */
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -18,7 +19,10 @@ import jakarta.persistence.Table;
  * Maps domain PatientVisit objects to database records.
  */
 @Entity
-@Table(name = "patient_visits")
+@Table(name = "patient_visits", indexes = {
+        @Index(name = "idx_patient_visits_patient_completed_datetime",
+               columnList = "patient_cedula, completed, visit_date_time")
+})
 public class PatientVisitEntity {
 
     @Id
@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -20,8 +21,10 @@ import jakarta.persistence.Table;
 @Table(name = "procedure_orders")
 public class ProcedureOrderEntity {
 
+    // Pooled sequence ids (table-emulated on MySQL) so item inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "procedure_order_seq")
+    @SequenceGenerator(name = "procedure_order_seq", sequenceName = "procedure_order_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +34,9 @@ public class ProcedureOrderEntity {
     @Column(name = "item_number", nullable = false)
     private Integer itemNumber;
 
+    @Column(name = "inventory_item_id", length = 20)
+    private String inventoryItemId;
+
     @Column(name = "procedure_name", nullable = false, length = 100)
     private String procedureName;
 
@@ -91,6 +97,14 @@ public class ProcedureOrderEntity {
         this.itemNumber = itemNumber;
     }
 
+    public String getInventoryItemId() {
+        return inventoryItemId;
+    }
+
+    public void setInventoryItemId(String inventoryItemId) {
+        this.inventoryItemId = inventoryItemId;
+    }
+
     public String getProcedureName() {
         return procedureName;
     }
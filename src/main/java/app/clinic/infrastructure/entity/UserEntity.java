@@ -2,6 +2,11 @@ package app.clinic.infrastructure.entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,12 +15,17 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * JPA entity representing users table in the database.
  * Maps domain User objects to database records.
+ * Updates write only the changed columns and are checked against the version column.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Table(name = "users")
 public class UserEntity {
 
@@ -57,6 +67,10 @@ public class UserEntity {
     @Column(name = "active", nullable = false)
     private boolean active = true;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Default constructor
     public UserEntity() {}
 
@@ -178,6 +192,10 @@ public class UserEntity {
         this.active = active;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Enumeration for user roles in the database.
      */
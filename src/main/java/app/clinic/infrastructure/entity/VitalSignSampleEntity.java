@@ -0,0 +1,132 @@
+package app.clinic.infrastructure.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity representing the vital sign samples table in the database.
+ * Each row holds the vital signs taken in one patient visit as small integers: temperature and oxygen
+ * level in hundredths, pulse and blood pressure as measured. A null column is a vital sign that was not
+ * measured. The visit id is unique, so a visit has at most one sample; the (patient_cedula, recorded_at)
+ * index serves the reads of a patient's series in time order.
+ */
+@Entity
+@Table(name = "vital_sign_samples", indexes = {
+        @Index(name = "idx_vital_sign_samples_patient_time", columnList = "patient_cedula, recorded_at")
+})
+public class VitalSignSampleEntity {
+
+    // Pooled sequence ids so the backfill inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vital_sign_sample_seq")
+    @SequenceGenerator(name = "vital_sign_sample_seq", sequenceName = "vital_sign_sample_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "visit_id", nullable = false, unique = true, length = 20)
+    private String visitId;
+
+    @Column(name = "patient_cedula", nullable = false, length = 20)
+    private String patientCedula;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "temperature_centi")
+    private Short temperatureCenti;
+
+    @Column(name = "pulse")
+    private Short pulse;
+
+    @Column(name = "oxygen_level_centi")
+    private Short oxygenLevelCenti;
+
+    @Column(name = "systolic_pressure")
+    private Short systolicPressure;
+
+    @Column(name = "diastolic_pressure")
+    private Short diastolicPressure;
+
+    // Default constructor
+    public VitalSignSampleEntity() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getVisitId() {
+        return visitId;
+    }
+
+    public void setVisitId(String visitId) {
+        this.visitId = visitId;
+    }
+
+    public String getPatientCedula() {
+        return patientCedula;
+    }
+
+    public void setPatientCedula(String patientCedula) {
+        this.patientCedula = patientCedula;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public Short getTemperatureCenti() {
+        return temperatureCenti;
+    }
+
+    public void setTemperatureCenti(Short temperatureCenti) {
+        this.temperatureCenti = temperatureCenti;
+    }
+
+    public Short getPulse() {
+        return pulse;
+    }
+
+    public void setPulse(Short pulse) {
+        this.pulse = pulse;
+    }
+
+    public Short getOxygenLevelCenti() {
+        return oxygenLevelCenti;
+    }
+
+    public void setOxygenLevelCenti(Short oxygenLevelCenti) {
+        this.oxygenLevelCenti = oxygenLevelCenti;
+    }
+
+    public Short getSystolicPressure() {
+        return systolicPressure;
+    }
+
+    public void setSystolicPressure(Short systolicPressure) {
+        this.systolicPressure = systolicPressure;
+    }
+
+    public Short getDiastolicPressure() {
+        return diastolicPressure;
+    }
+
+    public void setDiastolicPressure(Short diastolicPressure) {
+        this.diastolicPressure = diastolicPressure;
+    }
+}
@@ -1,9 +1,14 @@
 package app.clinic.infrastructure.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.clinic.infrastructure.entity.AppointmentEntity;
@@ -15,16 +20,43 @@ import app.clinic.infrastructure.entity.AppointmentEntity;
 @Repository
 public interface AppointmentJpaRepository extends JpaRepository<AppointmentEntity, Long> {
 
+    /**
+     * Finds an appointment by its business identifier.
+     */
+    Optional<AppointmentEntity> findByAppointmentId(String appointmentId);
+
+    /**
+     * Checks if an appointment exists with the given business identifier.
+     */
+    boolean existsByAppointmentId(String appointmentId);
+
+    /**
+     * Deletes an appointment by its business identifier.
+     */
+    @Modifying
+    @Query("DELETE FROM AppointmentEntity a WHERE a.appointmentId = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") String appointmentId);
+
     /**
      * Finds appointments by patient cedula.
      */
     List<AppointmentEntity> findByPatientCedula(String patientCedula);
 
+    /**
+     * Finds appointments by patient cedula ordered by date and time.
+     */
+    List<AppointmentEntity> findByPatientCedulaOrderByAppointmentDateTimeAsc(String patientCedula);
+
     /**
      * Finds appointments by doctor cedula.
      */
     List<AppointmentEntity> findByDoctorCedula(String doctorCedula);
 
+    /**
+     * Finds appointments by doctor cedula ordered by date and time.
+     */
+    List<AppointmentEntity> findByDoctorCedulaOrderByAppointmentDateTimeAsc(String doctorCedula);
+
     /**
      * Finds appointments by status.
      */
@@ -35,6 +67,58 @@ public interface AppointmentJpaRepository extends JpaRepository<AppointmentEntit
      */
     List<AppointmentEntity> findByAppointmentDateTime(LocalDateTime appointmentDateTime);
 
+    /**
+     * Finds appointments within an inclusive date and time range.
+     */
+    List<AppointmentEntity> findByAppointmentDateTimeBetweenOrderByAppointmentDateTimeAsc(
+            LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Finds appointments in any of the given statuses starting at or after the given date and time.
+     */
+    List<AppointmentEntity> findByStatusInAndAppointmentDateTimeGreaterThanEqual(
+            Collection<AppointmentEntity.AppointmentStatus> statuses, LocalDateTime dateTime);
+
+    /**
+     * Finds appointments of the given doctors in any of the given statuses starting in [start, end),
+     * ordered by date and time across all doctors.
+     */
+    @Query("SELECT a FROM AppointmentEntity a WHERE a.doctorCedula IN :doctorCedulas AND a.status IN :statuses " +
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end " +
+           "ORDER BY a.appointmentDateTime ASC")
+    List<AppointmentEntity> findByDoctorsAndStatusesBetween(@Param("doctorCedulas") Collection<String> doctorCedulas,
+                                                            @Param("statuses") Collection<AppointmentEntity.AppointmentStatus> statuses,
+                                                            @Param("start") LocalDateTime start,
+                                                            @Param("end") LocalDateTime end);
+
+    /**
+     * Checks if a doctor has an appointment in any of the given statuses at the given date and time.
+     */
+    boolean existsByDoctorCedulaAndAppointmentDateTimeAndStatusIn(
+            String doctorCedula, LocalDateTime appointmentDateTime,
+            Collection<AppointmentEntity.AppointmentStatus> statuses);
+
+    /**
+     * Checks if a doctor has an appointment in any of the given statuses, other than the given one,
+     * starting strictly between startsAfter and startsBefore. Uses the (doctor_cedula, appointment_datetime) index.
+     */
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM AppointmentEntity a " +
+           "WHERE a.doctorCedula = :doctorCedula AND a.status IN :statuses " +
+           "AND a.appointmentDateTime > :startsAfter AND a.appointmentDateTime < :startsBefore " +
+           "AND a.appointmentId <> :excludedAppointmentId")
+    boolean existsByDoctorAndStatusesStartingBetween(@Param("doctorCedula") String doctorCedula,
+                                                     @Param("statuses") Collection<AppointmentEntity.AppointmentStatus> statuses,
+                                                     @Param("startsAfter") LocalDateTime startsAfter,
+                                                     @Param("startsBefore") LocalDateTime startsBefore,
+                                                     @Param("excludedAppointmentId") String excludedAppointmentId);
+
+    /**
+     * Checks if a patient has an appointment in any of the given statuses after the given date and time.
+     */
+    boolean existsByPatientCedulaAndStatusInAndAppointmentDateTimeAfter(
+            String patientCedula, Collection<AppointmentEntity.AppointmentStatus> statuses,
+            LocalDateTime dateTime);
+
     /**
      * Checks if an appointment exists with the given ID.
      */
@@ -54,4 +138,4 @@ public interface AppointmentJpaRepository extends JpaRepository<AppointmentEntit
      * Counts appointments by doctor.
      */
     long countByDoctorCedula(String doctorCedula);
-}
\ No newline at end of file
+}
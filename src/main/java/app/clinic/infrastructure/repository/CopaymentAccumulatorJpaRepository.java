@@ -0,0 +1,22 @@
+package app.clinic.infrastructure.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.entity.CopaymentAccumulatorEntity;
+
+/**
+ * JPA repository interface for the per-patient, per-year copayment accumulators.
+ * Lookups go through the (patient_cedula, invoice_year) primary key.
+ */
+@Repository
+public interface CopaymentAccumulatorJpaRepository
+        extends JpaRepository<CopaymentAccumulatorEntity, CopaymentAccumulatorEntity.Key> {
+
+    /**
+     * Finds all accumulators of a year.
+     */
+    List<CopaymentAccumulatorEntity> findByIdYear(Integer year);
+}
@@ -0,0 +1,36 @@
+package app.clinic.infrastructure.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.entity.DoctorScheduleLockEntity;
+import jakarta.persistence.LockModeType;
+
+/**
+ * JPA repository interface for doctor schedule lock operations.
+ * Provides row-locked access to the per-doctor rows that serialize appointment bookings.
+ */
+@Repository
+public interface DoctorScheduleLockJpaRepository extends JpaRepository<DoctorScheduleLockEntity, String> {
+
+    /**
+     * Finds the lock row of a doctor and locks it for the current transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM DoctorScheduleLockEntity l WHERE l.doctorCedula = :doctorCedula")
+    Optional<DoctorScheduleLockEntity> findForUpdate(@Param("doctorCedula") String doctorCedula);
+
+    /**
+     * Creates the lock row of a doctor. Unlike save, this never overwrites a row another node created
+     * concurrently: a duplicate doctor fails with a DataIntegrityViolationException.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO doctor_schedule_locks (doctor_cedula) VALUES (:doctorCedula)", nativeQuery = true)
+    void insert(@Param("doctorCedula") String doctorCedula);
+}
@@ -1,16 +1,23 @@
 package app.clinic.infrastructure.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.config.SecondLevelCacheConfig;
 import app.clinic.infrastructure.entity.InventoryItemEntity;
+import jakarta.persistence.QueryHint;
 
 /**
  * JPA repository interface for Inventory entity operations.
  * Provides basic CRUD operations and custom queries for inventory management.
+ * The active catalog queries are served from the query cache until the inventory table changes.
  */
 @Repository
 public interface InventoryJpaRepository extends JpaRepository<InventoryItemEntity, Long> {
@@ -28,13 +35,26 @@ public interface InventoryJpaRepository extends JpaRepository<InventoryItemEntit
     /**
      * Finds all active inventory items.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.INVENTORY_CATALOG_REGION)
+    })
     List<InventoryItemEntity> findByActiveTrue();
 
     /**
      * Finds active inventory items by type.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.INVENTORY_CATALOG_REGION)
+    })
     List<InventoryItemEntity> findByTypeAndActiveTrue(InventoryItemEntity.InventoryItemType type);
 
+    /**
+     * Finds the inventory items with the given ids in a single IN query.
+     */
+    List<InventoryItemEntity> findByIdIn(Collection<Long> ids);
+
     /**
      * Checks if an inventory item exists with the given name.
      */
@@ -49,4 +69,9 @@ public interface InventoryJpaRepository extends JpaRepository<InventoryItemEntit
      * Counts active inventory items.
      */
     long countByActiveTrue();
-}
\ No newline at end of file
+
+    /**
+     * Finds the next keyset page: entities with an id greater than the given one, in id order.
+     */
+    List<InventoryItemEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -2,6 +2,7 @@ package app.clinic.infrastructure.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,29 @@ import app.clinic.infrastructure.entity.InvoiceEntity;
 @Repository
 public interface InvoiceJpaRepository extends JpaRepository<InvoiceEntity, Long> {
 
+    /**
+     * Consulta base de la proyección InvoiceWithPatient: cada factura unida a su paciente
+     * y a la póliza de seguro del paciente en una sola sentencia.
+     */
+    String INVOICE_WITH_PATIENT_QUERY = "SELECT i.id AS id, i.invoiceNumber AS invoiceNumber, "
+         + "i.patientCedula AS patientCedula, i.totalAmount AS totalAmount, i.copaymentAmount AS copaymentAmount, "
+         + "i.insuranceCoverage AS insuranceCoverage, i.patientResponsibility AS patientResponsibility, "
+         + "i.billingDate AS billingDate, i.dueDate AS dueDate, i.status AS status, i.notes AS notes, "
+         + "i.year AS invoiceYear, p.firstNames AS patientFirstNames, p.lastNames AS patientLastNames, "
+         + "p.birthDate AS patientBirthDate, ip.companyName AS insuranceCompanyName, "
+         + "ip.policyNumber AS policyNumber, ip.expirationDate AS policyExpirationDate "
+         + "FROM InvoiceEntity i LEFT JOIN PatientEntity p ON p.cedula = i.patientCedula "
+         + "LEFT JOIN p.insurancePolicy ip ";
+
+    /**
+     * Consulta base de la proyección InvoiceStatusYearTotals: conteo y sumas de montos
+     * agrupados por estado y año, calculados en la base de datos.
+     */
+    String STATUS_YEAR_TOTALS_QUERY = "SELECT i.status AS status, i.year AS invoiceYear, COUNT(i) AS invoiceCount, "
+         + "COALESCE(SUM(i.totalAmount), 0) AS totalAmount, COALESCE(SUM(i.copaymentAmount), 0) AS copaymentAmount, "
+         + "COALESCE(SUM(i.insuranceCoverage), 0) AS insuranceCoverage, "
+         + "COALESCE(SUM(i.patientResponsibility), 0) AS patientResponsibility FROM InvoiceEntity i ";
+
     /**
      * Busca una factura por su número único.
      */
@@ -53,6 +77,34 @@ public interface InvoiceJpaRepository extends JpaRepository<InvoiceEntity, Long>
     @Query("SELECT COALESCE(SUM(i.totalAmount), 0) FROM InvoiceEntity i WHERE i.patientCedula = :patientCedula AND i.year = :invoiceYear AND i.status != 'CANCELLED'")
     java.math.BigDecimal getTotalBilledForYear(@Param("patientCedula") String patientCedula, @Param("invoiceYear") Integer invoiceYear);
 
+    /**
+     * Calcula por paciente los totales de copago y facturación de un año, excluyendo facturas canceladas.
+     * Usado para reconstruir el libro de copagos acumulados.
+     */
+    @Query("SELECT i.patientCedula AS patientCedula, COALESCE(SUM(i.copaymentAmount), 0) AS copaymentTotal, "
+         + "COALESCE(SUM(i.totalAmount), 0) AS billedTotal FROM InvoiceEntity i "
+         + "WHERE i.year = :invoiceYear AND i.status != 'CANCELLED' GROUP BY i.patientCedula")
+    List<PatientYearTotals> sumTotalsByPatientForYear(@Param("invoiceYear") Integer invoiceYear);
+
+    /**
+     * Calcula el conteo y las sumas de las facturas de un paciente agrupadas por estado y año.
+     */
+    @Query(STATUS_YEAR_TOTALS_QUERY + "WHERE i.patientCedula = :patientCedula "
+         + "GROUP BY i.status, i.year ORDER BY i.year, i.status")
+    List<InvoiceStatusYearTotals> sumByStatusAndYearForPatient(@Param("patientCedula") String patientCedula);
+
+    /**
+     * Calcula el conteo y las sumas de todas las facturas de la clínica agrupadas por estado y año.
+     */
+    @Query(STATUS_YEAR_TOTALS_QUERY + "GROUP BY i.status, i.year ORDER BY i.year, i.status")
+    List<InvoiceStatusYearTotals> sumByStatusAndYear();
+
+    /**
+     * Busca los números de factura de un paciente, de la más reciente a la más antigua.
+     */
+    @Query("SELECT i.invoiceNumber FROM InvoiceEntity i WHERE i.patientCedula = :patientCedula ORDER BY i.billingDate DESC")
+    List<String> findInvoiceNumbersByPatientCedula(@Param("patientCedula") String patientCedula);
+
     /**
      * Busca facturas pendientes de pago.
      */
@@ -62,4 +114,113 @@ public interface InvoiceJpaRepository extends JpaRepository<InvoiceEntity, Long>
      * Verifica si existe una factura con el número dado.
      */
     boolean existsByInvoiceNumber(String invoiceNumber);
-}
\ No newline at end of file
+
+    /**
+     * Finds the next keyset page: entities with an id greater than the given one, in id order.
+     */
+    List<InvoiceEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Busca todas las facturas junto con su paciente y póliza, ordenadas por identificador.
+     */
+    @Query(INVOICE_WITH_PATIENT_QUERY + "ORDER BY i.id")
+    List<InvoiceWithPatient> findAllWithPatient();
+
+    /**
+     * Busca las facturas de un paciente junto con sus datos y póliza, de la más reciente a la más antigua.
+     */
+    @Query(INVOICE_WITH_PATIENT_QUERY + "WHERE i.patientCedula = :patientCedula ORDER BY i.billingDate DESC")
+    List<InvoiceWithPatient> findWithPatientByPatientCedula(@Param("patientCedula") String patientCedula);
+
+    /**
+     * Busca una factura por su número junto con su paciente y póliza.
+     */
+    @Query(INVOICE_WITH_PATIENT_QUERY + "WHERE i.invoiceNumber = :invoiceNumber")
+    java.util.Optional<InvoiceWithPatient> findWithPatientByInvoiceNumber(@Param("invoiceNumber") String invoiceNumber);
+
+    /**
+     * Busca el mayor número de factura con el prefijo y la longitud dados.
+     * Con ancho fijo, el orden del texto coincide con el orden numérico.
+     */
+    @Query("SELECT MAX(i.invoiceNumber) FROM InvoiceEntity i "
+            + "WHERE i.invoiceNumber LIKE CONCAT(:prefix, '%') AND LENGTH(i.invoiceNumber) = :length")
+    java.util.Optional<String> findMaxInvoiceNumber(@Param("prefix") String prefix, @Param("length") int length);
+
+    /**
+     * Siguiente página por keyset de facturas con paciente y póliza: identificadores mayores al dado, en orden.
+     */
+    @Query(INVOICE_WITH_PATIENT_QUERY + "WHERE i.id > :afterId ORDER BY i.id")
+    List<InvoiceWithPatient> findWithPatientByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Proyección de una factura con los datos de su paciente y póliza.
+     * Los campos del paciente y de la póliza son nulos si no existen.
+     */
+    interface InvoiceWithPatient {
+        Long getId();
+
+        String getInvoiceNumber();
+
+        String getPatientCedula();
+
+        java.math.BigDecimal getTotalAmount();
+
+        java.math.BigDecimal getCopaymentAmount();
+
+        java.math.BigDecimal getInsuranceCoverage();
+
+        java.math.BigDecimal getPatientResponsibility();
+
+        java.time.LocalDateTime getBillingDate();
+
+        java.time.LocalDateTime getDueDate();
+
+        InvoiceEntity.InvoiceStatus getStatus();
+
+        String getNotes();
+
+        Integer getInvoiceYear();
+
+        String getPatientFirstNames();
+
+        String getPatientLastNames();
+
+        java.time.LocalDate getPatientBirthDate();
+
+        String getInsuranceCompanyName();
+
+        String getPolicyNumber();
+
+        java.time.LocalDate getPolicyExpirationDate();
+    }
+
+    /**
+     * Proyección con los totales anuales de un paciente.
+     */
+    interface PatientYearTotals {
+        String getPatientCedula();
+
+        java.math.BigDecimal getCopaymentTotal();
+
+        java.math.BigDecimal getBilledTotal();
+    }
+
+    /**
+     * Proyección con el conteo y los totales de facturas de un estado en un año.
+     */
+    interface InvoiceStatusYearTotals {
+        InvoiceEntity.InvoiceStatus getStatus();
+
+        Integer getInvoiceYear();
+
+        Long getInvoiceCount();
+
+        java.math.BigDecimal getTotalAmount();
+
+        java.math.BigDecimal getCopaymentAmount();
+
+        java.math.BigDecimal getInsuranceCoverage();
+
+        java.math.BigDecimal getPatientResponsibility();
+    }
+}
@@ -1,9 +1,14 @@
 package app.clinic.infrastructure.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.clinic.infrastructure.entity.MedicalRecordEntity;
@@ -16,15 +21,60 @@ import app.clinic.infrastructure.entity.MedicalRecordEntity;
 public interface MedicalRecordJpaRepository extends JpaRepository<MedicalRecordEntity, Long> {
 
     /**
-     * Finds a medical record by patient cedula.
+     * Finds the entry of a patient for one date.
      */
-    Optional<MedicalRecordEntity> findByPatientCedula(String patientCedula);
+    Optional<MedicalRecordEntity> findByPatientCedulaAndRecordDate(String patientCedula, LocalDate recordDate);
+
+    /**
+     * Finds all entries of a patient in date order, scanning the (patient_cedula, record_date) index.
+     */
+    List<MedicalRecordEntity> findByPatientCedulaOrderByRecordDateAsc(String patientCedula);
+
+    /**
+     * Finds the most recent entries of a patient, newest first, reading only as many index rows as the limit.
+     */
+    List<MedicalRecordEntity> findByPatientCedulaOrderByRecordDateDesc(String patientCedula, Limit limit);
+
+    /**
+     * Finds the entries of a patient dated after the given date and up to the end date, in date order,
+     * reading at most limit rows of the (patient_cedula, record_date) index.
+     */
+    List<MedicalRecordEntity> findByPatientCedulaAndRecordDateGreaterThanAndRecordDateLessThanEqualOrderByRecordDateAsc(
+            String patientCedula, LocalDate after, LocalDate to, Limit limit);
+
+    /**
+     * Finds entries whose ID is greater than the given one, in ID order, for keyset pagination.
+     */
+    List<MedicalRecordEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Finds the structured columns of the entries whose ID is greater than the given one, in ID order,
+     * for keyset pagination. The additional_data column is not read.
+     */
+    @Query("SELECT m.id AS id, m.patientCedula AS patientCedula, m.recordDate AS recordDate, "
+         + "m.doctorCedula AS doctorCedula, m.consultationReason AS consultationReason, "
+         + "m.symptoms AS symptoms, m.diagnosis AS diagnosis "
+         + "FROM MedicalRecordEntity m WHERE m.id > :afterId ORDER BY m.id")
+    List<MedicalRecordSummary> findSummariesByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Finds all entries ordered by patient and date.
+     */
+    List<MedicalRecordEntity> findAllByOrderByPatientCedulaAscRecordDateAsc();
 
     /**
      * Checks if a medical record exists for the given patient cedula.
      */
     boolean existsByPatientCedula(String patientCedula);
 
+    /**
+     * Deletes the entry of a patient for one date.
+     */
+    @Modifying
+    @Query("DELETE FROM MedicalRecordEntity m WHERE m.patientCedula = :patientCedula AND m.recordDate = :recordDate")
+    int deleteByPatientCedulaAndRecordDate(@Param("patientCedula") String patientCedula,
+                                           @Param("recordDate") LocalDate recordDate);
+
     /**
      * Deletes a medical record by patient cedula.
      */
@@ -39,4 +89,23 @@ public interface MedicalRecordJpaRepository extends JpaRepository<MedicalRecordE
      * Finds all medical records.
      */
     List<MedicalRecordEntity> findAll();
-}
\ No newline at end of file
+
+    /**
+     * Proyección de una entrada de historia clínica sin sus datos adicionales.
+     */
+    interface MedicalRecordSummary {
+        Long getId();
+
+        String getPatientCedula();
+
+        LocalDate getRecordDate();
+
+        String getDoctorCedula();
+
+        String getConsultationReason();
+
+        String getSymptoms();
+
+        String getDiagnosis();
+    }
+}
@@ -0,0 +1,37 @@
+package app.clinic.infrastructure.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.entity.NumberSequenceEntity;
+import jakarta.persistence.LockModeType;
+
+/**
+ * JPA repository interface for number sequence operations.
+ * Provides row-locked access to the hi/lo block counters.
+ */
+@Repository
+public interface NumberSequenceJpaRepository extends JpaRepository<NumberSequenceEntity, String> {
+
+    /**
+     * Finds a sequence row and locks it for the current transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NumberSequenceEntity s WHERE s.sequenceName = :sequenceName")
+    Optional<NumberSequenceEntity> findForUpdate(@Param("sequenceName") String sequenceName);
+
+    /**
+     * Creates a sequence row. Unlike save, this never overwrites a row another node created
+     * concurrently: a duplicate sequence name fails with a DataIntegrityViolationException.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO number_sequences (sequence_name, next_value) VALUES (:sequenceName, :nextValue)",
+           nativeQuery = true)
+    void insert(@Param("sequenceName") String sequenceName, @Param("nextValue") long nextValue);
+}
@@ -17,11 +17,73 @@ import app.clinic.infrastructure.entity.OrderEntity;
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, Long> {
 
+    /**
+     * Fetch joins for the item collections. An order only holds items of one type,
+     * so joining all three collections does not multiply rows.
+     */
+    String FETCH_ITEMS = "LEFT JOIN FETCH o.medications LEFT JOIN FETCH o.procedures LEFT JOIN FETCH o.diagnosticAids";
+
     /**
      * Finds an order by its order number.
      */
     Optional<OrderEntity> findByOrderNumber(String orderNumber);
 
+    /**
+     * Finds an order by its order number with all of its items in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS + " WHERE o.orderNumber = :orderNumber")
+    Optional<OrderEntity> findWithItemsByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    /**
+     * Finds all orders for a specific patient with their items in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.patientCedula = :patientCedula ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByPatientCedula(@Param("patientCedula") String patientCedula);
+
+    /**
+     * Finds the orders of one type for a specific patient with their items.
+     * Served by the (patient_cedula, order_type, creation_date) index.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.patientCedula = :patientCedula AND o.orderType = :orderType ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByPatientCedulaAndOrderType(@Param("patientCedula") String patientCedula,
+                                                              @Param("orderType") OrderEntity.OrderType orderType);
+
+    /**
+     * Finds all orders for a specific doctor with their items in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.doctorCedula = :doctorCedula ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByDoctorCedula(@Param("doctorCedula") String doctorCedula);
+
+    /**
+     * Finds the orders of one type for a specific doctor with their items.
+     * Served by the (doctor_cedula, order_type, creation_date) index.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.doctorCedula = :doctorCedula AND o.orderType = :orderType ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByDoctorCedulaAndOrderType(@Param("doctorCedula") String doctorCedula,
+                                                             @Param("orderType") OrderEntity.OrderType orderType);
+
+    /**
+     * Finds orders within a date range with their items in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.creationDate BETWEEN :startDate AND :endDate ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByCreationDateBetween(@Param("startDate") java.time.LocalDate startDate,
+                                                        @Param("endDate") java.time.LocalDate endDate);
+
+    /**
+     * Finds the orders of one type within a date range with their items.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o " + FETCH_ITEMS
+            + " WHERE o.orderType = :orderType AND o.creationDate BETWEEN :startDate AND :endDate"
+            + " ORDER BY o.creationDate DESC")
+    List<OrderEntity> findWithItemsByOrderTypeAndCreationDateBetween(@Param("orderType") OrderEntity.OrderType orderType,
+                                                                    @Param("startDate") java.time.LocalDate startDate,
+                                                                    @Param("endDate") java.time.LocalDate endDate);
+
     /**
      * Finds all orders for a specific patient.
      */
@@ -37,6 +99,14 @@ public interface OrderJpaRepository extends JpaRepository<OrderEntity, Long> {
      */
     boolean existsByOrderNumber(String orderNumber);
 
+    /**
+     * Finds the highest order number issued so far.
+     * Order numbers are compared numerically, since numbers stored without zero padding
+     * ("999" and "1000") do not sort lexically.
+     */
+    @Query("SELECT MAX(CAST(o.orderNumber AS Long)) FROM OrderEntity o")
+    Optional<Long> findMaxOrderNumber();
+
     /**
      * Counts orders by patient.
      */
@@ -1,8 +1,11 @@
 package app.clinic.infrastructure.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,18 +15,42 @@ import app.clinic.infrastructure.entity.PatientEntity;
 /**
  * JPA repository interface for Patient entity operations.
  * Provides basic CRUD operations and custom queries for patient management.
+ * Finders that return entities to be mapped to the domain load the emergency contact and
+ * insurance policy with the patient through the WITH_CONTACT_AND_POLICY entity graph.
  */
 @Repository
 public interface PatientJpaRepository extends JpaRepository<PatientEntity, Long> {
 
+    /**
+     * Finds a patient by id together with the emergency contact and insurance policy.
+     */
+    @Override
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
+    Optional<PatientEntity> findById(Long id);
+
+    /**
+     * Finds all patients together with their emergency contacts and insurance policies.
+     */
+    @Override
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
+    List<PatientEntity> findAll();
+
     /**
      * Finds a patient by their cedula.
      */
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
     Optional<PatientEntity> findByCedula(String cedula);
 
+    /**
+     * Finds the patients with any of the given cedulas in one query.
+     */
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
+    List<PatientEntity> findByCedulaIn(Collection<String> cedulas);
+
     /**
      * Finds a patient by their username.
      */
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
     Optional<PatientEntity> findByUsername(String username);
 
     /**
@@ -39,16 +66,24 @@ public interface PatientJpaRepository extends JpaRepository<PatientEntity, Long>
     /**
      * Finds patients by gender.
      */
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
     List<PatientEntity> findByGender(PatientEntity.PatientGender gender);
 
     /**
      * Finds patients with active insurance policies.
      */
-    @Query("SELECT p FROM PatientEntity p WHERE p.insurancePolicy IS NOT NULL AND p.insurancePolicy.status = 'ACTIVE' AND p.insurancePolicy.expirationDate > CURRENT_DATE")
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
+    @Query("SELECT p FROM PatientEntity p JOIN p.insurancePolicy ip WHERE ip.status = 'ACTIVE' AND ip.expirationDate > CURRENT_DATE")
     List<PatientEntity> findPatientsWithActiveInsurance();
 
     /**
      * Counts patients by gender.
      */
     long countByGender(PatientEntity.PatientGender gender);
-}
\ No newline at end of file
+
+    /**
+     * Finds the next keyset page: entities with an id greater than the given one, in id order.
+     */
+    @EntityGraph(PatientEntity.WITH_CONTACT_AND_POLICY)
+    List<PatientEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -4,7 +4,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.clinic.infrastructure.entity.PatientVisitEntity;
@@ -46,8 +49,40 @@ public interface PatientVisitJpaRepository extends JpaRepository<PatientVisitEnt
      */
     long countByPatientCedula(String patientCedula);
 
+    /**
+     * Finds all completed patient visits.
+     */
+    List<PatientVisitEntity> findByCompletedTrue();
+
+    /**
+     * Counts completed patient visits.
+     */
+    long countByCompletedTrue();
+
+    /**
+     * Counts completed visits of a patient.
+     */
+    long countByPatientCedulaAndCompletedTrue(String patientCedula);
+
+    /**
+     * Checks if a patient has any visit that is not completed.
+     * Answered from the (patient_cedula, completed, visit_date_time) index.
+     */
+    boolean existsByPatientCedulaAndCompletedFalse(String patientCedula);
+
+    /**
+     * Finds the date and time of the most recent visit of a patient.
+     */
+    @Query("SELECT MAX(v.visitDateTime) FROM PatientVisitEntity v WHERE v.patientCedula = :patientCedula")
+    Optional<LocalDateTime> findLatestVisitDateTimeByPatientCedula(@Param("patientCedula") String patientCedula);
+
     /**
      * Finds patient visits within a date range.
      */
     List<PatientVisitEntity> findByVisitDateTimeBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
-}
\ No newline at end of file
+
+    /**
+     * Finds the next keyset page: entities with an id greater than the given one, in id order.
+     */
+    List<PatientVisitEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -3,16 +3,22 @@ package app.clinic.infrastructure.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.config.SecondLevelCacheConfig;
 import app.clinic.infrastructure.entity.UserEntity;
+import jakarta.persistence.QueryHint;
 
 /**
  * JPA repository interface for User entity operations.
  * Provides basic CRUD operations and custom queries for user management.
+ * Lookups by cedula and username are served from the query cache until the users table changes.
  */
 @Repository
 public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
@@ -20,11 +26,19 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
     /**
      * Finds a user by their cedula.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<UserEntity> findByCedula(String cedula);
 
     /**
      * Finds a user by their username.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<UserEntity> findByUsername(String username);
 
     /**
@@ -57,4 +71,9 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
      */
     @Query("SELECT u FROM UserEntity u WHERE u.role = :role AND u.active = :active")
     List<UserEntity> findByRoleAndActive(@Param("role") UserEntity.UserRole role, @Param("active") boolean active);
-}
\ No newline at end of file
+
+    /**
+     * Finds the next keyset page: entities with an id greater than the given one, in id order.
+     */
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
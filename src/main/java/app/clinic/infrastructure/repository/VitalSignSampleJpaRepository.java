@@ -0,0 +1,27 @@
+package app.clinic.infrastructure.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.entity.VitalSignSampleEntity;
+
+/**
+ * JPA repository interface for VitalSignSample entity operations.
+ * Provides the per-visit upserts and per-patient time-ordered reads behind the vital signs series store.
+ */
+@Repository
+public interface VitalSignSampleJpaRepository extends JpaRepository<VitalSignSampleEntity, Long> {
+
+    /**
+     * Finds the sample taken in the given visit.
+     */
+    Optional<VitalSignSampleEntity> findByVisitId(String visitId);
+
+    /**
+     * Finds all samples of a patient in time order, scanning the (patient_cedula, recorded_at) index.
+     */
+    List<VitalSignSampleEntity> findByPatientCedulaOrderByRecordedAtAsc(String patientCedula);
+}
@@ -0,0 +1,50 @@
+package app.clinic.infrastructure.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.clinic.domain.model.Year;
+import app.clinic.domain.port.CopaymentLedger;
+
+/**
+ * Scheduled job that rebuilds the copayment ledger from the invoices table.
+ * The ledger is updated in the same transaction as every invoice write, so this only
+ * repairs drift from writes made outside the application (imports, manual fixes).
+ * The previous year is included so late cancellations around New Year are picked up.
+ * It also runs once all beans are created, before requests are served, so invoices that
+ * existed before the ledger are counted before any copayment limit is checked. Entries are
+ * corrected one patient at a time, so runs on several nodes and concurrent invoice writes only
+ * make a run skip the entries they touch. A failed startup run is logged and does not stop the
+ * node from starting; the scheduled run retries it.
+ */
+@Service
+public class CopaymentLedgerReconciliationJob implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopaymentLedgerReconciliationJob.class);
+
+    private final CopaymentLedger copaymentLedger;
+
+    public CopaymentLedgerReconciliationJob(CopaymentLedger copaymentLedger) {
+        this.copaymentLedger = copaymentLedger;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.error("Copayment ledger reconciliation at startup failed; the scheduled run will retry it", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.billing.copayment-ledger.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        Year current = Year.current();
+        int corrected = copaymentLedger.reconcile(Year.of(current.getValue() - 1))
+            + copaymentLedger.reconcile(current);
+        logger.info("Copayment ledger reconciliation finished, {} entries corrected", corrected);
+    }
+}
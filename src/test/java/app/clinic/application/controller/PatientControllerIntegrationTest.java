@@ -0,0 +1,92 @@
+package app.clinic.application.controller;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.application.dto.patient.UpdatePatientDTO;
+import app.clinic.domain.model.Patient;
+import app.clinic.domain.model.PatientAddress;
+import app.clinic.domain.model.PatientBirthDate;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientEmail;
+import app.clinic.domain.model.PatientFullName;
+import app.clinic.domain.model.PatientGender;
+import app.clinic.domain.model.PatientPassword;
+import app.clinic.domain.model.PatientPhoneNumber;
+import app.clinic.domain.model.PatientUsername;
+import app.clinic.domain.port.PatientRepository;
+
+/**
+ * Pruebas de integración para PatientController.
+ * Verifica que las actualizaciones concurrentes sobre la misma versión se rechacen con 409.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@SpringJUnitConfig
+class PatientControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    @DisplayName("Debe responder 409 al segundo escritor que parte de la misma versión vía PUT /api/patients/{cedula}")
+    void shouldRejectSecondWriterFromSameVersionWithConflict() throws Exception {
+        // Given
+        String cedula = "55667788";
+        Patient stored = patientRepository.save(Patient.of(
+            PatientCedula.of(cedula),
+            PatientUsername.of("lmartinez"),
+            PatientPassword.ofHashed("hashedpassword"),
+            PatientFullName.of("Laura", "Martínez"),
+            PatientBirthDate.of(1985, 6, 20),
+            PatientGender.FEMENINO,
+            PatientAddress.of("Calle 10"),
+            PatientPhoneNumber.of("3101234567"),
+            PatientEmail.of("laura@correo.com"),
+            List.of(),
+            null));
+        Long readVersion = stored.getVersion();
+
+        // When & Then
+        mockMvc.perform(put("/api/patients/{cedula}", cedula)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update(cedula, "Carrera 7", readVersion))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address", is("Carrera 7")))
+                .andExpect(jsonPath("$.version", is((int) (readVersion + 1))));
+
+        mockMvc.perform(put("/api/patients/{cedula}", cedula)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update(cedula, "Avenida 3", readVersion))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)));
+    }
+
+    private UpdatePatientDTO update(String cedula, String address, Long version) {
+        UpdatePatientDTO dto = new UpdatePatientDTO();
+        dto.setCedula(cedula);
+        dto.setAddress(address);
+        dto.setVersion(version);
+        return dto;
+    }
+}
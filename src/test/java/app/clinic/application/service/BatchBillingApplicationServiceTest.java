@@ -0,0 +1,158 @@
+package app.clinic.application.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import app.clinic.application.dto.billing.BatchBillingChunkDTO;
+import app.clinic.application.dto.billing.BatchBillingSummaryDTO;
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.model.Patient;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.Year;
+import app.clinic.domain.port.BillingRepository;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.domain.port.InvoiceNumberAllocator;
+import app.clinic.domain.port.PatientRepository;
+import app.clinic.domain.service.BillingDomainService;
+import app.clinic.infrastructure.adapter.InvoiceBatchWriter;
+
+/**
+ * Pruebas unitarias para BatchBillingApplicationService.
+ * Verifica la facturación por lotes, el reporte por bloque y el resumen final.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchBillingApplicationServiceTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private BillingRepository billingRepository;
+
+    @Mock
+    private CopaymentLedger copaymentLedger;
+
+    @Mock
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
+    @Mock
+    private InvoiceBatchWriter invoiceBatchWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private BatchBillingApplicationService batchBillingApplicationService;
+
+    @BeforeEach
+    void setUp() {
+        BillingDomainService billingDomainService = new BillingDomainService(billingRepository, patientRepository);
+        batchBillingApplicationService = new BatchBillingApplicationService(billingDomainService, patientRepository,
+            copaymentLedger, invoiceNumberAllocator, invoiceBatchWriter, transactionManager, 2);
+
+        AtomicLong sequence = new AtomicLong();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        lenient().when(invoiceNumberAllocator.nextInvoiceNumber())
+            .thenAnswer(invocation -> InvoiceNumber.of("INV-" + sequence.incrementAndGet()));
+        lenient().when(copaymentLedger.findTotals(anyCollection(), any(Year.class))).thenAnswer(invocation -> {
+            Collection<PatientCedula> cedulas = invocation.getArgument(0);
+            Map<PatientCedula, AnnualBillingTotals> totals = new HashMap<>();
+            for (PatientCedula cedula : cedulas) {
+                totals.put(cedula, AnnualBillingTotals.empty(cedula, invocation.getArgument(1)));
+            }
+            return totals;
+        });
+    }
+
+    @Test
+    @DisplayName("Debe facturar por bloques, omitir pacientes desconocidos y resumir la corrida")
+    void shouldBillInChunksAndSummarize() {
+        // Given
+        when(patientRepository.findByCedulas(anyCollection())).thenAnswer(invocation -> {
+            Collection<PatientCedula> cedulas = invocation.getArgument(0);
+            return cedulas.stream()
+                .filter(cedula -> !cedula.getValue().equals("999"))
+                .map(this::uninsuredPatient)
+                .toList();
+        });
+        List<BatchBillingChunkDTO> progress = new ArrayList<>();
+
+        // When
+        BatchBillingSummaryDTO summary = batchBillingApplicationService.generateInvoices(
+            List.of("111", "222", "111", "999", "333"), progress::add);
+
+        // Then
+        assertEquals(4, summary.getRequestedPatients());
+        assertEquals(3, summary.getGeneratedInvoices());
+        assertEquals(1, summary.getUnknownPatients());
+        assertEquals(2, summary.getChunks());
+        assertEquals(0, summary.getFailedChunks());
+        assertEquals("600000", summary.getTotalBilled());
+
+        assertEquals(2, progress.size());
+        assertEquals(1, progress.get(0).getChunkNumber());
+        assertEquals(2, progress.get(0).getGeneratedInvoices());
+        assertEquals(List.of("999"), progress.get(1).getUnknownPatientCedulas());
+        verify(invoiceBatchWriter, times(2)).insertAll(any());
+        verify(copaymentLedger, times(3)).recordInvoice(any(), any(), any(), any());
+        verify(transactionManager, times(2)).commit(transactionStatus);
+    }
+
+    @Test
+    @DisplayName("Debe continuar con el siguiente bloque cuando uno falla")
+    void shouldContinueAfterFailedChunk() {
+        // Given
+        when(patientRepository.findByCedulas(anyCollection()))
+            .thenThrow(new IllegalStateException("Conexión perdida"))
+            .thenAnswer(invocation -> {
+                Collection<PatientCedula> cedulas = invocation.getArgument(0);
+                return cedulas.stream().map(this::uninsuredPatient).toList();
+            });
+        List<BatchBillingChunkDTO> progress = new ArrayList<>();
+
+        // When
+        BatchBillingSummaryDTO summary = batchBillingApplicationService.generateInvoices(
+            List.of("111", "222", "333"), progress::add);
+
+        // Then
+        assertTrue(progress.get(0).isFailed());
+        assertEquals("CHUNK_FAILED", progress.get(0).getError());
+        assertFalse(progress.get(1).isFailed());
+        assertEquals(1, summary.getFailedChunks());
+        assertEquals(2, summary.getFailedPatients());
+        assertEquals(1, summary.getGeneratedInvoices());
+        verify(transactionManager).rollback(transactionStatus);
+    }
+
+    private Patient uninsuredPatient(PatientCedula cedula) {
+        Patient patient = mock(Patient.class);
+        lenient().when(patient.getCedula()).thenReturn(cedula);
+        return patient;
+    }
+}
@@ -10,15 +10,23 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 
 import app.clinic.application.dto.billing.BillingCalculationResultDTO;
 import app.clinic.application.dto.billing.InvoiceDTO;
 import app.clinic.application.dto.patient.PatientDTO;
 import app.clinic.application.mapper.BillingMapper;
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.InvoiceNumber;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.Year;
+import app.clinic.domain.port.CopaymentLedger;
+import app.clinic.domain.port.InvoiceNumberAllocator;
 import app.clinic.domain.service.BillingDomainService;
 import app.clinic.infrastructure.adapter.BillingRepositoryAdapter;
 import app.clinic.infrastructure.repository.InvoiceJpaRepository;
@@ -44,6 +52,12 @@ class BillingApplicationServiceTest {
     @Mock
     private InvoiceJpaRepository invoiceJpaRepository;
 
+    @Mock
+    private CopaymentLedger copaymentLedger;
+
+    @Mock
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
     private BillingApplicationService billingApplicationService;
 
     @BeforeEach
@@ -54,8 +68,14 @@ class BillingApplicationServiceTest {
             patientApplicationService,
             billingRepositoryAdapter,
             billingMapper,
-            invoiceJpaRepository
+            invoiceJpaRepository,
+            copaymentLedger,
+            invoiceNumberAllocator
         );
+        // Sin facturas registradas en el libro de copagos
+        when(copaymentLedger.findTotals(any(PatientCedula.class), any(Year.class)))
+            .thenAnswer(invocation -> AnnualBillingTotals.empty(invocation.getArgument(0), invocation.getArgument(1)));
+        when(invoiceNumberAllocator.nextInvoiceNumber()).thenReturn(InvoiceNumber.of("INV-0000000000000000001"));
     }
 
     @Test
@@ -1,12 +1,13 @@
 package app.clinic.application.service;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,17 +16,32 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import app.clinic.application.dto.order.CreateOrderDTO;
 import app.clinic.application.dto.order.OrderDTO;
 import app.clinic.application.dto.order.OrderItemDTO;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.Cost;
+import app.clinic.domain.model.Dosage;
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemName;
+import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.model.ItemNumber;
+import app.clinic.domain.model.MedicationItem;
 import app.clinic.domain.model.MedicationOrder;
+import app.clinic.domain.model.OrderCreationDate;
 import app.clinic.domain.model.OrderNumber;
+import app.clinic.domain.model.OrderStatus;
 import app.clinic.domain.model.PatientCedula;
-import app.clinic.domain.port.InventoryRepository;
+import app.clinic.domain.model.ProcedureOrder;
+import app.clinic.domain.model.TreatmentDuration;
+import app.clinic.domain.port.InventoryCatalog;
 import app.clinic.domain.service.OrderDomainService;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +51,7 @@ class OrderApplicationServiceTest {
     private OrderDomainService orderDomainService;
 
     @Mock
-    private InventoryRepository inventoryRepository;
+    private InventoryCatalog inventoryCatalog;
 
     @InjectMocks
     private OrderApplicationService orderApplicationService;
@@ -60,7 +76,6 @@ class OrderApplicationServiceTest {
         createOrderDTO = new CreateOrderDTO();
         createOrderDTO.setPatientCedula("12345678");
         createOrderDTO.setDoctorCedula("87654321");
-        createOrderDTO.setOrderNumber("ORD000001");
         createOrderDTO.setItems(Arrays.asList(medicationItem));
     }
 
@@ -68,6 +83,8 @@ class OrderApplicationServiceTest {
     void testValidateOrderBusinessRules_ValidMedicationOrder() {
         // Given
         CreateOrderDTO validOrder = createOrderDTO;
+        when(inventoryCatalog.checkAvailability(Set.of(InventoryItemId.of("MED001"))))
+            .thenReturn(availability(catalogItem("MED001", InventoryItemType.MEDICAMENTO, true)));
 
         // When
         boolean result = orderApplicationService.validateOrderBusinessRules(validOrder);
@@ -76,6 +93,20 @@ class OrderApplicationServiceTest {
         assertTrue(result);
     }
 
+    @Test
+    void testValidateOrderBusinessRules_InactiveOrMismatchedInventoryItem() {
+        // Given
+        when(inventoryCatalog.checkAvailability(Set.of(InventoryItemId.of("MED001"))))
+            .thenReturn(availability(catalogItem("MED001", InventoryItemType.MEDICAMENTO, false)))
+            .thenReturn(availability(catalogItem("MED001", InventoryItemType.PROCEDIMIENTO, true)))
+            .thenReturn(availability());
+
+        // When / Then
+        assertFalse(orderApplicationService.validateOrderBusinessRules(createOrderDTO), "Artículo inactivo");
+        assertFalse(orderApplicationService.validateOrderBusinessRules(createOrderDTO), "Tipo no coincide");
+        assertFalse(orderApplicationService.validateOrderBusinessRules(createOrderDTO), "Artículo inexistente");
+    }
+
     @Test
     void testValidateOrderBusinessRules_InvalidEmptyItems() {
         // Given
@@ -121,37 +152,36 @@ class OrderApplicationServiceTest {
     }
 
     @Test
-    void testGenerateNextOrderNumber_UniqueNumber() {
+    void testIsOrderNumberAvailable_AvailableNumber() {
         // Given
-        when(orderDomainService.findMedicationOrderByNumber(any())).thenReturn(Optional.empty());
-        when(orderDomainService.findProcedureOrderByNumber(any())).thenReturn(Optional.empty());
-        when(orderDomainService.findDiagnosticAidOrderByNumber(any())).thenReturn(Optional.empty());
+        String availableNumber = "ORD000999";
+        when(orderDomainService.existsByOrderNumber(any())).thenReturn(false);
 
         // When
-        String orderNumber1 = orderApplicationService.generateNextOrderNumber();
-        String orderNumber2 = orderApplicationService.generateNextOrderNumber();
+        boolean result = orderApplicationService.isOrderNumberAvailable(availableNumber);
 
         // Then
-        assertNotNull(orderNumber1);
-        assertNotNull(orderNumber2);
-        assertTrue(orderNumber1.startsWith("ORD"));
-        assertTrue(orderNumber2.startsWith("ORD"));
-        assertNotEquals(orderNumber1, orderNumber2);
+        assertTrue(result);
     }
 
     @Test
-    void testIsOrderNumberAvailable_AvailableNumber() {
+    void testFindOrderByNumber_ResolvesTypeWithSingleLookup() {
         // Given
-        String availableNumber = "ORD000999";
-        when(orderDomainService.findMedicationOrderByNumber(any())).thenReturn(Optional.empty());
-        when(orderDomainService.findProcedureOrderByNumber(any())).thenReturn(Optional.empty());
-        when(orderDomainService.findDiagnosticAidOrderByNumber(any())).thenReturn(Optional.empty());
+        OrderNumber orderNumber = OrderNumber.of("000123");
+        ProcedureOrder procedureOrder = ProcedureOrder.of(orderNumber, PatientCedula.of("12345678"),
+            DoctorCedula.of("87654321"), OrderCreationDate.now(), OrderStatus.CREADA, List.of());
+        when(orderDomainService.findOrderByNumber(orderNumber)).thenReturn(Optional.of(procedureOrder));
 
         // When
-        boolean result = orderApplicationService.isOrderNumberAvailable(availableNumber);
+        Optional<OrderDTO> result = orderApplicationService.findOrderByNumber("000123");
 
         // Then
-        assertTrue(result);
+        assertTrue(result.isPresent());
+        assertEquals("000123", result.get().getOrderNumber());
+        assertNotNull(result.get().getProcedures());
+        verify(orderDomainService, never()).findMedicationOrderByNumber(any());
+        verify(orderDomainService, never()).findProcedureOrderByNumber(any());
+        verify(orderDomainService, never()).findDiagnosticAidOrderByNumber(any());
     }
 
     @Test
@@ -160,19 +190,18 @@ class OrderApplicationServiceTest {
         String patientCedula = "12345678";
         PatientCedula patientCedulaObj = PatientCedula.of(patientCedula);
 
-        MedicationOrder mockMedicationOrder = mock(MedicationOrder.class);
-        when(mockMedicationOrder.getOrderNumber()).thenReturn(OrderNumber.of("ORD000001"));
-        when(mockMedicationOrder.getPatientCedula()).thenReturn(patientCedulaObj);
-
-        when(orderDomainService.findMedicationOrdersByPatient(patientCedulaObj))
-            .thenReturn(Arrays.asList(mockMedicationOrder));
+        when(orderDomainService.findOrdersByPatient(patientCedulaObj))
+            .thenReturn(List.of(createMedicationOrder("000001", patientCedulaObj)));
 
         // When
         List<OrderDTO> result = orderApplicationService.findOrdersByPatientCedula(patientCedula);
 
         // Then
         assertNotNull(result);
-        assertFalse(result.isEmpty());
+        assertEquals(1, result.size());
+        verify(orderDomainService, never()).findMedicationOrdersByPatient(any());
+        verify(orderDomainService, never()).findProcedureOrdersByPatient(any());
+        verify(orderDomainService, never()).findDiagnosticAidOrdersByPatient(any());
     }
 
     @Test
@@ -194,12 +223,8 @@ class OrderApplicationServiceTest {
         String patientCedula = "12345678";
         PatientCedula patientCedulaObj = PatientCedula.of(patientCedula);
 
-        MedicationOrder mockMedicationOrder = mock(MedicationOrder.class);
-        when(mockMedicationOrder.getOrderNumber()).thenReturn(OrderNumber.of("ORD000001"));
-        when(mockMedicationOrder.getPatientCedula()).thenReturn(patientCedulaObj);
-
-        when(orderDomainService.findMedicationOrdersByPatient(patientCedulaObj))
-            .thenReturn(Arrays.asList(mockMedicationOrder));
+        when(orderDomainService.findOrdersByPatient(patientCedulaObj))
+            .thenReturn(List.of(createMedicationOrder("000001", patientCedulaObj)));
 
         // When
         OrderApplicationService.OrderStatisticsDTO result =
@@ -229,4 +254,59 @@ class OrderApplicationServiceTest {
         assertEquals(0, result.getProcedureOrders());
         assertEquals(0, result.getDiagnosticAidOrders());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateOrderBusinessRules_ChecksAllItemsInOneLookup() {
+        // Given
+        OrderItemDTO secondMedication = new OrderItemDTO();
+        secondMedication.setType("MEDICATION");
+        secondMedication.setInventoryItemId("MED002");
+        createOrderDTO.setItems(Arrays.asList(medicationItem, secondMedication));
+        when(inventoryCatalog.checkAvailability(Set.of(InventoryItemId.of("MED001"), InventoryItemId.of("MED002"))))
+            .thenReturn(availability(
+                catalogItem("MED001", InventoryItemType.MEDICAMENTO, true),
+                catalogItem("MED002", InventoryItemType.MEDICAMENTO, true)));
+
+        // When
+        boolean result = orderApplicationService.validateOrderBusinessRules(createOrderDTO);
+
+        // Then
+        assertTrue(result);
+        verify(inventoryCatalog, never()).findById(any());
+    }
+
+    @Test
+    void testValidateOrderBusinessRules_DuplicateInventoryItem() {
+        // Given
+        OrderItemDTO duplicate = new OrderItemDTO();
+        duplicate.setType("MEDICATION");
+        duplicate.setInventoryItemId(" MED001 ");
+        createOrderDTO.setItems(Arrays.asList(medicationItem, duplicate));
+
+        // When
+        boolean result = orderApplicationService.validateOrderBusinessRules(createOrderDTO);
+
+        // Then
+        assertFalse(result);
+        verify(inventoryCatalog, never()).checkAvailability(any());
+    }
+
+    private InventoryAvailability availability(InventoryItem... items) {
+        // Every test order requests MED001; only the given items are found
+        Set<InventoryItemId> requested = new HashSet<>(Set.of(InventoryItemId.of("MED001")));
+        Arrays.stream(items).map(InventoryItem::getId).forEach(requested::add);
+        return InventoryAvailability.of(requested, Arrays.asList(items));
+    }
+
+    private InventoryItem catalogItem(String id, InventoryItemType type, boolean active) {
+        return InventoryItem.of(InventoryItemId.of(id), InventoryItemName.of("Paracetamol"), type,
+            Cost.of(50.0), active);
+    }
+
+    private MedicationOrder createMedicationOrder(String orderNumber, PatientCedula patientCedula) {
+        MedicationItem item = MedicationItem.of(ItemNumber.of(1), InventoryItemId.of("10"),
+            Dosage.of("500mg"), TreatmentDuration.of("5 días"));
+        return MedicationOrder.of(OrderNumber.of(orderNumber), patientCedula, DoctorCedula.of("87654321"),
+            OrderCreationDate.now(), OrderStatus.CREADA, List.of(item));
+    }
+}
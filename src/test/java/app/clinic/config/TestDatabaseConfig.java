@@ -38,6 +38,11 @@ public class TestDatabaseConfig {
         jpaProperties.setProperty("hibernate.order_inserts", "true");
         jpaProperties.setProperty("hibernate.order_updates", "true");
         jpaProperties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        jpaProperties.setProperty("hibernate.generate_statistics", "true");
+        jpaProperties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        jpaProperties.setProperty("hibernate.cache.use_query_cache", "true");
+        jpaProperties.setProperty("hibernate.cache.region.factory_class", "jcache");
+        jpaProperties.setProperty("hibernate.javax.cache.missing_cache_strategy", "create");
         jpaProperties.setProperty("hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl");
 
         factory.setJpaProperties(jpaProperties);
@@ -0,0 +1,118 @@
+package app.clinic.domain.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para PatientRecord, PatientRecordMap y su árbol persistente.
+ * Verifica la inmutabilidad de versiones anteriores y las vistas de solo lectura.
+ */
+class PatientRecordTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    @DisplayName("Debe conservar la versión anterior al agregar y eliminar entradas")
+    void shouldKeepPreviousVersionUnchanged() {
+        // Given
+        PatientRecord original = PatientRecord.empty()
+            .addRecord(date(2), entry("Control"))
+            .addRecord(date(1), entry("Primera consulta"));
+
+        // When
+        PatientRecord added = original.addRecord(date(3), entry("Seguimiento"));
+        PatientRecord removed = original.removeRecord(date(1));
+
+        // Then
+        assertEquals(2, original.getRecords().size());
+        assertEquals(3, added.getRecords().size());
+        assertEquals(1, removed.getRecords().size());
+        assertTrue(original.hasRecord(date(1)));
+        assertFalse(removed.hasRecord(date(1)));
+        assertEquals(List.of(date(1), date(2), date(3)), new ArrayList<>(added.getRecords().keySet()));
+    }
+
+    @Test
+    @DisplayName("Debe exponer vistas de solo lectura sin copiar")
+    void shouldExposeReadOnlyViews() {
+        // Given
+        PatientRecord record = PatientRecord.empty().addRecord(date(1), entry("Control"));
+
+        // When
+        Map<PatientRecordDate, PatientRecordEntry> view = record.getRecords();
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> view.put(date(2), entry("Otro")));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(date(1)));
+        assertSame(record, record.removeRecord(date(5)));
+    }
+
+    @Test
+    @DisplayName("Debe construir el mapa de registros con el builder y fusionar igual que con addRecord")
+    void shouldBuildRecordMapWithBuilder() {
+        // Given
+        PatientRecordMap.Builder builder = PatientRecordMap.builder();
+        PatientRecordMap incremental = PatientRecordMap.empty();
+        for (int i = 0; i < 100; i++) {
+            PatientCedula cedula = PatientCedula.of(String.valueOf(1000 + (i * 37) % 100));
+            PatientRecord record = PatientRecord.empty().addRecord(date(i), entry("Consulta " + i));
+            builder.addRecord(cedula, record);
+            incremental = incremental.addRecord(cedula, record);
+        }
+
+        // When
+        PatientRecordMap built = builder.build();
+
+        // Then
+        assertEquals(incremental, built);
+        assertEquals(100, built.getRecords().size());
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("El árbol persistente debe comportarse como un TreeMap tras operaciones aleatorias")
+    void persistentTreeShouldMatchTreeMapAfterRandomOperations() {
+        // Given
+        Random random = new Random(42);
+        PersistentTreeMap<Integer, Integer> tree = PersistentTreeMap.empty(Integer::compare);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                tree = tree.remove(key);
+                expected.remove(key);
+            } else {
+                tree = tree.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        // Then
+        assertEquals(expected, tree.asMap());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(tree.asMap().keySet()));
+        assertEquals(expected.size(), tree.size());
+    }
+
+    private PatientRecordDate date(int offsetDays) {
+        return PatientRecordDate.of(BASE_DATE.plusDays(offsetDays));
+    }
+
+    private PatientRecordEntry entry(String reason) {
+        return PatientRecordEntry.of(DoctorCedula.of("1001"), ConsultationReason.of(reason),
+            Symptoms.of("Dolor de cabeza"), Diagnosis.of("Migraña"));
+    }
+}
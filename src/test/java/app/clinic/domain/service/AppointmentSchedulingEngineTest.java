@@ -0,0 +1,118 @@
+package app.clinic.domain.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import app.clinic.domain.model.Appointment;
+import app.clinic.domain.model.AppointmentDateTime;
+import app.clinic.domain.model.AppointmentStatus;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.FreeSlot;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.port.AppointmentRepository;
+
+/**
+ * Pruebas para la búsqueda de franjas libres de AppointmentSchedulingEngine.
+ * Verifica el barrido único sobre las citas de varios médicos.
+ */
+class AppointmentSchedulingEngineTest {
+
+    private static final DoctorCedula DOCTOR_A = DoctorCedula.of("1001");
+    private static final DoctorCedula DOCTOR_B = DoctorCedula.of("1002");
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 4, 8, 0);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private AppointmentSchedulingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new AppointmentSchedulingEngine(appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Debe devolver las franjas libres de cada médico alrededor de sus citas")
+    void shouldReturnFreeSlotsAroundAppointmentsOfEachDoctor() {
+        // Given: window 08:00-10:00 with 30-minute slots
+        when(appointmentRepository.findActiveByDoctorsBetween(anySet(), any(), any())).thenReturn(List.of(
+            appointment("A-1", DOCTOR_A, START.plusMinutes(30)),
+            appointment("A-2", DOCTOR_B, START.plusMinutes(45)),
+            appointment("A-3", DOCTOR_A, START.plusMinutes(60))
+        ));
+
+        // When
+        List<FreeSlot> slots = engine.findFreeSlots(doctors(), START, START.plusHours(2), Duration.ofMinutes(30))
+            .collect(Collectors.toList());
+
+        // Then
+        List<LocalDateTime> doctorA = startsOf(slots, DOCTOR_A);
+        List<LocalDateTime> doctorB = startsOf(slots, DOCTOR_B);
+        assertEquals(List.of(START, START.plusMinutes(90)), doctorA);
+        // 08:45-09:15 blocks the 08:30 and 09:00 slots of the second doctor
+        assertEquals(List.of(START, START.plusMinutes(90)), doctorB);
+    }
+
+    @Test
+    @DisplayName("Debe considerar citas iniciadas antes de la ventana que la ocupan parcialmente")
+    void shouldHonourAppointmentsStartingBeforeWindow() {
+        // Given
+        when(appointmentRepository.findActiveByDoctorsBetween(anySet(), any(), any())).thenReturn(List.of(
+            appointment("A-1", DOCTOR_A, START.minusMinutes(15))
+        ));
+
+        // When
+        List<FreeSlot> slots = engine.findFreeSlots(Set.of(DOCTOR_A), START, START.plusHours(1), Duration.ofMinutes(15))
+            .collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of(START.plusMinutes(15), START.plusMinutes(30), START.plusMinutes(45)),
+            startsOf(slots, DOCTOR_A));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar ventanas de búsqueda inválidas")
+    void shouldRejectInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () ->
+            engine.findFreeSlots(doctors(), START, START, Duration.ofMinutes(30)));
+        assertThrows(IllegalArgumentException.class, () ->
+            engine.findFreeSlots(doctors(), START, START.plusDays(40), Duration.ofMinutes(30)));
+        assertThrows(IllegalArgumentException.class, () ->
+            engine.findFreeSlots(doctors(), START, START.plusHours(1), Duration.ofMinutes(1)));
+    }
+
+    private Set<DoctorCedula> doctors() {
+        Set<DoctorCedula> doctors = new LinkedHashSet<>();
+        doctors.add(DOCTOR_A);
+        doctors.add(DOCTOR_B);
+        return doctors;
+    }
+
+    private Appointment appointment(String id, DoctorCedula doctorCedula, LocalDateTime dateTime) {
+        return Appointment.of(id, PatientCedula.of("12345678"), doctorCedula,
+            AppointmentDateTime.of(dateTime), AppointmentStatus.PROGRAMADA, null);
+    }
+
+    private List<LocalDateTime> startsOf(List<FreeSlot> slots, DoctorCedula doctorCedula) {
+        return slots.stream()
+            .filter(slot -> slot.getDoctorCedula().equals(doctorCedula))
+            .map(FreeSlot::getStart)
+            .collect(Collectors.toList());
+    }
+}
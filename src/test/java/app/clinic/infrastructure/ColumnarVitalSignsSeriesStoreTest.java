@@ -0,0 +1,331 @@
+package app.clinic.infrastructure;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import app.clinic.domain.model.AppointmentDateTime;
+import app.clinic.domain.model.BloodPressure;
+import app.clinic.domain.model.Observations;
+import app.clinic.domain.model.OxygenLevel;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientVisit;
+import app.clinic.domain.model.PatientVisitRecord;
+import app.clinic.domain.model.Pulse;
+import app.clinic.domain.model.SeriesResolution;
+import app.clinic.domain.model.Temperature;
+import app.clinic.domain.model.VitalSignAggregate;
+import app.clinic.domain.model.VitalSignPoint;
+import app.clinic.domain.model.VitalSignType;
+import app.clinic.domain.model.VitalSignsData;
+import app.clinic.domain.port.PatientVisitRepository;
+import app.clinic.infrastructure.adapter.ColumnarVitalSignsSeriesStore;
+import app.clinic.infrastructure.entity.VitalSignSampleEntity;
+import app.clinic.infrastructure.repository.VitalSignSampleJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ColumnarVitalSignsSeriesStore.
+ * Tests range reads, downsampling, per-visit upserts and removals, partition eviction and expiry, concurrent
+ * loads and backfilling from visits.
+ */
+@ExtendWith(MockitoExtension.class)
+class ColumnarVitalSignsSeriesStoreTest {
+
+    private static final PatientCedula PATIENT = PatientCedula.of("1001");
+    private static final PatientCedula OTHER_PATIENT = PatientCedula.of("1002");
+    private static final Duration TTL = Duration.ofMinutes(10);
+    /** A Monday. */
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 8, 30);
+
+    @Mock
+    private VitalSignSampleJpaRepository sampleJpaRepository;
+
+    @Mock
+    private PatientVisitRepository patientVisitRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ColumnarVitalSignsSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ColumnarVitalSignsSeriesStore(sampleJpaRepository, patientVisitRepository, meterRegistry, 10, TTL);
+    }
+
+    @Test
+    void testFindSeries_ReturnsMeasurementsWithinRangeInTimeOrder() {
+        // Given
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001")).thenReturn(List.of(
+            sample(MONDAY, 3650, (short) 80),
+            sample(MONDAY.plusDays(1), null, (short) 90),
+            sample(MONDAY.plusDays(2), 3725, (short) 100),
+            sample(MONDAY.plusDays(3), 3810, (short) 110)));
+
+        // When
+        List<VitalSignPoint> temperatures = store.findSeries(PATIENT, VitalSignType.TEMPERATURE,
+            MONDAY, MONDAY.plusDays(3));
+
+        // Then
+        assertEquals(List.of(VitalSignPoint.of(MONDAY, 36.5), VitalSignPoint.of(MONDAY.plusDays(2), 37.25)),
+            temperatures);
+        assertEquals(List.of(VitalSignPoint.of(MONDAY.plusDays(3), 110.0)),
+            store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY.plusDays(3), MONDAY.plusDays(4)));
+        verify(sampleJpaRepository, times(1)).findByPatientCedulaOrderByRecordedAtAsc("1001");
+    }
+
+    @Test
+    void testFindDownsampledSeries_AggregatesPerDayAndMondayStartingWeek() {
+        // Given
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001")).thenReturn(List.of(
+            sample(MONDAY, null, (short) 70),
+            sample(MONDAY.plusHours(4), null, (short) 90),
+            sample(MONDAY.plusDays(6), null, (short) 110),
+            sample(MONDAY.plusDays(7), null, (short) 60),
+            sample(MONDAY.plusDays(8), 3700, null)));
+
+        // When
+        List<VitalSignAggregate> days = store.findDownsampledSeries(PATIENT, VitalSignType.PULSE,
+            MONDAY.minusDays(30), MONDAY.plusDays(30), SeriesResolution.DAY);
+        List<VitalSignAggregate> weeks = store.findDownsampledSeries(PATIENT, VitalSignType.PULSE,
+            MONDAY.minusDays(30), MONDAY.plusDays(30), SeriesResolution.WEEK);
+
+        // Then
+        assertEquals(List.of(
+            VitalSignAggregate.of(LocalDate.of(2024, 3, 4), 2, 70, 90, 80),
+            VitalSignAggregate.of(LocalDate.of(2024, 3, 10), 1, 110, 110, 110),
+            VitalSignAggregate.of(LocalDate.of(2024, 3, 11), 1, 60, 60, 60)), days);
+        assertEquals(List.of(
+            VitalSignAggregate.of(LocalDate.of(2024, 3, 4), 3, 70, 110, 90),
+            VitalSignAggregate.of(LocalDate.of(2024, 3, 11), 1, 60, 60, 60)), weeks);
+    }
+
+    @Test
+    void testAppend_StoresSampleAndReloadsPartitionOnNextRead() {
+        // Given
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001"))
+            .thenReturn(List.of())
+            .thenReturn(List.of(sample(MONDAY, 3660, (short) 70)));
+        when(sampleJpaRepository.findByVisitId("1")).thenReturn(Optional.empty());
+        assertTrue(store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7)).isEmpty());
+
+        // When
+        store.append("1", PATIENT, MONDAY, vitalSigns("120/80", 36.6, 70, 98.0));
+
+        // Then
+        assertEquals(0, store.cachedPatients());
+        assertEquals(List.of(VitalSignPoint.of(MONDAY, 70.0)),
+            store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7)));
+
+        ArgumentCaptor<VitalSignSampleEntity> saved = ArgumentCaptor.forClass(VitalSignSampleEntity.class);
+        verify(sampleJpaRepository).save(saved.capture());
+        assertEquals("1", saved.getValue().getVisitId());
+        assertEquals("1001", saved.getValue().getPatientCedula());
+        assertEquals(Short.valueOf((short) 3660), saved.getValue().getTemperatureCenti());
+        assertEquals(Short.valueOf((short) 9800), saved.getValue().getOxygenLevelCenti());
+        assertEquals(Short.valueOf((short) 80), saved.getValue().getDiastolicPressure());
+    }
+
+    @Test
+    void testAppend_ReplacesSampleOfVisitMovedToAnotherPatientAndTime() {
+        // Given
+        VitalSignSampleEntity stored = sample(MONDAY, 3660, (short) 70);
+        stored.setVisitId("1");
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc(anyString())).thenReturn(List.of());
+        when(sampleJpaRepository.findByVisitId("1")).thenReturn(Optional.of(stored));
+        store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7));
+        store.findSeries(OTHER_PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7));
+
+        // When
+        store.append("1", OTHER_PATIENT, MONDAY.plusDays(1), vitalSigns("130/85", 37.0, 72, 97.5));
+
+        // Then
+        verify(sampleJpaRepository).save(stored);
+        assertEquals("1002", stored.getPatientCedula());
+        assertEquals(MONDAY.plusDays(1), stored.getRecordedAt());
+        assertEquals(Short.valueOf((short) 72), stored.getPulse());
+        assertEquals(0, store.cachedPatients());
+    }
+
+    @Test
+    void testRemove_DeletesSampleOfVisitAndEvictsItsPartition() {
+        // Given
+        VitalSignSampleEntity stored = sample(MONDAY, 3660, (short) 70);
+        stored.setVisitId("1");
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001"))
+            .thenReturn(List.of(stored))
+            .thenReturn(List.of());
+        when(sampleJpaRepository.findByVisitId("1")).thenReturn(Optional.of(stored));
+        assertEquals(1, store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7)).size());
+
+        // When
+        store.remove("1");
+
+        // Then
+        verify(sampleJpaRepository).delete(stored);
+        assertTrue(store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(7)).isEmpty());
+    }
+
+    @Test
+    void testRemove_IgnoresVisitWithoutSample() {
+        // Given
+        when(sampleJpaRepository.findByVisitId("9")).thenReturn(Optional.empty());
+
+        // When
+        store.remove("9");
+
+        // Then
+        verify(sampleJpaRepository, never()).delete(any());
+    }
+
+    @Test
+    void testFindSeries_ReloadsExpiredPartition() {
+        // Given
+        store = new ColumnarVitalSignsSeriesStore(sampleJpaRepository, patientVisitRepository, meterRegistry, 10,
+            Duration.ZERO);
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001")).thenReturn(List.of());
+
+        // When
+        store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1));
+        store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1));
+
+        // Then
+        verify(sampleJpaRepository, times(2)).findByPatientCedulaOrderByRecordedAtAsc("1001");
+    }
+
+    @Test
+    void testFindSeries_ReadsOtherPatientsWhileOneIsLoading() throws Exception {
+        // Given
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1001")).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+            return List.of(sample(MONDAY, null, (short) 70));
+        });
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc("1002")).thenReturn(List.of());
+        CompletableFuture<List<VitalSignPoint>> slowRead = CompletableFuture.supplyAsync(
+            () -> store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1)));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<VitalSignPoint> otherSeries = store.findSeries(OTHER_PATIENT, VitalSignType.PULSE,
+            MONDAY, MONDAY.plusDays(1));
+        releaseLoad.countDown();
+
+        // Then
+        assertTrue(otherSeries.isEmpty());
+        assertEquals(List.of(VitalSignPoint.of(MONDAY, 70.0)), slowRead.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFindSeries_EvictsLeastRecentlyReadPatients() {
+        // Given
+        store = new ColumnarVitalSignsSeriesStore(sampleJpaRepository, patientVisitRepository, meterRegistry, 1, TTL);
+        when(sampleJpaRepository.findByPatientCedulaOrderByRecordedAtAsc(anyString())).thenReturn(List.of());
+
+        // When
+        store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1));
+        store.findSeries(PatientCedula.of("1002"), VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1));
+        store.findSeries(PATIENT, VitalSignType.PULSE, MONDAY, MONDAY.plusDays(1));
+
+        // Then
+        assertEquals(1, store.cachedPatients());
+        verify(sampleJpaRepository, times(2)).findByPatientCedulaOrderByRecordedAtAsc("1001");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAfterSingletonsInstantiated_BackfillsVitalSignsOfRecordedVisitsInBatches() {
+        // Given
+        when(sampleJpaRepository.count()).thenReturn(0L);
+        when(patientVisitRepository.streamAll()).thenReturn(Stream.concat(
+            IntStream.range(0, 501).mapToObj(i -> visit(String.valueOf(i), MONDAY.plusHours(i),
+                vitalSigns("120/80", 36.6, 70, 98.0))),
+            Stream.of(visit("501", MONDAY.minusDays(1), null))));
+
+        // When
+        store.afterSingletonsInstantiated();
+
+        // Then
+        ArgumentCaptor<List<VitalSignSampleEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(sampleJpaRepository, times(2)).saveAll(batches.capture());
+        assertEquals(500, batches.getAllValues().get(0).size());
+        VitalSignSampleEntity last = batches.getAllValues().get(1).get(0);
+        assertEquals("500", last.getVisitId());
+        assertEquals(MONDAY.plusHours(500), last.getRecordedAt());
+        assertEquals(Short.valueOf((short) 70), last.getPulse());
+        verify(sampleJpaRepository, never()).findByVisitId(anyString());
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_SkipsBackfillWhenSamplesExist() {
+        // Given
+        when(sampleJpaRepository.count()).thenReturn(5L);
+
+        // When
+        store.afterSingletonsInstantiated();
+
+        // Then
+        verify(patientVisitRepository, never()).streamAll();
+    }
+
+    @Test
+    void testAppend_LeavesUnmeasuredVitalSignsEmpty() {
+        // Given
+        when(sampleJpaRepository.findByVisitId("1")).thenReturn(Optional.empty());
+
+        // When
+        store.append("1", PATIENT, MONDAY, VitalSignsData.of(null, null, Pulse.of(75), null));
+
+        // Then
+        ArgumentCaptor<VitalSignSampleEntity> saved = ArgumentCaptor.forClass(VitalSignSampleEntity.class);
+        verify(sampleJpaRepository).save(saved.capture());
+        assertNull(saved.getValue().getTemperatureCenti());
+        assertNull(saved.getValue().getSystolicPressure());
+        assertEquals(Short.valueOf((short) 75), saved.getValue().getPulse());
+        assertEquals(0, store.cachedPatients());
+    }
+
+    private static VitalSignSampleEntity sample(LocalDateTime recordedAt, Integer temperatureCenti, Short pulse) {
+        VitalSignSampleEntity sample = new VitalSignSampleEntity();
+        sample.setPatientCedula("1001");
+        sample.setRecordedAt(recordedAt);
+        sample.setTemperatureCenti(temperatureCenti == null ? null : temperatureCenti.shortValue());
+        sample.setPulse(pulse);
+        return sample;
+    }
+
+    private static VitalSignsData vitalSigns(String bloodPressure, double temperature, int pulse, double oxygenLevel) {
+        return VitalSignsData.of(BloodPressure.of(bloodPressure), Temperature.of(temperature), Pulse.of(pulse),
+            OxygenLevel.of(oxygenLevel));
+    }
+
+    private static PatientVisit visit(String id, LocalDateTime visitDateTime, VitalSignsData vitalSigns) {
+        return PatientVisit.of(id, PATIENT, AppointmentDateTime.restore(visitDateTime),
+            PatientVisitRecord.of(PATIENT, vitalSigns, Observations.of("Control")), true);
+    }
+}
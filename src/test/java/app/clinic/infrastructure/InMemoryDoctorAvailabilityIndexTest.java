@@ -0,0 +1,126 @@
+package app.clinic.infrastructure;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.infrastructure.adapter.InMemoryDoctorAvailabilityIndex;
+import app.clinic.infrastructure.entity.AppointmentEntity;
+import app.clinic.infrastructure.repository.AppointmentJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for InMemoryDoctorAvailabilityIndex.
+ * Tests overlap detection, reservation, warm-up and periodic refresh of the doctor availability index.
+ */
+@ExtendWith(MockitoExtension.class)
+class InMemoryDoctorAvailabilityIndexTest {
+
+    private static final DoctorCedula DOCTOR = DoctorCedula.of("1001");
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Mock
+    private AppointmentJpaRepository appointmentJpaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryDoctorAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new InMemoryDoctorAvailabilityIndex(appointmentJpaRepository, meterRegistry);
+    }
+
+    @Test
+    void testIsAvailable_DetectsPartialOverlapsOfDifferentLengths() {
+        // Given
+        index.put("A-1", DOCTOR, NINE, NINE.plusHours(2));
+        index.put("A-2", DOCTOR, NINE.plusHours(3), NINE.plusHours(3).plusMinutes(15));
+
+        // When / Then
+        assertFalse(index.isAvailable(DOCTOR, NINE.plusMinutes(90), NINE.plusMinutes(120)));
+        assertFalse(index.isAvailable(DOCTOR, NINE.plusMinutes(170), NINE.plusMinutes(200)));
+        assertTrue(index.isAvailable(DOCTOR, NINE.plusHours(2), NINE.plusHours(3)));
+        assertTrue(index.isAvailable(DoctorCedula.of("2002"), NINE, NINE.plusHours(1)));
+    }
+
+    @Test
+    void testTryReserve_RejectsOverlapAndFreesRangeOnRemove() {
+        // Given
+        assertTrue(index.tryReserve("A-1", DOCTOR, NINE, NINE.plusMinutes(30)));
+
+        // When
+        boolean conflicting = index.tryReserve("A-2", DOCTOR, NINE.plusMinutes(15), NINE.plusMinutes(45));
+        index.remove("A-1");
+        boolean afterRemoval = index.tryReserve("A-2", DOCTOR, NINE.plusMinutes(15), NINE.plusMinutes(45));
+
+        // Then
+        assertFalse(conflicting);
+        assertTrue(afterRemoval);
+        assertEquals(1.0, meterRegistry.get("clinic.appointments.availability.index.size").gauge().value());
+    }
+
+    @Test
+    void testTryReserve_AllowsMovingAppointmentWithinOwnRange() {
+        // Given
+        index.tryReserve("A-1", DOCTOR, NINE, NINE.plusMinutes(30));
+
+        // When
+        boolean moved = index.tryReserve("A-1", DOCTOR, NINE.plusMinutes(15), NINE.plusMinutes(45));
+
+        // Then
+        assertTrue(moved);
+        assertTrue(index.isAvailable(DOCTOR, NINE, NINE.plusMinutes(15)));
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_WarmsIndexFromActiveAppointments() {
+        // Given
+        AppointmentEntity entity = new AppointmentEntity("A-1", "111", "1001", NINE,
+                AppointmentEntity.AppointmentStatus.CONFIRMADA, "Control", null);
+        when(appointmentJpaRepository.findByStatusInAndAppointmentDateTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(List.of(entity));
+
+        // When
+        index.afterSingletonsInstantiated();
+
+        // Then
+        assertFalse(index.isAvailable(DOCTOR, NINE.plusMinutes(10), NINE.plusMinutes(20)));
+        assertTrue(index.isAvailable(DOCTOR, NINE.plusMinutes(30), NINE.plusMinutes(60)));
+    }
+
+    @Test
+    void testRefresh_ReplacesIndexWithStoredAppointmentsThatHaveNotEnded() {
+        // Given
+        index.put("A-1", DOCTOR, NINE, NINE.plusMinutes(30));
+        index.put("A-OLD", DoctorCedula.of("2002"), LocalDateTime.of(2020, 1, 1, 9, 0), LocalDateTime.of(2020, 1, 1, 9, 30));
+        AppointmentEntity stored = new AppointmentEntity("A-2", "111", "1001", NINE.plusHours(1),
+                AppointmentEntity.AppointmentStatus.PROGRAMADA, "Control", null);
+        AppointmentEntity ended = new AppointmentEntity("A-3", "222", "3003", LocalDateTime.of(2020, 1, 1, 10, 0),
+                AppointmentEntity.AppointmentStatus.PROGRAMADA, "Control", null);
+        when(appointmentJpaRepository.findByStatusInAndAppointmentDateTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(List.of(stored, ended));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertTrue(index.isAvailable(DOCTOR, NINE, NINE.plusMinutes(30)));
+        assertFalse(index.isAvailable(DOCTOR, NINE.plusMinutes(70), NINE.plusMinutes(80)));
+        assertTrue(index.isAvailable(DoctorCedula.of("3003"), LocalDateTime.of(2020, 1, 1, 10, 0),
+                LocalDateTime.of(2020, 1, 1, 10, 30)));
+        assertEquals(1.0, meterRegistry.get("clinic.appointments.availability.index.size").gauge().value());
+    }
+}
@@ -0,0 +1,240 @@
+package app.clinic.infrastructure;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import app.clinic.domain.model.Cost;
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemName;
+import app.clinic.domain.model.InventoryItemType;
+import app.clinic.domain.port.InventoryRepository;
+import app.clinic.infrastructure.adapter.InMemoryInventoryCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for InMemoryInventoryCatalog.
+ * Tests ID lookups, bulk availability checks, type listings, name search and refresh of the inventory catalog.
+ */
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryCatalogTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryInventoryCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalog = new InMemoryInventoryCatalog(inventoryRepository, meterRegistry);
+    }
+
+    @Test
+    void testRefresh_LoadsItemsFromRepository() {
+        // Given
+        when(inventoryRepository.streamAll()).thenReturn(Stream.of(
+            item(1, "Acetaminofén", InventoryItemType.MEDICAMENTO, true),
+            item(2, "Hemograma", InventoryItemType.AYUDA_DIAGNOSTICA, true)));
+
+        // When
+        catalog.afterSingletonsInstantiated();
+
+        // Then
+        assertEquals(2, catalog.size());
+        assertEquals("Hemograma", catalog.findById(InventoryItemId.of("2")).orElseThrow().getName().getValue());
+        assertFalse(catalog.findById(InventoryItemId.of("3")).isPresent());
+        assertFalse(catalog.findById(InventoryItemId.of("MED001")).isPresent());
+        assertEquals(2.0, meterRegistry.get("clinic.inventory.catalog.index.size").gauge().value());
+    }
+
+    @Test
+    void testFindActiveByType_ListsOnlyActiveItemsOrderedByName() {
+        // Given
+        catalog.put(item(1, "Naproxeno", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(2, "Ibuprofeno", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(3, "Dipirona", InventoryItemType.MEDICAMENTO, false));
+        catalog.put(item(4, "Sutura", InventoryItemType.PROCEDIMIENTO, true));
+
+        // When
+        List<InventoryItem> medications = catalog.findActiveByType(InventoryItemType.MEDICAMENTO);
+
+        // Then
+        assertEquals(List.of("Ibuprofeno", "Naproxeno"), names(medications));
+        assertTrue(catalog.findActiveByType(InventoryItemType.AYUDA_DIAGNOSTICA).isEmpty());
+    }
+
+    @Test
+    void testSearchByName_ReturnsPrefixMatchesBeforeSubstringMatches() {
+        // Given
+        catalog.put(item(1, "Sal de frutas", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(2, "Salbutamol", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(3, "Suero salino", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(4, "Ácido fólico", InventoryItemType.MEDICAMENTO, true));
+
+        // When / Then
+        assertEquals(List.of("Sal de frutas", "Salbutamol", "Suero salino"), names(catalog.searchByName("SAL", 10)));
+        assertEquals(List.of("Sal de frutas", "Salbutamol"), names(catalog.searchByName("sal", 2)));
+        assertEquals(List.of("Ácido fólico"), names(catalog.searchByName("acido", 10)));
+        assertEquals(List.of("Ácido fólico"), names(catalog.searchByName("folico", 10)));
+        assertEquals(List.of("Sal de frutas", "Salbutamol"), names(catalog.searchByName("sa", 10)));
+        assertTrue(catalog.searchByName("xyz", 10).isEmpty());
+        assertTrue(catalog.searchByName("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testPutAndRemove_ReplaceAndDropIndexedEntries() {
+        // Given
+        catalog.put(item(7, "Ibuprofeno", InventoryItemType.MEDICAMENTO, true));
+
+        // When
+        catalog.put(item(7, "Ibuprofeno 400", InventoryItemType.MEDICAMENTO, false));
+
+        // Then
+        assertEquals(1, catalog.size());
+        assertFalse(catalog.findById(InventoryItemId.of("7")).orElseThrow().isActive());
+        assertTrue(catalog.findActiveByType(InventoryItemType.MEDICAMENTO).isEmpty());
+        assertEquals(List.of("Ibuprofeno 400"), names(catalog.searchByName("400", 10)));
+
+        // When
+        catalog.remove(InventoryItemId.of("7"));
+
+        // Then
+        assertEquals(0, catalog.size());
+        assertTrue(catalog.searchByName("ibu", 10).isEmpty());
+    }
+
+    @Test
+    void testPut_RejectsItemsWithoutStoredId() {
+        // Given
+        InventoryItem unsaved = InventoryItem.of(InventoryItemId.of("MED001"), InventoryItemName.of("Paracetamol"),
+            InventoryItemType.MEDICAMENTO, Cost.of(1500.0), true);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> catalog.put(unsaved));
+    }
+
+    @Test
+    void testFindById_FindsEveryItemOfALargeCatalog() {
+        // Given
+        when(inventoryRepository.streamAll()).thenReturn(Stream.iterate(1, i -> i + 1).limit(5000)
+            .map(i -> item(i * 31L, "Artículo " + i, InventoryItemType.PROCEDIMIENTO, i % 2 == 0)));
+        catalog.refresh();
+
+        // When / Then
+        for (long i = 1; i <= 5000; i++) {
+            assertEquals("Artículo " + i, catalog.findById(InventoryItemId.of(String.valueOf(i * 31)))
+                .orElseThrow().getName().getValue());
+        }
+        assertEquals(2500, catalog.findActiveByType(InventoryItemType.PROCEDIMIENTO).size());
+        assertEquals(List.of("Artículo 4999"), names(catalog.searchByName("articulo 4999", 10)));
+    }
+
+    @Test
+    void testRefresh_AppliesWritesMadeWhileReloadingWithoutBlockingThem() throws Exception {
+        // Given
+        catalog.put(item(2, "Artículo 2", InventoryItemType.MEDICAMENTO, true));
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(inventoryRepository.streamAll()).thenReturn(Stream.of(1, 2).map(i -> {
+            if (i == 2) {
+                reloading.countDown();
+                await(release);
+            }
+            return item(i, "Artículo " + i, InventoryItemType.MEDICAMENTO, true);
+        }));
+        Thread refresher = new Thread(catalog::refresh);
+        refresher.start();
+        assertTrue(reloading.await(5, TimeUnit.SECONDS));
+
+        // When: the writes finish while the reload is still reading the repository
+        catalog.put(item(9, "Naproxeno", InventoryItemType.MEDICAMENTO, true));
+        catalog.remove(InventoryItemId.of("2"));
+        assertTrue(catalog.findById(InventoryItemId.of("9")).isPresent());
+        release.countDown();
+        refresher.join(5000);
+
+        // Then
+        assertFalse(refresher.isAlive());
+        assertEquals(2, catalog.size());
+        assertTrue(catalog.findById(InventoryItemId.of("1")).isPresent());
+        assertTrue(catalog.findById(InventoryItemId.of("9")).isPresent());
+        assertFalse(catalog.findById(InventoryItemId.of("2")).isPresent());
+    }
+
+    @Test
+    void testCheckAvailability_LoadsUnknownIdsInOneRepositoryCall() {
+        // Given
+        catalog.put(item(1, "Ibuprofeno", InventoryItemType.MEDICAMENTO, true));
+        catalog.put(item(2, "Dipirona", InventoryItemType.MEDICAMENTO, false));
+        InventoryItem createdElsewhere = item(3, "Naproxeno", InventoryItemType.MEDICAMENTO, true);
+        Set<InventoryItemId> unknown = Set.of(InventoryItemId.of("3"), InventoryItemId.of("4"));
+        when(inventoryRepository.checkAvailability(unknown))
+            .thenReturn(InventoryAvailability.of(unknown, List.of(createdElsewhere)));
+        Set<InventoryItemId> requested = Set.of(InventoryItemId.of("1"), InventoryItemId.of("2"),
+            InventoryItemId.of("3"), InventoryItemId.of("4"), InventoryItemId.of("MED001"));
+
+        // When
+        InventoryAvailability availability = catalog.checkAvailability(requested);
+
+        // Then
+        assertEquals(Set.of(InventoryItemId.of("1"), InventoryItemId.of("3")), availability.getActiveIds());
+        assertEquals(Set.of(InventoryItemId.of("2")), availability.getInactiveIds());
+        assertEquals(Set.of(InventoryItemId.of("4"), InventoryItemId.of("MED001")), availability.getMissingIds());
+        assertFalse(availability.isAllActive());
+        assertTrue(catalog.findById(InventoryItemId.of("3")).isPresent());
+        verify(inventoryRepository, times(1)).checkAvailability(any());
+    }
+
+    @Test
+    void testCheckAvailability_SkipsRepositoryWhenCatalogHoldsAllIds() {
+        // Given
+        catalog.put(item(1, "Ibuprofeno", InventoryItemType.MEDICAMENTO, true));
+
+        // When
+        InventoryAvailability availability = catalog.checkAvailability(Set.of(InventoryItemId.of("1")));
+
+        // Then
+        assertTrue(availability.isAllActive());
+        assertEquals(InventoryItemType.MEDICAMENTO,
+            availability.find(InventoryItemId.of("1")).orElseThrow().getType());
+        verify(inventoryRepository, never()).checkAvailability(any());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> names(List<InventoryItem> items) {
+        return items.stream().map(item -> item.getName().getValue()).toList();
+    }
+
+    private static InventoryItem item(long id, String name, InventoryItemType type, boolean active) {
+        return InventoryItem.of(InventoryItemId.of(String.valueOf(id)), InventoryItemName.of(name), type,
+            Cost.of(1500.0), active);
+    }
+}
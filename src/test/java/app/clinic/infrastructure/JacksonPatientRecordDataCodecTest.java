@@ -0,0 +1,93 @@
+package app.clinic.infrastructure;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import app.clinic.domain.model.PatientRecordData;
+import app.clinic.infrastructure.adapter.JacksonPatientRecordDataCodec;
+
+/**
+ * Unit tests for JacksonPatientRecordDataCodec.
+ * Tests roundtrips, reading payloads of either format and payload size.
+ */
+class JacksonPatientRecordDataCodecTest {
+
+    private final JacksonPatientRecordDataCodec cborCodec = new JacksonPatientRecordDataCodec("cbor");
+    private final JacksonPatientRecordDataCodec jsonCodec = new JacksonPatientRecordDataCodec("json");
+
+    @Test
+    void testEncodeAndDecode_RoundtripsDataInBothFormats() {
+        // Given
+        PatientRecordData data = sampleData();
+
+        // When
+        PatientRecordData fromCbor = cborCodec.decode(cborCodec.encode(data));
+        PatientRecordData fromJson = jsonCodec.decode(jsonCodec.encode(data));
+
+        // Then
+        assertEquals(data, fromCbor);
+        assertEquals(data, fromJson);
+    }
+
+    @Test
+    void testEncode_ReturnsNullForEmptyDataAndDecodesMissingPayloadAsEmpty() {
+        // When / Then
+        assertNull(cborCodec.encode(PatientRecordData.empty()));
+        assertTrue(cborCodec.decode(null).isEmpty());
+        assertTrue(cborCodec.decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void testDecode_ReadsPayloadsOfEitherFormat() {
+        // Given
+        byte[] json = jsonCodec.encode(sampleData());
+        byte[] cbor = cborCodec.encode(sampleData());
+
+        // When / Then
+        assertEquals(sampleData(), cborCodec.decode(json));
+        assertEquals(sampleData(), jsonCodec.decode(cbor));
+        assertEquals(sampleData().get("medications"), cborCodec.decode(json).get("medications"));
+    }
+
+    @Test
+    void testEncode_CborPayloadIsSmallerThanJson() {
+        // Given
+        PatientRecordData data = sampleData();
+
+        // When
+        byte[] cbor = cborCodec.encode(data);
+        byte[] json = jsonCodec.encode(data);
+
+        // Then
+        assertTrue(cbor.length < json.length,
+            "CBOR payload of " + cbor.length + " bytes should be smaller than JSON of " + json.length);
+        assertEquals('{', json[0]);
+    }
+
+    @Test
+    void testConstructor_RejectsUnknownFormat() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new JacksonPatientRecordDataCodec("xml"));
+        assertThrows(IllegalArgumentException.class, () -> new JacksonPatientRecordDataCodec(" "));
+    }
+
+    private static PatientRecordData sampleData() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("medications", List.of(
+            Map.of("name", "Acetaminofén", "dosage", "500mg", "numberOfTimes", 3),
+            Map.of("name", "Ibuprofeno", "dosage", "400mg", "numberOfTimes", 2),
+            Map.of("name", "Loratadina", "dosage", "10mg", "numberOfTimes", 1)));
+        data.put("procedures", List.of(
+            Map.of("name", "Nebulización", "numberOfTimes", 2, "frequency", "Cada 8 horas"),
+            Map.of("name", "Curación", "numberOfTimes", 1, "frequency", "Diaria")));
+        data.put("specialistType", "Cardiología");
+        return PatientRecordData.of(data);
+    }
+}
@@ -0,0 +1,192 @@
+package app.clinic.infrastructure;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import app.clinic.domain.model.ConsultationReason;
+import app.clinic.domain.model.Diagnosis;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.MedicalRecordSearchHit;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientRecordDate;
+import app.clinic.domain.model.PatientRecordEntry;
+import app.clinic.domain.model.PatientRecordKey;
+import app.clinic.domain.model.Symptoms;
+import app.clinic.domain.port.MedicalRecordRepository;
+import app.clinic.infrastructure.adapter.LuceneMedicalRecordSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for LuceneMedicalRecordSearchIndex.
+ * Tests ranking, Spanish text analysis, incremental updates, background refresh and rebuilding of the
+ * medical record search index.
+ */
+@ExtendWith(MockitoExtension.class)
+class LuceneMedicalRecordSearchIndexTest {
+
+    private static final LocalDate FIRST_VISIT = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private MedicalRecordRepository medicalRecordRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LuceneMedicalRecordSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchIndex = new LuceneMedicalRecordSearchIndex(medicalRecordRepository, meterRegistry, "",
+            Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.destroy();
+    }
+
+    @Test
+    void testSearch_RanksDiagnosisMatchesFirst() {
+        // Given
+        searchIndex.index(key("1001", 0), entry("Control", "Dolor de cabeza intenso", "Migraña crónica"));
+        searchIndex.index(key("1002", 0), entry("Consulta por migraña", "Náuseas", "Gastritis"));
+        searchIndex.index(key("1003", 0), entry("Control", "Tos seca", "Faringitis"));
+        searchIndex.refresh();
+
+        // When
+        List<MedicalRecordSearchHit> hits = searchIndex.search("migraña", 10);
+
+        // Then
+        assertEquals(List.of(key("1001", 0), key("1002", 0)), keys(hits));
+        assertEquals("Migraña crónica", hits.get(0).getDiagnosis().getValue());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAccentsPluralsAndStopWords() {
+        // Given
+        searchIndex.index(key("1001", 0), entry("Control", "Fiebres altas y escalofríos", "Infección viral"));
+        searchIndex.refresh();
+
+        // When / Then
+        assertEquals(List.of(key("1001", 0)), keys(searchIndex.search("FIEBRE", 10)));
+        assertEquals(List.of(key("1001", 0)), keys(searchIndex.search("infeccion", 10)));
+        assertEquals(List.of(key("1001", 0)), keys(searchIndex.search("escalofrio", 10)));
+        assertTrue(searchIndex.search("de la y", 10).isEmpty());
+        assertTrue(searchIndex.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksEntriesMatchingMoreWordsFirstAndHonorsLimit() {
+        // Given
+        for (int day = 0; day < 5; day++) {
+            searchIndex.index(key("1001", day), entry("Control", "Tos", "Bronquitis"));
+        }
+        searchIndex.index(key("1002", 0), entry("Control", "Tos con fiebre", "Bronquitis aguda"));
+        searchIndex.refresh();
+
+        // When
+        List<MedicalRecordSearchHit> hits = searchIndex.search("bronquitis fiebre", 3);
+
+        // Then
+        assertEquals(3, hits.size());
+        assertEquals(key("1002", 0), hits.get(0).getKey());
+        assertThrows(IllegalArgumentException.class, () -> searchIndex.search("tos", 0));
+    }
+
+    @Test
+    void testIndexAndRemove_ReplaceAndDropEntries() {
+        // Given
+        searchIndex.index(key("1001", 0), entry("Control", "Tos", "Gripe"));
+        searchIndex.index(key("1001", 1), entry("Control", "Tos", "Gripe"));
+        searchIndex.index(key("1002", 0), entry("Control", "Tos", "Gripe"));
+
+        // When
+        searchIndex.index(key("1001", 0), entry("Control", "Dolor lumbar", "Lumbalgia"));
+        searchIndex.refresh();
+
+        // Then
+        assertEquals(3, searchIndex.size());
+        assertEquals(List.of(key("1001", 0)), keys(searchIndex.search("lumbalgia", 10)));
+        assertEquals(2, searchIndex.search("gripe", 10).size());
+
+        // When
+        searchIndex.remove(key("1001", 1));
+        searchIndex.removePatient(PatientCedula.of("1002"));
+        searchIndex.refresh();
+
+        // Then
+        assertEquals(1, searchIndex.size());
+        assertTrue(searchIndex.search("gripe", 10).isEmpty());
+        assertEquals(1.0, meterRegistry.get("clinic.medical-records.search.index.size").gauge().value());
+    }
+
+    @Test
+    void testIndex_BecomesVisibleWithoutExplicitRefresh() throws InterruptedException {
+        // Given
+        searchIndex.index(key("1001", 0), entry("Control", "Tos", "Sinusitis"));
+
+        // When
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (searchIndex.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertEquals(List.of(key("1001", 0)), keys(searchIndex.search("sinusitis", 10)));
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_RebuildsIndexFromRepository() {
+        // Given
+        when(medicalRecordRepository.count()).thenReturn(2L);
+        when(medicalRecordRepository.streamAllWithoutData()).thenReturn(Stream.of(
+            Map.entry(key("1001", 0), entry("Control", "Tos", "Asma")),
+            Map.entry(key("1002", 0), entry("Control", "Disnea", "Asma bronquial"))));
+
+        // When
+        searchIndex.afterSingletonsInstantiated();
+
+        // Then
+        assertEquals(2, searchIndex.size());
+        assertEquals(2, searchIndex.search("asma", 10).size());
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_SkipsRebuildWhenIndexIsComplete() {
+        // When
+        searchIndex.afterSingletonsInstantiated();
+
+        // Then
+        verify(medicalRecordRepository, never()).streamAll();
+    }
+
+    private static List<PatientRecordKey> keys(List<MedicalRecordSearchHit> hits) {
+        return hits.stream().map(MedicalRecordSearchHit::getKey).toList();
+    }
+
+    private static PatientRecordKey key(String cedula, int dayOffset) {
+        return PatientRecordKey.of(PatientCedula.of(cedula), PatientRecordDate.of(FIRST_VISIT.plusDays(dayOffset)));
+    }
+
+    private static PatientRecordEntry entry(String reason, String symptoms, String diagnosis) {
+        return PatientRecordEntry.of(DoctorCedula.of("2001"), ConsultationReason.of(reason),
+            Symptoms.of(symptoms), Diagnosis.of(diagnosis));
+    }
+}
@@ -0,0 +1,139 @@
+package app.clinic.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import app.clinic.domain.model.OrderNumber;
+import app.clinic.infrastructure.adapter.OrderNumberSequenceAdapter;
+import app.clinic.infrastructure.entity.NumberSequenceEntity;
+import app.clinic.infrastructure.repository.NumberSequenceJpaRepository;
+import app.clinic.infrastructure.repository.OrderJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for OrderNumberSequenceAdapter.
+ * Tests hi/lo block allocation of order numbers.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderNumberSequenceAdapterTest {
+
+    @Mock
+    private NumberSequenceJpaRepository sequenceJpaRepository;
+
+    @Mock
+    private OrderJpaRepository orderJpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NumberSequenceEntity sequence;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sequence = new NumberSequenceEntity("orders", 100L);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        lenient().when(sequenceJpaRepository.findForUpdate("orders")).thenReturn(Optional.of(sequence));
+    }
+
+    @Test
+    void testNextOrderNumber_AllocatesSequentiallyWithinBlock() {
+        // Given
+        OrderNumberSequenceAdapter adapter = new OrderNumberSequenceAdapter(
+                sequenceJpaRepository, orderJpaRepository, transactionManager, meterRegistry, 10);
+
+        // When
+        OrderNumber first = adapter.nextOrderNumber();
+        OrderNumber second = adapter.nextOrderNumber();
+
+        // Then
+        assertEquals("000100", first.getValue());
+        assertEquals("000101", second.getValue());
+        assertEquals(110L, sequence.getNextValue());
+        verify(sequenceJpaRepository, times(1)).findForUpdate("orders");
+    }
+
+    @Test
+    void testNextOrderNumber_ConcurrentAllocationsAreUnique() throws Exception {
+        // Given
+        OrderNumberSequenceAdapter adapter = new OrderNumberSequenceAdapter(
+                sequenceJpaRepository, orderJpaRepository, transactionManager, meterRegistry, 25);
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 125; j++) {
+                        allocated.add(adapter.nextOrderNumber().getValue());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1000, allocated.size());
+        assertEquals(1000.0, meterRegistry.counter("clinic.orders.numbers.allocated").count());
+        assertEquals(40.0, meterRegistry.counter("clinic.orders.numbers.blocks.reserved").count());
+    }
+
+    @Test
+    void testNextOrderNumber_SeedsFromHighestExistingOrder() {
+        // Given
+        when(sequenceJpaRepository.findForUpdate("orders"))
+                .thenReturn(Optional.empty(), Optional.of(new NumberSequenceEntity("orders", 43L)));
+        when(orderJpaRepository.findMaxOrderNumber()).thenReturn(Optional.of(42L));
+        OrderNumberSequenceAdapter adapter = new OrderNumberSequenceAdapter(
+                sequenceJpaRepository, orderJpaRepository, transactionManager, meterRegistry, 10);
+
+        // When
+        OrderNumber orderNumber = adapter.nextOrderNumber();
+
+        // Then
+        assertEquals("000043", orderNumber.getValue());
+        verify(sequenceJpaRepository).insert("orders", 43L);
+    }
+
+    @Test
+    void testNextOrderNumber_FailsWhenNumberSpaceIsExhausted() {
+        // Given
+        sequence.setNextValue(1_000_000L);
+        OrderNumberSequenceAdapter adapter = new OrderNumberSequenceAdapter(
+                sequenceJpaRepository, orderJpaRepository, transactionManager, meterRegistry, 10);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, adapter::nextOrderNumber);
+    }
+}
@@ -0,0 +1,63 @@
+package app.clinic.infrastructure;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import app.clinic.domain.model.PatientRecordData;
+import app.clinic.infrastructure.adapter.JacksonPatientRecordDataCodec;
+
+/**
+ * Compares the stored size and decode time of medical record data encoded as JSON and as CBOR.
+ * Not run as part of the test suite; run its main method to print the figures for each format.
+ * Sizes are exact, but the timings come from a plain loop with a fixed warm-up rather than a
+ * harness such as JMH, so they are indicative only and should not be compared across machines.
+ */
+public class PatientRecordDataCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        PatientRecordData data = sampleData(args.length > 0 ? Integer.parseInt(args[0]) : 10);
+        for (String format : List.of("json", "cbor")) {
+            JacksonPatientRecordDataCodec codec = new JacksonPatientRecordDataCodec(format);
+            byte[] payload = codec.encode(data);
+
+            measure(codec, payload, WARMUP_ITERATIONS);
+            long nanos = measure(codec, payload, MEASURED_ITERATIONS);
+
+            System.out.printf("%-4s size=%6d bytes  decode=%8.0f ns (indicative)%n",
+                    format, payload.length, (double) nanos / MEASURED_ITERATIONS);
+        }
+    }
+
+    private static long measure(JacksonPatientRecordDataCodec codec, byte[] payload, int iterations) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += codec.decode(payload).getData().size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (sink == 42) {
+            System.out.println();
+        }
+        return elapsed;
+    }
+
+    private static PatientRecordData sampleData(int itemsPerList) {
+        List<Map<String, Object>> medications = new ArrayList<>();
+        List<Map<String, Object>> procedures = new ArrayList<>();
+        for (int i = 0; i < itemsPerList; i++) {
+            medications.add(Map.of("name", "Medicamento " + i, "dosage", (100 + i) + "mg", "numberOfTimes", i % 4 + 1));
+            procedures.add(Map.of("name", "Procedimiento " + i, "numberOfTimes", i % 3 + 1, "frequency", "Cada 8 horas"));
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("medications", medications);
+        data.put("procedures", procedures);
+        data.put("specialistType", "Cardiología");
+        return PatientRecordData.of(data);
+    }
+}
@@ -0,0 +1,151 @@
+package app.clinic.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import app.clinic.infrastructure.adapter.SequenceInvoiceNumberAllocator;
+import app.clinic.infrastructure.entity.NumberSequenceEntity;
+import app.clinic.infrastructure.repository.InvoiceJpaRepository;
+import app.clinic.infrastructure.repository.NumberSequenceJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SequenceInvoiceNumberAllocator.
+ * Tests hi/lo block allocation of invoice numbers and creation of the sequence row.
+ */
+@ExtendWith(MockitoExtension.class)
+class SequenceInvoiceNumberAllocatorTest {
+
+    @Mock
+    private NumberSequenceJpaRepository sequenceJpaRepository;
+
+    @Mock
+    private InvoiceJpaRepository invoiceJpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NumberSequenceEntity sequence;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sequence = new NumberSequenceEntity("invoices", 500L);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+    }
+
+    @Test
+    void testNextInvoiceNumber_RefillsBlockWhenExhausted() {
+        // Given
+        when(sequenceJpaRepository.findForUpdate("invoices")).thenReturn(Optional.of(sequence));
+        SequenceInvoiceNumberAllocator allocator = allocator(2);
+
+        // When
+        List<String> numbers = List.of(allocator.nextInvoiceNumber().getValue(),
+                allocator.nextInvoiceNumber().getValue(), allocator.nextInvoiceNumber().getValue());
+
+        // Then
+        assertEquals(List.of("INV-0000000000000000500", "INV-0000000000000000501", "INV-0000000000000000502"),
+                numbers);
+        assertEquals(504L, sequence.getNextValue());
+        verify(sequenceJpaRepository, times(2)).findForUpdate("invoices");
+        assertEquals(2.0, meterRegistry.counter("clinic.invoices.numbers.blocks.reserved").count());
+    }
+
+    @Test
+    void testNextInvoiceNumber_ConcurrentCallersGetUniqueNumbers() throws Exception {
+        // Given
+        when(sequenceJpaRepository.findForUpdate("invoices")).thenReturn(Optional.of(sequence));
+        SequenceInvoiceNumberAllocator allocator = allocator(30);
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 150; j++) {
+                        allocated.add(allocator.nextInvoiceNumber().getValue());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1200, allocated.size());
+        assertEquals(1700L, sequence.getNextValue());
+        assertEquals(40.0, meterRegistry.counter("clinic.invoices.numbers.blocks.reserved").count());
+    }
+
+    @Test
+    void testNextInvoiceNumber_SeedsFromHighestStoredInvoice() {
+        // Given
+        when(sequenceJpaRepository.findForUpdate("invoices"))
+                .thenReturn(Optional.empty(), Optional.of(new NumberSequenceEntity("invoices", 78L)));
+        when(invoiceJpaRepository.findMaxInvoiceNumber("INV-", 23)).thenReturn(Optional.of("INV-0000000000000000077"));
+        SequenceInvoiceNumberAllocator allocator = allocator(10);
+
+        // When
+        String invoiceNumber = allocator.nextInvoiceNumber().getValue();
+
+        // Then
+        assertEquals("INV-0000000000000000078", invoiceNumber);
+        verify(sequenceJpaRepository).insert("invoices", 78L);
+    }
+
+    @Test
+    void testNextInvoiceNumber_UsesRowCreatedConcurrentlyByAnotherNode() {
+        // Given
+        when(sequenceJpaRepository.findForUpdate("invoices")).thenReturn(Optional.empty(), Optional.of(sequence));
+        when(invoiceJpaRepository.findMaxInvoiceNumber(anyString(), anyInt())).thenReturn(Optional.empty());
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(sequenceJpaRepository).insert("invoices", 1L);
+        SequenceInvoiceNumberAllocator allocator = allocator(10);
+
+        // When
+        String invoiceNumber = allocator.nextInvoiceNumber().getValue();
+
+        // Then
+        assertEquals("INV-0000000000000000500", invoiceNumber);
+        assertEquals(510L, sequence.getNextValue());
+    }
+
+    private SequenceInvoiceNumberAllocator allocator(int blockSize) {
+        return new SequenceInvoiceNumberAllocator(sequenceJpaRepository, invoiceJpaRepository, transactionManager,
+                meterRegistry, blockSize);
+    }
+}
@@ -0,0 +1,122 @@
+package app.clinic.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import app.clinic.infrastructure.adapter.SnowflakeInvoiceNumberAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SnowflakeInvoiceNumberAllocator.
+ * Tests uniqueness and ordering of node + time + counter invoice numbers.
+ */
+class SnowflakeInvoiceNumberAllocatorTest {
+
+    private static final long NOW = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong(NOW);
+    }
+
+    @Test
+    void testNextInvoiceNumber_SortsByCreationTime() {
+        // Given
+        SnowflakeInvoiceNumberAllocator allocator = new SnowflakeInvoiceNumberAllocator(3, meterRegistry, clock::get);
+
+        // When
+        String first = allocator.nextInvoiceNumber().getValue();
+        String second = allocator.nextInvoiceNumber().getValue();
+        clock.addAndGet(5);
+        String third = allocator.nextInvoiceNumber().getValue();
+
+        // Then
+        assertEquals(23, first.length());
+        assertTrue(first.startsWith("INV-"));
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(third) < 0);
+        assertEquals(3.0, meterRegistry.counter("clinic.invoices.numbers.allocated").count());
+    }
+
+    @Test
+    void testNextInvoiceNumber_StaysMonotonicWhenClockGoesBackwards() {
+        // Given
+        SnowflakeInvoiceNumberAllocator allocator = new SnowflakeInvoiceNumberAllocator(1, meterRegistry, clock::get);
+        String beforeRollback = allocator.nextInvoiceNumber().getValue();
+
+        // When
+        clock.addAndGet(-1_000);
+        String afterRollback = allocator.nextInvoiceNumber().getValue();
+
+        // Then
+        assertTrue(beforeRollback.compareTo(afterRollback) < 0);
+    }
+
+    @Test
+    void testNextInvoiceNumber_DistinctNodesNeverCollide() {
+        // Given
+        SnowflakeInvoiceNumberAllocator nodeA = new SnowflakeInvoiceNumberAllocator(1, meterRegistry, clock::get);
+        SnowflakeInvoiceNumberAllocator nodeB = new SnowflakeInvoiceNumberAllocator(2, meterRegistry, clock::get);
+
+        // When
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 5_000; i++) {
+            numbers.add(nodeA.nextInvoiceNumber().getValue());
+            numbers.add(nodeB.nextInvoiceNumber().getValue());
+        }
+
+        // Then
+        assertEquals(10_000, numbers.size());
+    }
+
+    @Test
+    void testNextInvoiceNumber_ConcurrentCallersGetUniqueNumbers() throws Exception {
+        // Given
+        SnowflakeInvoiceNumberAllocator allocator = new SnowflakeInvoiceNumberAllocator(7, meterRegistry,
+                System::currentTimeMillis);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        numbers.add(allocator.nextInvoiceNumber().getValue());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(16_000, numbers.size());
+    }
+
+    @Test
+    void testConstructor_RejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeInvoiceNumberAllocator(1024, meterRegistry, clock::get));
+    }
+}
@@ -1,23 +1,34 @@
 package app.clinic.infrastructure;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import app.clinic.domain.model.KeysetPage;
 import app.clinic.domain.model.User;
 import app.clinic.domain.model.UserCedula;
 import app.clinic.domain.model.UserId;
 import app.clinic.domain.model.UserRole;
 import app.clinic.domain.model.UserUsername;
+import app.clinic.infrastructure.adapter.KeysetPageReader;
 import app.clinic.infrastructure.adapter.UserRepositoryAdapter;
 import app.clinic.infrastructure.entity.UserEntity;
 import app.clinic.infrastructure.repository.UserJpaRepository;
@@ -32,11 +43,14 @@ class UserRepositoryAdapterTest {
     @Mock
     private UserJpaRepository userJpaRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private UserRepositoryAdapter userRepositoryAdapter;
 
     @BeforeEach
     void setUp() {
-        userRepositoryAdapter = new UserRepositoryAdapter(userJpaRepository);
+        userRepositoryAdapter = new UserRepositoryAdapter(userJpaRepository, new KeysetPageReader(transactionManager));
     }
 
     @Test
@@ -146,4 +160,65 @@ class UserRepositoryAdapterTest {
         // Then
         verify(userJpaRepository, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindPage_ReturnsCursorOfLastItemWhenMoreRowsFollow() {
+        // Given: one row more than requested signals a following page
+        when(userJpaRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(userEntity(11L), userEntity(12L), userEntity(13L)));
+
+        // When
+        KeysetPage<User> page = userRepositoryAdapter.findPage(10L, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(12L, page.getNextCursor());
+        verify(userJpaRepository).findByIdGreaterThanOrderByIdAsc(eq(10L), argThat(limit -> limit.max() == 3));
+    }
+
+    @Test
+    void testFindPage_LastPageHasNoCursor() {
+        // Given
+        when(userJpaRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(userEntity(1L)));
+
+        // When
+        KeysetPage<User> page = userRepositoryAdapter.findPage(null, 20);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testStreamAll_ReadsBatchesAfterLastIdUntilShortBatch() {
+        // Given: a full first batch followed by a short one
+        List<UserEntity> firstBatch = java.util.stream.LongStream.rangeClosed(1, 500)
+                .mapToObj(this::userEntity)
+                .collect(Collectors.toList());
+        when(userJpaRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(firstBatch);
+        when(userJpaRepository.findByIdGreaterThanOrderByIdAsc(eq(500L), any(Limit.class)))
+                .thenReturn(List.of(userEntity(501L)));
+
+        // When
+        long count = userRepositoryAdapter.streamAll().count();
+
+        // Then
+        assertEquals(501, count);
+        verify(userJpaRepository, times(2)).findByIdGreaterThanOrderByIdAsc(any(), any(Limit.class));
+    }
+
+    private UserEntity userEntity(long id) {
+        UserEntity entity = new UserEntity(
+                String.valueOf(10_000_000L + id), "testuser" + id, "hashedpassword",
+                "Test", "User",
+                java.time.LocalDate.of(1990, 1, 1),
+                "Test Address", "1234567890", "test@example.com",
+                UserEntity.UserRole.ADMINISTRATIVE_STAFF, true
+        );
+        entity.setId(id);
+        return entity;
+    }
+}
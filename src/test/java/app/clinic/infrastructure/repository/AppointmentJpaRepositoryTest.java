@@ -0,0 +1,119 @@
+package app.clinic.infrastructure.repository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.infrastructure.entity.AppointmentEntity;
+import app.clinic.infrastructure.entity.AppointmentEntity.AppointmentStatus;
+
+/**
+ * Pruebas de integración para AppointmentJpaRepository.
+ * Verifica las consultas por identificador de negocio, rango de fechas y disponibilidad del médico.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class AppointmentJpaRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentJpaRepository appointmentJpaRepository;
+
+    @Test
+    @DisplayName("Debe detectar conflictos del médico solo con citas activas")
+    void shouldDetectDoctorConflictOnlyForActiveAppointments() {
+        // Given
+        appointmentJpaRepository.save(createAppointment("A-1", "111", "1001", BASE, AppointmentStatus.PROGRAMADA));
+        appointmentJpaRepository.save(createAppointment("A-2", "222", "1001", BASE.plusHours(1), AppointmentStatus.CANCELADA));
+        entityManager.flush();
+        entityManager.clear();
+
+        EnumSet<AppointmentStatus> active = EnumSet.of(AppointmentStatus.PROGRAMADA, AppointmentStatus.CONFIRMADA);
+
+        // When / Then
+        assertTrue(appointmentJpaRepository.existsByDoctorCedulaAndAppointmentDateTimeAndStatusIn("1001", BASE, active));
+        assertFalse(appointmentJpaRepository.existsByDoctorCedulaAndAppointmentDateTimeAndStatusIn(
+                "1001", BASE.plusHours(1), active));
+        assertFalse(appointmentJpaRepository.existsByDoctorCedulaAndAppointmentDateTimeAndStatusIn("2002", BASE, active));
+    }
+
+    @Test
+    @DisplayName("Debe detectar citas activas del médico que se solapan con un rango, excluyendo la propia")
+    void shouldDetectOverlappingActiveAppointmentsOfDoctor() {
+        // Given
+        appointmentJpaRepository.save(createAppointment("A-1", "111", "1001", BASE, AppointmentStatus.CONFIRMADA));
+        appointmentJpaRepository.save(createAppointment("A-2", "222", "1001", BASE.plusHours(1), AppointmentStatus.CANCELADA));
+        entityManager.flush();
+        entityManager.clear();
+
+        EnumSet<AppointmentStatus> active = EnumSet.of(AppointmentStatus.PROGRAMADA, AppointmentStatus.CONFIRMADA);
+
+        // When / Then: a 30-minute slot starting at 9:15 overlaps A-1, one starting at 9:30 does not
+        assertTrue(appointmentJpaRepository.existsByDoctorAndStatusesStartingBetween(
+                "1001", active, BASE.plusMinutes(15).minusMinutes(30), BASE.plusMinutes(45), ""));
+        assertFalse(appointmentJpaRepository.existsByDoctorAndStatusesStartingBetween(
+                "1001", active, BASE, BASE.plusMinutes(60), ""));
+        assertFalse(appointmentJpaRepository.existsByDoctorAndStatusesStartingBetween(
+                "1001", active, BASE.plusMinutes(15).minusMinutes(30), BASE.plusMinutes(45), "A-1"));
+        assertFalse(appointmentJpaRepository.existsByDoctorAndStatusesStartingBetween(
+                "1001", active, BASE.plusMinutes(30), BASE.plusMinutes(90), ""));
+    }
+
+    @Test
+    @DisplayName("Debe recuperar citas dentro de un rango de fechas ordenadas")
+    void shouldFindAppointmentsWithinDateRangeInOrder() {
+        // Given
+        appointmentJpaRepository.save(createAppointment("A-1", "111", "1001", BASE.plusDays(2), AppointmentStatus.PROGRAMADA));
+        appointmentJpaRepository.save(createAppointment("A-2", "111", "1002", BASE, AppointmentStatus.CONFIRMADA));
+        appointmentJpaRepository.save(createAppointment("A-3", "222", "1001", BASE.plusDays(10), AppointmentStatus.PROGRAMADA));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<AppointmentEntity> appointments = appointmentJpaRepository
+                .findByAppointmentDateTimeBetweenOrderByAppointmentDateTimeAsc(BASE, BASE.plusDays(3));
+
+        // Then
+        assertEquals(2, appointments.size());
+        assertEquals("A-2", appointments.get(0).getAppointmentId());
+        assertEquals("A-1", appointments.get(1).getAppointmentId());
+    }
+
+    @Test
+    @DisplayName("Debe buscar y eliminar citas por su identificador de negocio")
+    void shouldFindAndDeleteByAppointmentId() {
+        // Given
+        appointmentJpaRepository.save(createAppointment("A-1", "111", "1001", BASE, AppointmentStatus.PROGRAMADA));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        boolean foundBefore = appointmentJpaRepository.findByAppointmentId("A-1").isPresent();
+        int deleted = appointmentJpaRepository.deleteByAppointmentId("A-1");
+
+        // Then
+        assertTrue(foundBefore);
+        assertEquals(1, deleted);
+        assertFalse(appointmentJpaRepository.existsByAppointmentId("A-1"));
+    }
+
+    private AppointmentEntity createAppointment(String appointmentId, String patientCedula, String doctorCedula,
+                                                LocalDateTime dateTime, AppointmentStatus status) {
+        return new AppointmentEntity(appointmentId, patientCedula, doctorCedula, dateTime, status, "Control", null);
+    }
+}
@@ -0,0 +1,136 @@
+package app.clinic.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.domain.model.AnnualBillingTotals;
+import app.clinic.domain.model.Money;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.Year;
+import app.clinic.infrastructure.adapter.CopaymentLedgerAdapter;
+import app.clinic.infrastructure.entity.CopaymentAccumulatorEntity;
+import app.clinic.infrastructure.entity.InvoiceEntity;
+
+/**
+ * Pruebas de integración para el libro de copagos anuales.
+ * Verifica el mantenimiento incremental de los acumulados y su reconciliación con las facturas.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class CopaymentAccumulatorJpaRepositoryTest {
+
+    private static final PatientCedula PATIENT = PatientCedula.of("12345678");
+    private static final Year YEAR = Year.of(2024);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CopaymentAccumulatorJpaRepository accumulatorJpaRepository;
+
+    @Autowired
+    private InvoiceJpaRepository invoiceJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CopaymentLedgerAdapter copaymentLedger;
+
+    @BeforeEach
+    void setUp() {
+        copaymentLedger = new CopaymentLedgerAdapter(accumulatorJpaRepository, invoiceJpaRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Debe acumular y revertir copagos incrementando la versión")
+    void shouldRecordAndReverseInvoicesWithVersioning() {
+        // Given
+        copaymentLedger.recordInvoice(PATIENT, YEAR, Money.pesos(50000), Money.pesos(200000));
+        copaymentLedger.recordInvoice(PATIENT, YEAR, Money.pesos(50000), Money.pesos(300000));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        copaymentLedger.reverseInvoice(PATIENT, YEAR, Money.pesos(50000), Money.pesos(200000));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        AnnualBillingTotals totals = copaymentLedger.findTotals(PATIENT, YEAR);
+        assertEquals(0, new BigDecimal("50000").compareTo(totals.getAccumulatedCopayment().getValue()));
+        assertEquals(0, new BigDecimal("300000").compareTo(totals.getTotalBilled().getAmount()));
+
+        CopaymentAccumulatorEntity entity = accumulatorJpaRepository
+            .findById(new CopaymentAccumulatorEntity.Key(PATIENT.getValue(), YEAR.getValue()))
+            .orElseThrow();
+        assertEquals(Long.valueOf(2L), entity.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debe retornar acumulados en cero para pacientes sin facturas")
+    void shouldReturnEmptyTotalsWhenNoEntryExists() {
+        // When
+        AnnualBillingTotals totals = copaymentLedger.findTotals(PatientCedula.of("99999999"), YEAR);
+
+        // Then
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.getAccumulatedCopayment().getValue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.getTotalBilled().getAmount()));
+    }
+
+    @Test
+    @DisplayName("Debe corregir acumulados desalineados a partir de las facturas")
+    void shouldReconcileDriftFromInvoices() {
+        // Given
+        invoiceJpaRepository.save(invoice("REC-001", "12345678", "200000", "50000", InvoiceEntity.InvoiceStatus.PENDING));
+        invoiceJpaRepository.save(invoice("REC-002", "12345678", "100000", "50000", InvoiceEntity.InvoiceStatus.CANCELLED));
+        invoiceJpaRepository.save(invoice("REC-003", "87654321", "80000", "50000", InvoiceEntity.InvoiceStatus.PAID));
+        accumulatorJpaRepository.save(new CopaymentAccumulatorEntity(
+            new CopaymentAccumulatorEntity.Key("12345678", 2024), new BigDecimal("100000"), new BigDecimal("300000")));
+        accumulatorJpaRepository.save(new CopaymentAccumulatorEntity(
+            new CopaymentAccumulatorEntity.Key("11111111", 2024), new BigDecimal("50000"), new BigDecimal("50000")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int corrected = copaymentLedger.reconcile(YEAR);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(3, corrected);
+        assertEquals(0, new BigDecimal("50000").compareTo(
+            copaymentLedger.findTotals(PATIENT, YEAR).getAccumulatedCopayment().getValue()));
+        assertEquals(0, new BigDecimal("80000").compareTo(
+            copaymentLedger.findTotals(PatientCedula.of("87654321"), YEAR).getTotalBilled().getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+            copaymentLedger.findTotals(PatientCedula.of("11111111"), YEAR).getAccumulatedCopayment().getValue()));
+        assertEquals(0, copaymentLedger.reconcile(YEAR));
+    }
+
+    private InvoiceEntity invoice(String number, String cedula, String total, String copayment,
+                                  InvoiceEntity.InvoiceStatus status) {
+        InvoiceEntity invoice = new InvoiceEntity();
+        invoice.setInvoiceNumber(number);
+        invoice.setPatientCedula(cedula);
+        invoice.setTotalAmount(new BigDecimal(total));
+        invoice.setCopaymentAmount(new BigDecimal(copayment));
+        invoice.setInsuranceCoverage(new BigDecimal(total).subtract(new BigDecimal(copayment)));
+        invoice.setPatientResponsibility(new BigDecimal(copayment));
+        invoice.setBillingDate(LocalDateTime.of(2024, 3, 1, 10, 0));
+        invoice.setDueDate(LocalDateTime.of(2024, 3, 31, 10, 0));
+        invoice.setStatus(status);
+        invoice.setYear(2024);
+        return invoice;
+    }
+}
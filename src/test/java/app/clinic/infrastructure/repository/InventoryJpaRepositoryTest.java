@@ -0,0 +1,153 @@
+package app.clinic.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.domain.model.Cost;
+import app.clinic.domain.model.InventoryAvailability;
+import app.clinic.domain.model.InventoryItem;
+import app.clinic.domain.model.InventoryItemId;
+import app.clinic.domain.model.InventoryItemName;
+import app.clinic.domain.model.InventoryItemType;
+import app.clinic.infrastructure.adapter.InventoryRepositoryAdapter;
+import app.clinic.infrastructure.adapter.KeysetPageReader;
+import app.clinic.infrastructure.entity.InventoryItemEntity;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pruebas de integración para la caché de segundo nivel del inventario.
+ * Cada operación se confirma en su propia transacción, como en producción, para que
+ * las regiones de la caché se actualicen e invaliden al confirmar.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryJpaRepositoryTest {
+
+    @Autowired
+    private InventoryJpaRepository inventoryJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryRepositoryAdapter inventoryRepository;
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = new InventoryRepositoryAdapter(inventoryJpaRepository, new KeysetPageReader(transactionManager));
+        transaction = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Debe servir el catálogo activo desde la caché de consultas hasta que cambie el inventario")
+    void shouldServeActiveCatalogFromQueryCacheUntilInventoryChanges() {
+        // Given
+        inventoryJpaRepository.save(item("Acetaminofén", InventoryItemEntity.InventoryItemType.MEDICAMENTO));
+        inventoryJpaRepository.save(item("Ibuprofeno", InventoryItemEntity.InventoryItemType.MEDICAMENTO));
+        inventoryJpaRepository.save(item("Hemograma", InventoryItemEntity.InventoryItemType.AYUDA_DIAGNOSTICA));
+        statistics.clear();
+
+        // When
+        assertEquals(2, inventoryJpaRepository.findByTypeAndActiveTrue(InventoryItemEntity.InventoryItemType.MEDICAMENTO).size());
+        assertEquals(2, inventoryJpaRepository.findByTypeAndActiveTrue(InventoryItemEntity.InventoryItemType.MEDICAMENTO).size());
+
+        // Then
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // When: a write through the adapter invalidates the cached catalog
+        transaction.executeWithoutResult(status -> inventoryRepository.save(InventoryItem.of(
+            InventoryItemId.of(UUID.randomUUID().toString()),
+            InventoryItemName.of("Naproxeno"),
+            InventoryItemType.MEDICAMENTO,
+            Cost.of(12000.0),
+            true)));
+
+        // Then
+        assertEquals(3, inventoryJpaRepository.findByTypeAndActiveTrue(InventoryItemEntity.InventoryItemType.MEDICAMENTO).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Debe leer artículos por id desde la caché y actualizarlos en su lugar")
+    void shouldReadItemsFromEntityCacheAndUpdateInPlace() {
+        // Given
+        Long id = inventoryJpaRepository.save(item("Acetaminofén", InventoryItemEntity.InventoryItemType.MEDICAMENTO)).getId();
+        statistics.clear();
+
+        // When
+        inventoryJpaRepository.findById(id).orElseThrow();
+
+        // Then
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // When
+        transaction.executeWithoutResult(status -> inventoryRepository.save(InventoryItem.of(
+            InventoryItemId.of(String.valueOf(id)),
+            InventoryItemName.of("Acetaminofén"),
+            InventoryItemType.MEDICAMENTO,
+            Cost.of(2500.0),
+            true)));
+
+        // Then
+        assertEquals(1, inventoryJpaRepository.count());
+        assertEquals(0, new BigDecimal("2500").compareTo(inventoryJpaRepository.findById(id).orElseThrow().getCost()));
+    }
+
+    @Test
+    @DisplayName("Debe validar varios artículos con una sola consulta IN")
+    void shouldCheckAvailabilityOfSeveralItemsInOneQuery() {
+        // Given
+        Long active = inventoryJpaRepository.save(item("Acetaminofén", InventoryItemEntity.InventoryItemType.MEDICAMENTO)).getId();
+        Long inactive = inventoryJpaRepository.save(new InventoryItemEntity("Dipirona",
+            InventoryItemEntity.InventoryItemType.MEDICAMENTO, new BigDecimal("800"), false, null)).getId();
+        Set<InventoryItemId> requested = Set.of(InventoryItemId.of(String.valueOf(active)),
+            InventoryItemId.of(String.valueOf(inactive)), InventoryItemId.of("999999"), InventoryItemId.of("MED001"));
+        statistics.clear();
+
+        // When
+        InventoryAvailability availability = inventoryRepository.checkAvailability(requested);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Set.of(InventoryItemId.of(String.valueOf(active))), availability.getActiveIds());
+        assertEquals(Set.of(InventoryItemId.of(String.valueOf(inactive))), availability.getInactiveIds());
+        assertEquals(Set.of(InventoryItemId.of("999999"), InventoryItemId.of("MED001")), availability.getMissingIds());
+        assertEquals(0, new BigDecimal("800").compareTo(availability.find(InventoryItemId.of(String.valueOf(inactive)))
+            .orElseThrow().getCost().getValue().getAmount()));
+    }
+
+    private InventoryItemEntity item(String name, InventoryItemEntity.InventoryItemType type) {
+        return new InventoryItemEntity(name, type, new BigDecimal("1500"), true, null);
+    }
+}
@@ -1,13 +1,17 @@
 package app.clinic.infrastructure.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +20,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import app.clinic.config.TestDatabaseConfig;
+import app.clinic.infrastructure.entity.InsurancePolicyEntity;
 import app.clinic.infrastructure.entity.InvoiceEntity;
+import app.clinic.infrastructure.entity.PatientEntity;
 
 /**
  * Pruebas de integración para InvoiceJpaRepository.
@@ -207,6 +213,78 @@ class InvoiceJpaRepositoryTest {
         assertTrue(allInvoices.isEmpty());
     }
 
+    @Test
+    @DisplayName("Debe cargar facturas con su paciente y póliza en una sola consulta")
+    void shouldLoadInvoicesWithPatientAndPolicy() {
+        // Given
+        InsurancePolicyEntity policy = new InsurancePolicyEntity("Sura", "POL-001",
+            InsurancePolicyEntity.PolicyStatus.ACTIVE, LocalDate.of(2030, 12, 31));
+        entityManager.persist(new PatientEntity("12345678", "mgonzalez", "Secreto123!", "María", "González",
+            LocalDate.of(1990, 4, 15), PatientEntity.PatientGender.FEMENINO, "Calle 1", "3001234567",
+            "maria@correo.com", null, policy));
+        invoiceJpaRepository.save(createTestInvoice("INV-JOIN-001", "12345678", 2024));
+        invoiceJpaRepository.save(createTestInvoice("INV-JOIN-002", "99999999", 2024));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<InvoiceJpaRepository.InvoiceWithPatient> rows = invoiceJpaRepository.findAllWithPatient();
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, rows.size());
+        InvoiceJpaRepository.InvoiceWithPatient withPatient = rows.get(0);
+        assertEquals("INV-JOIN-001", withPatient.getInvoiceNumber());
+        assertEquals("María", withPatient.getPatientFirstNames());
+        assertEquals(LocalDate.of(1990, 4, 15), withPatient.getPatientBirthDate());
+        assertEquals("Sura", withPatient.getInsuranceCompanyName());
+        assertEquals(Integer.valueOf(2024), withPatient.getInvoiceYear());
+
+        InvoiceJpaRepository.InvoiceWithPatient withoutPatient = rows.get(1);
+        assertNull(withoutPatient.getPatientFirstNames());
+        assertNull(withoutPatient.getPolicyNumber());
+        assertEquals(1, invoiceJpaRepository.findWithPatientByPatientCedula("12345678").size());
+    }
+
+    @Test
+    @DisplayName("Debe agrupar conteos y sumas por estado y año en la base de datos")
+    void shouldAggregateTotalsByStatusAndYear() {
+        // Given
+        InvoiceEntity paid = createTestInvoice("AGG-001", "12345678", 2023);
+        paid.setStatus(InvoiceEntity.InvoiceStatus.PAID);
+        InvoiceEntity cancelled = createTestInvoice("AGG-002", "12345678", 2024);
+        cancelled.setStatus(InvoiceEntity.InvoiceStatus.CANCELLED);
+        invoiceJpaRepository.save(paid);
+        invoiceJpaRepository.save(cancelled);
+        invoiceJpaRepository.save(createTestInvoice("AGG-003", "12345678", 2024));
+        invoiceJpaRepository.save(createTestInvoice("AGG-004", "12345678", 2024));
+        invoiceJpaRepository.save(createTestInvoice("AGG-005", "87654321", 2024));
+
+        // When
+        List<InvoiceJpaRepository.InvoiceStatusYearTotals> patientGroups =
+            invoiceJpaRepository.sumByStatusAndYearForPatient("12345678");
+        List<InvoiceJpaRepository.InvoiceStatusYearTotals> clinicGroups = invoiceJpaRepository.sumByStatusAndYear();
+
+        // Then
+        assertEquals(3, patientGroups.size());
+        InvoiceJpaRepository.InvoiceStatusYearTotals pending2024 = patientGroups.stream()
+            .filter(group -> group.getStatus() == InvoiceEntity.InvoiceStatus.PENDING)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(Integer.valueOf(2024), pending2024.getInvoiceYear());
+        assertEquals(Long.valueOf(2L), pending2024.getInvoiceCount());
+        assertEquals(0, new BigDecimal("200000").compareTo(pending2024.getTotalAmount()));
+        assertEquals(0, new BigDecimal("50000").compareTo(pending2024.getCopaymentAmount()));
+        assertEquals(0, new BigDecimal("150000").compareTo(pending2024.getInsuranceCoverage()));
+
+        assertEquals(3, clinicGroups.size());
+        assertEquals(5L, clinicGroups.stream().mapToLong(InvoiceJpaRepository.InvoiceStatusYearTotals::getInvoiceCount).sum());
+        assertEquals(4, invoiceJpaRepository.findInvoiceNumbersByPatientCedula("12345678").size());
+    }
+
     /**
      * Método auxiliar para crear facturas de prueba.
      */
@@ -0,0 +1,229 @@
+package app.clinic.infrastructure.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.domain.model.ConsultationReason;
+import app.clinic.domain.model.Diagnosis;
+import app.clinic.domain.model.DoctorCedula;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientRecord;
+import app.clinic.domain.model.PatientRecordData;
+import app.clinic.domain.model.PatientRecordDate;
+import app.clinic.domain.model.PatientRecordEntry;
+import app.clinic.domain.model.PatientRecordKey;
+import app.clinic.domain.model.Symptoms;
+import app.clinic.infrastructure.adapter.JacksonPatientRecordDataCodec;
+import app.clinic.infrastructure.adapter.KeysetPageReader;
+import app.clinic.infrastructure.adapter.MedicalRecordRepositoryAdapter;
+import app.clinic.infrastructure.entity.MedicalRecordEntity;
+
+/**
+ * Pruebas de integración para la persistencia de historias clínicas.
+ * Verifica que cada entrada se guarde como una fila propia por paciente y fecha,
+ * y que las lecturas recorran el índice en orden de fecha.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class MedicalRecordJpaRepositoryTest {
+
+    private static final PatientCedula PATIENT = PatientCedula.of("12345678");
+    private static final LocalDate FIRST_VISIT = LocalDate.of(2020, 1, 15);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MedicalRecordJpaRepository medicalRecordJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MedicalRecordRepositoryAdapter medicalRecordRepository;
+
+    @BeforeEach
+    void setUp() {
+        medicalRecordRepository = new MedicalRecordRepositoryAdapter(medicalRecordJpaRepository,
+            new JacksonPatientRecordDataCodec("cbor"), new KeysetPageReader(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Debe agregar una entrada con el mismo número de sentencias sin importar el historial")
+    void shouldAppendEntryWithConstantStatementCount() {
+        // Given
+        long firstEntryStatements = countStatements(() -> saveEntry(FIRST_VISIT, "Gripe"));
+        for (int day = 1; day < 30; day++) {
+            saveEntry(FIRST_VISIT.plusDays(day), "Control " + day);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        long lastEntryStatements = countStatements(() -> saveEntry(FIRST_VISIT.plusDays(30), "Control final"));
+
+        // Then
+        assertEquals(firstEntryStatements, lastEntryStatements);
+        assertEquals(31, medicalRecordRepository.countByPatientCedula(PATIENT));
+    }
+
+    @Test
+    @DisplayName("Debe leer la historia en orden de fecha conservando los datos adicionales")
+    void shouldReadRecordInDateOrderWithAdditionalData() {
+        // Given
+        saveEntry(FIRST_VISIT.plusDays(10), "Control");
+        PatientRecordEntry withData = entry("Gripe", PatientRecordData.of(Map.of(
+            "medications", List.of(Map.of("name", "Acetaminofén", "dosage", "500mg", "numberOfTimes", 3)))));
+        medicalRecordRepository.saveEntry(PatientRecordKey.of(PATIENT, PatientRecordDate.of(FIRST_VISIT)), withData);
+        saveEntry(FIRST_VISIT.plusDays(5), "Seguimiento");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        PatientRecord record = medicalRecordRepository.findByPatientCedula(PATIENT).orElseThrow();
+
+        // Then
+        assertEquals(List.of(FIRST_VISIT, FIRST_VISIT.plusDays(5), FIRST_VISIT.plusDays(10)),
+            record.getRecords().keySet().stream().map(PatientRecordDate::getValue).toList());
+        assertEquals(withData, record.getRecord(PatientRecordDate.of(FIRST_VISIT)));
+        assertFalse(medicalRecordRepository.findByPatientCedula(PatientCedula.of("87654321")).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar la entrada del mismo día en su propia fila")
+    void shouldReplaceEntryOfSameDateInPlace() {
+        // Given
+        saveEntry(FIRST_VISIT, "Gripe");
+        entityManager.flush();
+        Long id = medicalRecordJpaRepository.findByPatientCedulaAndRecordDate(PATIENT.getValue(), FIRST_VISIT)
+            .orElseThrow().getId();
+        entityManager.clear();
+
+        // When
+        saveEntry(FIRST_VISIT, "Faringitis");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, medicalRecordJpaRepository.count());
+        assertEquals(id, medicalRecordJpaRepository.findByPatientCedulaAndRecordDate(PATIENT.getValue(), FIRST_VISIT)
+            .orElseThrow().getId());
+        assertEquals("Faringitis", medicalRecordRepository
+            .findEntryByKey(PatientRecordKey.of(PATIENT, PatientRecordDate.of(FIRST_VISIT)))
+            .orElseThrow().getDiagnosis().getValue());
+    }
+
+    @Test
+    @DisplayName("Debe leer solo las últimas entradas y eliminar una entrada por fecha")
+    void shouldReadLatestEntriesAndDeleteSingleEntry() {
+        // Given
+        for (int day = 0; day < 10; day++) {
+            saveEntry(FIRST_VISIT.plusDays(day), "Control " + day);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        PatientRecord latest = medicalRecordRepository.findLatestEntries(PATIENT, 3);
+        boolean deleted = medicalRecordRepository.deleteEntry(
+            PatientRecordKey.of(PATIENT, PatientRecordDate.of(FIRST_VISIT.plusDays(9))));
+
+        // Then
+        assertEquals(List.of(FIRST_VISIT.plusDays(7), FIRST_VISIT.plusDays(8), FIRST_VISIT.plusDays(9)),
+            latest.getRecords().keySet().stream().map(PatientRecordDate::getValue).toList());
+        assertTrue(deleted);
+        assertFalse(medicalRecordRepository.deleteEntry(
+            PatientRecordKey.of(PATIENT, PatientRecordDate.of(FIRST_VISIT.plusDays(9)))));
+        assertEquals(9, medicalRecordRepository.countByPatientCedula(PATIENT));
+    }
+
+    @Test
+    @DisplayName("Debe recorrer un rango de fechas por lotes siguiendo el cursor de fecha")
+    void shouldReadDateRangeInBatchesByDateCursor() {
+        // Given
+        for (int day = 0; day < 10; day++) {
+            saveEntry(FIRST_VISIT.plusDays(day * 2L), "Control " + day);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        LocalDate from = FIRST_VISIT.plusDays(3);
+        LocalDate to = FIRST_VISIT.plusDays(12);
+
+        // When
+        List<MedicalRecordEntity> firstBatch = medicalRecordJpaRepository
+            .findByPatientCedulaAndRecordDateGreaterThanAndRecordDateLessThanEqualOrderByRecordDateAsc(
+                PATIENT.getValue(), from.minusDays(1), to, Limit.of(3));
+        List<MedicalRecordEntity> secondBatch = medicalRecordJpaRepository
+            .findByPatientCedulaAndRecordDateGreaterThanAndRecordDateLessThanEqualOrderByRecordDateAsc(
+                PATIENT.getValue(), firstBatch.get(2).getRecordDate(), to, Limit.of(3));
+
+        // Then
+        assertEquals(List.of(FIRST_VISIT.plusDays(4), FIRST_VISIT.plusDays(6), FIRST_VISIT.plusDays(8)),
+            firstBatch.stream().map(MedicalRecordEntity::getRecordDate).toList());
+        assertEquals(List.of(FIRST_VISIT.plusDays(10), FIRST_VISIT.plusDays(12)),
+            secondBatch.stream().map(MedicalRecordEntity::getRecordDate).toList());
+    }
+
+    @Test
+    @DisplayName("Debe recorrer todas las entradas sin leer los datos adicionales")
+    void shouldStreamAllEntriesWithoutAdditionalData() {
+        // Given
+        saveEntry(FIRST_VISIT, "Control");
+        medicalRecordRepository.saveEntry(PatientRecordKey.of(PATIENT, PatientRecordDate.of(FIRST_VISIT.plusDays(1))),
+            entry("Gripe", PatientRecordData.of(Map.of("allergies", List.of("Penicilina")))));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Map.Entry<PatientRecordKey, PatientRecordEntry>> entries =
+            medicalRecordRepository.streamAllWithoutData().toList();
+
+        // Then
+        assertEquals(List.of(FIRST_VISIT, FIRST_VISIT.plusDays(1)),
+            entries.stream().map(e -> e.getKey().getRecordDate().getValue()).toList());
+        assertEquals(List.of("Control", "Gripe"),
+            entries.stream().map(e -> e.getValue().getDiagnosis().getValue()).toList());
+        assertTrue(entries.stream().allMatch(e -> e.getValue().getData().isEmpty()));
+    }
+
+    private void saveEntry(LocalDate date, String diagnosis) {
+        medicalRecordRepository.saveEntry(PatientRecordKey.of(PATIENT, PatientRecordDate.of(date)),
+            entry(diagnosis, PatientRecordData.empty()));
+    }
+
+    private PatientRecordEntry entry(String diagnosis, PatientRecordData data) {
+        return PatientRecordEntry.of(
+            DoctorCedula.of("1001"),
+            ConsultationReason.of("Consulta general"),
+            Symptoms.of("Fiebre y tos"),
+            Diagnosis.of(diagnosis),
+            data);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+}
@@ -0,0 +1,133 @@
+package app.clinic.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.infrastructure.entity.MedicationOrderEntity;
+import app.clinic.infrastructure.entity.OrderEntity;
+import app.clinic.infrastructure.entity.ProcedureOrderEntity;
+
+/**
+ * Pruebas de integración para OrderJpaRepository.
+ * Verifica la persistencia en cascada de los ítems y las consultas con fetch join.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class OrderJpaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Test
+    @DisplayName("Debe guardar los ítems en cascada y recuperarlos junto con la orden")
+    void shouldCascadeItemsAndFetchThemWithOrder() {
+        // Given
+        OrderEntity order = createMedicationOrder("000001", "12345678");
+        orderJpaRepository.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Optional<OrderEntity> found = orderJpaRepository.findWithItemsByOrderNumber("000001");
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals(OrderEntity.OrderType.MEDICAMENTO, found.get().getOrderType());
+        assertEquals(2, found.get().getMedications().size());
+        assertEquals(1, found.get().getMedications().iterator().next().getItemNumber());
+        assertEquals("10", found.get().getMedications().iterator().next().getInventoryItemId());
+        assertTrue(found.get().getProcedures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe recuperar órdenes de distinto tipo de un paciente sin duplicados")
+    void shouldFetchPatientOrdersWithItemsWithoutDuplicates() {
+        // Given
+        orderJpaRepository.save(createMedicationOrder("000001", "12345678"));
+        OrderEntity procedureOrder = new OrderEntity("000002", "12345678", "87654321",
+                LocalDate.of(2024, 1, 10), OrderEntity.OrderType.PROCEDIMIENTO);
+        procedureOrder.addProcedure(new ProcedureOrderEntity(null, 1, "Curación", 2, "Diaria",
+                new BigDecimal("30000"), false, null));
+        orderJpaRepository.save(procedureOrder);
+        orderJpaRepository.save(createMedicationOrder("000003", "99999999"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<OrderEntity> orders = orderJpaRepository.findWithItemsByPatientCedula("12345678");
+
+        // Then
+        assertEquals(2, orders.size());
+        int totalItems = orders.stream()
+                .mapToInt(o -> o.getMedications().size() + o.getProcedures().size() + o.getDiagnosticAids().size())
+                .sum();
+        assertEquals(3, totalItems);
+    }
+
+    @Test
+    @DisplayName("Debe filtrar las órdenes del paciente por tipo en la base de datos")
+    void shouldFilterPatientOrdersByType() {
+        // Given
+        orderJpaRepository.save(createMedicationOrder("000001", "12345678"));
+        OrderEntity procedureOrder = new OrderEntity("000002", "12345678", "87654321",
+                LocalDate.of(2024, 1, 10), OrderEntity.OrderType.PROCEDIMIENTO);
+        procedureOrder.addProcedure(new ProcedureOrderEntity(null, 1, "Curación", 2, "Diaria",
+                new BigDecimal("30000"), false, null));
+        orderJpaRepository.save(procedureOrder);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<OrderEntity> medicationOrders = orderJpaRepository.findWithItemsByPatientCedulaAndOrderType(
+                "12345678", OrderEntity.OrderType.MEDICAMENTO);
+        List<OrderEntity> diagnosticAidOrders = orderJpaRepository.findWithItemsByPatientCedulaAndOrderType(
+                "12345678", OrderEntity.OrderType.AYUDA_DIAGNOSTICA);
+
+        // Then
+        assertEquals(1, medicationOrders.size());
+        assertEquals("000001", medicationOrders.get(0).getOrderNumber());
+        assertTrue(diagnosticAidOrders.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe obtener el mayor número de orden comparando numéricamente")
+    void shouldFindHighestOrderNumberNumerically() {
+        // Given
+        orderJpaRepository.save(createMedicationOrder("999", "12345678"));
+        orderJpaRepository.save(createMedicationOrder("1000", "12345678"));
+        entityManager.flush();
+
+        // When
+        Optional<Long> maxOrderNumber = orderJpaRepository.findMaxOrderNumber();
+
+        // Then
+        assertEquals(Optional.of(1000L), maxOrderNumber);
+    }
+
+    private OrderEntity createMedicationOrder(String orderNumber, String patientCedula) {
+        OrderEntity order = new OrderEntity(orderNumber, patientCedula, "87654321",
+                LocalDate.of(2024, 1, 10), OrderEntity.OrderType.MEDICAMENTO);
+        for (int i = 1; i <= 2; i++) {
+            MedicationOrderEntity medication = new MedicationOrderEntity(null, i, "Medicamento " + i,
+                    "500mg", "5 días", new BigDecimal("15000"));
+            medication.setInventoryItemId(String.valueOf(i * 10));
+            order.addMedication(medication);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,195 @@
+package app.clinic.infrastructure.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.domain.model.EmergencyContact;
+import app.clinic.domain.model.EmergencyContactName;
+import app.clinic.domain.model.EmergencyContactPhoneNumber;
+import app.clinic.domain.model.InsuranceCompanyName;
+import app.clinic.domain.model.InsurancePolicy;
+import app.clinic.domain.model.Patient;
+import app.clinic.domain.model.PatientAddress;
+import app.clinic.domain.model.PatientBirthDate;
+import app.clinic.domain.model.PatientCedula;
+import app.clinic.domain.model.PatientEmail;
+import app.clinic.domain.model.PatientFullName;
+import app.clinic.domain.model.PatientGender;
+import app.clinic.domain.model.PatientPassword;
+import app.clinic.domain.model.PatientPhoneNumber;
+import app.clinic.domain.model.PatientUsername;
+import app.clinic.domain.model.PolicyExpirationDate;
+import app.clinic.domain.model.PolicyNumber;
+import app.clinic.domain.model.PolicyStatus;
+import app.clinic.domain.model.Relationship;
+import app.clinic.infrastructure.adapter.KeysetPageReader;
+import app.clinic.infrastructure.adapter.PatientRepositoryAdapter;
+import app.clinic.infrastructure.entity.PatientEntity;
+
+/**
+ * Pruebas de integración para la persistencia de pacientes.
+ * Verifica que la actualización modifique la fila existente y sus asociaciones en lugar de reemplazarlas,
+ * y que los listados carguen contacto y póliza sin consultas adicionales por paciente.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class PatientJpaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PatientJpaRepository patientJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PatientRepositoryAdapter patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = new PatientRepositoryAdapter(patientJpaRepository, new KeysetPageReader(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el paciente en su lugar conservando contacto y póliza")
+    void shouldUpdatePatientInPlace() {
+        // Given
+        patientRepository.save(patient("12345678", "Calle 1", "Sura"));
+        entityManager.flush();
+        entityManager.clear();
+        PatientEntity created = patientJpaRepository.findByCedula("12345678").orElseThrow();
+
+        // When
+        patientRepository.save(patient("12345678", "Carrera 7", "Sanitas"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        PatientEntity updated = patientJpaRepository.findByCedula("12345678").orElseThrow();
+        assertEquals(1, patientJpaRepository.count());
+        assertEquals(created.getId(), updated.getId());
+        assertEquals("Carrera 7", updated.getAddress());
+        assertEquals(created.getEmergencyContact().getId(), updated.getEmergencyContact().getId());
+        assertEquals(created.getInsurancePolicy().getId(), updated.getInsurancePolicy().getId());
+        assertEquals("Sanitas", updated.getInsurancePolicy().getCompanyName());
+        assertEquals(Long.valueOf(created.getVersion() + 1), updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la actualización de quien parte de una versión ya modificada")
+    void shouldRejectUpdateFromStaleVersion() {
+        // Given
+        patientRepository.save(patient("12345678", "Calle 1", "Sura"));
+        entityManager.flush();
+        entityManager.clear();
+        Patient firstReader = patientRepository.findByCedula(PatientCedula.of("12345678")).orElseThrow();
+        Patient secondReader = patientRepository.findByCedula(PatientCedula.of("12345678")).orElseThrow();
+        entityManager.clear();
+
+        // When
+        Patient saved = patientRepository.save(patient("12345678", "Carrera 7", "Sura")
+            .withVersion(firstReader.getVersion()));
+        entityManager.clear();
+
+        // Then
+        assertEquals(Long.valueOf(firstReader.getVersion() + 1), saved.getVersion());
+        Patient staleUpdate = patient("12345678", "Avenida 3", "Sura").withVersion(secondReader.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> patientRepository.save(staleUpdate));
+        entityManager.clear();
+        assertEquals("Carrera 7", patientJpaRepository.findByCedula("12345678").orElseThrow().getAddress());
+    }
+
+    @Test
+    @DisplayName("Debe eliminar la póliza cuando el paciente ya no la tiene")
+    void shouldRemovePolicyWhenPatientDropsIt() {
+        // Given
+        patientRepository.save(patient("12345678", "Calle 1", "Sura"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        patientRepository.save(patient("12345678", "Calle 1", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertNull(patientJpaRepository.findByCedula("12345678").orElseThrow().getInsurancePolicy());
+    }
+
+    @Test
+    @DisplayName("Debe listar pacientes con contacto y póliza en una sola consulta sin importar la cantidad")
+    void shouldListPatientsWithConstantQueryCount() {
+        // Given
+        savePatients(0, 3);
+        long queriesForThree = countQueries(() -> patientRepository.findAll());
+        savePatients(3, 10);
+
+        // When
+        long queriesForTen = countQueries(() -> patientRepository.findAll());
+
+        // Then
+        assertEquals(1, queriesForThree);
+        assertEquals(queriesForThree, queriesForTen);
+        assertEquals(1, countQueries(() -> patientJpaRepository.findPatientsWithActiveInsurance()
+            .forEach(entity -> entity.getEmergencyContact().getFirstNames())));
+        assertEquals(1, countQueries(() -> patientRepository.findPage(null, 5)));
+    }
+
+    private void savePatients(int from, int to) {
+        for (int i = from; i < to; i++) {
+            patientRepository.save(patient(String.valueOf(20000000 + i), "Calle " + i, "Sura"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        long queries = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return queries;
+    }
+
+    private Patient patient(String cedula, String address, String insuranceCompany) {
+        InsurancePolicy policy = insuranceCompany == null ? null : InsurancePolicy.of(
+            InsuranceCompanyName.of(insuranceCompany),
+            PolicyNumber.of("POL-001"),
+            PolicyStatus.ACTIVA,
+            PolicyExpirationDate.of(LocalDate.now().plusYears(1)));
+        return Patient.of(
+            PatientCedula.of(cedula),
+            PatientUsername.of("p" + cedula),
+            PatientPassword.ofHashed("hashedpassword"),
+            PatientFullName.of("María", "González"),
+            PatientBirthDate.of(1990, 4, 15),
+            PatientGender.FEMENINO,
+            PatientAddress.of(address),
+            PatientPhoneNumber.of("3001234567"),
+            PatientEmail.of("maria@correo.com"),
+            List.of(EmergencyContact.of(
+                EmergencyContactName.of("Ana", "González"),
+                Relationship.MADRE,
+                EmergencyContactPhoneNumber.of("3007654321"))),
+            policy);
+    }
+}
@@ -0,0 +1,67 @@
+package app.clinic.infrastructure.repository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import app.clinic.config.TestDatabaseConfig;
+import app.clinic.infrastructure.entity.PatientVisitEntity;
+
+/**
+ * Pruebas de integración para PatientVisitJpaRepository.
+ * Verifica las consultas por estado de completitud resueltas en la base de datos.
+ */
+@DataJpaTest
+@SpringJUnitConfig(TestDatabaseConfig.class)
+class PatientVisitJpaRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 6, 8, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PatientVisitJpaRepository patientVisitJpaRepository;
+
+    @Test
+    @DisplayName("Debe detectar visitas pendientes solo del paciente consultado")
+    void shouldDetectPendingVisitsPerPatient() {
+        // Given
+        patientVisitJpaRepository.save(new PatientVisitEntity("111", BASE, null, null, true));
+        patientVisitJpaRepository.save(new PatientVisitEntity("222", BASE, null, null, false));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When / Then
+        assertFalse(patientVisitJpaRepository.existsByPatientCedulaAndCompletedFalse("111"));
+        assertTrue(patientVisitJpaRepository.existsByPatientCedulaAndCompletedFalse("222"));
+        assertFalse(patientVisitJpaRepository.existsByPatientCedulaAndCompletedFalse("333"));
+    }
+
+    @Test
+    @DisplayName("Debe contar y filtrar visitas completadas en la consulta")
+    void shouldCountAndFilterCompletedVisits() {
+        // Given
+        patientVisitJpaRepository.save(new PatientVisitEntity("111", BASE, null, null, true));
+        patientVisitJpaRepository.save(new PatientVisitEntity("111", BASE.plusDays(1), null, null, false));
+        patientVisitJpaRepository.save(new PatientVisitEntity("222", BASE.plusDays(2), null, null, true));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When / Then
+        assertEquals(2, patientVisitJpaRepository.countByCompletedTrue());
+        assertEquals(2, patientVisitJpaRepository.findByCompletedTrue().size());
+        assertEquals(1, patientVisitJpaRepository.countByPatientCedulaAndCompletedTrue("111"));
+        assertEquals(BASE.plusDays(1),
+                patientVisitJpaRepository.findLatestVisitDateTimeByPatientCedula("111").orElseThrow());
+        assertTrue(patientVisitJpaRepository.findLatestVisitDateTimeByPatientCedula("333").isEmpty());
+    }
+}